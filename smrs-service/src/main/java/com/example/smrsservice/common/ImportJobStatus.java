@@ -0,0 +1,8 @@
+package com.example.smrsservice.common;
+
+public enum ImportJobStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,6 @@
+package com.example.smrsservice.common;
+
+public enum ImportJobType {
+    ACCOUNT,
+    PROJECT
+}
@@ -0,0 +1,7 @@
+package com.example.smrsservice.common;
+
+public enum MailOutboxStatus {
+    PENDING,
+    SENT,
+    FAILED
+}
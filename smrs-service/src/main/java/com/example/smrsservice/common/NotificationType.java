@@ -0,0 +1,9 @@
+package com.example.smrsservice.common;
+
+public enum NotificationType {
+    INVITATION_RECEIVED,
+    INVITATION_ACCEPTED,
+    COUNCIL_ASSIGNED,
+    PROJECT_DECISION,
+    SCORE_CREATED
+}
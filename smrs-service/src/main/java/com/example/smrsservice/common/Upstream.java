@@ -0,0 +1,20 @@
+package com.example.smrsservice.common;
+
+/**
+ * Dịch vụ bên ngoài mà app gọi tới; cấu hình của từng upstream nằm dưới app.outbound.{key}
+ */
+public enum Upstream {
+    COPYLEAKS("copyleaks"),
+    STORAGE_NODE("storage"),
+    CLOUDINARY("cloudinary");
+
+    private final String key;
+
+    Upstream(String key) {
+        this.key = key;
+    }
+
+    public String getKey() {
+        return key;
+    }
+}
@@ -2,9 +2,13 @@ package com.example.smrsservice.config;
 
 import com.cloudinary.Cloudinary;
 import com.cloudinary.utils.ObjectUtils;
+import com.example.smrsservice.common.Upstream;
+import org.apache.http.config.SocketConfig;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
 
 import java.util.Map;
 
@@ -20,15 +24,39 @@ public class CloudinaryConfig {
     @Value("${cloudinary.api_secret}")
     private String apiSecret;
 
+    /**
+     * Connection pool riêng cho Cloudinary (app.outbound.cloudinary), SDK http44 nhận qua properties.connectionManager
+     */
     @Bean
-    public Cloudinary cloudinary() {
-        Map<String, String> config = ObjectUtils.asMap(
+    public PoolingHttpClientConnectionManager cloudinaryConnectionManager(Environment environment) {
+        UpstreamSettings settings = UpstreamSettings.of(environment, Upstream.CLOUDINARY);
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(settings.getMaxConcurrent());
+        connectionManager.setDefaultMaxPerRoute(settings.getMaxConcurrent());
+        connectionManager.setDefaultSocketConfig(SocketConfig.custom()
+                .setSoTimeout((int) settings.getReadTimeout().toMillis())
+                .build());
+        return connectionManager;
+    }
+
+    @Bean
+    public Cloudinary cloudinary(PoolingHttpClientConnectionManager cloudinaryConnectionManager) {
+        Map<String, Object> config = ObjectUtils.asMap(
                 "cloud_name", cloudName,
                 "api_key", apiKey,
-                "api_secret", apiSecret
+                "api_secret", apiSecret,
+                "properties", Map.of("connectionManager", cloudinaryConnectionManager)
         );
         return new Cloudinary(config);
     }
 
-
+    /**
+     * Timeout cho từng lời gọi upload / destroy: SDK http44 chỉ đọc connect / read timeout từ options của lời gọi
+     */
+    public static Map<String, Object> timeoutOptions(UpstreamSettings settings) {
+        return Map.of(
+                "connect_timeout", (int) settings.getConnectTimeout().toMillis(),
+                "timeout", (int) settings.getReadTimeout().toMillis()
+        );
+    }
 }
@@ -1,6 +1,9 @@
 package com.example.smrsservice.config;
 
+import com.example.smrsservice.common.Upstream;
 import com.example.smrsservice.dto.copyleaks.CopyleaksTokenResponse;
+import com.example.smrsservice.service.OutboundGateway;
+import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
@@ -12,6 +15,7 @@ import org.springframework.web.client.RestTemplate;
 import java.util.Map;
 
 @Component
+@RequiredArgsConstructor
 public class CopyleaksClient {
 
     @Value("${copyleaks.login-url}")
@@ -20,7 +24,8 @@ public class CopyleaksClient {
     @Value("${copyleaks.base-url}")
     private String apiBaseUrl;
 
-    private final RestTemplate restTemplate = new RestTemplate();
+    private final RestTemplate copyleaksRestTemplate;
+    private final OutboundGateway outboundGateway;
 
     public CopyleaksTokenResponse login(String email, String apiKey) {
 
@@ -29,11 +34,11 @@ public class CopyleaksClient {
                 "key", apiKey
         );
 
-        return restTemplate.postForObject(
+        return outboundGateway.call(Upstream.COPYLEAKS, () -> copyleaksRestTemplate.postForObject(
                 loginUrl,
                 body,
                 CopyleaksTokenResponse.class
-        );
+        ));
     }
 
     public void submitScan(String token, String scanId, Object payload) {
@@ -42,12 +47,12 @@ public class CopyleaksClient {
         headers.setContentType(MediaType.APPLICATION_JSON);
         HttpEntity<Object> entity = new HttpEntity<>(payload, headers);
 
-        restTemplate.exchange(
+        outboundGateway.call(Upstream.COPYLEAKS, () -> copyleaksRestTemplate.exchange(
                 apiBaseUrl + "/scans/submit/url/" + scanId,
                 HttpMethod.PUT,
                 entity,
                 Void.class
-        );
+        ));
 
     }
 
@@ -58,12 +63,12 @@ public class CopyleaksClient {
 
         HttpEntity<Object> entity = new HttpEntity<>(body, headers);
 
-        restTemplate.exchange(
+        outboundGateway.call(Upstream.COPYLEAKS, () -> copyleaksRestTemplate.exchange(
                 apiBaseUrl + "/scans/submit/url/" + scanId,
                 HttpMethod.PUT,
                 entity,
                 Void.class
-        );
+        ));
     }
 
     public void startScan(String token, String scanId) {
@@ -71,11 +76,11 @@ public class CopyleaksClient {
         HttpHeaders h = new HttpHeaders();
         h.setBearerAuth(token);
 
-        restTemplate.postForEntity(
+        outboundGateway.call(Upstream.COPYLEAKS, () -> copyleaksRestTemplate.postForEntity(
                 apiBaseUrl + "/scans/" + scanId + "/start",
                 new HttpEntity<>(h),
                 Void.class
-        );
+        ));
     }
 }
 
@@ -0,0 +1,63 @@
+package com.example.smrsservice.config;
+
+import com.example.smrsservice.common.Upstream;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.http.HttpClient;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Client HTTP dùng chung cho từng upstream, mỗi upstream một connection pool riêng theo app.outbound.{key}.
+ * Một client = một connection pool (keep-alive), không tạo mới mỗi request.
+ * Lời gọi qua các client này phải đi qua OutboundGateway (bulkhead + circuit breaker).
+ */
+@Configuration
+public class HttpClientConfig {
+
+    /**
+     * Storage node (upload file)
+     */
+    @Bean
+    public OkHttpClient uploadHttpClient(Environment environment) {
+        UpstreamSettings settings = UpstreamSettings.of(environment, Upstream.STORAGE_NODE);
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(settings.getMaxConcurrent());
+        dispatcher.setMaxRequestsPerHost(settings.getMaxConcurrent());
+
+        return new OkHttpClient.Builder()
+                .dispatcher(dispatcher)
+                .connectionPool(new ConnectionPool(settings.getMaxConcurrent(), 5, TimeUnit.MINUTES))
+                .connectTimeout(settings.getConnectTimeout())
+                .writeTimeout(settings.getWriteTimeout())
+                .readTimeout(settings.getReadTimeout())
+                .build();
+    }
+
+    /**
+     * Copyleaks: java.net.http.HttpClient thay cho HttpURLConnection mặc định của RestTemplate (không timeout).
+     * Số kết nối đồng thời do bulkhead giới hạn; ở chế độ virtual thread phần việc nền của client cũng chạy trên virtual thread.
+     */
+    @Bean
+    public RestTemplate copyleaksRestTemplate(Environment environment,
+                                              @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        UpstreamSettings settings = UpstreamSettings.of(environment, Upstream.COPYLEAKS);
+        HttpClient.Builder httpClient = HttpClient.newBuilder()
+                .connectTimeout(settings.getConnectTimeout());
+        if (virtualThreads) {
+            httpClient.executor(Executors.newVirtualThreadPerTaskExecutor());
+        }
+
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient.build());
+        requestFactory.setReadTimeout(settings.getReadTimeout());
+        return new RestTemplate(requestFactory);
+    }
+}
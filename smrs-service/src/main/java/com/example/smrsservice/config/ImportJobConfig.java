@@ -0,0 +1,61 @@
+package com.example.smrsservice.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Executor riêng cho import job: số worker và hàng đợi có giới hạn để file lớn
+ * không chiếm thread của Tomcat và không chạy quá nhiều import cùng lúc.
+ */
+@Configuration
+public class ImportJobConfig {
+
+    @Bean(name = "importJobExecutor")
+    public ThreadPoolTaskExecutor importJobExecutor(
+            @Value("${app.import.workers:2}") int workers,
+            @Value("${app.import.queue-capacity:20}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("import-job-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Thư mục giữ file upload của import job cho tới khi job chạy xong, để job dở dang được chạy lại sau restart.
+     * Cấu hình app.import.dir (SMRS_IMPORT_DIR) trỏ tới volume bền vững: thư mục tạm của OS
+     * (/tmp trong container) mất sau khi khởi động lại thì job đang chờ không còn file để chạy.
+     * Chưa cấu hình thì dùng thư mục trong java.io.tmpdir và cảnh báo, không chặn khởi động.
+     */
+    @Bean(name = "importJobDir")
+    public Path importJobDir(@Value("${app.import.dir:}") String dir) throws IOException {
+        Path tmp = Paths.get(System.getProperty("java.io.tmpdir")).toAbsolutePath().normalize();
+        Path path = StringUtils.hasText(dir)
+                ? Paths.get(dir).toAbsolutePath().normalize()
+                : tmp.resolve("smrs-imports");
+        Files.createDirectories(path);
+        if (!Files.isWritable(path)) {
+            throw new IllegalStateException("app.import.dir không ghi được: " + path);
+        }
+        if (!StringUtils.hasText(dir)) {
+            System.err.println("⚠️ app.import.dir (SMRS_IMPORT_DIR) chưa được cấu hình, dùng " + path
+                    + ": file của import job đang chờ có thể mất khi khởi động lại");
+        } else if (path.startsWith(tmp)) {
+            System.err.println("⚠️ app.import.dir nằm trong thư mục tạm (" + path
+                    + "): file của import job đang chờ có thể mất khi khởi động lại");
+        }
+        System.out.println("✅ Import job dir: " + path);
+        return path;
+    }
+}
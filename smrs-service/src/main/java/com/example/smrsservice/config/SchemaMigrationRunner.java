@@ -0,0 +1,155 @@
+package com.example.smrsservice.config;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Chạy các migration có version trong classpath:db/migration (V{version}__{mô tả}.sql) khi khởi động.
+ *
+ * Bảng vẫn do Hibernate tạo/cập nhật (ddl-auto: update), nên runner chạy sau EntityManagerFactory
+ * và chỉ lo những gì ddl-auto không làm được (index, ràng buộc unique...).
+ * Version đã chạy được ghi vào bảng schema_migration, mỗi file chỉ chạy một lần.
+ * Migration lỗi sẽ dừng ứng dụng, giống cách Flyway xử lý.
+ * Migration có thể kèm bước kiểm tra dữ liệu chạy trước (preconditions): dữ liệu không hợp lệ thì dừng
+ * với thông báo chỉ rõ dòng cần xử lý thay vì lỗi SQL, migration chưa được ghi nên lần khởi động sau chạy lại.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+@RequiredArgsConstructor
+public class SchemaMigrationRunner {
+
+    private static final String LOCATION = "classpath:db/migration/V*__*.sql";
+    private static final Pattern FILE_NAME = Pattern.compile("V(\\d+)__(.+)\\.sql");
+    private static final int MAX_REPORTED_ROWS = 20;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${app.db.migrations.enabled:true}")
+    private boolean enabled;
+
+    @PostConstruct
+    public void migrate() throws IOException {
+        if (!enabled) {
+            return;
+        }
+
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS schema_migration (" +
+                "version INT NOT NULL PRIMARY KEY, " +
+                "description VARCHAR(255) NOT NULL, " +
+                "installed_at TIMESTAMP NOT NULL)");
+
+        Set<Integer> applied = new HashSet<>(
+                jdbcTemplate.queryForList("SELECT version FROM schema_migration", Integer.class));
+
+        TreeMap<Integer, Resource> pending = new TreeMap<>();
+        for (Resource resource : new PathMatchingResourcePatternResolver().getResources(LOCATION)) {
+            Matcher matcher = FILE_NAME.matcher(resource.getFilename());
+            if (!matcher.matches()) {
+                continue;
+            }
+            int version = Integer.parseInt(matcher.group(1));
+            if (applied.contains(version)) {
+                continue;
+            }
+            if (pending.put(version, resource) != null) {
+                throw new IllegalStateException("Duplicate migration version V" + version);
+            }
+        }
+
+        for (var entry : pending.entrySet()) {
+            int version = entry.getKey();
+            String fileName = entry.getValue().getFilename();
+            Matcher matcher = FILE_NAME.matcher(fileName);
+            matcher.matches();
+
+            Runnable precondition = preconditions().get(version);
+            if (precondition != null) {
+                precondition.run();
+            }
+
+            try {
+                for (String statement : statements(entry.getValue())) {
+                    jdbcTemplate.execute(statement);
+                }
+            } catch (Exception e) {
+                throw new IllegalStateException("Migration " + fileName + " failed: " + e.getMessage(), e);
+            }
+
+            jdbcTemplate.update("INSERT INTO schema_migration (version, description, installed_at) VALUES (?, ?, ?)",
+                    version, matcher.group(2).replace('_', ' '), Timestamp.from(Instant.now()));
+            System.out.println("✅ Applied migration " + fileName);
+        }
+    }
+
+    private Map<Integer, Runnable> preconditions() {
+        return Map.of(6, this::checkNoDuplicateAccountEmails);
+    }
+
+    /**
+     * V6 thêm unique index cho account.email: GROUP BY theo collation của cột nên email chỉ khác hoa / thường
+     * cũng bị coi là trùng (giống unique index trên MySQL). Cách xử lý: xem comment trong V6__account_email_unique.sql
+     */
+    private void checkNoDuplicateAccountEmails() {
+        List<String> duplicates = jdbcTemplate.query(
+                "SELECT email, COUNT(*) AS total, MIN(id) AS first_id, MAX(id) AS last_id FROM account " +
+                        "WHERE email IS NOT NULL GROUP BY email HAVING COUNT(*) > 1 ORDER BY email LIMIT " + (MAX_REPORTED_ROWS + 1),
+                (rs, rowNum) -> rs.getString("email") + " (" + rs.getInt("total") + " accounts, id "
+                        + rs.getInt("first_id") + ".." + rs.getInt("last_id") + ")");
+        if (duplicates.isEmpty()) {
+            return;
+        }
+        String listed = String.join(", ", duplicates.subList(0, Math.min(duplicates.size(), MAX_REPORTED_ROWS)))
+                + (duplicates.size() > MAX_REPORTED_ROWS ? ", ..." : "");
+        throw new IllegalStateException("Migration V6__account_email_unique.sql cannot run: duplicate account emails "
+                + listed + ". Merge or rename the duplicate accounts (see the comment in V6__account_email_unique.sql) and restart.");
+    }
+
+    /**
+     * Tách file theo dấu ';' cuối câu, bỏ dòng comment "--".
+     */
+    private static List<String> statements(Resource resource) throws IOException {
+        String sql;
+        try (InputStream is = resource.getInputStream()) {
+            sql = new String(is.readAllBytes(), StandardCharsets.UTF_8);
+        }
+
+        List<String> statements = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        for (String line : sql.split("\\R")) {
+            String trimmed = line.trim();
+            if (trimmed.isEmpty() || trimmed.startsWith("--")) {
+                continue;
+            }
+            current.append(line).append('\n');
+            if (trimmed.endsWith(";")) {
+                String statement = current.toString().trim();
+                statements.add(statement.substring(0, statement.length() - 1));
+                current.setLength(0);
+            }
+        }
+        if (!current.toString().isBlank()) {
+            statements.add(current.toString().trim());
+        }
+        return statements;
+    }
+}
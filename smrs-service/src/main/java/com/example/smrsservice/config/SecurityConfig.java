@@ -1,8 +1,10 @@
 package com.example.smrsservice.config;
 
 import com.example.smrsservice.repository.AccountRepository;
+import com.example.smrsservice.security.AuthPrincipalCache;
 import com.example.smrsservice.security.JwtAuthenticationFilter;
 import com.example.smrsservice.security.JwtTokenUtil;
+import com.example.smrsservice.security.StreamTicketStore;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
@@ -37,11 +39,14 @@ public class SecurityConfig {
 
     private final JwtTokenUtil jwtTokenUtil;
     private final AccountRepository accountRepository;
+    private final AuthPrincipalCache principalCache;
+    private final StreamTicketStore streamTicketStore;
     private final HandlerMappingIntrospector introspector;
 
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
-        JwtAuthenticationFilter jwtFilter = new JwtAuthenticationFilter(jwtTokenUtil, accountRepository);
+        JwtAuthenticationFilter jwtFilter = new JwtAuthenticationFilter(jwtTokenUtil, accountRepository, principalCache,
+                streamTicketStore);
 
         http
                 .csrf(AbstractHttpConfigurer::disable)
@@ -0,0 +1,30 @@
+package com.example.smrsservice.config;
+
+import com.example.smrsservice.common.Upstream;
+import lombok.Data;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+
+/**
+ * Cấu hình của 1 upstream (app.outbound.copyleaks / storage / cloudinary).
+ * max-concurrent vừa là kích thước connection pool của client, vừa là giới hạn bulkhead của OutboundGateway.
+ */
+@Data
+public class UpstreamSettings {
+
+    private int maxConcurrent = 20;
+    // thời gian chờ chỗ trống trong bulkhead trước khi từ chối
+    private Duration acquireTimeout = Duration.ofMillis(500);
+    private Duration connectTimeout = Duration.ofSeconds(10);
+    private Duration readTimeout = Duration.ofSeconds(30);
+    private Duration writeTimeout = Duration.ofSeconds(60);
+    // số lỗi liên tiếp để mở circuit breaker, và thời gian mở trước khi cho gọi thử
+    private int failureThreshold = 5;
+    private Duration openDuration = Duration.ofSeconds(30);
+
+    public static UpstreamSettings of(Environment environment, Upstream upstream) {
+        return Binder.get(environment).bindOrCreate("app.outbound." + upstream.getKey(), UpstreamSettings.class);
+    }
+}
@@ -1,12 +1,14 @@
 package com.example.smrsservice.controller;
 
 import com.example.smrsservice.common.AccountStatus;
+import com.example.smrsservice.common.ImportJobType;
 import com.example.smrsservice.dto.account.*;
 import com.example.smrsservice.dto.auth.LoginRequest;
 import com.example.smrsservice.dto.auth.LoginResponseDto;
 import com.example.smrsservice.dto.common.ResponseDto;
-import com.example.smrsservice.entity.Account;
+import com.example.smrsservice.dto.importjob.ImportJobResponse;
 import com.example.smrsservice.service.AccountService;
+import com.example.smrsservice.service.ImportJobService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import lombok.RequiredArgsConstructor;
@@ -19,7 +21,6 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
 import javax.security.auth.login.AccountNotFoundException;
-import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -29,6 +30,7 @@ import java.util.Map;
 public class AccountController {
 
     private final AccountService accountService;
+    private final ImportJobService importJobService;
 
     @PostMapping("/login")
     @PreAuthorize("permitAll()")
@@ -87,12 +89,12 @@ public class AccountController {
         }
 
         try {
-            List<Account> importedAccounts = accountService.importAccountsFromExcel(file);
+            AccountImportResult result = accountService.importAccountsFromExcel(file);
 
             return ResponseEntity.ok(Map.of(
                     "success", true,
-                    "message", "Imported " + importedAccounts.size() + " account(s) successfully",
-                    "data", importedAccounts
+                    "message", "Imported " + (result.getCreatedCount() + result.getUpdatedCount()) + " account(s) successfully",
+                    "data", result
             ));
 
         } catch (Exception e) {
@@ -104,6 +106,20 @@ public class AccountController {
         }
     }
 
+    /**
+     * Import account chạy nền: trả về job id ngay, theo dõi qua GET /api/import-jobs/{id}
+     */
+    @PostMapping(value = "/import/async", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Import accounts from Excel file as a background job")
+    public ResponseEntity<ResponseDto<ImportJobResponse>> importAccountsAsync(
+            @Parameter(description = "Excel file with account data", required = true)
+            @RequestPart("file") MultipartFile file,
+            Authentication authentication) {
+        ResponseDto<ImportJobResponse> response = importJobService.submit(ImportJobType.ACCOUNT, file, authentication);
+        return ResponseEntity.status(response.isSuccess() ? HttpStatus.ACCEPTED : HttpStatus.BAD_REQUEST).body(response);
+    }
+
     @GetMapping
     @Operation(summary = "Get all accounts with pagination and filters")
     public ResponseEntity<PageResponse<AccountDetailResponse>> getAllAccounts(
@@ -112,7 +128,11 @@ public class AccountController {
             @RequestParam(required = false) String name,
             @RequestParam(required = false) String email,
             @RequestParam(required = false) String role,
-            @RequestParam(required = false) String status) {
+            @RequestParam(required = false) String status,
+            @Parameter(description = "Cursor mode: nextCursor of the previous page, empty for the first page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Cursor mode: also count total elements")
+            @RequestParam(defaultValue = "false") boolean withCount) {
 
         // Convert string status to enum
         AccountStatus accountStatus = null;
@@ -124,9 +144,9 @@ public class AccountController {
             }
         }
 
-        PageResponse<AccountDetailResponse> response = accountService.getAccountDetail(
-                page, size, name, email, role, accountStatus
-        );
+        PageResponse<AccountDetailResponse> response = cursor != null
+                ? accountService.getAccountDetailByCursor(cursor, size, withCount, name, email, role, accountStatus)
+                : accountService.getAccountDetail(page, size, name, email, role, accountStatus);
 
         return ResponseEntity.ok(response);
     }
@@ -4,6 +4,7 @@ import com.example.smrsservice.dto.common.PaginatedResponseDto;
 import com.example.smrsservice.dto.common.ResponseDto;
 import com.example.smrsservice.dto.stats.admin.*;
 import com.example.smrsservice.service.AdminStatsService;
+import com.example.smrsservice.service.OutboundGateway;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -19,6 +20,7 @@ import java.util.Map;
 public class AdminStatsController {
 
     private final AdminStatsService adminStatsService;
+    private final OutboundGateway outboundGateway;
 
     @GetMapping("/overview")
     public ResponseEntity<ResponseDto<AdminOverviewDto>> getOverview() {
@@ -66,4 +68,13 @@ public class AdminStatsController {
         SystemHealthDto data = adminStatsService.getSystemHealth();
         return ResponseEntity.ok(ResponseDto.success(data, "Success"));
     }
+
+    /**
+     * Số liệu lời gọi ra Copyleaks / storage node / Cloudinary: bulkhead, circuit breaker, latency
+     */
+    @GetMapping("/upstreams")
+    public ResponseEntity<ResponseDto<List<UpstreamStatsDto>>> getUpstreams() {
+        List<UpstreamStatsDto> data = outboundGateway.getStats();
+        return ResponseEntity.ok(ResponseDto.success(data, "Success"));
+    }
 }
\ No newline at end of file
@@ -183,11 +183,17 @@ public class CouncilController {
             @Parameter(description = "Filter by dean ID")
             @RequestParam(required = false) Integer deanId,
 
+            @Parameter(description = "Cursor mode: nextCursor of the previous page, empty for the first page")
+            @RequestParam(required = false) String cursor,
+
+            @Parameter(description = "Cursor mode: also count total elements")
+            @RequestParam(defaultValue = "false") boolean withCount,
+
             Authentication authentication) {
 
-        ResponseDto<PageResponse<CouncilResponse>> response = councilService.getAllCouncils(
-                page, size, name, status, deanId, authentication
-        );
+        ResponseDto<PageResponse<CouncilResponse>> response = cursor != null
+                ? councilService.getAllCouncilsByCursor(cursor, size, withCount, name, status, deanId, authentication)
+                : councilService.getAllCouncils(page, size, name, status, deanId, authentication);
 
         if (response.isSuccess()) {
             return ResponseEntity.ok(response);
@@ -231,4 +237,26 @@ public class CouncilController {
                 councilService.assignProjectToExistingCouncil(projectId, councilId, authentication)
         );
     }
+
+    /**
+     * 11. Dean gán hội đồng + approve/reject nhiều project trong 1 request
+     * POST /api/councils/bulk
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<ResponseDto<BulkCouncilActionResult>> bulkProcess(
+            @RequestBody BulkCouncilActionRequest request,
+            Authentication authentication) {
+        return ResponseEntity.ok(councilService.bulkProcess(request, authentication));
+    }
+
+    /**
+     * 12. Tự phân project chờ hội đồng vào council của dean (cân bằng tải, đúng major, loại mentor)
+     * POST /api/councils/auto-assign?dryRun=true  -> chỉ xem trước
+     */
+    @PostMapping("/auto-assign")
+    public ResponseEntity<ResponseDto<CouncilAssignmentPlanDto>> autoAssignCouncils(
+            @RequestParam(defaultValue = "true") boolean dryRun,
+            Authentication authentication) {
+        return ResponseEntity.ok(councilService.autoAssignCouncils(dryRun, authentication));
+    }
 }
@@ -0,0 +1,66 @@
+package com.example.smrsservice.controller;
+
+import com.example.smrsservice.dto.common.ResponseDto;
+import com.example.smrsservice.dto.importjob.ImportJobResponse;
+import com.example.smrsservice.service.ImportJobService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/import-jobs")
+@PreAuthorize("isAuthenticated()")
+@RequiredArgsConstructor
+public class ImportJobController {
+    private final ImportJobService importJobService;
+
+    /**
+     * Các import job gần đây của user hiện tại
+     * GET /api/import-jobs
+     */
+    @GetMapping
+    public ResponseEntity<ResponseDto<List<ImportJobResponse>>> getMyJobs(Authentication authentication) {
+        return ResponseEntity.ok(importJobService.getMyJobs(authentication));
+    }
+
+    /**
+     * Trạng thái + tiến độ (rows read / succeeded / failed)
+     * GET /api/import-jobs/{id}
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<ResponseDto<ImportJobResponse>> getJob(
+            @PathVariable Long id,
+            Authentication authentication) {
+        ResponseDto<ImportJobResponse> response = importJobService.getJob(id, authentication);
+        return ResponseEntity.status(response.isSuccess() ? HttpStatus.OK : HttpStatus.NOT_FOUND).body(response);
+    }
+
+    /**
+     * Tải file CSV các dòng lỗi
+     * GET /api/import-jobs/{id}/error-report
+     */
+    @GetMapping("/{id}/error-report")
+    public ResponseEntity<byte[]> downloadErrorReport(
+            @PathVariable Long id,
+            Authentication authentication) {
+        String report = importJobService.getErrorReport(id, authentication);
+        if (report == null) {
+            return ResponseEntity.notFound().build();
+        }
+
+        // BOM để Excel mở đúng tiếng Việt
+        byte[] body = ("\uFEFF" + report).getBytes(StandardCharsets.UTF_8);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"import-job-" + id + "-errors.csv\"")
+                .contentType(new MediaType("text", "csv", StandardCharsets.UTF_8))
+                .body(body);
+    }
+}
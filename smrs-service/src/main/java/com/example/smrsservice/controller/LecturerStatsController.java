@@ -2,6 +2,7 @@ package com.example.smrsservice.controller;
 
 import com.example.smrsservice.dto.common.ResponseDto;
 import com.example.smrsservice.dto.stats.lecturer.CouncilStatsDto;
+import com.example.smrsservice.dto.stats.lecturer.LecturerDashboardDto;
 import com.example.smrsservice.dto.stats.lecturer.LecturerOverviewDto;
 import com.example.smrsservice.dto.stats.lecturer.MentorProjectDto;
 import com.example.smrsservice.dto.stats.lecturer.ScoringActivityDto;
@@ -23,6 +24,12 @@ public class LecturerStatsController {
 
     private final LecturerStatsService lecturerStatsService;
 
+    @GetMapping("/dashboard")
+    public ResponseEntity<ResponseDto<LecturerDashboardDto>> getDashboard(Authentication authentication) {
+        LecturerDashboardDto data = lecturerStatsService.getDashboard(authentication);
+        return ResponseEntity.ok(ResponseDto.success(data, "Success"));
+    }
+
     @GetMapping("/overview")
     public ResponseEntity<ResponseDto<LecturerOverviewDto>> getOverview(Authentication authentication) {
         LecturerOverviewDto data = lecturerStatsService.getOverview(authentication);
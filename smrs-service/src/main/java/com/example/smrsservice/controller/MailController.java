@@ -1,8 +1,11 @@
 package com.example.smrsservice.controller;
 
 import com.example.smrsservice.dto.common.ResponseDto;
+import com.example.smrsservice.dto.mail.MailOutboxStats;
 import com.example.smrsservice.service.MailService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
@@ -23,10 +26,20 @@ public class MailController {
     ) {
         try {
             mailService.sendSimpleMail(to, subject, body);
-            return ResponseDto.success(null, "Gửi mail thành công");
+            return ResponseDto.success(null, "Mail đã được đưa vào hàng đợi gửi");
         } catch (Exception e) {
             return ResponseDto.fail("Gửi mail thất bại: " + e.getMessage());
         }
     }
+
+    /**
+     * Độ dài hàng đợi mail outbox (pending / failed)
+     * GET /api/mail/outbox
+     */
+    @GetMapping("/outbox")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseDto<MailOutboxStats> getOutboxStats() {
+        return ResponseDto.success(mailService.getOutboxStats(), "OK");
+    }
 }
 
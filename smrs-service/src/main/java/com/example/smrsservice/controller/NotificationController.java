@@ -0,0 +1,77 @@
+package com.example.smrsservice.controller;
+
+import com.example.smrsservice.dto.common.ResponseDto;
+import com.example.smrsservice.dto.notification.StreamTicketResponse;
+import com.example.smrsservice.entity.Account;
+import com.example.smrsservice.security.StreamTicketStore;
+import com.example.smrsservice.service.NotificationHub;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/notifications")
+@RequiredArgsConstructor
+public class NotificationController {
+
+    private final NotificationHub notificationHub;
+    private final StreamTicketStore streamTicketStore;
+
+    /**
+     * Ticket để mở stream, gọi với header Authorization như các API khác.
+     * Ticket hết hạn sau app.notifications.ticket-ttl (mặc định 60s) nếu chưa dùng; đã mở stream thì
+     * EventSource kết nối lại được bằng ticket đó (xem StreamTicketStore).
+     */
+    @PostMapping("/stream-ticket")
+    public ResponseEntity<ResponseDto<StreamTicketResponse>> streamTicket(Authentication authentication) {
+        if (authentication == null || !(authentication.getPrincipal() instanceof Account account)) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(ResponseDto.fail("Unauthorized"));
+        }
+        StreamTicketResponse ticket = StreamTicketResponse.builder()
+                .ticket(streamTicketStore.issue(account.getEmail().trim().toLowerCase()))
+                .expiresInSeconds(streamTicketStore.getTtl().toSeconds())
+                .build();
+        return ResponseEntity.ok(ResponseDto.success(ticket, "Stream ticket issued"));
+    }
+
+    /**
+     * Stream SSE thông báo của user hiện tại.
+     * EventSource không gửi được header Authorization: lấy ticket ở POST /stream-ticket rồi mở ?ticket=...
+     * (xem JwtAuthenticationFilter). Khi mất kết nối EventSource tự mở lại đúng URL đó với header Last-Event-ID
+     * và nhận các event bị lỡ; ticket đã hết hạn thì client lấy ticket mới và mở EventSource mới
+     * với &lastEventId=<id event cuối cùng>.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> stream(
+            Authentication authentication,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventIdHeader,
+            @RequestParam(value = "lastEventId", required = false) String lastEventIdParam) {
+        if (authentication == null || !(authentication.getPrincipal() instanceof Account account)) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        String lastEventId = lastEventIdHeader != null ? lastEventIdHeader : lastEventIdParam;
+
+        Long lastId = null;
+        if (lastEventId != null && !lastEventId.isBlank()) {
+            try {
+                lastId = Long.parseLong(lastEventId.trim());
+            } catch (NumberFormatException ignored) {
+                // id lạ: coi như kết nối mới
+            }
+        }
+
+        return ResponseEntity.ok()
+                .header("X-Accel-Buffering", "no")
+                .body(notificationHub.subscribe(account.getId(), lastId));
+    }
+}
@@ -1,12 +1,16 @@
 package com.example.smrsservice.controller;
 
+import com.example.smrsservice.common.ImportJobType;
 import com.example.smrsservice.common.ProjectStatus;
+import com.example.smrsservice.dto.account.PageResponse;
 import com.example.smrsservice.dto.common.ResponseDto;
+import com.example.smrsservice.dto.importjob.ImportJobResponse;
 import com.example.smrsservice.dto.milestone.MilestoneResponseDto;
 import com.example.smrsservice.dto.project.*;
 import com.example.smrsservice.dto.score.ProjectScoreCreateDto;
 import com.example.smrsservice.dto.score.ProjectScoreUpdateDto;  // ⭐ THÊM IMPORT
 import com.example.smrsservice.dto.score.ProjectScoreResponseDto;
+import com.example.smrsservice.service.ImportJobService;
 import com.example.smrsservice.service.MilestoneFinalReportService;
 import com.example.smrsservice.service.ProjectService;
 import com.example.smrsservice.service.ProjectScoreService;
@@ -30,6 +34,7 @@ public class ProjectController {
     private final ProjectService projectService;
     private final ProjectScoreService projectScoreService;
     private final MilestoneFinalReportService milestoneFinalReportService;
+    private final ImportJobService importJobService;
 
     @GetMapping
     public ResponseEntity<Page<ProjectResponse>> getAllProjects(
@@ -50,13 +55,38 @@ public class ProjectController {
         return ResponseEntity.ok(projects);
     }
 
+    /**
+     * GET /api/projects/cursor?cursor=&size=&withCount=&sortBy=&sortDir=&...
+     * Cùng filter với GET /api/projects nhưng phân trang bằng cursor: truyền nextCursor của trang trước để lấy trang sau.
+     * sortBy: id, name, type, dueDate, createDate (không hỗ trợ description)
+     */
+    @GetMapping("/cursor")
+    public ResponseEntity<PageResponse<ProjectResponse>> getProjectsByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "false") boolean withCount,
+            @RequestParam(defaultValue = "createDate") String sortBy,
+            @RequestParam(defaultValue = "desc") String sortDir,
+            @RequestParam(required = false) String name,
+            @RequestParam(required = false) ProjectStatus status,
+            @RequestParam(required = false) Integer ownerId,
+            @RequestParam(required = false) Integer majorId,
+            @RequestParam(required = false) Boolean isMine,
+            Authentication authentication
+    ) {
+        PageResponse<ProjectResponse> projects = projectService.getProjectsByCursor(
+                cursor, size, withCount, sortBy, sortDir, name, status, ownerId, majorId, isMine, authentication
+        );
+        return ResponseEntity.ok(projects);
+    }
+
     @GetMapping("/search")
     public ResponseEntity<Page<ProjectResponse>> searchProjects(
             @RequestParam(required = false) String name,
             @RequestParam(required = false) String description,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
-            @RequestParam(defaultValue = "id") String sortBy,
+            @RequestParam(defaultValue = "relevance") String sortBy,
             @RequestParam(defaultValue = "asc") String sortDir
     ) {
         Page<ProjectResponse> projects = projectService.searchProjects(
@@ -117,6 +147,17 @@ public class ProjectController {
         return ResponseEntity.status(response.isSuccess() ? HttpStatus.OK : HttpStatus.BAD_REQUEST).body(response);
     }
 
+    /**
+     * Import chạy nền: trả về job id ngay, theo dõi qua GET /api/import-jobs/{id}
+     */
+    @PostMapping(value = "/import/async", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ResponseDto<ImportJobResponse>> importProjectsAsync(
+            @RequestParam("file") MultipartFile file,
+            Authentication authentication) {
+        ResponseDto<ImportJobResponse> response = importJobService.submit(ImportJobType.PROJECT, file, authentication);
+        return ResponseEntity.status(response.isSuccess() ? HttpStatus.ACCEPTED : HttpStatus.BAD_REQUEST).body(response);
+    }
+
     // ==================== NEW ENDPOINTS ====================
 
     @GetMapping("/to-review")
@@ -3,6 +3,7 @@ package com.example.smrsservice.controller;
 import com.example.smrsservice.dto.common.ResponseDto;
 import com.example.smrsservice.dto.projectpublication.CreatePublicationRequest;
 import com.example.smrsservice.dto.projectpublication.ProjectPublicationDto;
+import com.example.smrsservice.dto.projectpublication.PublicationCatalogDto;
 import com.example.smrsservice.dto.projectpublication.UpdatePublicationRequest;
 import com.example.smrsservice.service.ProjectPublicationService;
 import lombok.RequiredArgsConstructor;
@@ -94,6 +95,29 @@ public class ProjectPublicationController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * GET /api/publications/catalog?type=&status=&projectId=&majorId=&year=&cursor=&size=
+     * Lấy publications theo trang, truyền nextCursor của trang trước vào cursor để lấy trang sau
+     * Role: ADMIN, DEAN
+     */
+    @GetMapping("/catalog")
+    public ResponseEntity<ResponseDto<PublicationCatalogDto>> getCatalog(
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) Integer projectId,
+            @RequestParam(required = false) Integer majorId,
+            @RequestParam(required = false) Integer year,
+            @RequestParam(required = false) Integer cursor,
+            @RequestParam(required = false) Integer size,
+            Authentication authentication) {
+
+        ResponseDto<PublicationCatalogDto> response = publicationService.getCatalog(
+                authentication, type, status, projectId, majorId, year, cursor, size
+        );
+
+        return ResponseEntity.ok(response);
+    }
+
     /**
      * GET /api/publications/{id}
      * Xem chi tiết publication
@@ -1,15 +1,18 @@
 package com.example.smrsservice.controller;
 
+import com.example.smrsservice.dto.account.PageResponse;
 import com.example.smrsservice.dto.common.ResponseDto;
 import com.example.smrsservice.dto.score.ProjectScoreCreateDto;
 import com.example.smrsservice.dto.score.ProjectScoreResponseDto;
 import com.example.smrsservice.dto.score.ProjectScoreUpdateDto;
 import com.example.smrsservice.service.ProjectScoreService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 
@@ -72,6 +75,27 @@ public class ProjectScoreController {
         return ResponseEntity.ok(result);
     }
 
+    /**
+     * Tìm kiếm điểm có phân trang (page bắt đầu từ 1), lọc trong DB.
+     * status: EXCELLENT / GOOD / AVERAGE / BELOW_AVERAGE / FAIL; fromDate, toDate: yyyy-MM-dd (tính cả 2 đầu)
+     */
+    @GetMapping("/search/paged")
+    public ResponseEntity<ResponseDto<PageResponse<ProjectScoreResponseDto>>> searchScoresPaged(
+            @RequestParam(required = false) String keyword,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) Integer lecturerId,
+            @RequestParam(required = false) Integer councilId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate,
+            @RequestParam(defaultValue = "1") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "scoreDate") String sortBy,
+            @RequestParam(defaultValue = "desc") String sortDir) {
+        ResponseDto<PageResponse<ProjectScoreResponseDto>> result = projectScoreService.searchScoresPaged(
+                keyword, status, lecturerId, councilId, fromDate, toDate, page, size, sortBy, sortDir);
+        return ResponseEntity.ok(result);
+    }
+
     @GetMapping
     public ResponseEntity<ResponseDto<List<ProjectScoreResponseDto>>> getAllScores() {
         ResponseDto<List<ProjectScoreResponseDto>> result = projectScoreService.getAllScores();
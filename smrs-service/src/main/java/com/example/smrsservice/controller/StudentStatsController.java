@@ -6,6 +6,7 @@ import com.example.smrsservice.dto.stats.admin.ActivityDto;
 import com.example.smrsservice.dto.stats.students.DeadlineDto;
 import com.example.smrsservice.dto.stats.students.ProjectProgressDto;
 import com.example.smrsservice.dto.stats.students.ScoreComparisonDto;
+import com.example.smrsservice.dto.stats.students.StudentDashboardDto;
 import com.example.smrsservice.dto.stats.students.StudentOverviewDto;
 import com.example.smrsservice.service.StudentStatsService;
 import lombok.RequiredArgsConstructor;
@@ -28,6 +29,12 @@ public class StudentStatsController {
 
     private final StudentStatsService studentStatsService;
 
+    @GetMapping("/dashboard")
+    public ResponseEntity<ResponseDto<StudentDashboardDto>> getDashboard(Authentication authentication) {
+        StudentDashboardDto data = studentStatsService.getDashboard(authentication);
+        return ResponseEntity.ok(ResponseDto.success(data, "Success"));
+    }
+
     @GetMapping("/overview")
     public ResponseEntity<ResponseDto<StudentOverviewDto>> getOverview(Authentication authentication) {
         StudentOverviewDto data = studentStatsService.getOverview(authentication);
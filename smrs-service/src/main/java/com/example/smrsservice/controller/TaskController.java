@@ -33,9 +33,17 @@ public class TaskController {
         return taskService.getTask(id);
     }
 
+    /**
+     * Có tham số cursor (kể cả rỗng cho trang đầu) thì phân trang bằng cursor, trả nextCursor
+     */
     @GetMapping
     public PageResponse<TaskResponse> list(@RequestParam(defaultValue = "1") int page,
-                                           @RequestParam(defaultValue = "10") int size) {
+                                           @RequestParam(defaultValue = "10") int size,
+                                           @RequestParam(required = false) String cursor,
+                                           @RequestParam(defaultValue = "false") boolean withCount) {
+        if (cursor != null) {
+            return taskService.getTasksByCursor(cursor, size, withCount);
+        }
         return taskService.getTasks(page, size);
     }
 
@@ -2,6 +2,7 @@ package com.example.smrsservice.controller;
 
 import com.example.smrsservice.dto.common.ResponseDto;
 import com.example.smrsservice.dto.upload.FileUploadResponse;
+import com.example.smrsservice.exeption.UpstreamUnavailableException;
 import com.example.smrsservice.service.UploadService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -27,6 +28,9 @@ public class UploadController {
         try {
             String imageUrl = uploadService.uploadImage(file);
             return ResponseDto.success(imageUrl, "Upload ảnh thành công");
+        } catch (UpstreamUnavailableException e) {
+            // GlobalExceptionHandler trả 503
+            throw e;
         } catch (Exception e) {
             return ResponseDto.fail("Lỗi khi upload ảnh: " + e.getMessage());
         }
@@ -43,6 +47,9 @@ public class UploadController {
             String fileUrl = uploadService.uploadFileToNode(file, "SMSR");
             return ResponseEntity.ok(ResponseDto.success(fileUrl, "File uploaded successfully"));
 
+        } catch (UpstreamUnavailableException e) {
+            // GlobalExceptionHandler trả 503
+            throw e;
         } catch (Exception e) {
             return ResponseEntity.badRequest()
                     .body(ResponseDto.fail("Upload failed: " + e.getMessage()));
@@ -0,0 +1,36 @@
+package com.example.smrsservice.dto.account;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccountImportResult {
+
+    private Integer totalRows;
+    private Integer createdCount;
+    private Integer updatedCount;
+    private Integer failedCount;
+    private Integer skippedCount;
+
+    private List<RowResult> rows;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowResult {
+        private Integer rowNumber;
+        private String email;
+        private String status; // CREATED, UPDATED, FAILED, SKIPPED
+        private Integer accountId;
+        private String role;
+        private String message;
+    }
+}
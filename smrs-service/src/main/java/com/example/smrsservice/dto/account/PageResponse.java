@@ -18,4 +18,8 @@ public class PageResponse<T> {
     long totalElements;
     List<T>data;
 
+    // Chỉ có ở chế độ cursor: gửi lại nextCursor để lấy trang sau, null nếu hết
+    String nextCursor;
+    Boolean hasNext;
+
 }
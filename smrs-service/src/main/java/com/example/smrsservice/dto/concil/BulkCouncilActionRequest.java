@@ -0,0 +1,30 @@
+package com.example.smrsservice.dto.concil;
+
+import com.example.smrsservice.common.DecisionStatus;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Gửi nhiều assignment (project -> council) và decision (approve/reject) trong 1 request.
+ * Assignment được xử lý trước decision.
+ */
+@Data
+public class BulkCouncilActionRequest {
+    private List<AssignmentItem> assignments = new ArrayList<>();
+    private List<DecisionItem> decisions = new ArrayList<>();
+
+    @Data
+    public static class AssignmentItem {
+        private Integer projectId;
+        private Integer councilId;
+    }
+
+    @Data
+    public static class DecisionItem {
+        private Integer projectId;
+        private DecisionStatus decision;  // "APPROVED", "REJECTED"
+        private String comment;
+    }
+}
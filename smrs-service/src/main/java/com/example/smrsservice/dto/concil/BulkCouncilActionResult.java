@@ -0,0 +1,34 @@
+package com.example.smrsservice.dto.concil;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkCouncilActionResult {
+    private int succeeded;
+    private int failed;
+
+    // Theo đúng thứ tự xử lý: assignments rồi decisions
+    @Builder.Default
+    private List<ItemResult> results = new ArrayList<>();
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ItemResult {
+        private String action;  // "ASSIGNMENT", "DECISION"
+        private Integer projectId;
+        private Integer councilId;
+        private boolean success;
+        private String message;
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.smrsservice.dto.concil;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CouncilAssignmentPlanDto {
+    // false = chỉ xem trước (dry-run), true = đã ghi assignment
+    private boolean applied;
+
+    private int totalProjects;
+    private int assignedCount;
+    private int unassignedCount;
+    private long planningMillis;
+
+    @Builder.Default
+    private List<PlannedAssignment> assignments = new ArrayList<>();
+
+    @Builder.Default
+    private List<UnassignedProject> unassigned = new ArrayList<>();
+
+    @Builder.Default
+    private List<CouncilLoad> councilLoads = new ArrayList<>();
+
+    // Kết quả ghi từng assignment khi applied = true
+    private BulkCouncilActionResult applyResult;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class PlannedAssignment {
+        private Integer projectId;
+        private String projectName;
+        private Integer councilId;
+        private String councilCode;
+        private String councilName;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class UnassignedProject {
+        private Integer projectId;
+        private String projectName;
+        private String reason;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class CouncilLoad {
+        private Integer councilId;
+        private String councilCode;
+        private String councilName;
+        private int memberCount;
+        // Số project PENDING trước khi phân
+        private int currentLoad;
+        private int plannedLoad;
+        private int totalLoad;
+    }
+}
@@ -26,7 +26,11 @@ public class CouncilResponse {
     private String deanEmail;
 
     private List<MemberInfo> members;
+    private Integer memberCount;
     private Integer totalProjects;
+    private Integer pendingProjects;
+    private Integer approvedProjects;
+    private Integer rejectedProjects;
     private Integer assignedProjectId;
     private String assignedProjectName;
 
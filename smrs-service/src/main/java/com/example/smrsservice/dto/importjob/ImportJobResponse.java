@@ -0,0 +1,29 @@
+package com.example.smrsservice.dto.importjob;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportJobResponse {
+    private Long id;
+    private String type;
+    private String status;
+    private String fileName;
+    private Integer rowsRead;
+    private Integer rowsSucceeded;
+    private Integer rowsFailed;
+    private Integer attempts;
+    private String message;
+    private Boolean hasErrorReport;
+    private Instant createdAt;
+    private Instant startedAt;
+    private Instant finishedAt;
+    private Instant progressAt;
+}
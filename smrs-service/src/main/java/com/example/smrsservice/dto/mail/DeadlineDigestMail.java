@@ -0,0 +1,23 @@
+package com.example.smrsservice.dto.mail;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 1 mail nhắc hạn gộp nhiều milestone / task / hạn chỉnh sửa của cùng người nhận
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeadlineDigestMail {
+    private String toEmail;
+    private String userName;
+    @Builder.Default
+    private List<String> items = new ArrayList<>();
+}
@@ -0,0 +1,20 @@
+package com.example.smrsservice.dto.mail;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MailOutboxStats {
+    private Long pending;
+    private Long failed;
+    private Long sentSinceStartup;
+    private Instant oldestPendingAt;
+    private Instant lastDrainAt;
+}
@@ -0,0 +1,22 @@
+package com.example.smrsservice.dto.mail;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 1 mail báo kết quả duyệt / phân hội đồng cho chủ project
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProjectDecisionMail {
+    private String toEmail;
+    private String userName;
+    private String projectName;
+    private String title;
+    private String result;
+    private String comment;
+}
@@ -0,0 +1,27 @@
+package com.example.smrsservice.dto.notification;
+
+import com.example.smrsservice.common.NotificationType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * 1 thông báo đẩy qua SSE (data của event, tên event = type).
+ * Chỉ là tín hiệu để client load lại danh sách tương ứng, không thay cho dữ liệu của các API đó.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationEvent {
+    private Long id;
+    private NotificationType type;
+    private String title;
+    private String message;
+    private Integer projectId;
+    private String projectName;
+    private Instant createdAt;
+}
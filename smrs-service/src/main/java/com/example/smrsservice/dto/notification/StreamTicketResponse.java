@@ -0,0 +1,18 @@
+package com.example.smrsservice.dto.notification;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Ticket dùng 1 lần cho GET /api/notifications/stream?ticket=...
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StreamTicketResponse {
+    private String ticket;
+    private Long expiresInSeconds;
+}
@@ -46,6 +46,7 @@ public class MentoringProjectDto {
     // ========== MILESTONES INFO ==========
     private Integer totalMilestones;
     private Integer completedMilestones;
+    private Double progressPercent;   // Trung bình progress các milestone (0..100)
     private Boolean hasFinalReport;
     private String finalReportUrl;
 
@@ -0,0 +1,26 @@
+package com.example.smrsservice.dto.projectpublication;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PublicationCatalogDto {
+
+    private List<ProjectPublicationDto> items;
+
+    // Gửi lại làm cursor để lấy trang tiếp theo, null nếu hết
+    private Integer nextCursor;
+    private boolean hasNext;
+
+    // Tổng số publication theo type / status (toàn hệ thống, không phụ thuộc filter)
+    private Map<String, Long> typeCounts;
+    private Map<String, Long> statusCounts;
+}
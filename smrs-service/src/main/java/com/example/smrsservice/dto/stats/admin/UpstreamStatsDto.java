@@ -0,0 +1,25 @@
+package com.example.smrsservice.dto.stats.admin;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UpstreamStatsDto {
+    private String upstream;
+    private String circuitState;
+    private Integer maxConcurrent;
+    private Integer inFlight;
+    private Long calls;
+    private Long failures;
+    private Integer consecutiveFailures;
+    // bị từ chối vì bulkhead đầy / vì circuit breaker đang mở
+    private Long rejected;
+    private Long shortCircuited;
+    private Double avgLatencyMs;
+    private Double maxLatencyMs;
+}
@@ -0,0 +1,26 @@
+package com.example.smrsservice.dto.stats.lecturer;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Toàn bộ dashboard giảng viên trong 1 response (cùng dữ liệu với 7 endpoint riêng lẻ)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LecturerDashboardDto {
+    private LecturerOverviewDto overview;
+    private Map<String, Long> mentorProjectsStatus;
+    private Map<String, Object> scoringProgress;
+    private List<MentorProjectDto> mentorProjectsPerformance;
+    private List<CouncilStatsDto> myCouncilsStats;
+    private List<ScoringActivityDto> recentScores;
+    private Map<String, Long> scoreDistribution;
+}
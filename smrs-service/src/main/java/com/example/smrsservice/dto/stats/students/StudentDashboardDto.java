@@ -0,0 +1,28 @@
+package com.example.smrsservice.dto.stats.students;
+
+import com.example.smrsservice.dto.stats.admin.ActivityDto;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Toàn bộ dashboard sinh viên trong 1 response (cùng dữ liệu với 8 endpoint riêng lẻ)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StudentDashboardDto {
+    private StudentOverviewDto overview;
+    private Map<String, Long> projectsStatus;
+    private Map<String, Long> roles;
+    private Map<String, List<Double>> scoreTrend;
+    private List<ProjectProgressDto> projectsProgress;
+    private List<ActivityDto> recentActivities;
+    private ScoreComparisonDto scoreComparison;
+    private List<DeadlineDto> upcomingDeadlines;
+}
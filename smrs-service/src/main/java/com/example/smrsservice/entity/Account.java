@@ -1,6 +1,7 @@
 package com.example.smrsservice.entity;
 
 import com.example.smrsservice.common.AccountStatus;
+import com.example.smrsservice.entity.listener.DashboardStatsListener;
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -8,6 +9,7 @@ import java.util.Date;
 
 @Entity
 @Table(name = "account")
+@EntityListeners(DashboardStatsListener.class)
 @Getter
 @Setter
 @AllArgsConstructor
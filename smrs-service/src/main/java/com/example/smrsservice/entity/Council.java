@@ -1,5 +1,6 @@
 package com.example.smrsservice.entity;
 
+import com.example.smrsservice.entity.listener.DashboardStatsListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -13,6 +14,7 @@ import java.util.List;
 
 @Entity
 @Table(name = "council")
+@EntityListeners(DashboardStatsListener.class)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -0,0 +1,77 @@
+package com.example.smrsservice.entity;
+
+import com.example.smrsservice.common.ImportJobStatus;
+import com.example.smrsservice.common.ImportJobType;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "import_job")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportJob {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20, nullable = false)
+    private ImportJobType type;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20, nullable = false)
+    private ImportJobStatus status;
+
+    @Column(name = "file_name")
+    private String fileName;
+
+    // File upload được giữ trên đĩa cho tới khi job chạy xong (để chạy lại sau khi restart)
+    @Column(name = "file_path", length = 500)
+    private String filePath;
+
+    @ManyToOne
+    @JoinColumn(name = "created_by")
+    private Account createdBy;
+
+    @Column(name = "rows_read")
+    private Integer rowsRead = 0;
+
+    @Column(name = "rows_succeeded")
+    private Integer rowsSucceeded = 0;
+
+    @Column(name = "rows_failed")
+    private Integer rowsFailed = 0;
+
+    // Số lần đã chạy (tăng khi job được chạy lại sau restart)
+    @Column(name = "attempts")
+    private Integer attempts = 0;
+
+    // Lần cuối tiến độ được ghi xuống (sau mỗi chunk), để biết lần chạy bị gián đoạn đã tới đâu
+    @Column(name = "progress_at")
+    private Instant progressAt;
+
+    @Column(columnDefinition = "TEXT")
+    private String message;
+
+    // CSV: row,key,message
+    @Column(name = "error_report", columnDefinition = "LONGTEXT")
+    private String errorReport;
+
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private Instant createdAt;
+
+    @Column(name = "started_at")
+    private Instant startedAt;
+
+    @Column(name = "finished_at")
+    private Instant finishedAt;
+}
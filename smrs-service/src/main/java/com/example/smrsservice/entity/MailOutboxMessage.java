@@ -0,0 +1,57 @@
+package com.example.smrsservice.entity;
+
+import com.example.smrsservice.common.MailOutboxStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "mail_outbox", indexes = {
+        @Index(name = "idx_mail_outbox_status_next_attempt", columnList = "status, next_attempt_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class MailOutboxMessage {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "to_email", nullable = false)
+    private String toEmail;
+
+    @Column(length = 500)
+    private String subject;
+
+    @Column(name = "text_body", columnDefinition = "TEXT")
+    private String textBody;
+
+    // null = mail text thường
+    @Column(name = "html_body", columnDefinition = "LONGTEXT")
+    private String htmlBody;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20, nullable = false)
+    private MailOutboxStatus status = MailOutboxStatus.PENDING;
+
+    private Integer attempts = 0;
+
+    @Column(name = "next_attempt_at")
+    private Instant nextAttemptAt;
+
+    @Column(name = "last_error", columnDefinition = "TEXT")
+    private String lastError;
+
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private Instant createdAt;
+
+    @Column(name = "sent_at")
+    private Instant sentAt;
+}
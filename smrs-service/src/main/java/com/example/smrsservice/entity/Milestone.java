@@ -1,15 +1,19 @@
 package com.example.smrsservice.entity;
 
+import com.example.smrsservice.entity.listener.DeadlineListener;
+import com.example.smrsservice.entity.listener.StudentDashboardListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.util.Date;
 
 @Entity
 @Table(name = "milestone")
+@EntityListeners({StudentDashboardListener.class, DeadlineListener.class})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -26,6 +30,15 @@ public class Milestone {
     @Column(name = "progress_percent")
     private Double progressPercent = 0.0;
 
+    // ⭐ Tổng hợp từ task (ProgressRollupService cập nhật theo delta), progress = tổng / số task
+    @Column(name = "task_count", nullable = false)
+    @ColumnDefault("0")
+    private Integer taskCount = 0;
+
+    @Column(name = "task_progress_sum", nullable = false)
+    @ColumnDefault("0")
+    private Double taskProgressSum = 0.0;
+
     @ManyToOne
     @JoinColumn(name = "create_by")
     private Account createBy;
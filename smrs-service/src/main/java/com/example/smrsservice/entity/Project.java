@@ -1,11 +1,16 @@
 package com.example.smrsservice.entity;
 
 import com.example.smrsservice.common.ProjectStatus;
+import com.example.smrsservice.entity.listener.DashboardStatsListener;
+import com.example.smrsservice.entity.listener.DeadlineListener;
+import com.example.smrsservice.entity.listener.ProjectSearchIndexListener;
+import com.example.smrsservice.entity.listener.StudentDashboardListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -15,6 +20,7 @@ import java.util.List;
 
 @Entity
 @Table(name = "project")
+@EntityListeners({DashboardStatsListener.class, StudentDashboardListener.class, ProjectSearchIndexListener.class, DeadlineListener.class})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -93,6 +99,20 @@ public class Project {
     @Column(name = "is_created_by_dean")
     private Boolean isCreatedByDean;
 
+    // ⭐ Tổng hợp từ milestone: chỉ ProgressRollupService cộng bằng UPDATE nguyên tử,
+    // entity không ghi đè (insertable / updatable = false)
+    @Column(name = "milestone_count", nullable = false, insertable = false, updatable = false)
+    @ColumnDefault("0")
+    private Integer milestoneCount = 0;
+
+    @Column(name = "milestone_progress_sum", nullable = false, insertable = false, updatable = false)
+    @ColumnDefault("0")
+    private Double milestoneProgressSum = 0.0;
+
+    @Column(name = "completed_milestones", nullable = false, insertable = false, updatable = false)
+    @ColumnDefault("0")
+    private Integer completedMilestones = 0;
+
     // ✅ HELPER METHODS
     public void addFile(ProjectFile file) {
         files.add(file);
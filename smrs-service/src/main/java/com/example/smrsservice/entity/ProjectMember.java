@@ -1,5 +1,6 @@
 package com.example.smrsservice.entity;
 
+import com.example.smrsservice.entity.listener.StudentDashboardListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -8,6 +9,7 @@ import lombok.Setter;
 
 @Entity
 @Table(name = "project_member")
+@EntityListeners(StudentDashboardListener.class)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -2,6 +2,7 @@ package com.example.smrsservice.entity;
 
 import com.example.smrsservice.common.PublicationStatus;
 import com.example.smrsservice.common.PublicationType;
+import com.example.smrsservice.entity.listener.PublicationCatalogListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -16,6 +17,7 @@ import java.util.Date;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
+@EntityListeners(PublicationCatalogListener.class)
 public class ProjectPublication {
 
     @Id
@@ -1,11 +1,13 @@
 package com.example.smrsservice.entity;
 
+import com.example.smrsservice.entity.listener.StudentDashboardListener;
 import jakarta.persistence.*;
 import lombok.*;
 import java.util.Date;
 
 @Entity
 @Table(name = "project_score")
+@EntityListeners(StudentDashboardListener.class)
 @Getter
 @Setter
 @NoArgsConstructor
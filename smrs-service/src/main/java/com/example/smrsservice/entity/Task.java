@@ -1,5 +1,6 @@
 package com.example.smrsservice.entity;
 
+import com.example.smrsservice.entity.listener.DeadlineListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -10,6 +11,7 @@ import java.util.Date;
 
 @Entity
 @Table(name = "task")
+@EntityListeners(DeadlineListener.class)
 @Getter
 @Setter
 @NoArgsConstructor
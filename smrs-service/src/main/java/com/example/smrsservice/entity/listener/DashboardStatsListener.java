@@ -0,0 +1,27 @@
+package com.example.smrsservice.entity.listener;
+
+import com.example.smrsservice.service.DashboardStatsService;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * Gắn vào Project / Account / Council: mọi thay đổi làm snapshot dashboard hết hạn.
+ * Dùng ObjectProvider vì listener được tạo trong lúc build EntityManagerFactory.
+ */
+public class DashboardStatsListener {
+
+    private final ObjectProvider<DashboardStatsService> dashboardStatsService;
+
+    public DashboardStatsListener(ObjectProvider<DashboardStatsService> dashboardStatsService) {
+        this.dashboardStatsService = dashboardStatsService;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(Object entity) {
+        dashboardStatsService.ifAvailable(DashboardStatsService::invalidate);
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.smrsservice.entity.listener;
+
+import com.example.smrsservice.service.DeadlineScheduler;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * Gắn vào Milestone / Task / Project: đổi hạn, nộp report, xong task... thì cập nhật lịch hạn sau commit.
+ */
+public class DeadlineListener {
+
+    private final ObjectProvider<DeadlineScheduler> deadlineScheduler;
+
+    public DeadlineListener(ObjectProvider<DeadlineScheduler> deadlineScheduler) {
+        this.deadlineScheduler = deadlineScheduler;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void onChange(Object entity) {
+        deadlineScheduler.ifAvailable(scheduler -> scheduler.changedAfterCommit(entity, false));
+    }
+
+    @PostRemove
+    public void onRemove(Object entity) {
+        deadlineScheduler.ifAvailable(scheduler -> scheduler.changedAfterCommit(entity, true));
+    }
+}
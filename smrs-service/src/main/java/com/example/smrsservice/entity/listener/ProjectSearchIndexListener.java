@@ -0,0 +1,27 @@
+package com.example.smrsservice.entity.listener;
+
+import com.example.smrsservice.entity.Project;
+import com.example.smrsservice.service.ProjectSearchIndex;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * Gắn vào Project: tạo / sửa / resubmit / xoá project thì cập nhật lại index tìm kiếm sau commit.
+ */
+public class ProjectSearchIndexListener {
+
+    private final ObjectProvider<ProjectSearchIndex> projectSearchIndex;
+
+    public ProjectSearchIndexListener(ObjectProvider<ProjectSearchIndex> projectSearchIndex) {
+        this.projectSearchIndex = projectSearchIndex;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(Project project) {
+        projectSearchIndex.ifAvailable(index -> index.refreshAfterCommit(project.getId()));
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.smrsservice.entity.listener;
+
+import com.example.smrsservice.service.ProjectPublicationService;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * Gắn vào ProjectPublication: mọi thay đổi làm bộ đếm type/status của catalogue hết hạn.
+ */
+public class PublicationCatalogListener {
+
+    private final ObjectProvider<ProjectPublicationService> projectPublicationService;
+
+    public PublicationCatalogListener(ObjectProvider<ProjectPublicationService> projectPublicationService) {
+        this.projectPublicationService = projectPublicationService;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(Object entity) {
+        projectPublicationService.ifAvailable(ProjectPublicationService::invalidateCatalogCounts);
+    }
+}
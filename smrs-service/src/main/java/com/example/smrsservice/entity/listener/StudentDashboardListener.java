@@ -0,0 +1,50 @@
+package com.example.smrsservice.entity.listener;
+
+import com.example.smrsservice.entity.Milestone;
+import com.example.smrsservice.entity.Project;
+import com.example.smrsservice.entity.ProjectMember;
+import com.example.smrsservice.entity.ProjectScore;
+import com.example.smrsservice.service.StudentStatsService;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * Gắn vào Project / ProjectMember / ProjectScore / Milestone: xoá snapshot dashboard
+ * của những sinh viên bị ảnh hưởng.
+ */
+public class StudentDashboardListener {
+
+    private final ObjectProvider<StudentStatsService> studentStatsService;
+
+    public StudentDashboardListener(ObjectProvider<StudentStatsService> studentStatsService) {
+        this.studentStatsService = studentStatsService;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(Object entity) {
+        studentStatsService.ifAvailable(service -> {
+            if (entity instanceof ProjectMember member) {
+                if (member.getAccount() != null) {
+                    service.invalidateStudent(member.getAccount().getId());
+                }
+            } else if (entity instanceof Project project) {
+                service.invalidateProject(project.getId());
+                if (project.getOwner() != null) {
+                    service.invalidateStudent(project.getOwner().getId());
+                }
+            } else if (entity instanceof ProjectScore score) {
+                if (score.getProject() != null) {
+                    service.invalidateProject(score.getProject().getId());
+                }
+            } else if (entity instanceof Milestone milestone) {
+                if (milestone.getProject() != null) {
+                    service.invalidateProject(milestone.getProject().getId());
+                }
+            }
+        });
+    }
+}
@@ -20,6 +20,16 @@ public class GlobalExceptionHandler {
                 ));
     }
 
+    // 503 - upstream (Copyleaks / storage / Cloudinary) quá tải hoặc circuit breaker đang mở
+    @ExceptionHandler(UpstreamUnavailableException.class)
+    public ResponseEntity<?> handleUpstreamUnavailable(UpstreamUnavailableException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(Map.of(
+                        "error", "UPSTREAM_UNAVAILABLE",
+                        "message", ex.getMessage()
+                ));
+    }
+
     // 400 - bất kỳ lỗi runtime nào trong service/controller
     @ExceptionHandler(RuntimeException.class)
     public ResponseEntity<?> handleRuntime(RuntimeException ex) {
@@ -0,0 +1,20 @@
+package com.example.smrsservice.exeption;
+
+import com.example.smrsservice.common.Upstream;
+
+/**
+ * Lời gọi ra upstream bị từ chối trước khi gửi: bulkhead đã đầy hoặc circuit breaker đang mở
+ */
+public class UpstreamUnavailableException extends RuntimeException {
+
+    private final Upstream upstream;
+
+    public UpstreamUnavailableException(Upstream upstream, String reason) {
+        super("Dịch vụ " + upstream.getKey() + " tạm thời không khả dụng: " + reason);
+        this.upstream = upstream;
+    }
+
+    public Upstream getUpstream() {
+        return upstream;
+    }
+}
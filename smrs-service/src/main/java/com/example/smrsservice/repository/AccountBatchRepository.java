@@ -0,0 +1,68 @@
+package com.example.smrsservice.repository;
+
+import com.example.smrsservice.entity.Account;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+
+/**
+ * Insert account theo lô bằng JDBC batch. Account dùng IDENTITY nên Hibernate không gom
+ * được INSERT; ở đây một lần executeBatch cho cả chunk và gán lại id sinh ra vào từng entity.
+ * Chạy trên connection của transaction hiện tại.
+ */
+@Repository
+@RequiredArgsConstructor
+public class AccountBatchRepository {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO account (email, password, avatar, phone, name, age, gender, address, create_date, status, role_id) " +
+                    "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void insertAll(List<Account> accounts) {
+        if (accounts.isEmpty()) {
+            return;
+        }
+
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            try (PreparedStatement ps = connection.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+                for (Account account : accounts) {
+                    ps.setString(1, account.getEmail());
+                    ps.setString(2, account.getPassword());
+                    ps.setString(3, account.getAvatar());
+                    ps.setString(4, account.getPhone());
+                    ps.setString(5, account.getName());
+                    ps.setObject(6, account.getAge(), Types.INTEGER);
+                    ps.setString(7, account.getGender());
+                    ps.setString(8, account.getAddress());
+                    ps.setTimestamp(9, account.getCreateDate() != null
+                            ? new Timestamp(account.getCreateDate().getTime()) : null);
+                    ps.setString(10, account.getStatus().name());
+                    ps.setObject(11, account.getRole() != null ? account.getRole().getId() : null, Types.INTEGER);
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+
+                try (ResultSet keys = ps.getGeneratedKeys()) {
+                    int i = 0;
+                    while (keys.next() && i < accounts.size()) {
+                        accounts.get(i++).setId(keys.getInt(1));
+                    }
+                    if (i != accounts.size()) {
+                        throw new IllegalStateException("Expected " + accounts.size() + " generated ids, got " + i);
+                    }
+                }
+            }
+            return null;
+        });
+    }
+}
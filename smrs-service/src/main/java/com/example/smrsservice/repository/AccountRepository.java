@@ -2,6 +2,7 @@ package com.example.smrsservice.repository;
 
 
 import com.example.smrsservice.entity.Account;
+import com.example.smrsservice.repository.projection.AccountMonthlyRoleCount;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
@@ -9,6 +10,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,12 +22,24 @@ public interface AccountRepository extends JpaRepository<Account,Integer>, JpaSp
     Optional<Account> findWithRoleByEmail(String email);
     @Query("SELECT a FROM Account a WHERE LOWER(a.email) = LOWER(:email)")
     Optional<Account> findByEmail(@Param("email") String email);
+
+    @Query("SELECT a FROM Account a LEFT JOIN FETCH a.role WHERE LOWER(a.email) IN :emails")
+    List<Account> findByLowerEmailIn(@Param("emails") Collection<String> emails);
     @Query("SELECT COUNT(a) FROM Account a WHERE a.role.roleName = :roleName")
     long countByRoleName(@Param("roleName") String roleName);
 
     @Query("SELECT a FROM Account a WHERE a.role.roleName = :roleName")
     List<Account> findByRoleName(@Param("roleName") String roleName);
 
+    @EntityGraph(attributePaths = {"role"})
+    List<Account> findWithRoleByIdIn(Collection<Integer> ids);
+
+    @Query("SELECT r.roleName AS roleName, YEAR(a.createDate) AS createdYear, " +
+            "MONTH(a.createDate) AS createdMonth, COUNT(a) AS total " +
+            "FROM Account a LEFT JOIN a.role r " +
+            "GROUP BY r.roleName, YEAR(a.createDate), MONTH(a.createDate)")
+    List<AccountMonthlyRoleCount> countByRoleAndCreateMonth();
+
 
 
 
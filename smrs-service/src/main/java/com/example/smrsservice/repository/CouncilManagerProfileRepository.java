@@ -2,14 +2,26 @@ package com.example.smrsservice.repository;
 
 import com.example.smrsservice.entity.CouncilManagerProfile;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface CouncilManagerProfileRepository extends JpaRepository<CouncilManagerProfile,Integer> {
     Optional<CouncilManagerProfile> findByAccountId(Integer accountId);
 
+    /**
+     * Chỉ lấy id profile của dean (không load account / major)
+     */
+    @Query("SELECT p.id FROM CouncilManagerProfile p WHERE p.account.id = :accountId")
+    Optional<Integer> findIdByAccountId(@Param("accountId") Integer accountId);
+
+    List<CouncilManagerProfile> findByAccountIdIn(Collection<Integer> accountIds);
+
     Optional<CouncilManagerProfile> findByEmployeeCode(String employeeCode);
 
     boolean existsByEmployeeCode(String employeeCode);
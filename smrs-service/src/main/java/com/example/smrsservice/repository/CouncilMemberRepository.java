@@ -1,10 +1,16 @@
 package com.example.smrsservice.repository;
 
 import com.example.smrsservice.entity.CouncilMember;
+import com.example.smrsservice.repository.projection.CouncilLecturerRef;
+import com.example.smrsservice.repository.projection.CouncilMemberCount;
+import com.example.smrsservice.repository.projection.CouncilMemberMajorRow;
+import com.example.smrsservice.repository.projection.LecturerCouncilCount;
+import com.example.smrsservice.repository.projection.LecturerCouncilRow;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -21,12 +27,32 @@ public interface CouncilMemberRepository extends JpaRepository<CouncilMember, St
     @Query("SELECT cm FROM CouncilMember cm WHERE cm.lecturer.id = :lecturerId")
     List<CouncilMember> findByLecturerId(@Param("lecturerId") Integer lecturerId);
 
+    /**
+     * Số council mà giảng viên là thành viên
+     */
+    @Query("SELECT COUNT(cm) FROM CouncilMember cm WHERE cm.lecturer.id = :lecturerId")
+    long countByLecturerId(@Param("lecturerId") Integer lecturerId);
+
+    /**
+     * Council (id, tên, mã) và vai trò của giảng viên, không load entity
+     */
+    @Query("SELECT c.id AS councilId, c.councilName AS councilName, c.councilCode AS councilCode, cm.role AS memberRole " +
+            "FROM CouncilMember cm JOIN cm.council c WHERE cm.lecturer.id = :lecturerId")
+    List<LecturerCouncilRow> findCouncilRowsByLecturerId(@Param("lecturerId") Integer lecturerId);
+
     /**
      * Find council members by council ID
      */
     @Query("SELECT cm FROM CouncilMember cm WHERE cm.council.id = :councilId")
     List<CouncilMember> findByCouncilId(@Param("councilId") Integer councilId);
 
+    /**
+     * Thành viên (kèm giảng viên) của nhiều council trong 1 query
+     */
+    @Query("SELECT cm FROM CouncilMember cm JOIN FETCH cm.lecturer l LEFT JOIN FETCH l.role " +
+            "WHERE cm.council.id IN :councilIds ORDER BY cm.id ASC")
+    List<CouncilMember> findByCouncilIdInWithLecturer(@Param("councilIds") Collection<Integer> councilIds);
+
     /**
      * Tìm member theo councilId và lecturerId
      * Dùng để xóa member khỏi council
@@ -36,5 +62,47 @@ public interface CouncilMemberRepository extends JpaRepository<CouncilMember, St
             Integer lecturerId
     );
 
-    
+    /**
+     * Lấy id các council mà giảng viên là thành viên
+     */
+    @Query("SELECT cm.council.id FROM CouncilMember cm WHERE cm.lecturer.id = :lecturerId")
+    List<Integer> findCouncilIdsByLecturerId(@Param("lecturerId") Integer lecturerId);
+
+    /**
+     * Giảng viên của nhiều council trong 1 query
+     */
+    @Query("SELECT cm.council.id AS councilId, cm.lecturer.id AS lecturerId " +
+            "FROM CouncilMember cm WHERE cm.council.id IN :councilIds")
+    List<CouncilLecturerRef> findLecturerRefsByCouncilIdIn(@Param("councilIds") Collection<Integer> councilIds);
+
+    /**
+     * Đếm số thành viên của nhiều council trong 1 query
+     */
+    @Query("SELECT cm.council.id AS councilId, COUNT(cm) AS memberCount " +
+            "FROM CouncilMember cm WHERE cm.council.id IN :councilIds " +
+            "GROUP BY cm.council.id")
+    List<CouncilMemberCount> countMembersByCouncilIds(@Param("councilIds") Collection<Integer> councilIds);
+
+    /**
+     * Số giảng viên (không trùng) thuộc các council của dean
+     */
+    @Query("SELECT COUNT(DISTINCT cm.lecturer.id) FROM CouncilMember cm WHERE cm.council.dean.id = :deanId")
+    long countDistinctLecturersByDeanId(@Param("deanId") Integer deanId);
+
+    /**
+     * Giảng viên thuộc các council của dean, kèm số council mỗi người tham gia
+     */
+    @Query("SELECT l.id AS lecturerId, l.name AS lecturerName, l.email AS lecturerEmail, COUNT(cm) AS councilsCount " +
+            "FROM CouncilMember cm JOIN cm.lecturer l " +
+            "WHERE cm.council.dean.id = :deanId " +
+            "GROUP BY l.id, l.name, l.email")
+    List<LecturerCouncilCount> countCouncilsPerLecturerByDeanId(@Param("deanId") Integer deanId);
+
+    /**
+     * Thành viên của các council ACTIVE thuộc dean, kèm major của giảng viên
+     */
+    @Query("SELECT cm.council.id AS councilId, cm.lecturer.id AS lecturerId, lp.major.id AS majorId " +
+            "FROM CouncilMember cm LEFT JOIN LecturerProfile lp ON lp.account.id = cm.lecturer.id " +
+            "WHERE cm.council.dean.id = :deanId AND cm.council.status = 'ACTIVE'")
+    List<CouncilMemberMajorRow> findActiveMemberMajorsByDeanId(@Param("deanId") Integer deanId);
 }
@@ -1,12 +1,14 @@
 package com.example.smrsservice.repository;
 
 import com.example.smrsservice.entity.Council;
+import com.example.smrsservice.repository.projection.MonthlyCount;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -28,4 +30,17 @@ public interface CouncilRepository extends JpaRepository<Council, Integer>, JpaS
     @Query("SELECT c FROM Council c WHERE c.dean.id = :deanId")
     List<Council> findByDeanId(@Param("deanId") Integer deanId);
 
+    @Query("SELECT COUNT(c) FROM Council c WHERE c.dean.id = :deanId")
+    long countByDeanId(@Param("deanId") Integer deanId);
+
+    @Query("SELECT YEAR(c.createdAt) AS createdYear, MONTH(c.createdAt) AS createdMonth, COUNT(c) AS total " +
+            "FROM Council c GROUP BY YEAR(c.createdAt), MONTH(c.createdAt)")
+    List<MonthlyCount> countByCreateMonth();
+
+    /**
+     * Load nhiều council kèm dean + account của dean (và role) trong 1 query
+     */
+    @Query("SELECT c FROM Council c JOIN FETCH c.dean d JOIN FETCH d.account a LEFT JOIN FETCH a.role " +
+            "WHERE c.id IN :councilIds")
+    List<Council> findWithDeanByIdIn(@Param("councilIds") Collection<Integer> councilIds);
 }
@@ -0,0 +1,36 @@
+package com.example.smrsservice.repository;
+
+import com.example.smrsservice.common.ImportJobStatus;
+import com.example.smrsservice.entity.ImportJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ImportJobRepository extends JpaRepository<ImportJob, Long> {
+    List<ImportJob> findByStatusInOrderByIdAsc(Collection<ImportJobStatus> statuses);
+
+    List<ImportJob> findTop20ByCreatedByIdOrderByIdDesc(Integer accountId);
+
+    /**
+     * Ghi tiến độ của job đang chạy trong transaction riêng: import chạy trong transaction của nó,
+     * tiến độ vẫn phải thấy được (và còn lại sau restart) trước khi import commit
+     */
+    @Modifying
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Query("UPDATE ImportJob j SET j.rowsRead = :rowsRead, j.rowsSucceeded = :rowsSucceeded, " +
+            "j.rowsFailed = :rowsFailed, j.progressAt = :progressAt WHERE j.id = :id")
+    int updateProgress(@Param("id") Long id,
+                       @Param("rowsRead") int rowsRead,
+                       @Param("rowsSucceeded") int rowsSucceeded,
+                       @Param("rowsFailed") int rowsFailed,
+                       @Param("progressAt") Instant progressAt);
+}
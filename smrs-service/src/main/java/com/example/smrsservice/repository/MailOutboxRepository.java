@@ -0,0 +1,36 @@
+package com.example.smrsservice.repository;
+
+import com.example.smrsservice.common.MailOutboxStatus;
+import com.example.smrsservice.entity.MailOutboxMessage;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface MailOutboxRepository extends JpaRepository<MailOutboxMessage, Long> {
+
+    @Query("SELECT m FROM MailOutboxMessage m " +
+            "WHERE m.status = com.example.smrsservice.common.MailOutboxStatus.PENDING " +
+            "AND m.nextAttemptAt <= :now ORDER BY m.id")
+    List<MailOutboxMessage> findDue(@Param("now") Instant now, Pageable pageable);
+
+    long countByStatus(MailOutboxStatus status);
+
+    @Query("SELECT MIN(m.createdAt) FROM MailOutboxMessage m " +
+            "WHERE m.status = com.example.smrsservice.common.MailOutboxStatus.PENDING")
+    Instant findOldestPendingCreatedAt();
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM MailOutboxMessage m " +
+            "WHERE m.status <> com.example.smrsservice.common.MailOutboxStatus.PENDING " +
+            "AND m.createdAt < :before")
+    int deleteFinishedBefore(@Param("before") Instant before);
+}
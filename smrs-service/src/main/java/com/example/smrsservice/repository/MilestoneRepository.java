@@ -1,18 +1,23 @@
 package com.example.smrsservice.repository;
 
 import com.example.smrsservice.entity.Milestone;
+import com.example.smrsservice.repository.projection.DeadlineNoticeRow;
+import com.example.smrsservice.repository.projection.MilestoneDeadlineRow;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface MilestoneRepository extends JpaRepository<Milestone, Integer> {
 
-    List<Milestone> findByProject_Id(Integer projectId);
+    @Query("SELECT m FROM Milestone m WHERE m.project.id = :projectId")
+    List<Milestone> findByProject_Id(@Param("projectId") Integer projectId);
 
     boolean existsByProjectIdAndIsFinalTrue(Integer projectId);
 
@@ -34,8 +39,68 @@ public interface MilestoneRepository extends JpaRepository<Milestone, Integer> {
 
     List<Milestone> findByIsFinal(Boolean isFinal);
 
-    List<Milestone> findByReportSubmittedById(Integer submitterId);
+    @Query("SELECT m FROM Milestone m WHERE m.reportSubmittedBy.id = :submitterId")
+    List<Milestone> findByReportSubmittedById(@Param("submitterId") Integer submitterId);
 
     @Query("SELECT m FROM Milestone m WHERE m.project.id = :projectId ORDER BY m.dueDate ASC")
     List<Milestone> findByProjectId(@Param("projectId") Integer projectId);
-}
\ No newline at end of file
+
+    /**
+     * Milestone (chỉ các cột cần cho deadline) của nhiều project trong 1 query
+     */
+    @Query("SELECT m.project.id AS projectId, m.id AS id, m.description AS description, m.isFinal AS isFinal, " +
+            "m.dueDate AS dueDate, m.reportSubmittedAt AS reportSubmittedAt " +
+            "FROM Milestone m WHERE m.project.id IN :projectIds " +
+            "ORDER BY m.dueDate ASC")
+    List<MilestoneDeadlineRow> findDeadlineRowsByProjectIdIn(@Param("projectIds") Collection<Integer> projectIds);
+
+    /**
+     * Trong các projectIds, lấy những project đã có milestone final
+     */
+    @Query("SELECT DISTINCT m.project.id FROM Milestone m " +
+            "WHERE m.project.id IN :projectIds AND m.isFinal = true")
+    List<Integer> findProjectIdsWithFinalMilestone(@Param("projectIds") Collection<Integer> projectIds);
+
+    /**
+     * Lấy final milestone mới nhất (id lớn nhất) của từng project trong 1 query
+     */
+    @Query("SELECT m FROM Milestone m " +
+            "JOIN FETCH m.project " +
+            "LEFT JOIN FETCH m.createBy cb " +
+            "LEFT JOIN FETCH cb.role " +
+            "LEFT JOIN FETCH m.reportSubmittedBy rs " +
+            "LEFT JOIN FETCH rs.role " +
+            "WHERE m.project.id IN :projectIds AND m.isFinal = true " +
+            "AND m.id = (SELECT MAX(m2.id) FROM Milestone m2 " +
+            "            WHERE m2.project.id = m.project.id AND m2.isFinal = true)")
+    List<Milestone> findLatestFinalByProjectIdIn(@Param("projectIds") Collection<Integer> projectIds);
+
+    /**
+     * Milestone chưa nộp report và có due date (nạp vào DeadlineScheduler lúc khởi động)
+     */
+    @Query("SELECT m.id AS id, CASE WHEN m.isFinal = true THEN 'Final Report' ELSE m.description END AS title, " +
+            "m.dueDate AS dueDate, m.status AS status, p.id AS projectId, p.name AS projectName, " +
+            "o.email AS recipientEmail, o.name AS recipientName " +
+            "FROM Milestone m JOIN m.project p LEFT JOIN p.owner o " +
+            "WHERE m.reportSubmittedAt IS NULL AND m.dueDate IS NOT NULL")
+    List<DeadlineNoticeRow> findPendingDeadlineNotices();
+
+    /**
+     * Như findPendingDeadlineNotices nhưng chỉ các milestone đến hạn nhắc (đọc lại lúc gửi)
+     */
+    @Query("SELECT m.id AS id, CASE WHEN m.isFinal = true THEN 'Final Report' ELSE m.description END AS title, " +
+            "m.dueDate AS dueDate, m.status AS status, p.id AS projectId, p.name AS projectName, " +
+            "o.email AS recipientEmail, o.name AS recipientName " +
+            "FROM Milestone m JOIN m.project p LEFT JOIN p.owner o " +
+            "WHERE m.id IN :milestoneIds AND m.reportSubmittedAt IS NULL AND m.dueDate IS NOT NULL")
+    List<DeadlineNoticeRow> findPendingDeadlineNoticesByIdIn(@Param("milestoneIds") Collection<Integer> milestoneIds);
+
+    /**
+     * Đánh dấu quá hạn trong 1 câu UPDATE; milestone đã nộp / đã xong trong lúc đó thì giữ nguyên
+     */
+    @Modifying
+    @Query("UPDATE Milestone m SET m.status = 'Overdue' " +
+            "WHERE m.id IN :milestoneIds AND m.reportSubmittedAt IS NULL " +
+            "AND (m.status IS NULL OR m.status NOT IN ('Completed', 'Submitted', 'Overdue'))")
+    int markOverdue(@Param("milestoneIds") Collection<Integer> milestoneIds);
+}
@@ -5,6 +5,8 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface PlagiarismResultRepository extends JpaRepository<PlagiarismResult, Long> {
@@ -13,4 +15,10 @@ public interface PlagiarismResultRepository extends JpaRepository<PlagiarismResu
 
     @Query(value = "SELECT * FROM plagiarism_result WHERE scan_id = :scanId ORDER BY id DESC LIMIT 1", nativeQuery = true)
     Optional<PlagiarismResult> findByScanId(@Param("scanId") String scanId);
+
+    /**
+     * Trong các scanIds, lấy những scanId đã có kết quả
+     */
+    @Query("SELECT DISTINCT pr.scanId FROM PlagiarismResult pr WHERE pr.scanId IN :scanIds")
+    List<String> findExistingScanIds(@Param("scanIds") Collection<String> scanIds);
 }
\ No newline at end of file
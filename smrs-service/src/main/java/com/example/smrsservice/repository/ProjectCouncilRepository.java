@@ -1,10 +1,19 @@
 package com.example.smrsservice.repository;
 
+import com.example.smrsservice.common.DecisionStatus;
 import com.example.smrsservice.entity.ProjectCouncil;
+import com.example.smrsservice.repository.projection.CouncilDecisionCount;
+import com.example.smrsservice.repository.projection.CouncilLoadCount;
+import com.example.smrsservice.repository.projection.CouncilProjectScore;
+import com.example.smrsservice.repository.projection.CouncilProjectStats;
+import com.example.smrsservice.repository.projection.DecisionCount;
+import com.example.smrsservice.repository.projection.DecisionDateRef;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -19,6 +28,29 @@ public interface ProjectCouncilRepository extends JpaRepository<ProjectCouncil,I
     @Query("SELECT pc FROM ProjectCouncil pc WHERE pc.council.id = :councilId")
     List<ProjectCouncil> findByCouncilId(@Param("councilId") Integer councilId);
 
+    /**
+     * Toàn bộ assignment của nhiều project (kèm council) trong 1 query
+     */
+    @Query("SELECT pc FROM ProjectCouncil pc JOIN FETCH pc.council WHERE pc.project.id IN :projectIds")
+    List<ProjectCouncil> findByProjectIdInWithCouncil(@Param("projectIds") Collection<Integer> projectIds);
+
+    /**
+     * Số project đang PENDING của từng council thuộc dean (tải chấm hiện tại)
+     */
+    @Query("SELECT pc.council.id AS councilId, COUNT(pc) AS total FROM ProjectCouncil pc " +
+            "WHERE pc.council.dean.id = :deanId " +
+            "AND pc.decision = com.example.smrsservice.common.DecisionStatus.PENDING " +
+            "GROUP BY pc.council.id")
+    List<CouncilLoadCount> countPendingByCouncilForDean(@Param("deanId") Integer deanId);
+
+    /**
+     * Số project theo decision của nhiều council trong 1 query
+     */
+    @Query("SELECT pc.council.id AS councilId, pc.decision AS decision, COUNT(pc) AS total " +
+            "FROM ProjectCouncil pc WHERE pc.council.id IN :councilIds " +
+            "GROUP BY pc.council.id, pc.decision")
+    List<CouncilDecisionCount> countByDecisionForCouncils(@Param("councilIds") Collection<Integer> councilIds);
+
     /**
      * Find pending projects by dean
      */
@@ -26,4 +58,57 @@ public interface ProjectCouncilRepository extends JpaRepository<ProjectCouncil,I
             "WHERE pc.council.dean.id = :deanId " +
             "AND pc.decision = com.example.smrsservice.common.DecisionStatus.PENDING")
     List<ProjectCouncil> findPendingProjectsByDean(@Param("deanId") Integer deanId);
+
+    /**
+     * Lấy các project được phân cho những council này (kèm project, owner, council)
+     */
+    @Query("SELECT pc FROM ProjectCouncil pc " +
+            "JOIN FETCH pc.council " +
+            "JOIN FETCH pc.project p " +
+            "LEFT JOIN FETCH p.owner o " +
+            "LEFT JOIN FETCH o.role " +
+            "WHERE pc.council.id IN :councilIds " +
+            "ORDER BY pc.id ASC")
+    List<ProjectCouncil> findByCouncilIdInWithProject(@Param("councilIds") Collection<Integer> councilIds);
+
+    // ==================== DEAN STATS ====================
+
+    /**
+     * Đếm project-council của dean theo decision
+     */
+    @Query("SELECT pc.decision AS decision, COUNT(pc) AS total " +
+            "FROM ProjectCouncil pc WHERE pc.council.dean.id = :deanId " +
+            "GROUP BY pc.decision")
+    List<DecisionCount> countByDecisionForDean(@Param("deanId") Integer deanId);
+
+    /**
+     * Tổng số project và số project COMPLETED của từng council thuộc dean
+     */
+    @Query("SELECT pc.council.id AS councilId, COUNT(pc) AS totalProjects, " +
+            "SUM(CASE WHEN p.status = com.example.smrsservice.common.ProjectStatus.COMPLETED THEN 1 ELSE 0 END) AS completedProjects " +
+            "FROM ProjectCouncil pc JOIN pc.project p " +
+            "WHERE pc.council.dean.id = :deanId " +
+            "GROUP BY pc.council.id")
+    List<CouncilProjectStats> summarizeCouncilsForDean(@Param("deanId") Integer deanId);
+
+    /**
+     * Điểm trung bình của từng project (đã có điểm) trong từng council thuộc dean
+     */
+    @Query("SELECT pc.council.id AS councilId, pc.project.id AS projectId, AVG(ps.finalScore) AS averageScore " +
+            "FROM ProjectCouncil pc, ProjectScore ps " +
+            "WHERE ps.project.id = pc.project.id AND pc.council.dean.id = :deanId " +
+            "GROUP BY pc.council.id, pc.project.id")
+    List<CouncilProjectScore> averageProjectScoresForDean(@Param("deanId") Integer deanId);
+
+    /**
+     * Decision + ngày ra decision của các project-council thuộc dean, từ thời điểm {@code from}
+     */
+    @Query("SELECT pc.decision AS decision, pc.decisionDate AS decisionDate " +
+            "FROM ProjectCouncil pc " +
+            "WHERE pc.council.dean.id = :deanId AND pc.decision IN :decisions " +
+            "AND pc.decisionDate >= :from")
+    List<DecisionDateRef> findDecisionDatesForDean(
+            @Param("deanId") Integer deanId,
+            @Param("decisions") Collection<DecisionStatus> decisions,
+            @Param("from") Instant from);
 }
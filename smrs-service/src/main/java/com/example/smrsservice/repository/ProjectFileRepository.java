@@ -0,0 +1,21 @@
+package com.example.smrsservice.repository;
+
+import com.example.smrsservice.entity.ProjectFile;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ProjectFileRepository extends JpaRepository<ProjectFile, Integer> {
+
+    /**
+     * Lấy files của nhiều project trong 1 query (dùng khi build 1 page ProjectResponse)
+     */
+    @Query("SELECT f FROM ProjectFile f JOIN FETCH f.project " +
+            "WHERE f.project.id IN :projectIds ORDER BY f.id ASC")
+    List<ProjectFile> findByProjectIdIn(@Param("projectIds") Collection<Integer> projectIds);
+}
@@ -0,0 +1,21 @@
+package com.example.smrsservice.repository;
+
+import com.example.smrsservice.entity.ProjectImage;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ProjectImageRepository extends JpaRepository<ProjectImage, Integer> {
+
+    /**
+     * Lấy images của nhiều project trong 1 query (dùng khi build 1 page ProjectResponse)
+     */
+    @Query("SELECT i FROM ProjectImage i JOIN FETCH i.project " +
+            "WHERE i.project.id IN :projectIds ORDER BY i.id ASC")
+    List<ProjectImage> findByProjectIdIn(@Param("projectIds") Collection<Integer> projectIds);
+}
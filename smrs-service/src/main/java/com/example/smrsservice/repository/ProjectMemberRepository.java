@@ -1,10 +1,15 @@
 package com.example.smrsservice.repository;
 
 import com.example.smrsservice.entity.ProjectMember;
+import com.example.smrsservice.repository.projection.MembershipRef;
+import com.example.smrsservice.repository.projection.MentorshipRow;
+import com.example.smrsservice.repository.projection.ProjectLecturerRef;
+import com.example.smrsservice.repository.projection.ProjectMemberSummary;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,17 +18,20 @@ public interface ProjectMemberRepository extends JpaRepository<ProjectMember, In
     /**
      * Lấy danh sách lời mời/members của user theo status
      */
-    List<ProjectMember> findByAccountIdAndStatus(Integer accountId, String status);
+    @Query("SELECT pm FROM ProjectMember pm WHERE pm.account.id = :accountId AND pm.status = :status")
+    List<ProjectMember> findByAccountIdAndStatus(@Param("accountId") Integer accountId, @Param("status") String status);
 
     /**
      * Tìm member trong project theo accountId
      */
-    Optional<ProjectMember> findByProjectIdAndAccountId(Integer projectId, Integer accountId);
+    @Query("SELECT pm FROM ProjectMember pm WHERE pm.project.id = :projectId AND pm.account.id = :accountId")
+    Optional<ProjectMember> findByProjectIdAndAccountId(@Param("projectId") Integer projectId, @Param("accountId") Integer accountId);
 
     /**
      * Kiểm tra user đã được mời vào project chưa
      */
-    boolean existsByProjectIdAndAccountId(Integer projectId, Integer accountId);
+    @Query("SELECT COUNT(pm) > 0 FROM ProjectMember pm WHERE pm.project.id = :projectId AND pm.account.id = :accountId")
+    boolean existsByProjectIdAndAccountId(@Param("projectId") Integer projectId, @Param("accountId") Integer accountId);
 
     /**
      * Đếm số lượng members theo role và status trong project
@@ -47,12 +55,14 @@ public interface ProjectMemberRepository extends JpaRepository<ProjectMember, In
     /**
      * Lấy tất cả members của project theo status
      */
-    List<ProjectMember> findByProjectIdAndStatus(Integer projectId, String status);
+    @Query("SELECT pm FROM ProjectMember pm WHERE pm.project.id = :projectId AND pm.status = :status")
+    List<ProjectMember> findByProjectIdAndStatus(@Param("projectId") Integer projectId, @Param("status") String status);
 
     /**
      * Lấy tất cả members của project (bất kể status)
      */
-    List<ProjectMember> findByProjectId(Integer projectId);
+    @Query("SELECT pm FROM ProjectMember pm WHERE pm.project.id = :projectId")
+    List<ProjectMember> findByProjectId(@Param("projectId") Integer projectId);
 
     /**
      * Lấy tất cả projects mà user đang tham gia (đã approved và project đang active)
@@ -96,7 +106,15 @@ public interface ProjectMemberRepository extends JpaRepository<ProjectMember, In
      * ✅ FIXED: Chỉ return ProjectMember, không phải Project hay Major
      * Lấy tất cả project members theo accountId
      */
-    List<ProjectMember> findByAccountId(Integer accountId);
+    @Query("SELECT pm FROM ProjectMember pm WHERE pm.account.id = :accountId")
+    List<ProjectMember> findByAccountId(@Param("accountId") Integer accountId);
+
+    /**
+     * Project id + vai trò của mọi membership (mọi status) của account
+     */
+    @Query("SELECT pm.project.id AS projectId, pm.memberRole AS memberRole " +
+            "FROM ProjectMember pm WHERE pm.account.id = :accountId")
+    List<MembershipRef> findMembershipsByAccountId(@Param("accountId") Integer accountId);
 
     /**
      * Find project members by account and role
@@ -105,4 +123,44 @@ public interface ProjectMemberRepository extends JpaRepository<ProjectMember, In
     List<ProjectMember> findByAccountIdAndMemberRole(
             @Param("accountId") Integer accountId,
             @Param("memberRole") String memberRole);
-}
\ No newline at end of file
+
+    /**
+     * Project (id, tên, status, tiến độ) mà account tham gia với vai trò memberRole, không load entity
+     */
+    @Query("SELECT p.id AS projectId, p.name AS projectName, p.status AS projectStatus, pm.status AS memberStatus, " +
+            "p.milestoneCount AS milestoneCount, p.milestoneProgressSum AS milestoneProgressSum " +
+            "FROM ProjectMember pm JOIN pm.project p " +
+            "WHERE pm.account.id = :accountId AND pm.memberRole = :memberRole")
+    List<MentorshipRow> findMentorshipRowsByAccountId(
+            @Param("accountId") Integer accountId,
+            @Param("memberRole") String memberRole);
+
+    /**
+     * Lấy members (kèm account) của nhiều project trong 1 query
+     */
+    @Query("SELECT pm FROM ProjectMember pm " +
+            "JOIN FETCH pm.project " +
+            "JOIN FETCH pm.account a " +
+            "LEFT JOIN FETCH a.role " +
+            "WHERE pm.project.id IN :projectIds " +
+            "ORDER BY pm.id ASC")
+    List<ProjectMember> findByProjectIdIn(@Param("projectIds") Collection<Integer> projectIds);
+
+    /**
+     * Thống kê members (tổng, số sinh viên, có lecturer approved) của nhiều project
+     */
+    @Query("SELECT pm.project.id AS projectId, " +
+            "COUNT(pm) AS totalMembers, " +
+            "SUM(CASE WHEN UPPER(pm.memberRole) = 'STUDENT' THEN 1 ELSE 0 END) AS totalStudents, " +
+            "SUM(CASE WHEN UPPER(pm.memberRole) = 'LECTURER' AND pm.status = 'Approved' THEN 1 ELSE 0 END) AS approvedLecturers " +
+            "FROM ProjectMember pm WHERE pm.project.id IN :projectIds " +
+            "GROUP BY pm.project.id")
+    List<ProjectMemberSummary> summarizeByProjectIds(@Param("projectIds") Collection<Integer> projectIds);
+
+    /**
+     * Giảng viên (memberRole LECTURER) của nhiều project trong 1 query
+     */
+    @Query("SELECT pm.project.id AS projectId, pm.account.id AS lecturerId FROM ProjectMember pm " +
+            "WHERE pm.project.id IN :projectIds AND UPPER(pm.memberRole) = 'LECTURER'")
+    List<ProjectLecturerRef> findLecturerRefsByProjectIds(@Param("projectIds") Collection<Integer> projectIds);
+}
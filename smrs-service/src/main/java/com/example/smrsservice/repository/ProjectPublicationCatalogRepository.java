@@ -0,0 +1,29 @@
+package com.example.smrsservice.repository;
+
+import com.example.smrsservice.common.PublicationStatus;
+import com.example.smrsservice.common.PublicationType;
+import com.example.smrsservice.repository.projection.PublicationCatalogRow;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Catalogue publication với điều kiện động, viết tay trong ProjectPublicationCatalogRepositoryImpl
+ */
+public interface ProjectPublicationCatalogRepository {
+
+    /**
+     * Keyset pagination theo id giảm dần: trả tối đa limit dòng có id < afterId.
+     * Mọi điều kiện đều tùy chọn (null = bỏ qua), limit null = không giới hạn.
+     * Ngày đăng ký trong [registeredFrom, registeredTo).
+     */
+    List<PublicationCatalogRow> findCatalogPage(
+            PublicationType type,
+            PublicationStatus status,
+            Integer projectId,
+            Integer majorId,
+            Date registeredFrom,
+            Date registeredTo,
+            Integer afterId,
+            Integer limit);
+}
@@ -0,0 +1,105 @@
+package com.example.smrsservice.repository;
+
+import com.example.smrsservice.common.PublicationStatus;
+import com.example.smrsservice.common.PublicationType;
+import com.example.smrsservice.repository.projection.PublicationCatalogRow;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TupleElement;
+import jakarta.persistence.TypedQuery;
+import org.springframework.data.projection.ProjectionFactory;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class ProjectPublicationCatalogRepositoryImpl implements ProjectPublicationCatalogRepository {
+
+    private static final String SELECT = "SELECT pp.id AS id, pp.status AS status, " +
+            "pp.publicationName AS publicationName, pp.publicationType AS publicationType, " +
+            "pp.publicationLink AS publicationLink, pp.registeredDate AS registeredDate, " +
+            "pp.publishedDate AS publishedDate, pp.notes AS notes, pp.doi AS doi, pp.isbnIssn AS isbnIssn, " +
+            "pp.createdAt AS createdAt, pp.updatedAt AS updatedAt, " +
+            "p.id AS projectId, p.name AS projectName, p.description AS projectDescription, " +
+            "p.type AS projectType, p.status AS projectStatus, p.dueDate AS projectDueDate, " +
+            "p.createDate AS projectCreateDate, " +
+            "o.id AS ownerId, o.name AS ownerName, o.email AS ownerEmail, ownerRole.roleName AS ownerRole, " +
+            "m.id AS majorId, m.name AS majorName, " +
+            "a.id AS authorId, a.name AS authorName, a.email AS authorEmail, a.phone AS authorPhone, " +
+            "a.avatar AS authorAvatar, authorRole.roleName AS authorRole, a.age AS authorAge, a.status AS authorStatus " +
+            "FROM ProjectPublication pp " +
+            "JOIN pp.project p " +
+            "LEFT JOIN p.owner o LEFT JOIN o.role ownerRole " +
+            "LEFT JOIN p.major m " +
+            "JOIN pp.author a LEFT JOIN a.role authorRole";
+
+    private final ProjectionFactory projectionFactory = new SpelAwareProxyProjectionFactory();
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<PublicationCatalogRow> findCatalogPage(
+            PublicationType type,
+            PublicationStatus status,
+            Integer projectId,
+            Integer majorId,
+            Date registeredFrom,
+            Date registeredTo,
+            Integer afterId,
+            Integer limit) {
+
+        StringBuilder where = new StringBuilder(" WHERE 1 = 1");
+        Map<String, Object> params = new HashMap<>();
+
+        if (type != null) {
+            where.append(" AND pp.publicationType = :type");
+            params.put("type", type);
+        }
+        if (status != null) {
+            where.append(" AND pp.status = :status");
+            params.put("status", status);
+        }
+        if (projectId != null) {
+            where.append(" AND pp.project.id = :projectId");
+            params.put("projectId", projectId);
+        }
+        if (majorId != null) {
+            where.append(" AND p.major.id = :majorId");
+            params.put("majorId", majorId);
+        }
+        if (registeredFrom != null) {
+            where.append(" AND pp.registeredDate >= :registeredFrom");
+            params.put("registeredFrom", registeredFrom);
+        }
+        if (registeredTo != null) {
+            where.append(" AND pp.registeredDate < :registeredTo");
+            params.put("registeredTo", registeredTo);
+        }
+        if (afterId != null) {
+            where.append(" AND pp.id < :afterId");
+            params.put("afterId", afterId);
+        }
+
+        TypedQuery<Tuple> query = entityManager.createQuery(SELECT + where + " ORDER BY pp.id DESC", Tuple.class);
+        params.forEach(query::setParameter);
+        if (limit != null) {
+            query.setMaxResults(limit);
+        }
+
+        List<PublicationCatalogRow> rows = new ArrayList<>();
+        for (Tuple tuple : query.getResultList()) {
+            Map<String, Object> values = new LinkedHashMap<>();
+            for (TupleElement<?> element : tuple.getElements()) {
+                values.put(element.getAlias(), tuple.get(element));
+            }
+            rows.add(projectionFactory.createProjection(PublicationCatalogRow.class, values));
+        }
+        return rows;
+    }
+}
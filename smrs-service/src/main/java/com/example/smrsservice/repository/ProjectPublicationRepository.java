@@ -3,13 +3,15 @@ package com.example.smrsservice.repository;
 import com.example.smrsservice.common.PublicationStatus;
 import com.example.smrsservice.common.PublicationType;
 import com.example.smrsservice.entity.ProjectPublication;
+import com.example.smrsservice.repository.projection.PublicationFacetCount;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 
-public interface ProjectPublicationRepository extends JpaRepository<ProjectPublication, Integer> {
+public interface ProjectPublicationRepository extends JpaRepository<ProjectPublication, Integer>,
+        ProjectPublicationCatalogRepository {
 
     /**
      * Lấy tất cả publications của 1 project
@@ -73,4 +75,11 @@ public interface ProjectPublicationRepository extends JpaRepository<ProjectPubli
      */
     @Query("SELECT COUNT(pp) FROM ProjectPublication pp WHERE pp.author.id = :authorId AND pp.status = 'PUBLISHED'")
     Long countPublishedByAuthorId(@Param("authorId") Integer authorId);
+
+    /**
+     * Số publications theo (type, status), dùng cho bộ lọc của catalogue
+     */
+    @Query("SELECT pp.publicationType AS publicationType, pp.status AS status, COUNT(pp) AS total " +
+            "FROM ProjectPublication pp GROUP BY pp.publicationType, pp.status")
+    List<PublicationFacetCount> countByTypeAndStatus();
 }
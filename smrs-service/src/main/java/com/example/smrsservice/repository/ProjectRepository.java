@@ -2,14 +2,21 @@ package com.example.smrsservice.repository;
 
 import com.example.smrsservice.common.ProjectStatus;
 import com.example.smrsservice.entity.Project;
+import com.example.smrsservice.repository.projection.DeadlineNoticeRow;
+import com.example.smrsservice.repository.projection.ProjectDashboardRow;
+import com.example.smrsservice.repository.projection.ProjectMonthlyStatusCount;
+import com.example.smrsservice.repository.projection.ProjectSearchRow;
+import com.example.smrsservice.repository.projection.ReadyProjectRow;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 import java.util.Optional;
@@ -72,7 +79,77 @@ public interface ProjectRepository extends JpaRepository<Project, Integer>, JpaS
     /**
      * Lấy danh sách projects theo ownerId
      */
-    List<Project> findByOwnerId(Integer ownerId);
+    @Query("SELECT p FROM Project p WHERE p.owner.id = :ownerId")
+    List<Project> findByOwnerId(@Param("ownerId") Integer ownerId);
+
+    @Query("SELECT p.id FROM Project p WHERE p.owner.id = :ownerId")
+    List<Integer> findIdsByOwnerId(@Param("ownerId") Integer ownerId);
+
+    /**
+     * Lấy các cột dùng cho dashboard của nhiều project trong 1 query
+     */
+    @Query("SELECT p.id AS id, p.name AS name, p.status AS status, p.createDate AS createDate, " +
+            "p.dueDate AS dueDate, p.owner.id AS ownerId, " +
+            "p.milestoneCount AS milestoneCount, p.milestoneProgressSum AS milestoneProgressSum " +
+            "FROM Project p WHERE p.id IN :projectIds")
+    List<ProjectDashboardRow> findDashboardRowsByIdIn(@Param("projectIds") Collection<Integer> projectIds);
+
+    /**
+     * Load nhiều project kèm owner (dùng cho xử lý hàng loạt + gửi mail cho owner)
+     */
+    @Query("SELECT p FROM Project p LEFT JOIN FETCH p.owner WHERE p.id IN :projectIds")
+    List<Project> findWithOwnerByIdIn(@Param("projectIds") Collection<Integer> projectIds);
+
+    /**
+     * Project chờ phân hội đồng: APPROVED, đã có final report, chưa có trong project_council
+     */
+    @Query("SELECT p.id AS projectId, p.name AS projectName, p.major.id AS majorId " +
+            "FROM Project p WHERE p.status = com.example.smrsservice.common.ProjectStatus.APPROVED " +
+            "AND EXISTS (SELECT 1 FROM Milestone m WHERE m.project.id = p.id AND m.isFinal = true) " +
+            "AND NOT EXISTS (SELECT 1 FROM ProjectCouncil pc WHERE pc.project.id = p.id) " +
+            "ORDER BY p.id ASC")
+    List<ReadyProjectRow> findReadyForCouncilRows();
+
+    /**
+     * Dữ liệu cho index tìm kiếm, đọc lần lượt theo id (keyset) khi build lúc khởi động
+     */
+    @Query("SELECT p.id AS id, p.name AS name, p.description AS description, p.type AS type, m.name AS majorName " +
+            "FROM Project p LEFT JOIN p.major m WHERE p.id > :afterId ORDER BY p.id ASC")
+    List<ProjectSearchRow> findSearchRowsAfter(@Param("afterId") Integer afterId, Pageable pageable);
+
+    @Query("SELECT p.id AS id, p.name AS name, p.description AS description, p.type AS type, m.name AS majorName " +
+            "FROM Project p LEFT JOIN p.major m WHERE p.id IN :projectIds")
+    List<ProjectSearchRow> findSearchRowsByIdIn(@Param("projectIds") Collection<Integer> projectIds);
+
+    /**
+     * Project đang chờ chỉnh sửa có hạn (nạp vào DeadlineScheduler lúc khởi động)
+     */
+    @Query("SELECT p.id AS id, p.name AS title, p.revisionDeadline AS dueDate, p.id AS projectId, " +
+            "p.name AS projectName, o.email AS recipientEmail, o.name AS recipientName " +
+            "FROM Project p LEFT JOIN p.owner o " +
+            "WHERE p.status = com.example.smrsservice.common.ProjectStatus.REVISION_REQUIRED " +
+            "AND p.revisionDeadline IS NOT NULL")
+    List<DeadlineNoticeRow> findRevisionDeadlineNotices();
+
+    @Query("SELECT p.id AS id, p.name AS title, p.revisionDeadline AS dueDate, p.id AS projectId, " +
+            "p.name AS projectName, o.email AS recipientEmail, o.name AS recipientName " +
+            "FROM Project p LEFT JOIN p.owner o " +
+            "WHERE p.id IN :projectIds AND p.status = com.example.smrsservice.common.ProjectStatus.REVISION_REQUIRED " +
+            "AND p.revisionDeadline IS NOT NULL")
+    List<DeadlineNoticeRow> findRevisionDeadlineNoticesByIdIn(@Param("projectIds") Collection<Integer> projectIds);
+
+    /**
+     * Cộng delta vào các cột tổng hợp milestone của project trong 1 câu UPDATE (nguyên tử, không đọc trước)
+     */
+    @Modifying
+    @Query(value = "UPDATE project SET milestone_count = milestone_count + :countDelta, " +
+            "milestone_progress_sum = milestone_progress_sum + :progressDelta, " +
+            "completed_milestones = completed_milestones + :completedDelta " +
+            "WHERE id = :projectId", nativeQuery = true)
+    int addMilestoneProgress(@Param("projectId") Integer projectId,
+                             @Param("countDelta") int countDelta,
+                             @Param("progressDelta") double progressDelta,
+                             @Param("completedDelta") int completedDelta);
 
     // ==================== STATS METHODS ====================
 
@@ -113,4 +190,13 @@ public interface ProjectRepository extends JpaRepository<Project, Integer>, JpaS
     List<Project> findByCreateDateBetween(
             @Param("startDate") Date startDate,
             @Param("endDate") Date endDate);
+
+    /**
+     * Đếm projects theo tháng tạo và status (1 lần GROUP BY cho dashboard)
+     */
+    @Query("SELECT YEAR(p.createDate) AS createdYear, MONTH(p.createDate) AS createdMonth, " +
+            "p.status AS status, COUNT(p) AS total " +
+            "FROM Project p " +
+            "GROUP BY YEAR(p.createDate), MONTH(p.createDate), p.status")
+    List<ProjectMonthlyStatusCount> countByCreateMonthAndStatus();
 }
\ No newline at end of file
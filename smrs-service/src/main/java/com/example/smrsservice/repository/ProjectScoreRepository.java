@@ -1,19 +1,28 @@
 package com.example.smrsservice.repository;
 
 import com.example.smrsservice.entity.ProjectScore;
+import com.example.smrsservice.repository.projection.LecturerScoreRef;
+import com.example.smrsservice.repository.projection.LecturerScoreRow;
+import com.example.smrsservice.repository.projection.LecturerScoreSummary;
+import com.example.smrsservice.repository.projection.MilestoneScoreSummary;
+import com.example.smrsservice.repository.projection.ProjectAverageScore;
+import com.example.smrsservice.repository.projection.ProjectScoreRow;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 
 @Repository
-public interface ProjectScoreRepository extends JpaRepository<ProjectScore, Integer> {
-    List<ProjectScore> findByProjectId(Integer projectId);
+public interface ProjectScoreRepository extends JpaRepository<ProjectScore, Integer>, ProjectScoreSearchRepository {
+    @Query("SELECT ps FROM ProjectScore ps WHERE ps.project.id = :projectId")
+    List<ProjectScore> findByProjectId(@Param("projectId") Integer projectId);
 
-    List<ProjectScore> findByFinalMilestoneId(Integer milestoneId);
+    @Query("SELECT ps FROM ProjectScore ps WHERE ps.finalMilestone.id = :milestoneId")
+    List<ProjectScore> findByFinalMilestoneId(@Param("milestoneId") Integer milestoneId);
 
     @Query("SELECT AVG(ps.finalScore) FROM ProjectScore ps WHERE ps.project.id = :projectId")
     Double getAverageScoreByProjectId(@Param("projectId") Integer projectId);
@@ -43,6 +52,66 @@ public interface ProjectScoreRepository extends JpaRepository<ProjectScore, Inte
 
     long countByProjectId(Integer projectId);
 
+    /**
+     * Trong các projectIds, lấy những project đã có ít nhất 1 điểm
+     */
+    @Query("SELECT DISTINCT ps.project.id FROM ProjectScore ps WHERE ps.project.id IN :projectIds")
+    List<Integer> findScoredProjectIds(@Param("projectIds") Collection<Integer> projectIds);
+
+    /**
+     * Số điểm và điểm TB của nhiều final milestone trong 1 query
+     */
+    @Query("SELECT ps.finalMilestone.id AS milestoneId, COUNT(ps) AS totalScores, AVG(ps.finalScore) AS averageScore " +
+            "FROM ProjectScore ps WHERE ps.finalMilestone.id IN :milestoneIds " +
+            "GROUP BY ps.finalMilestone.id")
+    List<MilestoneScoreSummary> summarizeByFinalMilestoneIds(@Param("milestoneIds") Collection<Integer> milestoneIds);
+
+    /**
+     * Điểm mà giảng viên đã chấm cho các final milestone
+     */
+    @Query("SELECT ps.finalMilestone.id AS milestoneId, ps.id AS scoreId, ps.finalScore AS finalScore " +
+            "FROM ProjectScore ps " +
+            "WHERE ps.lecturer.id = :lecturerId AND ps.finalMilestone.id IN :milestoneIds " +
+            "ORDER BY ps.id ASC")
+    List<LecturerScoreRef> findLecturerScoresByFinalMilestoneIds(
+            @Param("lecturerId") Integer lecturerId,
+            @Param("milestoneIds") Collection<Integer> milestoneIds);
+
+    /**
+     * Số điểm đã chấm và điểm TB của nhiều giảng viên trong 1 query
+     */
+    @Query("SELECT ps.lecturer.id AS lecturerId, COUNT(ps) AS totalScores, AVG(ps.finalScore) AS averageScore " +
+            "FROM ProjectScore ps WHERE ps.lecturer.id IN :lecturerIds " +
+            "GROUP BY ps.lecturer.id")
+    List<LecturerScoreSummary> summarizeByLecturerIds(@Param("lecturerIds") Collection<Integer> lecturerIds);
+
+    /**
+     * Tất cả điểm của nhiều project (kèm tên giảng viên chấm) trong 1 query
+     */
+    @Query("SELECT ps.project.id AS projectId, l.id AS lecturerId, l.name AS lecturerName, " +
+            "ps.finalScore AS finalScore, ps.scoreDate AS scoreDate " +
+            "FROM ProjectScore ps JOIN ps.lecturer l " +
+            "WHERE ps.project.id IN :projectIds")
+    List<ProjectScoreRow> findScoreRowsByProjectIdIn(@Param("projectIds") Collection<Integer> projectIds);
+
+    /**
+     * Điểm giảng viên đã chấm (kèm tên project), mới nhất trước
+     */
+    @Query("SELECT ps.id AS scoreId, p.id AS projectId, p.name AS projectName, " +
+            "ps.finalScore AS finalScore, ps.scoreDate AS scoreDate " +
+            "FROM ProjectScore ps JOIN ps.project p " +
+            "WHERE ps.lecturer.id = :lecturerId " +
+            "ORDER BY ps.scoreDate DESC")
+    List<LecturerScoreRow> findScoreRowsByLecturerId(@Param("lecturerId") Integer lecturerId);
+
+    /**
+     * Điểm trung bình của nhiều project trong 1 query
+     */
+    @Query("SELECT ps.project.id AS projectId, AVG(ps.finalScore) AS averageScore " +
+            "FROM ProjectScore ps WHERE ps.project.id IN :projectIds " +
+            "GROUP BY ps.project.id")
+    List<ProjectAverageScore> averageByProjectIds(@Param("projectIds") Collection<Integer> projectIds);
+
    
 
 }
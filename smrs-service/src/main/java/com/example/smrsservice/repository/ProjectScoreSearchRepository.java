@@ -0,0 +1,30 @@
+package com.example.smrsservice.repository;
+
+import com.example.smrsservice.repository.projection.ScoreSearchRow;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.Date;
+
+/**
+ * Tìm kiếm điểm với điều kiện động, viết tay trong ProjectScoreSearchRepositoryImpl
+ */
+public interface ProjectScoreSearchRepository {
+
+    /**
+     * Mọi điều kiện đều tùy chọn (null = bỏ qua), chỉ điều kiện có giá trị mới được đưa vào câu query
+     * để MySQL dùng được index.
+     * keyword khớp (không phân biệt hoa thường) tên project / tên giảng viên / nhận xét,
+     * khoảng điểm [minScore, maxScore), khoảng ngày [fromDate, toDate), council lọc qua project_council.
+     * Sort theo: id, scoreDate, finalScore, projectName, lecturerName.
+     */
+    Page<ScoreSearchRow> searchScores(
+            String keyword,
+            Double minScore,
+            Double maxScore,
+            Integer lecturerId,
+            Integer councilId,
+            Date fromDate,
+            Date toDate,
+            Pageable pageable);
+}
@@ -0,0 +1,137 @@
+package com.example.smrsservice.repository;
+
+import com.example.smrsservice.repository.projection.ScoreSearchRow;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TupleElement;
+import jakarta.persistence.TypedQuery;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.projection.ProjectionFactory;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class ProjectScoreSearchRepositoryImpl implements ProjectScoreSearchRepository {
+
+    private static final String SELECT = "SELECT ps.id AS id, p.id AS projectId, p.name AS projectName, " +
+            "ps.finalMilestone.id AS finalMilestoneId, l.id AS lecturerId, l.name AS lecturerName, " +
+            "ps.criteria1Score AS criteria1Score, ps.criteria2Score AS criteria2Score, " +
+            "ps.criteria3Score AS criteria3Score, ps.criteria4Score AS criteria4Score, " +
+            "ps.criteria5Score AS criteria5Score, ps.criteria6Score AS criteria6Score, " +
+            "ps.bonusScore1 AS bonusScore1, ps.bonusScore2 AS bonusScore2, " +
+            "ps.totalScore AS totalScore, ps.finalScore AS finalScore, " +
+            "ps.comment AS comment, ps.scoreDate AS scoreDate " +
+            "FROM ProjectScore ps JOIN ps.project p JOIN ps.lecturer l";
+
+    /** Sort property (API) -> đường dẫn JPQL */
+    private static final Map<String, String> SORT_PATHS = Map.of(
+            "id", "ps.id",
+            "scoreDate", "ps.scoreDate",
+            "finalScore", "ps.finalScore",
+            "projectName", "p.name",
+            "lecturerName", "l.name");
+
+    private final ProjectionFactory projectionFactory = new SpelAwareProxyProjectionFactory();
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<ScoreSearchRow> searchScores(
+            String keyword,
+            Double minScore,
+            Double maxScore,
+            Integer lecturerId,
+            Integer councilId,
+            Date fromDate,
+            Date toDate,
+            Pageable pageable) {
+
+        StringBuilder where = new StringBuilder(" WHERE 1 = 1");
+        Map<String, Object> params = new HashMap<>();
+
+        if (keyword != null) {
+            where.append(" AND (LOWER(p.name) LIKE :keyword OR LOWER(l.name) LIKE :keyword " +
+                    "OR LOWER(ps.comment) LIKE :keyword)");
+            params.put("keyword", "%" + keyword.toLowerCase() + "%");
+        }
+        if (minScore != null) {
+            where.append(" AND ps.finalScore >= :minScore");
+            params.put("minScore", minScore);
+        }
+        if (maxScore != null) {
+            where.append(" AND ps.finalScore < :maxScore");
+            params.put("maxScore", maxScore);
+        }
+        if (lecturerId != null) {
+            where.append(" AND ps.lecturer.id = :lecturerId");
+            params.put("lecturerId", lecturerId);
+        }
+        if (councilId != null) {
+            where.append(" AND EXISTS (SELECT 1 FROM ProjectCouncil pc " +
+                    "WHERE pc.project.id = ps.project.id AND pc.council.id = :councilId)");
+            params.put("councilId", councilId);
+        }
+        if (fromDate != null) {
+            where.append(" AND ps.scoreDate >= :fromDate");
+            params.put("fromDate", fromDate);
+        }
+        if (toDate != null) {
+            where.append(" AND ps.scoreDate < :toDate");
+            params.put("toDate", toDate);
+        }
+
+        TypedQuery<Tuple> query = entityManager.createQuery(SELECT + where + orderBy(pageable.getSort()), Tuple.class);
+        params.forEach(query::setParameter);
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+
+        List<ScoreSearchRow> content = new ArrayList<>();
+        for (Tuple tuple : query.getResultList()) {
+            Map<String, Object> values = new LinkedHashMap<>();
+            for (TupleElement<?> element : tuple.getElements()) {
+                values.put(element.getAlias(), tuple.get(element));
+            }
+            content.add(projectionFactory.createProjection(ScoreSearchRow.class, values));
+        }
+
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(content);
+        }
+        if (pageable.getOffset() == 0 && content.size() < pageable.getPageSize()) {
+            return new PageImpl<>(content, pageable, content.size());
+        }
+
+        // Count chỉ join project / account khi lọc theo keyword
+        String countFrom = keyword != null
+                ? "SELECT COUNT(ps) FROM ProjectScore ps JOIN ps.project p JOIN ps.lecturer l"
+                : "SELECT COUNT(ps) FROM ProjectScore ps";
+        TypedQuery<Long> countQuery = entityManager.createQuery(countFrom + where, Long.class);
+        params.forEach(countQuery::setParameter);
+
+        return new PageImpl<>(content, pageable, countQuery.getSingleResult());
+    }
+
+    private static String orderBy(Sort sort) {
+        List<String> orders = new ArrayList<>();
+        for (Sort.Order order : sort) {
+            String path = SORT_PATHS.get(order.getProperty());
+            if (path == null) {
+                throw new IllegalArgumentException("Cannot sort scores by " + order.getProperty());
+            }
+            orders.add(path + (order.isAscending() ? " ASC" : " DESC"));
+        }
+        return orders.isEmpty() ? "" : " ORDER BY " + String.join(", ", orders);
+    }
+}
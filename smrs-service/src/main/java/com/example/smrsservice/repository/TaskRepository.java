@@ -1,14 +1,25 @@
 package com.example.smrsservice.repository;
 
 import com.example.smrsservice.entity.Task;
+import com.example.smrsservice.repository.projection.DeadlineNoticeRow;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
-public interface TaskRepository extends JpaRepository<Task, Integer> {
+public interface TaskRepository extends JpaRepository<Task, Integer>, JpaSpecificationExecutor<Task> {
     Page<Task> findByStatusIgnoreCase(String status, PageRequest pageRequest);
 
 
@@ -22,4 +33,26 @@ public interface TaskRepository extends JpaRepository<Task, Integer> {
 
 
     Page<Task> findByAssignedToId(Integer assignedToId, Pageable pageable);
+
+    /**
+     * Load task và khoá dòng (SELECT ... FOR UPDATE) để đọc progress / milestone cũ khi cộng dồn tiến độ
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM Task t WHERE t.id = :id")
+    Optional<Task> findByIdForUpdate(@Param("id") Integer id);
+
+    /**
+     * Task có deadline sau thời điểm from (nạp vào DeadlineScheduler lúc khởi động)
+     */
+    @Query("SELECT t.id AS id, t.name AS title, t.deadline AS dueDate, t.status AS status, " +
+            "p.id AS projectId, p.name AS projectName, a.email AS recipientEmail, a.name AS recipientName " +
+            "FROM Task t LEFT JOIN t.project p LEFT JOIN t.assignedTo a " +
+            "WHERE t.deadline > :from")
+    List<DeadlineNoticeRow> findDeadlineNoticesAfter(@Param("from") Date from);
+
+    @Query("SELECT t.id AS id, t.name AS title, t.deadline AS dueDate, t.status AS status, " +
+            "p.id AS projectId, p.name AS projectName, a.email AS recipientEmail, a.name AS recipientName " +
+            "FROM Task t LEFT JOIN t.project p LEFT JOIN t.assignedTo a " +
+            "WHERE t.id IN :taskIds AND t.deadline IS NOT NULL")
+    List<DeadlineNoticeRow> findDeadlineNoticesByIdIn(@Param("taskIds") Collection<Integer> taskIds);
 }
@@ -0,0 +1,14 @@
+package com.example.smrsservice.repository.projection;
+
+/**
+ * Số account theo (role, năm, tháng tạo)
+ */
+public interface AccountMonthlyRoleCount {
+    String getRoleName();
+
+    Integer getCreatedYear();
+
+    Integer getCreatedMonth();
+
+    Long getTotal();
+}
@@ -0,0 +1,14 @@
+package com.example.smrsservice.repository.projection;
+
+import com.example.smrsservice.common.DecisionStatus;
+
+/**
+ * Số project của 1 council theo decision
+ */
+public interface CouncilDecisionCount {
+    Integer getCouncilId();
+
+    DecisionStatus getDecision();
+
+    Long getTotal();
+}
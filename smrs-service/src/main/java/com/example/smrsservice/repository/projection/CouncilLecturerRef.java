@@ -0,0 +1,10 @@
+package com.example.smrsservice.repository.projection;
+
+/**
+ * 1 giảng viên thành viên của 1 council
+ */
+public interface CouncilLecturerRef {
+    Integer getCouncilId();
+
+    Integer getLecturerId();
+}
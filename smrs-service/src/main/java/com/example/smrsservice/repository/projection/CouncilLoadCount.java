@@ -0,0 +1,10 @@
+package com.example.smrsservice.repository.projection;
+
+/**
+ * Số project đang chờ chấm (PENDING) của 1 council
+ */
+public interface CouncilLoadCount {
+    Integer getCouncilId();
+
+    Long getTotal();
+}
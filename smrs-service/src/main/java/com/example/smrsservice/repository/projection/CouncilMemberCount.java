@@ -0,0 +1,10 @@
+package com.example.smrsservice.repository.projection;
+
+/**
+ * Số thành viên của 1 council
+ */
+public interface CouncilMemberCount {
+    Integer getCouncilId();
+
+    Long getMemberCount();
+}
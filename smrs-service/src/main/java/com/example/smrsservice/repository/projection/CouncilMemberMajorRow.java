@@ -0,0 +1,12 @@
+package com.example.smrsservice.repository.projection;
+
+/**
+ * Thành viên council kèm chuyên ngành (major trong LecturerProfile, có thể null)
+ */
+public interface CouncilMemberMajorRow {
+    Integer getCouncilId();
+
+    Integer getLecturerId();
+
+    Integer getMajorId();
+}
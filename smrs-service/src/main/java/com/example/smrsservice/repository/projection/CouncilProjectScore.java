@@ -0,0 +1,12 @@
+package com.example.smrsservice.repository.projection;
+
+/**
+ * Điểm trung bình của 1 project trong 1 council
+ */
+public interface CouncilProjectScore {
+    Integer getCouncilId();
+
+    Integer getProjectId();
+
+    Double getAverageScore();
+}
@@ -0,0 +1,12 @@
+package com.example.smrsservice.repository.projection;
+
+/**
+ * Tổng số project và số project COMPLETED của 1 council
+ */
+public interface CouncilProjectStats {
+    Integer getCouncilId();
+
+    Long getTotalProjects();
+
+    Long getCompletedProjects();
+}
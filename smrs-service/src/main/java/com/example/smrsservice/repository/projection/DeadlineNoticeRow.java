@@ -0,0 +1,24 @@
+package com.example.smrsservice.repository.projection;
+
+import java.util.Date;
+
+/**
+ * Một hạn (milestone / task / hạn chỉnh sửa project) kèm người nhận nhắc hạn
+ */
+public interface DeadlineNoticeRow {
+    Integer getId();
+
+    String getTitle();
+
+    Date getDueDate();
+
+    String getStatus();
+
+    Integer getProjectId();
+
+    String getProjectName();
+
+    String getRecipientEmail();
+
+    String getRecipientName();
+}
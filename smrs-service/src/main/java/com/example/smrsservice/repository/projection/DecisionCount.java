@@ -0,0 +1,12 @@
+package com.example.smrsservice.repository.projection;
+
+import com.example.smrsservice.common.DecisionStatus;
+
+/**
+ * Số project-council theo từng decision
+ */
+public interface DecisionCount {
+    DecisionStatus getDecision();
+
+    Long getTotal();
+}
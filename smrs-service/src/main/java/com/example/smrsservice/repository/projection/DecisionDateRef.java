@@ -0,0 +1,14 @@
+package com.example.smrsservice.repository.projection;
+
+import com.example.smrsservice.common.DecisionStatus;
+
+import java.time.Instant;
+
+/**
+ * Decision và thời điểm ra decision của 1 project-council
+ */
+public interface DecisionDateRef {
+    DecisionStatus getDecision();
+
+    Instant getDecisionDate();
+}
@@ -0,0 +1,14 @@
+package com.example.smrsservice.repository.projection;
+
+/**
+ * Giảng viên và số council (của 1 dean) mà giảng viên là thành viên
+ */
+public interface LecturerCouncilCount {
+    Integer getLecturerId();
+
+    String getLecturerName();
+
+    String getLecturerEmail();
+
+    Long getCouncilsCount();
+}
@@ -0,0 +1,14 @@
+package com.example.smrsservice.repository.projection;
+
+/**
+ * Council mà giảng viên là thành viên, kèm vai trò trong council
+ */
+public interface LecturerCouncilRow {
+    Integer getCouncilId();
+
+    String getCouncilName();
+
+    String getCouncilCode();
+
+    String getMemberRole();
+}
@@ -0,0 +1,12 @@
+package com.example.smrsservice.repository.projection;
+
+/**
+ * Điểm mà 1 giảng viên đã chấm cho 1 final milestone
+ */
+public interface LecturerScoreRef {
+    Integer getMilestoneId();
+
+    Integer getScoreId();
+
+    Double getFinalScore();
+}
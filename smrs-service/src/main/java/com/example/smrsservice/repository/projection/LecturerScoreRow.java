@@ -0,0 +1,18 @@
+package com.example.smrsservice.repository.projection;
+
+import java.util.Date;
+
+/**
+ * 1 điểm do giảng viên chấm, kèm tên project
+ */
+public interface LecturerScoreRow {
+    Integer getScoreId();
+
+    Integer getProjectId();
+
+    String getProjectName();
+
+    Double getFinalScore();
+
+    Date getScoreDate();
+}
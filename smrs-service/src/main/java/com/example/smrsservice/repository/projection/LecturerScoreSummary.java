@@ -0,0 +1,12 @@
+package com.example.smrsservice.repository.projection;
+
+/**
+ * Số điểm đã chấm và điểm trung bình của 1 giảng viên
+ */
+public interface LecturerScoreSummary {
+    Integer getLecturerId();
+
+    Long getTotalScores();
+
+    Double getAverageScore();
+}
@@ -0,0 +1,10 @@
+package com.example.smrsservice.repository.projection;
+
+/**
+ * Project mà account là thành viên, kèm vai trò trong project
+ */
+public interface MembershipRef {
+    Integer getProjectId();
+
+    String getMemberRole();
+}
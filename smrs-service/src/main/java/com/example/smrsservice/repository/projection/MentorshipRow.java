@@ -0,0 +1,20 @@
+package com.example.smrsservice.repository.projection;
+
+import com.example.smrsservice.common.ProjectStatus;
+
+/**
+ * Project mà giảng viên hướng dẫn, kèm status của membership
+ */
+public interface MentorshipRow {
+    Integer getProjectId();
+
+    String getProjectName();
+
+    ProjectStatus getProjectStatus();
+
+    String getMemberStatus();
+
+    Integer getMilestoneCount();
+
+    Double getMilestoneProgressSum();
+}
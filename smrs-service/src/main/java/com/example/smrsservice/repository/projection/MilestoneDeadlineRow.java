@@ -0,0 +1,20 @@
+package com.example.smrsservice.repository.projection;
+
+import java.util.Date;
+
+/**
+ * Các cột của milestone cần để tính deadline
+ */
+public interface MilestoneDeadlineRow {
+    Integer getProjectId();
+
+    Integer getId();
+
+    String getDescription();
+
+    Boolean getIsFinal();
+
+    Date getDueDate();
+
+    Date getReportSubmittedAt();
+}
@@ -0,0 +1,12 @@
+package com.example.smrsservice.repository.projection;
+
+/**
+ * Số lượng điểm và điểm trung bình của 1 final milestone
+ */
+public interface MilestoneScoreSummary {
+    Integer getMilestoneId();
+
+    Long getTotalScores();
+
+    Double getAverageScore();
+}
@@ -0,0 +1,12 @@
+package com.example.smrsservice.repository.projection;
+
+/**
+ * Số bản ghi theo (năm, tháng tạo)
+ */
+public interface MonthlyCount {
+    Integer getCreatedYear();
+
+    Integer getCreatedMonth();
+
+    Long getTotal();
+}
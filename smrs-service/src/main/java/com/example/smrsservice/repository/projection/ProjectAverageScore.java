@@ -0,0 +1,10 @@
+package com.example.smrsservice.repository.projection;
+
+/**
+ * Điểm trung bình của 1 project
+ */
+public interface ProjectAverageScore {
+    Integer getProjectId();
+
+    Double getAverageScore();
+}
@@ -0,0 +1,26 @@
+package com.example.smrsservice.repository.projection;
+
+import com.example.smrsservice.common.ProjectStatus;
+
+import java.util.Date;
+
+/**
+ * Các cột của project cần cho dashboard (không load owner / major / collections)
+ */
+public interface ProjectDashboardRow {
+    Integer getId();
+
+    String getName();
+
+    ProjectStatus getStatus();
+
+    Date getCreateDate();
+
+    Date getDueDate();
+
+    Integer getOwnerId();
+
+    Integer getMilestoneCount();
+
+    Double getMilestoneProgressSum();
+}
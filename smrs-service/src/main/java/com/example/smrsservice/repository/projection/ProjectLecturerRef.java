@@ -0,0 +1,10 @@
+package com.example.smrsservice.repository.projection;
+
+/**
+ * Giảng viên hướng dẫn của 1 project
+ */
+public interface ProjectLecturerRef {
+    Integer getProjectId();
+
+    Integer getLecturerId();
+}
@@ -0,0 +1,14 @@
+package com.example.smrsservice.repository.projection;
+
+/**
+ * Thống kê thành viên của 1 project (mọi status)
+ */
+public interface ProjectMemberSummary {
+    Integer getProjectId();
+
+    Long getTotalMembers();
+
+    Long getTotalStudents();
+
+    Long getApprovedLecturers();
+}
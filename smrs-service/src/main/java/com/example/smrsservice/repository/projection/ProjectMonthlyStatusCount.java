@@ -0,0 +1,16 @@
+package com.example.smrsservice.repository.projection;
+
+import com.example.smrsservice.common.ProjectStatus;
+
+/**
+ * Số project theo (năm, tháng tạo, status)
+ */
+public interface ProjectMonthlyStatusCount {
+    Integer getCreatedYear();
+
+    Integer getCreatedMonth();
+
+    ProjectStatus getStatus();
+
+    Long getTotal();
+}
@@ -0,0 +1,18 @@
+package com.example.smrsservice.repository.projection;
+
+import java.util.Date;
+
+/**
+ * 1 điểm của project kèm giảng viên đã chấm
+ */
+public interface ProjectScoreRow {
+    Integer getProjectId();
+
+    Integer getLecturerId();
+
+    String getLecturerName();
+
+    Double getFinalScore();
+
+    Date getScoreDate();
+}
@@ -0,0 +1,16 @@
+package com.example.smrsservice.repository.projection;
+
+/**
+ * Các cột của project được đưa vào index tìm kiếm
+ */
+public interface ProjectSearchRow {
+    Integer getId();
+
+    String getName();
+
+    String getDescription();
+
+    String getType();
+
+    String getMajorName();
+}
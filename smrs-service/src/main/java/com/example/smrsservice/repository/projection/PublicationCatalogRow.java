@@ -0,0 +1,79 @@
+package com.example.smrsservice.repository.projection;
+
+import com.example.smrsservice.common.AccountStatus;
+import com.example.smrsservice.common.ProjectStatus;
+import com.example.smrsservice.common.PublicationStatus;
+import com.example.smrsservice.common.PublicationType;
+
+import java.util.Date;
+
+/**
+ * 1 publication kèm thông tin project (owner, major) và author, đọc bằng 1 câu SELECT
+ */
+public interface PublicationCatalogRow {
+    Integer getId();
+
+    PublicationStatus getStatus();
+
+    String getPublicationName();
+
+    PublicationType getPublicationType();
+
+    String getPublicationLink();
+
+    Date getRegisteredDate();
+
+    Date getPublishedDate();
+
+    String getNotes();
+
+    String getDoi();
+
+    String getIsbnIssn();
+
+    Date getCreatedAt();
+
+    Date getUpdatedAt();
+
+    Integer getProjectId();
+
+    String getProjectName();
+
+    String getProjectDescription();
+
+    String getProjectType();
+
+    ProjectStatus getProjectStatus();
+
+    Date getProjectDueDate();
+
+    Date getProjectCreateDate();
+
+    Integer getOwnerId();
+
+    String getOwnerName();
+
+    String getOwnerEmail();
+
+    String getOwnerRole();
+
+    Integer getMajorId();
+
+    String getMajorName();
+
+    Integer getAuthorId();
+
+    String getAuthorName();
+
+    String getAuthorEmail();
+
+    String getAuthorPhone();
+
+    String getAuthorAvatar();
+
+    String getAuthorRole();
+
+    Integer getAuthorAge();
+
+    AccountStatus getAuthorStatus();
+}
@@ -0,0 +1,15 @@
+package com.example.smrsservice.repository.projection;
+
+import com.example.smrsservice.common.PublicationStatus;
+import com.example.smrsservice.common.PublicationType;
+
+/**
+ * Số publication theo (type, status)
+ */
+public interface PublicationFacetCount {
+    PublicationType getPublicationType();
+
+    PublicationStatus getStatus();
+
+    Long getTotal();
+}
@@ -0,0 +1,12 @@
+package com.example.smrsservice.repository.projection;
+
+/**
+ * Project đã APPROVED, có final report và chưa được gán hội đồng
+ */
+public interface ReadyProjectRow {
+    Integer getProjectId();
+
+    String getProjectName();
+
+    Integer getMajorId();
+}
@@ -0,0 +1,44 @@
+package com.example.smrsservice.repository.projection;
+
+import java.util.Date;
+
+/**
+ * 1 dòng kết quả tìm kiếm điểm: cột của project_score + tên project / giảng viên
+ */
+public interface ScoreSearchRow {
+    Integer getId();
+
+    Integer getProjectId();
+
+    String getProjectName();
+
+    Integer getFinalMilestoneId();
+
+    Integer getLecturerId();
+
+    String getLecturerName();
+
+    Double getCriteria1Score();
+
+    Double getCriteria2Score();
+
+    Double getCriteria3Score();
+
+    Double getCriteria4Score();
+
+    Double getCriteria5Score();
+
+    Double getCriteria6Score();
+
+    Double getBonusScore1();
+
+    Double getBonusScore2();
+
+    Double getTotalScore();
+
+    Double getFinalScore();
+
+    String getComment();
+
+    Date getScoreDate();
+}
@@ -0,0 +1,167 @@
+package com.example.smrsservice.security;
+
+import com.example.smrsservice.common.AccountStatus;
+import com.example.smrsservice.entity.Account;
+import com.example.smrsservice.entity.Role;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache principal theo email cho JwtAuthenticationFilter (TTL + giới hạn số entry),
+ * để request của user đã "warm" không phải query account mỗi lần.
+ * Mọi thay đổi status/profile phải gọi evict() để lock có hiệu lực ngay.
+ * Người load từ DB lấy generation() trước khi query và truyền vào put(): có evict xen giữa thì không cache.
+ */
+@Component
+public class AuthPrincipalCache {
+
+    private static final long TTL_MILLIS = 5 * 60 * 1000L;
+    private static final int MAX_ENTRIES = 10_000;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    // generation theo email: tăng mỗi lần evict; email không có trong map thì generation = generationFloor
+    private final Map<String, Long> generations = new ConcurrentHashMap<>();
+    private final AtomicLong evictions = new AtomicLong();
+    private volatile long generationFloor;
+
+    /**
+     * Trả về bản sao Account (detached, không có password) hoặc null nếu chưa cache / đã hết hạn
+     */
+    public Account get(String email) {
+        Entry entry = entries.get(key(email));
+        if (entry == null) {
+            return null;
+        }
+        if (entry.isExpired()) {
+            entries.remove(key(email), entry);
+            return null;
+        }
+        return entry.toAccount();
+    }
+
+    /**
+     * Generation hiện tại của email, lấy TRƯỚC khi load account từ DB
+     */
+    public long generation(String email) {
+        Long generation = generations.get(key(email));
+        return generation != null ? generation : generationFloor;
+    }
+
+    /**
+     * Cache account đã load với generation lấy trước khi load. Nếu email bị evict trong lúc load
+     * (account vừa bị lock / đổi role) thì bỏ qua, không cache lại dữ liệu cũ
+     */
+    public void put(Account account, long generation) {
+        if (account == null || account.getEmail() == null) {
+            return;
+        }
+        String key = key(account.getEmail());
+        if (entries.size() >= MAX_ENTRIES) {
+            entries.values().removeIf(Entry::isExpired);
+            if (entries.size() >= MAX_ENTRIES) {
+                entries.clear();
+            }
+        }
+        Entry entry = new Entry(account);
+        entries.put(key, entry);
+        // evict chạy giữa lúc kiểm tra và lúc put vẫn bị phát hiện: kiểm tra lại sau khi put
+        if (generation(account.getEmail()) != generation) {
+            entries.remove(key, entry);
+        }
+    }
+
+    /**
+     * Xóa cache của email. Nếu đang trong transaction thì xóa thêm 1 lần sau commit,
+     * tránh trường hợp request khác cache lại dữ liệu cũ trước khi commit.
+     */
+    public void evict(String email) {
+        if (email == null) {
+            return;
+        }
+        String key = key(email);
+        bumpGeneration(key);
+        entries.remove(key);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    bumpGeneration(key);
+                    entries.remove(key);
+                }
+            });
+        }
+    }
+
+    private void bumpGeneration(String key) {
+        if (generations.size() >= MAX_ENTRIES) {
+            // Nâng floor lên trước khi xoá map: load nào đang chạy đều thấy generation đổi
+            generationFloor = evictions.incrementAndGet();
+            generations.clear();
+        }
+        generations.put(key, evictions.incrementAndGet());
+    }
+
+    private static String key(String email) {
+        return email.trim().toLowerCase();
+    }
+
+    private static final class Entry {
+        private final Integer id;
+        private final String email;
+        private final String name;
+        private final String avatar;
+        private final String phone;
+        private final Integer age;
+        private final String gender;
+        private final String address;
+        private final Date createDate;
+        private final AccountStatus status;
+        private final Integer roleId;
+        private final String roleName;
+        private final long expiresAt;
+
+        private Entry(Account account) {
+            this.id = account.getId();
+            this.email = account.getEmail();
+            this.name = account.getName();
+            this.avatar = account.getAvatar();
+            this.phone = account.getPhone();
+            this.age = account.getAge();
+            this.gender = account.getGender();
+            this.address = account.getAddress();
+            this.createDate = account.getCreateDate();
+            this.status = account.getStatus();
+            this.roleId = account.getRole() != null ? account.getRole().getId() : null;
+            this.roleName = account.getRole() != null ? account.getRole().getRoleName() : null;
+            this.expiresAt = System.currentTimeMillis() + TTL_MILLIS;
+        }
+
+        private boolean isExpired() {
+            return System.currentTimeMillis() > expiresAt;
+        }
+
+        private Account toAccount() {
+            return Account.builder()
+                    .id(id)
+                    .email(email)
+                    .name(name)
+                    .avatar(avatar)
+                    .phone(phone)
+                    .age(age)
+                    .gender(gender)
+                    .address(address)
+                    .createDate(createDate)
+                    .status(status)
+                    .role(roleId != null ? new Role(roleId, roleName) : null)
+                    .build();
+        }
+    }
+}
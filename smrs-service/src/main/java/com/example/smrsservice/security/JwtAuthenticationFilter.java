@@ -4,6 +4,7 @@ package com.example.smrsservice.security;
 import com.example.smrsservice.common.AccountStatus;
 import com.example.smrsservice.entity.Account;
 import com.example.smrsservice.repository.AccountRepository;
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -24,8 +25,14 @@ import java.util.List;
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    // EventSource của trình duyệt không gửi được header: stream thông báo nhận ticket qua query
+    // (POST /api/notifications/stream-ticket, xem StreamTicketStore), không bao giờ nhận JWT trên URL
+    private static final String NOTIFICATION_STREAM_PATH = "/api/notifications/stream";
+
     private final JwtTokenUtil jwtTokenUtil;
     private final AccountRepository accountRepository;
+    private final AuthPrincipalCache principalCache;
+    private final StreamTicketStore streamTickets;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -33,48 +40,59 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                                     FilterChain filterChain)
             throws ServletException, IOException {
 
+        String email = null;
         String header = request.getHeader(HttpHeaders.AUTHORIZATION);
         if (StringUtils.hasText(header)) {
             String token = header.startsWith("Bearer ") ? header.substring(7) : header;
 
             try {
-                if (jwtTokenUtil.validateToken(token)) {
-                    String email = jwtTokenUtil.extractEmail(token).trim().toLowerCase();
-
-                    Account account = accountRepository.findWithRoleByEmail(email)
-                            .orElse(null);
-
-                    System.out.println("Account found: " + (account != null));
-                    if (account != null) {
-                        System.out.println("Account ID: " + account.getId());
-                        System.out.println("Account email: [" + account.getEmail() + "]");
-                    }
-                    System.out.println("============================");
-
-                    if (account != null && account.getStatus() == AccountStatus.LOCKED) {
-                        response.setStatus(HttpServletResponse.SC_FORBIDDEN);
-                        response.setContentType("application/json;charset=UTF-8");
-                        response.getWriter().write("{\"error\":\"FORBIDDEN\",\"message\":\"Account is locked. Please contact administrator.\"}");
-                        return; // Dừng lại, không cho tiếp tục
-                    }
-
-                    if (account != null && account.getRole() != null) {
-                        List<SimpleGrantedAuthority> authorities =
-                                List.of(new SimpleGrantedAuthority("ROLE_" + account.getRole().getRoleName()));
-
-                        UsernamePasswordAuthenticationToken authentication =
-                                new UsernamePasswordAuthenticationToken(account, null, authorities);
-
-                        SecurityContextHolder.getContext().setAuthentication(authentication);
-                    } else if (account != null) {
-                        UsernamePasswordAuthenticationToken authentication =
-                                new UsernamePasswordAuthenticationToken(account, null, Collections.emptyList());
-                        SecurityContextHolder.getContext().setAuthentication(authentication);
-                    }
+                Claims claims = jwtTokenUtil.parseClaims(token);
+                if (claims.getSubject() != null) {
+                    email = claims.getSubject().trim().toLowerCase();
                 }
-            } catch (JwtException ex) {
+            } catch (JwtException | IllegalArgumentException ex) {
                 System.out.println("JWT invalid: " + ex.getMessage());
             }
+        } else if (NOTIFICATION_STREAM_PATH.equals(request.getServletPath())) {
+            email = streamTickets.redeem(request.getParameter("ticket"));
+        }
+
+        if (email != null) {
+            Account account = principalCache.get(email);
+            if (account == null) {
+                long generation = principalCache.generation(email);
+                account = accountRepository.findWithRoleByEmail(email)
+                        .orElse(null);
+                principalCache.put(account, generation);
+            }
+
+            System.out.println("Account found: " + (account != null));
+            if (account != null) {
+                System.out.println("Account ID: " + account.getId());
+                System.out.println("Account email: [" + account.getEmail() + "]");
+            }
+            System.out.println("============================");
+
+            if (account != null && account.getStatus() == AccountStatus.LOCKED) {
+                response.setStatus(HttpServletResponse.SC_FORBIDDEN);
+                response.setContentType("application/json;charset=UTF-8");
+                response.getWriter().write("{\"error\":\"FORBIDDEN\",\"message\":\"Account is locked. Please contact administrator.\"}");
+                return; // Dừng lại, không cho tiếp tục
+            }
+
+            if (account != null && account.getRole() != null) {
+                List<SimpleGrantedAuthority> authorities =
+                        List.of(new SimpleGrantedAuthority("ROLE_" + account.getRole().getRoleName()));
+
+                UsernamePasswordAuthenticationToken authentication =
+                        new UsernamePasswordAuthenticationToken(account, null, authorities);
+
+                SecurityContextHolder.getContext().setAuthentication(authentication);
+            } else if (account != null) {
+                UsernamePasswordAuthenticationToken authentication =
+                        new UsernamePasswordAuthenticationToken(account, null, Collections.emptyList());
+                SecurityContextHolder.getContext().setAuthentication(authentication);
+            }
         }
 
         filterChain.doFilter(request, response);
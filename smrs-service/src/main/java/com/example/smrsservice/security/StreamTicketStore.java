@@ -0,0 +1,91 @@
+package com.example.smrsservice.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Ticket mở stream SSE thông báo: EventSource không gửi được header Authorization nên client đổi JWT
+ * (qua header) lấy 1 ticket ngẫu nhiên rồi mới đặt ticket vào query.
+ * JWT không nằm trên URL (access log, lịch sử trình duyệt). Lưu trong bộ nhớ như NotificationHub.
+ * Ticket chưa dùng hết hạn sau ticket-ttl. EventSource tự kết nối lại bằng đúng URL cũ (emitter timeout,
+ * mất mạng) nên ticket đã mở stream dùng lại được cho account đó: mỗi lần mở stream, hạn được gia hạn
+ * thành emitter-timeout + ticket-ttl, đủ cho lần kết nối lại sau khi emitter hết hạn.
+ */
+@Component
+public class StreamTicketStore {
+
+    private static final int MAX_TICKETS = 10_000;
+    private static final int TICKET_BYTES = 32;
+
+    private final SecureRandom random = new SecureRandom();
+    private final Map<String, Ticket> tickets = new ConcurrentHashMap<>();
+    private final Duration ttl;
+    private final Duration reconnectWindow;
+
+    public StreamTicketStore(@Value("${app.notifications.ticket-ttl:60s}") Duration ttl,
+                             @Value("${app.notifications.emitter-timeout:30m}") Duration emitterTimeout) {
+        this.ttl = ttl;
+        this.reconnectWindow = emitterTimeout.plus(ttl);
+    }
+
+    public String issue(String email) {
+        if (tickets.size() >= MAX_TICKETS) {
+            purgeExpired();
+            if (tickets.size() >= MAX_TICKETS) {
+                throw new IllegalStateException("Too many pending stream tickets, try again later");
+            }
+        }
+        byte[] bytes = new byte[TICKET_BYTES];
+        random.nextBytes(bytes);
+        String ticket = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        tickets.put(ticket, new Ticket(email, System.nanoTime() + ttl.toNanos()));
+        return ticket;
+    }
+
+    /**
+     * Email của ticket; null nếu ticket không tồn tại hoặc hết hạn. Ticket còn hạn được gia hạn thêm reconnectWindow
+     */
+    public String redeem(String ticket) {
+        if (ticket == null || ticket.isBlank()) {
+            return null;
+        }
+        Ticket entry = tickets.get(ticket);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.isExpired()) {
+            tickets.remove(ticket, entry);
+            return null;
+        }
+        tickets.replace(ticket, entry, new Ticket(entry.email, System.nanoTime() + reconnectWindow.toNanos()));
+        return entry.email;
+    }
+
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    private void purgeExpired() {
+        tickets.values().removeIf(Ticket::isExpired);
+    }
+
+    private static final class Ticket {
+        private final String email;
+        private final long expiresAtNanos;
+
+        private Ticket(String email, long expiresAtNanos) {
+            this.email = email;
+            this.expiresAtNanos = expiresAtNanos;
+        }
+
+        private boolean isExpired() {
+            return System.nanoTime() - expiresAtNanos > 0;
+        }
+    }
+}
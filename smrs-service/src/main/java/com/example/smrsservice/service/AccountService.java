@@ -9,11 +9,10 @@ import com.example.smrsservice.dto.auth.LoginResponseDto;
 import com.example.smrsservice.dto.common.ResponseDto;
 import com.example.smrsservice.entity.*;
 import com.example.smrsservice.repository.*;
+import com.example.smrsservice.security.AuthPrincipalCache;
 import com.example.smrsservice.security.JwtTokenUtil;
 import jakarta.persistence.criteria.Predicate;
 import lombok.RequiredArgsConstructor;
-import org.apache.poi.ss.usermodel.*;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -27,7 +26,8 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import javax.security.auth.login.AccountNotFoundException;
-import java.io.InputStream;
+import java.io.File;
+import java.io.IOException;
 import java.security.SecureRandom;
 import java.time.LocalDate;
 import java.util.*;
@@ -45,6 +45,13 @@ public class AccountService {
     private final CouncilManagerProfileRepository councilProfileRepository;
     private final MajorRepository majorRepository;
     private final LecturerProfileRepository lecturerProfileRepository;
+    private final AuthPrincipalCache principalCache;
+    private final AccountBatchRepository accountBatchRepository;
+    private final DashboardStatsService dashboardStatsService;
+
+    private static final int IMPORT_CHUNK_SIZE = 500;
+    // Cột chỉ được ghi khi có giá trị: dòng trùng email phía sau điền vào chỗ dòng đầu để trống
+    private static final List<String> IMPORT_FILL_BLANK_COLUMNS = List.of("password", "age", "majorid", "yearsexperience");
 
 
     public Account getAccountByEmail(String email) {
@@ -82,6 +89,7 @@ public class AccountService {
         }
         account.setStatus(AccountStatus.LOCKED);
         accountRepository.save(account);
+        principalCache.evict(account.getEmail());
 
     }
 
@@ -90,6 +98,7 @@ public class AccountService {
                 .orElseThrow(() -> new AccountNotFoundException("Account không tồn tại"));
         account.setStatus(AccountStatus.ACTIVE);
         accountRepository.save(account);
+        principalCache.evict(account.getEmail());
     }
 
     public CreateResponseDto createAccount(CreateAccountDto request) {
@@ -121,225 +130,500 @@ public class AccountService {
 
     /**
      * ⭐ IMPORT ACCOUNTS - XỬ LÝ CẢ 3 ROLES: STUDENT, LECTURER, DEAN
+     *
+     * Sheet được đọc stream (SAX) và xử lý theo chunk ngay khi đọc đủ IMPORT_CHUNK_SIZE dòng:
+     * mỗi chunk tra account đã tồn tại bằng một query, hash password song song và insert account mới bằng JDBC batch.
+     * Trong bộ nhớ chỉ giữ chunk đang đọc và dòng đã gộp của mỗi email.
+     * Email trùng giữ cách xử lý cũ (các dòng được áp từ dưới lên): dòng đầu tiên trong Excel thắng,
+     * nhưng password, age, majorId, yearsExperience nó để trống thì lấy từ các dòng trùng phía sau,
+     * kể cả khi dòng trùng nằm ở chunk sau (account được cập nhật lại ở chunk đó).
      */
-    public List<Account> importAccountsFromExcel(MultipartFile file) {
-        List<Account> accounts = new ArrayList<>();
+    public AccountImportResult importAccountsFromExcel(MultipartFile file) {
+        AccountImportRun run = new AccountImportRun(ImportProgressListener.NONE);
+        try {
+            ExcelRowReader.read(file, run);
+        } catch (IOException e) {
+            throw new RuntimeException("Lỗi khi đọc file Excel: " + e.getMessage(), e);
+        }
+        return run.finish();
+    }
 
-        try (InputStream is = file.getInputStream();
-             Workbook workbook = new XSSFWorkbook(is)) {
-            Sheet sheet = workbook.getSheetAt(0);
-            Iterator<Row> rows = sheet.iterator();
+    /**
+     * Import từ file đã lưu trên đĩa (import job chạy nền), báo tiến độ qua listener.
+     */
+    public AccountImportResult importAccountsFromExcel(File file, ImportProgressListener progress) {
+        AccountImportRun run = new AccountImportRun(progress);
+        try {
+            ExcelRowReader.read(file, run);
+        } catch (IOException e) {
+            throw new RuntimeException("Lỗi khi đọc file Excel: " + e.getMessage(), e);
+        }
+        return run.finish();
+    }
 
-            // Đọc header row
-            Map<String, Integer> headerMap = new HashMap<>();
-            if (rows.hasNext()) {
-                Row headerRow = rows.next();
-                for (Cell cell : headerRow) {
-                    String columnName = cell.getStringCellValue().trim().toLowerCase();
-                    headerMap.put(columnName, cell.getColumnIndex());
+    /**
+     * Một lần import: nhận từng dòng từ ExcelRowReader, gom đủ chunk thì ghi xuống DB.
+     */
+    private final class AccountImportRun implements ExcelRowReader.RowHandler {
+        private final ImportProgressListener progress;
+        private final List<AccountImportResult.RowResult> results = new ArrayList<>();
+        // email (lowercase) -> các dòng của email đó đã gộp
+        private final Map<String, MergedImportRow> merged = new HashMap<>();
+        private final Map<String, MergedImportRow> pending = new LinkedHashMap<>();
+        private ImportContext ctx;
+        private int rowsRead;
+        private int pendingRows;
+        private boolean created;
+
+        private AccountImportRun(ImportProgressListener progress) {
+            this.progress = progress;
+        }
+
+        @Override
+        public void row(int rowNumber, Map<Integer, String> cells) {
+            if (ctx == null) {
+                ctx = header(cells);
+                return;
+            }
+            // Các dòng trống sau header bỏ qua
+            if (cells.isEmpty()) return;
+
+            rowsRead++;
+            ImportRow row = new ImportRow(rowNumber, cells);
+            String email = ctx.value(row, "email");
+            if (email.isBlank()) {
+                results.add(rowResult(row, email, ctx.value(row, "role"), "SKIPPED", "Missing email"));
+                progress.rowFailed(row.rowNumber, email, "Missing email");
+                return;
+            }
+
+            String error = validateImportRow(row, ctx);
+            if (error != null) {
+                results.add(rowResult(row, email, ctx.value(row, "role"), "FAILED", error));
+                progress.rowFailed(row.rowNumber, email, error);
+                return;
+            }
+
+            String key = email.toLowerCase();
+            MergedImportRow entry = merged.get(key);
+            if (entry == null) {
+                entry = new MergedImportRow(row, rowResult(row, email, ctx.value(row, "role"), null, null));
+                merged.put(key, entry);
+                results.add(entry.result);
+                pending.put(key, entry);
+            } else {
+                AccountImportResult.RowResult duplicate = rowResult(row, email, ctx.value(row, "role"), "UPDATED",
+                        "Duplicate email, merged into row " + entry.row.rowNumber);
+                duplicate.setAccountId(entry.result.getAccountId());
+                entry.duplicates.add(duplicate);
+                results.add(duplicate);
+                // Account đã được ghi ở chunk trước thì ghi lại nếu dòng này điền thêm được cột còn trống
+                if (entry.fillBlanks(row, ctx)) {
+                    pending.put(key, entry);
                 }
             }
+            pendingRows++;
+            if (pending.size() >= IMPORT_CHUNK_SIZE) {
+                flushChunk();
+            }
+        }
+
+        private ImportContext header(Map<Integer, String> cells) {
+            Map<String, Integer> headerMap = new HashMap<>();
+            cells.forEach((column, name) -> headerMap.put(name.toLowerCase(), column));
 
             // Kiểm tra các cột bắt buộc
             if (!headerMap.containsKey("email")) {
-                throw new RuntimeException("Missing required column: email");
+                throw new RuntimeException("Lỗi khi đọc file Excel: Missing required column: email");
             }
 
-            // ⭐⭐⭐ THAY ĐỔI: ĐỌC TẤT CẢ ROWS VÀO LIST TRƯỚC
-            List<Row> dataRows = new ArrayList<>();
-            while (rows.hasNext()) {
-                dataRows.add(rows.next());
+            ImportContext context = new ImportContext(headerMap);
+            roleRepository.findAll().forEach(role -> context.rolesByName.put(role.getRoleName().toUpperCase(), role));
+            if (headerMap.containsKey("majorid")) {
+                majorRepository.findAll().forEach(major -> context.majorsById.put(major.getId(), major));
             }
+            return context;
+        }
 
-            // ⭐⭐⭐ ĐẢO NGƯỢC THỨ TỰ - Dòng cuối Excel xử lý trước
-            Collections.reverse(dataRows);
+        private void flushChunk() {
+            progress.rowsRead(rowsRead);
+            if (pending.isEmpty()) {
+                return;
+            }
+            created |= importChunk(pending, ctx);
+            progress.rowsSucceeded(pendingRows);
+            pending.clear();
+            pendingRows = 0;
+        }
 
-            // ⭐⭐⭐ XỬ LÝ THEO THỨ TỰ NGƯỢC
-            for (Row row : dataRows) {
-                String email = getCellValue(row.getCell(headerMap.get("email")));
-                if (email == null || email.isBlank()) continue;
+        private AccountImportResult finish() {
+            if (ctx == null) {
+                throw new RuntimeException("Lỗi khi đọc file Excel: Missing required column: email");
+            }
+            flushChunk();
+            if (created) {
+                // Insert qua JDBC nên entity listener không chạy
+                dashboardStatsService.invalidate();
+            }
 
-                Account acc = accountRepository.findByEmail(email).orElse(new Account());
-                boolean isNew = (acc.getId() == null);
+            results.sort(Comparator.comparing(AccountImportResult.RowResult::getRowNumber));
+            return AccountImportResult.builder()
+                    .totalRows(results.size())
+                    .createdCount(countByStatus(results, "CREATED"))
+                    .updatedCount(countByStatus(results, "UPDATED"))
+                    .failedCount(countByStatus(results, "FAILED"))
+                    .skippedCount(countByStatus(results, "SKIPPED"))
+                    .rows(results)
+                    .build();
+        }
+    }
 
-                if (isNew) {
-                    acc.setEmail(email);
-                    acc.setCreateDate(new Date());
-                }
+    /**
+     * Xử lý một chunk (email lowercase -> dòng đã gộp). Trả về true nếu có account mới được tạo.
+     */
+    private boolean importChunk(Map<String, MergedImportRow> chunk, ImportContext ctx) {
+        Map<String, Account> existing = new HashMap<>();
+        for (Account account : accountRepository.findByLowerEmailIn(chunk.keySet())) {
+            existing.putIfAbsent(account.getEmail().toLowerCase(), account);
+        }
 
-                // Đọc theo tên cột trong header
-                if (headerMap.containsKey("password")) {
-                    String password = getCellValue(row.getCell(headerMap.get("password")));
-                    if (password != null && !password.isBlank()) {
-                        acc.setPassword(passwordEncoder.encode(password));
-                    } else if (isNew) {
-                        // Generate temp password for new accounts
-                        String tempPassword = generateTempPassword(12);
-                        acc.setPassword(passwordEncoder.encode(tempPassword));
-                        System.out.println("Generated temp password for " + email + ": " + tempPassword);
-                    }
-                } else if (isNew) {
-                    // Generate temp password if no password column
-                    String tempPassword = generateTempPassword(12);
-                    acc.setPassword(passwordEncoder.encode(tempPassword));
-                    System.out.println("Generated temp password for " + email + ": " + tempPassword);
-                }
+        Map<String, Account> accounts = new LinkedHashMap<>();
+        List<Account> newAccounts = new ArrayList<>();
+        List<Map.Entry<Account, String>> rawPasswords = new ArrayList<>();
 
-                if (headerMap.containsKey("name")) {
-                    acc.setName(getCellValue(row.getCell(headerMap.get("name"))));
-                }
+        chunk.forEach((key, entry) -> {
+            ImportRow row = entry.row;
+            Account acc = existing.get(key);
+            boolean isNew = (acc == null);
 
-                if (headerMap.containsKey("avatar")) {
-                    acc.setAvatar(getCellValue(row.getCell(headerMap.get("avatar"))));
-                }
+            if (isNew) {
+                acc = new Account();
+                acc.setEmail(ctx.value(row, "email"));
+                acc.setCreateDate(new Date());
+                newAccounts.add(acc);
+            }
+            applyImportRow(acc, row, ctx);
 
-                if (headerMap.containsKey("phone")) {
-                    acc.setPhone(getCellValue(row.getCell(headerMap.get("phone"))));
-                }
+            String rawPassword = ctx.value(row, "password");
+            if (rawPassword.isBlank()) {
+                rawPassword = null;
+            }
+            if (rawPassword == null && isNew) {
+                rawPassword = generateTempPassword(12);
+                System.out.println("Generated temp password for " + acc.getEmail() + ": " + rawPassword);
+            }
+            if (rawPassword != null) {
+                rawPasswords.add(Map.entry(acc, rawPassword));
+            }
 
-                if (headerMap.containsKey("age")) {
-                    String ageStr = getCellValue(row.getCell(headerMap.get("age")));
-                    if (!ageStr.isEmpty()) {
-                        acc.setAge(Integer.parseInt(ageStr));
-                    }
-                }
+            // Ghi lại ở chunk sau (dòng trùng điền thêm cột) thì giữ kết quả của lần ghi đầu
+            if (entry.result.getStatus() == null) {
+                entry.result.setStatus(isNew ? "CREATED" : "UPDATED");
+            }
+            accounts.put(key, acc);
+        });
 
-                if (headerMap.containsKey("status")) {
-                    String statusValue = getCellValue(row.getCell(headerMap.get("status"))).toUpperCase();
-                    acc.setStatus(statusValue.equals("LOCKED") ? AccountStatus.LOCKED : AccountStatus.ACTIVE);
-                } else {
-                    acc.setStatus(AccountStatus.ACTIVE);
-                }
+        // BCrypt là phần tốn CPU nhất của import -> chia cho các core
+        rawPasswords.parallelStream()
+                .forEach(entry -> entry.getKey().setPassword(passwordEncoder.encode(entry.getValue())));
 
-                // ========== ⭐ ĐỌC ROLE ==========
-                String roleName = null;
-                if (headerMap.containsKey("role")) {
-                    roleName = getCellValue(row.getCell(headerMap.get("role")));
-                    Role role = roleRepository.findByRoleName(roleName).orElseThrow();
-                    acc.setRole(role);
-                }
+        accountBatchRepository.insertAll(newAccounts);
+        for (Account account : existing.values()) {
+            principalCache.evict(account.getEmail());
+        }
+        accounts.forEach((key, account) -> chunk.get(key).setAccountId(account.getId()));
 
-                accounts.add(acc);
-                accountRepository.save(acc); // ⭐ SAVE TRƯỚC để có ID
+        importProfiles(accounts, chunk, ctx);
+        return !newAccounts.isEmpty();
+    }
 
-                // ========== ⭐ XỬ LÝ THEO ROLE ==========
-                if (roleName != null) {
-                    try {
-                        if ("LECTURER".equalsIgnoreCase(roleName)) {
-                            handleLecturerProfile(acc, row, headerMap);
-                        } else if ("DEAN".equalsIgnoreCase(roleName)) {
-                            handleDeanProfile(acc, row, headerMap);
-                        }
-                        // STUDENT không cần profile, chỉ có Account
-                    } catch (Exception e) {
-                        System.err.println("⚠️ Failed to create profile for " + email + ": " + e.getMessage());
-                    }
-                }
+    private String validateImportRow(ImportRow row, ImportContext ctx) {
+        if (ctx.has("age")) {
+            String ageStr = ctx.value(row, "age");
+            if (!ageStr.isEmpty() && !isInteger(ageStr)) {
+                return "Invalid age: " + ageStr;
             }
+        }
+        if (ctx.has("role")) {
+            String roleName = ctx.value(row, "role");
+            if (!ctx.rolesByName.containsKey(roleName.toUpperCase())) {
+                return "Role not found: " + roleName;
+            }
+        }
+        return null;
+    }
 
-        } catch (Exception e) {
-            throw new RuntimeException("Lỗi khi đọc file Excel: " + e.getMessage(), e);
+    private void applyImportRow(Account acc, ImportRow row, ImportContext ctx) {
+        // Đọc theo tên cột trong header
+        if (ctx.has("name")) {
+            acc.setName(ctx.value(row, "name"));
+        }
+
+        if (ctx.has("avatar")) {
+            acc.setAvatar(ctx.value(row, "avatar"));
+        }
+
+        if (ctx.has("phone")) {
+            acc.setPhone(ctx.value(row, "phone"));
         }
 
-        return accounts;
+        if (ctx.has("age")) {
+            String ageStr = ctx.value(row, "age");
+            if (!ageStr.isEmpty()) {
+                acc.setAge(Integer.parseInt(ageStr));
+            }
+        }
+
+        if (ctx.has("status")) {
+            String statusValue = ctx.value(row, "status").toUpperCase();
+            acc.setStatus(statusValue.equals("LOCKED") ? AccountStatus.LOCKED : AccountStatus.ACTIVE);
+        } else {
+            acc.setStatus(AccountStatus.ACTIVE);
+        }
+
+        if (ctx.has("role")) {
+            acc.setRole(ctx.rolesByName.get(ctx.value(row, "role").toUpperCase()));
+        }
     }
 
+    /**
+     * ⭐ XỬ LÝ THEO ROLE: tạo/update profile cho LECTURER và DEAN (STUDENT chỉ có Account).
+     * Profile của cả chunk được load bằng một query cho mỗi loại.
+     */
+    private void importProfiles(Map<String, Account> accounts,
+                                Map<String, MergedImportRow> chunk,
+                                ImportContext ctx) {
+        if (!ctx.has("role")) {
+            return;
+        }
+
+        List<Integer> lecturerIds = new ArrayList<>();
+        List<Integer> deanIds = new ArrayList<>();
+        accounts.forEach((key, account) -> {
+            String roleName = ctx.value(chunk.get(key).row, "role");
+            if ("LECTURER".equalsIgnoreCase(roleName)) {
+                lecturerIds.add(account.getId());
+            } else if ("DEAN".equalsIgnoreCase(roleName)) {
+                deanIds.add(account.getId());
+            }
+        });
+        if (lecturerIds.isEmpty() && deanIds.isEmpty()) {
+            return;
+        }
+
+        Map<Integer, LecturerProfile> lecturerProfiles = new LinkedHashMap<>();
+        if (!lecturerIds.isEmpty()) {
+            lecturerProfileRepository.findByAccountIdIn(lecturerIds)
+                    .forEach(profile -> lecturerProfiles.putIfAbsent(profile.getAccount().getId(), profile));
+        }
+        Map<Integer, CouncilManagerProfile> deanProfiles = new LinkedHashMap<>();
+        if (!deanIds.isEmpty()) {
+            councilProfileRepository.findByAccountIdIn(deanIds)
+                    .forEach(profile -> deanProfiles.putIfAbsent(profile.getAccount().getId(), profile));
+        }
+
+        accounts.forEach((key, account) -> {
+            MergedImportRow entry = chunk.get(key);
+            ImportRow row = entry.row;
+            String roleName = ctx.value(row, "role");
+            try {
+                if ("LECTURER".equalsIgnoreCase(roleName)) {
+                    handleLecturerProfile(account, row, ctx, lecturerProfiles);
+                } else if ("DEAN".equalsIgnoreCase(roleName)) {
+                    handleDeanProfile(account, row, ctx, deanProfiles);
+                }
+            } catch (Exception e) {
+                System.err.println("⚠️ Failed to create profile for " + account.getEmail() + ": " + e.getMessage());
+                entry.result.setMessage("Failed to create profile: " + e.getMessage());
+            }
+        });
 
+        lecturerProfileRepository.saveAll(lecturerProfiles.values());
+        councilProfileRepository.saveAll(deanProfiles.values());
+    }
 
     /**
      * Xử lý tạo/update LecturerProfile
      */
-    private void handleLecturerProfile(Account account, Row row, Map<String, Integer> headerMap) {
-        LecturerProfile profile = lecturerProfileRepository
-                .findByAccountId(account.getId())
-                .orElse(new LecturerProfile());
+    private void handleLecturerProfile(Account account, ImportRow row, ImportContext ctx,
+                                       Map<Integer, LecturerProfile> profiles) {
+        LecturerProfile profile = profiles.getOrDefault(account.getId(), new LecturerProfile());
 
         if (profile.getId() == null) {
             profile.setAccount(account);
         }
 
         // ⭐ MAJOR (required cho LECTURER)
-        if (headerMap.containsKey("majorid")) {
-            String majorIdStr = getCellValue(row.getCell(headerMap.get("majorid")));
-            if (majorIdStr != null && !majorIdStr.isBlank()) {
-                Integer majorId = Integer.parseInt(majorIdStr);
-                Major major = majorRepository.findById(majorId)
-                        .orElseThrow(() -> new RuntimeException("Major not found: " + majorId));
+        if (ctx.has("majorid")) {
+            String majorIdStr = ctx.value(row, "majorid");
+            if (!majorIdStr.isBlank()) {
+                Major major = ctx.findMajor(majorIdStr);
                 profile.setMajor(major);
                 System.out.println("✅ Assigned major " + major.getName() + " to lecturer " + account.getEmail());
             }
         }
 
         // Teaching Major
-        if (headerMap.containsKey("teachingmajor")) {
-            profile.setTeachingMajor(getCellValue(row.getCell(headerMap.get("teachingmajor"))));
+        if (ctx.has("teachingmajor")) {
+            profile.setTeachingMajor(ctx.value(row, "teachingmajor"));
         }
 
         // Degree
-        if (headerMap.containsKey("degree")) {
-            profile.setDegree(getCellValue(row.getCell(headerMap.get("degree"))));
+        if (ctx.has("degree")) {
+            profile.setDegree(ctx.value(row, "degree"));
         }
 
         // Years Experience
-        if (headerMap.containsKey("yearsexperience")) {
-            String yearsStr = getCellValue(row.getCell(headerMap.get("yearsexperience")));
+        if (ctx.has("yearsexperience")) {
+            String yearsStr = ctx.value(row, "yearsexperience");
             if (!yearsStr.isEmpty()) {
                 profile.setYearsExperience(Integer.parseInt(yearsStr));
             }
         }
-        lecturerProfileRepository.save(profile);
+        profiles.put(account.getId(), profile);
     }
 
     /**
      * Xử lý tạo/update CouncilManagerProfile (DEAN)
      */
-    private void handleDeanProfile(Account account, Row row, Map<String, Integer> headerMap) {
-        CouncilManagerProfile profile = councilProfileRepository
-                .findByAccountId(account.getId())
-                .orElse(new CouncilManagerProfile());
+    private void handleDeanProfile(Account account, ImportRow row, ImportContext ctx,
+                                   Map<Integer, CouncilManagerProfile> profiles) {
+        CouncilManagerProfile profile = profiles.getOrDefault(account.getId(), new CouncilManagerProfile());
 
-        if (profile.getId() == null) {
+        if (profile.getId() == null && profile.getAccount() == null) {
             profile.setAccount(account);
             profile.setStatus(CouncilManagerStatus.ACTIVE);
             profile.setStartDate(LocalDate.now());
         }
 
         // ⭐ MAJOR (required cho DEAN)
-        if (headerMap.containsKey("majorid")) {
-            String majorIdStr = getCellValue(row.getCell(headerMap.get("majorid")));
-            if (majorIdStr != null && !majorIdStr.isBlank()) {
-                Integer majorId = Integer.parseInt(majorIdStr);
-                Major major = majorRepository.findById(majorId)
-                        .orElseThrow(() -> new RuntimeException("Major not found: " + majorId));
+        if (ctx.has("majorid")) {
+            String majorIdStr = ctx.value(row, "majorid");
+            if (!majorIdStr.isBlank()) {
+                Major major = ctx.findMajor(majorIdStr);
                 profile.setMajor(major);
                 System.out.println("✅ Assigned major " + major.getName() + " to dean " + account.getEmail());
             }
         }
 
         // Employee Code
-        if (headerMap.containsKey("employeecode")) {
-            profile.setEmployeeCode(getCellValue(row.getCell(headerMap.get("employeecode"))));
+        if (ctx.has("employeecode")) {
+            profile.setEmployeeCode(ctx.value(row, "employeecode"));
         }
 
         // Position Title
-        if (headerMap.containsKey("positiontitle")) {
-            profile.setPositionTitle(getCellValue(row.getCell(headerMap.get("positiontitle"))));
+        if (ctx.has("positiontitle")) {
+            profile.setPositionTitle(ctx.value(row, "positiontitle"));
         }
 
         // Department
-        if (headerMap.containsKey("department")) {
-            profile.setDepartment(getCellValue(row.getCell(headerMap.get("department"))));
+        if (ctx.has("department")) {
+            profile.setDepartment(ctx.value(row, "department"));
+        }
+        profiles.put(account.getId(), profile);
+    }
+
+    private static AccountImportResult.RowResult rowResult(ImportRow row, String email, String role,
+                                                           String status, String message) {
+        return AccountImportResult.RowResult.builder()
+                .rowNumber(row.rowNumber)
+                .email(email)
+                .role(role.isEmpty() ? null : role)
+                .status(status)
+                .message(message)
+                .build();
+    }
+
+    private static int countByStatus(List<AccountImportResult.RowResult> results, String status) {
+        return (int) results.stream().filter(r -> status.equals(r.getStatus())).count();
+    }
+
+    private static boolean isInteger(String value) {
+        try {
+            Integer.parseInt(value);
+            return true;
+        } catch (NumberFormatException e) {
+            return false;
         }
+    }
+
+    /**
+     * Một dòng dữ liệu đã đọc từ sheet (column index -> giá trị đã trim).
+     */
+    private static final class ImportRow {
+        private final int rowNumber;
+        private final Map<Integer, String> cells;
 
-        councilProfileRepository.save(profile);
+        private ImportRow(int rowNumber, Map<Integer, String> cells) {
+            this.rowNumber = rowNumber;
+            this.cells = cells;
+        }
     }
 
-    private String getCellValue(Cell cell) {
-        if (cell == null) return "";
-        if (cell.getCellType() == CellType.STRING) return cell.getStringCellValue().trim();
-        if (cell.getCellType() == CellType.NUMERIC)
-            return String.valueOf((int) cell.getNumericCellValue());
-        return "";
+    /**
+     * Các dòng cùng email đã gộp lại: giá trị của dòng đầu tiên, cột IMPORT_FILL_BLANK_COLUMNS còn trống
+     * thì lấy từ dòng trùng đầu tiên có giá trị. Kết quả của các dòng trùng cùng trỏ tới account của dòng đầu.
+     */
+    private static final class MergedImportRow {
+        private final ImportRow row;
+        private final AccountImportResult.RowResult result;
+        private final List<AccountImportResult.RowResult> duplicates = new ArrayList<>();
+
+        private MergedImportRow(ImportRow first, AccountImportResult.RowResult result) {
+            this.row = new ImportRow(first.rowNumber, new HashMap<>(first.cells));
+            this.result = result;
+        }
+
+        /**
+         * Trả về true nếu dòng trùng điền thêm được ít nhất một cột.
+         */
+        private boolean fillBlanks(ImportRow duplicate, ImportContext ctx) {
+            boolean changed = false;
+            for (String column : IMPORT_FILL_BLANK_COLUMNS) {
+                if (ctx.has(column) && ctx.value(row, column).isBlank() && !ctx.value(duplicate, column).isBlank()) {
+                    row.cells.put(ctx.headerMap.get(column), ctx.value(duplicate, column));
+                    changed = true;
+                }
+            }
+            return changed;
+        }
+
+        private void setAccountId(Integer accountId) {
+            result.setAccountId(accountId);
+            duplicates.forEach(duplicate -> duplicate.setAccountId(accountId));
+        }
+    }
+
+    /**
+     * Header và dữ liệu tra cứu dùng chung cho cả lần import (role, major load một lần).
+     */
+    private static final class ImportContext {
+        private final Map<String, Integer> headerMap;
+        private final Map<String, Role> rolesByName = new HashMap<>();
+        private final Map<Integer, Major> majorsById = new HashMap<>();
+
+        private ImportContext(Map<String, Integer> headerMap) {
+            this.headerMap = headerMap;
+        }
+
+        private boolean has(String column) {
+            return headerMap.containsKey(column);
+        }
+
+        private String value(ImportRow row, String column) {
+            Integer index = headerMap.get(column);
+            if (index == null) return "";
+            return row.cells.getOrDefault(index, "");
+        }
+
+        private Major findMajor(String majorIdStr) {
+            Integer majorId = Integer.parseInt(majorIdStr);
+            Major major = majorsById.get(majorId);
+            if (major == null) {
+                throw new RuntimeException("Major not found: " + majorId);
+            }
+            return major;
+        }
     }
 
     public PageResponse<AccountDetailResponse> getAccountDetail(
@@ -362,10 +646,39 @@ public class AccountService {
 
         Page<Account> accounts = accountRepository.findAll(spec, pageable);
 
-        List<Account> accountList = accounts.getContent();
+        List<AccountDetailResponse> responseList = toAccountDetailResponses(accounts.getContent());
 
+        return PageResponse.<AccountDetailResponse>builder()
+                .currentPages(page)
+                .pageSizes(pageable.getPageSize())
+                .totalPages(accounts.getTotalPages())
+                .totalElements(accounts.getTotalElements())
+                .data(responseList)
+                .build();
+    }
+
+    /**
+     * Giống getAccountDetail (id giảm dần) nhưng phân trang bằng cursor thay vì OFFSET.
+     * cursor = nextCursor của trang trước, bỏ trống để lấy trang đầu; chỉ đếm tổng khi withCount = true
+     */
+    public PageResponse<AccountDetailResponse> getAccountDetailByCursor(
+            String cursor,
+            Integer size,
+            boolean withCount,
+            String name,
+            String email,
+            String role,
+            AccountStatus status) {
+
+        Specification<Account> spec = buildAccountSpecification(name, email, role, status);
+
+        return KeysetCursor.page(accountRepository, spec, "id", Sort.Direction.DESC,
+                cursor, size, withCount, this::toAccountDetailResponses);
+    }
+
+    private List<AccountDetailResponse> toAccountDetailResponses(List<Account> accountList) {
         // ========== MAP TO RESPONSE VỚI MAJOR INFO CHO DEAN & LECTURER ==========
-        List<AccountDetailResponse> responseList = accountList.stream()
+        return accountList.stream()
                 .map(account -> {
                     // Build basic account info
                     AccountDetailResponse.AccountDetailResponseBuilder builder = AccountDetailResponse.builder()
@@ -438,14 +751,6 @@ public class AccountService {
                     return builder.build();
                 })
                 .toList();
-
-        return PageResponse.<AccountDetailResponse>builder()
-                .currentPages(page)
-                .pageSizes(pageable.getPageSize())
-                .totalPages(accounts.getTotalPages())
-                .totalElements(accounts.getTotalElements())
-                .data(responseList)
-                .build();
     }
     /**
      * ✅ UPDATED: Lấy id từ token thay vì path parameter
@@ -475,6 +780,7 @@ public class AccountService {
             }
 
             accountRepository.save(account);
+            principalCache.evict(account.getEmail());
 
             AccountDetailResponse response = AccountDetailResponse.builder()
                     .id(account.getId())
@@ -704,6 +1010,7 @@ public class AccountService {
             }
 
             accountRepository.save(currentUser);
+            principalCache.evict(currentUser.getEmail());
 
             return ResponseDto.success(currentUser, "Profile updated successfully");
 
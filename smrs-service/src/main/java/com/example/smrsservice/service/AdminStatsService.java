@@ -6,15 +6,12 @@ import com.example.smrsservice.dto.stats.admin.*;
 import com.example.smrsservice.entity.Account;
 import com.example.smrsservice.entity.Project;
 import com.example.smrsservice.repository.AccountRepository;
-import com.example.smrsservice.repository.CouncilRepository;
 import com.example.smrsservice.repository.ProjectRepository;
 import com.example.smrsservice.repository.ProjectScoreRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
-import java.time.LocalDateTime;
 import java.time.YearMonth;
-import java.time.ZoneId;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -24,43 +21,57 @@ public class AdminStatsService {
 
     private final ProjectRepository projectRepository;
     private final AccountRepository accountRepository;
-    private final CouncilRepository councilRepository;
     private final ProjectScoreRepository projectScoreRepository;
+    private final DashboardStatsService dashboardStatsService;
 
     /**
      * 1. Overview Cards - Top metrics
+     * Growth = phần tăng trong tháng hiện tại so với tổng đến hết tháng trước.
+     * activeProjectsGrowth để null: snapshot chỉ có status hiện tại theo tháng tạo, không biết bao nhiêu project
+     * còn active ở cuối tháng trước (project đổi status trong tháng) nên không tính được delta đúng.
      */
     public AdminOverviewDto getOverview() {
-        long totalProjects = projectRepository.count();
-        long totalUsers = accountRepository.count();
-        long totalCouncils = councilRepository.count();
-        long activeProjects = projectRepository.countByStatus(ProjectStatus.APPROVED)
-                + projectRepository.countByStatus(ProjectStatus.IN_REVIEW);
+        DashboardStatsService.Snapshot stats = dashboardStatsService.getSnapshot();
+        YearMonth thisMonth = YearMonth.now();
+
+        long activeProjects = stats.countActiveProjects();
 
         return AdminOverviewDto.builder()
-                .totalProjects(totalProjects)
-                .totalUsers(totalUsers)
-                .totalCouncils(totalCouncils)
+                .totalProjects(stats.getTotalProjects())
+                .totalUsers(stats.getTotalUsers())
+                .totalCouncils(stats.getTotalCouncils())
                 .activeProjects(activeProjects)
-                .projectsGrowth("+15%") // Mock data
-                .usersGrowth("+8%")
-                .councilsGrowth("+2%")
-                .activeProjectsGrowth("+12%")
+                .projectsGrowth(formatGrowth(stats.getTotalProjects(), stats.projectsCreatedIn(thisMonth)))
+                .usersGrowth(formatGrowth(stats.getTotalUsers(), stats.usersCreatedIn(thisMonth)))
+                .councilsGrowth(formatGrowth(stats.getTotalCouncils(), stats.councilsCreatedIn(thisMonth)))
                 .build();
     }
 
+    /**
+     * "+x%" = added / (total - added)
+     */
+    private String formatGrowth(long total, long added) {
+        long previous = total - added;
+        if (previous <= 0) {
+            return added > 0 ? "+100%" : "0%";
+        }
+        long percent = Math.round(added * 100.0 / previous);
+        return percent == 0 ? "0%" : String.format("%+d%%", percent);
+    }
+
     /**
      * 2. Projects by Status - Pie Chart Data
      */
     public Map<String, Long> getProjectsByStatus() {
+        DashboardStatsService.Snapshot stats = dashboardStatsService.getSnapshot();
         Map<String, Long> result = new LinkedHashMap<>();
 
-        result.put("PENDING", projectRepository.countByStatus(ProjectStatus.PENDING));
-        result.put("APPROVED", projectRepository.countByStatus(ProjectStatus.APPROVED));
-        result.put("IN_REVIEW", projectRepository.countByStatus(ProjectStatus.IN_REVIEW));
-        result.put("COMPLETED", projectRepository.countByStatus(ProjectStatus.COMPLETED));
-        result.put("REJECTED", projectRepository.countByStatus(ProjectStatus.REJECTED));
-        result.put("ARCHIVED", projectRepository.countByStatus(ProjectStatus.ARCHIVED));
+        result.put("PENDING", stats.countByStatus(ProjectStatus.PENDING));
+        result.put("APPROVED", stats.countByStatus(ProjectStatus.APPROVED));
+        result.put("IN_REVIEW", stats.countByStatus(ProjectStatus.IN_REVIEW));
+        result.put("COMPLETED", stats.countByStatus(ProjectStatus.COMPLETED));
+        result.put("REJECTED", stats.countByStatus(ProjectStatus.REJECTED));
+        result.put("ARCHIVED", stats.countByStatus(ProjectStatus.ARCHIVED));
 
         return result;
     }
@@ -69,28 +80,19 @@ public class AdminStatsService {
      * 3. Projects Timeline - Bar Chart theo tháng
      */
     public ProjectsTimelineDto getProjectsTimeline(int year, int months) {
+        DashboardStatsService.Snapshot stats = dashboardStatsService.getSnapshot();
         List<String> labels = new ArrayList<>();
         List<Long> created = new ArrayList<>();
         List<Long> completed = new ArrayList<>();
 
-        LocalDateTime now = LocalDateTime.now();
+        YearMonth now = YearMonth.now();
 
         for (int i = months - 1; i >= 0; i--) {
-            YearMonth yearMonth = YearMonth.from(now.minusMonths(i));
+            YearMonth yearMonth = now.minusMonths(i);
             labels.add(yearMonth.getMonth().toString().substring(0, 3));
 
-            LocalDateTime start = yearMonth.atDay(1).atStartOfDay();
-            LocalDateTime end = yearMonth.atEndOfMonth().atTime(23, 59, 59);
-
-            Date startDate = Date.from(start.atZone(ZoneId.systemDefault()).toInstant());
-            Date endDate = Date.from(end.atZone(ZoneId.systemDefault()).toInstant());
-
-            long createdCount = projectRepository.countCreatedBetween(startDate, endDate);
-            long completedCount = projectRepository.countByStatusAndCreateDateBetween(
-                    ProjectStatus.COMPLETED, startDate, endDate);
-
-            created.add(createdCount);
-            completed.add(completedCount);
+            created.add(stats.projectsCreatedIn(yearMonth));
+            completed.add(stats.projectsCompletedIn(yearMonth));
         }
 
         return ProjectsTimelineDto.builder()
@@ -104,12 +106,13 @@ public class AdminStatsService {
      * 4. Users by Role - Pie Chart
      */
     public Map<String, Long> getUsersByRole() {
+        DashboardStatsService.Snapshot stats = dashboardStatsService.getSnapshot();
         Map<String, Long> result = new LinkedHashMap<>();
 
-        result.put("STUDENT", accountRepository.countByRoleName("STUDENT"));
-        result.put("LECTURER", accountRepository.countByRoleName("LECTURER"));
-        result.put("DEAN", accountRepository.countByRoleName("DEAN"));
-        result.put("ADMIN", accountRepository.countByRoleName("ADMIN"));
+        result.put("STUDENT", stats.countByRole("STUDENT"));
+        result.put("LECTURER", stats.countByRole("LECTURER"));
+        result.put("DEAN", stats.countByRole("DEAN"));
+        result.put("ADMIN", stats.countByRole("ADMIN"));
 
         return result;
     }
@@ -15,6 +15,7 @@ import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
 
 @Service
 public class CopyleaksService {
@@ -29,9 +30,11 @@ public class CopyleaksService {
     @Value("${copyleaks.key}")
     private String apiKey;
 
-    private String cachedToken;
-    private Instant tokenExpiresAt;
+    // token + hạn đọc cùng nhau, không cần lock khi token còn hạn
+    private volatile CachedToken cachedToken;
     private Instant lastLoginAttempt;
+    // ReentrantLock thay cho synchronized: login là HTTP call, virtual thread chờ ở đây không giữ carrier thread
+    private final ReentrantLock loginLock = new ReentrantLock();
 
     private final Map<String, Object> scanResults = new ConcurrentHashMap<>();
 
@@ -41,24 +44,34 @@ public class CopyleaksService {
         this.repo = repo;
     }
 
-    public synchronized String getToken() {
+    public String getToken() {
+        CachedToken token = cachedToken;
+        if (token != null && token.isValid()) {
+            return token.value;
+        }
 
-        if (cachedToken != null && tokenExpiresAt != null && Instant.now().isBefore(tokenExpiresAt))
-            return cachedToken;
+        loginLock.lock();
+        try {
+            token = cachedToken;
+            if (token != null && token.isValid()) {
+                return token.value;
+            }
 
-        if (lastLoginAttempt != null &&
-                Instant.now().minusSeconds(5).isBefore(lastLoginAttempt)) {
-            throw new RuntimeException("Rate limit: wait 5 seconds");
-        }
+            if (lastLoginAttempt != null &&
+                    Instant.now().minusSeconds(5).isBefore(lastLoginAttempt)) {
+                throw new RuntimeException("Rate limit: wait 5 seconds");
+            }
 
-        lastLoginAttempt = Instant.now();
+            lastLoginAttempt = Instant.now();
 
-        CopyleaksTokenResponse res = client.login(email, apiKey);
+            CopyleaksTokenResponse res = client.login(email, apiKey);
 
-        cachedToken = res.getAccess_token();
-        tokenExpiresAt = Instant.now().plus(47, ChronoUnit.HOURS);
+            cachedToken = new CachedToken(res.getAccess_token(), Instant.now().plus(47, ChronoUnit.HOURS));
 
-        return cachedToken;
+            return res.getAccess_token();
+        } finally {
+            loginLock.unlock();
+        }
     }
 
     public void submitScan(String scanId, Object body) {
@@ -103,4 +116,17 @@ public class CopyleaksService {
                 );
     }
 
+    private static final class CachedToken {
+        private final String value;
+        private final Instant expiresAt;
+
+        private CachedToken(String value, Instant expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean isValid() {
+            return value != null && Instant.now().isBefore(expiresAt);
+        }
+    }
 }
@@ -0,0 +1,247 @@
+package com.example.smrsservice.service;
+
+import com.example.smrsservice.dto.concil.CouncilAssignmentPlanDto;
+import com.example.smrsservice.entity.Council;
+import com.example.smrsservice.repository.CouncilMemberRepository;
+import com.example.smrsservice.repository.CouncilRepository;
+import com.example.smrsservice.repository.ProjectCouncilRepository;
+import com.example.smrsservice.repository.ProjectMemberRepository;
+import com.example.smrsservice.repository.ProjectRepository;
+import com.example.smrsservice.repository.projection.CouncilLoadCount;
+import com.example.smrsservice.repository.projection.CouncilMemberMajorRow;
+import com.example.smrsservice.repository.projection.ProjectLecturerRef;
+import com.example.smrsservice.repository.projection.ReadyProjectRow;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+
+/**
+ * Tự phân các project chờ hội đồng (APPROVED + có final report + chưa gán) vào các council ACTIVE của dean.
+ *
+ * Ràng buộc: council phải có giảng viên cùng major với project (project không có major thì council nào cũng được)
+ * và không được chứa giảng viên hướng dẫn của project. Trong các council hợp lệ, project được đưa vào council
+ * đang có ít project PENDING nhất; project có ít lựa chọn nhất được xếp trước để không bị council khác chiếm chỗ.
+ * Toàn bộ dữ liệu được load bằng 5 query, phần tính toán chạy trong bộ nhớ (O(số project x số council)).
+ */
+@Service
+@RequiredArgsConstructor
+public class CouncilAssignmentPlanner {
+
+    static final String NO_ACTIVE_COUNCIL = "No active council";
+    static final String NO_MAJOR_MATCH = "No council has a lecturer of the project's major";
+    static final String ONLY_MENTOR_COUNCILS = "Every matching council includes the project's mentor";
+
+    private final CouncilRepository councilRepository;
+    private final CouncilMemberRepository councilMemberRepository;
+    private final ProjectRepository projectRepository;
+    private final ProjectMemberRepository projectMemberRepository;
+    private final ProjectCouncilRepository projectCouncilRepository;
+
+    /**
+     * Lập kế hoạch cho dean (không ghi gì vào DB)
+     */
+    public CouncilAssignmentPlanDto planForDean(Integer deanId) {
+        long start = System.nanoTime();
+
+        List<Council> councils = new ArrayList<>(councilRepository.findByDeanIdAndStatus(deanId, "ACTIVE"));
+        councils.sort(Comparator.comparing(Council::getId));
+
+        Map<Integer, Set<Integer>> membersByCouncil = new HashMap<>();
+        Map<Integer, Set<Integer>> majorsByCouncil = new HashMap<>();
+        for (CouncilMemberMajorRow row : councilMemberRepository.findActiveMemberMajorsByDeanId(deanId)) {
+            membersByCouncil.computeIfAbsent(row.getCouncilId(), k -> new HashSet<>()).add(row.getLecturerId());
+            if (row.getMajorId() != null) {
+                majorsByCouncil.computeIfAbsent(row.getCouncilId(), k -> new HashSet<>()).add(row.getMajorId());
+            }
+        }
+
+        Map<Integer, Integer> pendingByCouncil = new HashMap<>();
+        for (CouncilLoadCount row : projectCouncilRepository.countPendingByCouncilForDean(deanId)) {
+            pendingByCouncil.put(row.getCouncilId(), row.getTotal().intValue());
+        }
+
+        List<CouncilSlot> slots = new ArrayList<>(councils.size());
+        for (Council council : councils) {
+            slots.add(new CouncilSlot(
+                    council.getId(),
+                    majorsByCouncil.getOrDefault(council.getId(), Set.of()),
+                    membersByCouncil.getOrDefault(council.getId(), Set.of()),
+                    pendingByCouncil.getOrDefault(council.getId(), 0)));
+        }
+
+        List<ReadyProjectRow> projects = projectRepository.findReadyForCouncilRows();
+        Map<Integer, Set<Integer>> mentorsByProject = new HashMap<>();
+        if (!projects.isEmpty()) {
+            List<Integer> projectIds = projects.stream().map(ReadyProjectRow::getProjectId).toList();
+            for (ProjectLecturerRef ref : projectMemberRepository.findLecturerRefsByProjectIds(projectIds)) {
+                mentorsByProject.computeIfAbsent(ref.getProjectId(), k -> new HashSet<>()).add(ref.getLecturerId());
+            }
+        }
+
+        List<Candidate> candidates = new ArrayList<>(projects.size());
+        for (ReadyProjectRow row : projects) {
+            candidates.add(new Candidate(row.getProjectId(), row.getMajorId(),
+                    mentorsByProject.getOrDefault(row.getProjectId(), Set.of())));
+        }
+
+        Plan plan = plan(candidates, slots);
+
+        // ========== BUILD DTO ==========
+        Map<Integer, Council> councilById = new HashMap<>();
+        councils.forEach(c -> councilById.put(c.getId(), c));
+        Map<Integer, String> projectNames = new HashMap<>();
+        projects.forEach(p -> projectNames.put(p.getProjectId(), p.getProjectName()));
+
+        CouncilAssignmentPlanDto dto = new CouncilAssignmentPlanDto();
+        plan.getAssignments().forEach((projectId, councilId) -> {
+            Council council = councilById.get(councilId);
+            dto.getAssignments().add(CouncilAssignmentPlanDto.PlannedAssignment.builder()
+                    .projectId(projectId)
+                    .projectName(projectNames.get(projectId))
+                    .councilId(councilId)
+                    .councilCode(council.getCouncilCode())
+                    .councilName(council.getCouncilName())
+                    .build());
+        });
+        plan.getUnassigned().forEach((projectId, reason) ->
+                dto.getUnassigned().add(CouncilAssignmentPlanDto.UnassignedProject.builder()
+                        .projectId(projectId)
+                        .projectName(projectNames.get(projectId))
+                        .reason(reason)
+                        .build()));
+        for (int i = 0; i < slots.size(); i++) {
+            CouncilSlot slot = slots.get(i);
+            Council council = councilById.get(slot.getCouncilId());
+            dto.getCouncilLoads().add(CouncilAssignmentPlanDto.CouncilLoad.builder()
+                    .councilId(slot.getCouncilId())
+                    .councilCode(council.getCouncilCode())
+                    .councilName(council.getCouncilName())
+                    .memberCount(slot.getMemberIds().size())
+                    .currentLoad(slot.getCurrentLoad())
+                    .plannedLoad(plan.getLoads()[i] - slot.getCurrentLoad())
+                    .totalLoad(plan.getLoads()[i])
+                    .build());
+        }
+
+        dto.setTotalProjects(candidates.size());
+        dto.setAssignedCount(dto.getAssignments().size());
+        dto.setUnassignedCount(dto.getUnassigned().size());
+        dto.setPlanningMillis((System.nanoTime() - start) / 1_000_000);
+        return dto;
+    }
+
+    /**
+     * Thuật toán phân (thuần, không truy cập DB). slots nên được sắp theo councilId để kết quả ổn định.
+     */
+    Plan plan(List<Candidate> candidates, List<CouncilSlot> slots) {
+        int councilCount = slots.size();
+        int[] all = new int[councilCount];
+        Map<Integer, List<Integer>> slotsByMajor = new HashMap<>();
+        Map<Integer, List<Integer>> slotsByLecturer = new HashMap<>();
+        for (int i = 0; i < councilCount; i++) {
+            all[i] = i;
+            CouncilSlot slot = slots.get(i);
+            for (Integer majorId : slot.getMajorIds()) {
+                slotsByMajor.computeIfAbsent(majorId, k -> new ArrayList<>()).add(i);
+            }
+            for (Integer lecturerId : slot.getMemberIds()) {
+                slotsByLecturer.computeIfAbsent(lecturerId, k -> new ArrayList<>()).add(i);
+            }
+        }
+
+        Plan plan = new Plan(new LinkedHashMap<>(), new LinkedHashMap<>(), new int[councilCount]);
+        for (int i = 0; i < councilCount; i++) {
+            plan.getLoads()[i] = slots.get(i).getCurrentLoad();
+        }
+
+        // ========== COUNCIL HỢP LỆ CỦA TỪNG PROJECT ==========
+        List<int[]> eligibleByCandidate = new ArrayList<>(candidates.size());
+        boolean[] excluded = new boolean[councilCount];
+        for (Candidate candidate : candidates) {
+            int[] byMajor;
+            if (candidate.getMajorId() == null) {
+                byMajor = all;
+            } else {
+                List<Integer> matching = slotsByMajor.get(candidate.getMajorId());
+                byMajor = matching == null ? new int[0] : matching.stream().mapToInt(Integer::intValue).toArray();
+            }
+
+            for (Integer mentorId : candidate.getMentorIds()) {
+                for (int slot : slotsByLecturer.getOrDefault(mentorId, List.of())) {
+                    excluded[slot] = true;
+                }
+            }
+            int[] eligible = Arrays.stream(byMajor).filter(slot -> !excluded[slot]).toArray();
+            for (Integer mentorId : candidate.getMentorIds()) {
+                for (int slot : slotsByLecturer.getOrDefault(mentorId, List.of())) {
+                    excluded[slot] = false;
+                }
+            }
+
+            eligibleByCandidate.add(eligible);
+            if (eligible.length == 0) {
+                String reason = councilCount == 0 ? NO_ACTIVE_COUNCIL
+                        : byMajor.length == 0 ? NO_MAJOR_MATCH
+                        : ONLY_MENTOR_COUNCILS;
+                plan.getUnassigned().put(candidate.getProjectId(), reason);
+            }
+        }
+
+        // ========== PHÂN: ÍT LỰA CHỌN TRƯỚC, VÀO COUNCIL ÍT TẢI NHẤT ==========
+        Integer[] order = new Integer[candidates.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator
+                .comparingInt((Integer i) -> eligibleByCandidate.get(i).length)
+                .thenComparing(i -> candidates.get(i).getProjectId()));
+
+        int[] loads = plan.getLoads();
+        for (int index : order) {
+            int[] eligible = eligibleByCandidate.get(index);
+            if (eligible.length == 0) {
+                continue;
+            }
+            int best = eligible[0];
+            for (int slot : eligible) {
+                if (loads[slot] < loads[best]) {
+                    best = slot;
+                }
+            }
+            loads[best]++;
+            plan.getAssignments().put(candidates.get(index).getProjectId(), slots.get(best).getCouncilId());
+        }
+        return plan;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    static class Candidate {
+        private final Integer projectId;
+        private final Integer majorId;
+        private final Set<Integer> mentorIds;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    static class CouncilSlot {
+        private final Integer councilId;
+        private final Set<Integer> majorIds;
+        private final Set<Integer> memberIds;
+        private final int currentLoad;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    static class Plan {
+        // projectId -> councilId, theo thứ tự được phân
+        private final Map<Integer, Integer> assignments;
+        // projectId -> lý do không phân được
+        private final Map<Integer, String> unassigned;
+        // Tải của từng slot sau khi phân (cùng thứ tự với slots)
+        private final int[] loads;
+    }
+}
@@ -1,26 +1,30 @@
 package com.example.smrsservice.service;
 
 import com.example.smrsservice.common.DecisionStatus;
+import com.example.smrsservice.common.NotificationType;
 import com.example.smrsservice.common.ProjectStatus;
 import com.example.smrsservice.dto.account.PageResponse;
 import com.example.smrsservice.dto.common.ResponseDto;
 import com.example.smrsservice.dto.concil.*;
+import com.example.smrsservice.dto.mail.ProjectDecisionMail;
 import com.example.smrsservice.entity.*;
 import com.example.smrsservice.repository.*;
+import com.example.smrsservice.repository.projection.CouncilDecisionCount;
+import com.example.smrsservice.repository.projection.CouncilLecturerRef;
 import jakarta.persistence.criteria.Predicate;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -34,6 +38,11 @@ public class CouncilService {
     private final ProjectCouncilRepository projectCouncilRepository;
     private final LecturerProfileRepository lecturerProfileRepository;
     private final MilestoneRepository milestoneRepository;
+    private final MailService mailService;
+    private final CouncilAssignmentPlanner councilAssignmentPlanner;
+    private final NotificationHub notificationHub;
+
+    private static final int MAX_BULK_ITEMS = 500;
 
 
     /**
@@ -177,6 +186,7 @@ public class CouncilService {
 
             project.setStatus(ProjectStatus.IN_REVIEW);
             projectRepository.save(project);
+            notifyCouncilAssigned(List.of(projectCouncil));
 
             System.out.println("✅ Project " + projectId + " assigned to council " + council.getCouncilCode());
 
@@ -267,6 +277,7 @@ public class CouncilService {
 
                 project.setStatus(ProjectStatus.REJECTED);
                 projectRepository.save(project);
+                notifyDecision(project, DecisionStatus.REJECTED, request.getComment());
 
                 System.out.println("❌ Project " + projectId + " REJECTED by dean " + currentUser.getName());
                 return ResponseDto.success(null, "Project rejected successfully");
@@ -301,6 +312,7 @@ public class CouncilService {
                 // Cập nhật project status
                 project.setStatus(ProjectStatus.APPROVED);
                 projectRepository.save(project);
+                notifyDecision(project, DecisionStatus.APPROVED, request.getComment());
 
                 System.out.println("✅ Project " + projectId + " APPROVED by dean " + currentUser.getName());
                 return ResponseDto.success(null, "Project approved successfully. Waiting for final report submission.");
@@ -330,9 +342,7 @@ public class CouncilService {
 
             System.out.println("✅ Found " + councils.size() + " councils for dean " + currentUser.getName());
 
-            List<CouncilResponse> responses = councils.stream()
-                    .map(this::buildCouncilResponse)
-                    .collect(Collectors.toList());
+            List<CouncilResponse> responses = buildCouncilResponses(councils);
 
             return ResponseDto.success(responses, "Get councils successfully");
 
@@ -368,7 +378,9 @@ public class CouncilService {
             Council council = councilRepository.findById(councilId)
                     .orElseThrow(() -> new RuntimeException("Council not found"));
 
-            List<ProjectCouncil> projectCouncils = projectCouncilRepository.findByCouncilId(councilId);
+            // Kèm project + council trong 1 query, không lazy load từng dòng
+            List<ProjectCouncil> projectCouncils = projectCouncilRepository
+                    .findByCouncilIdInWithProject(List.of(council.getId()));
 
             List<ProjectCouncilDto> dtos = projectCouncils.stream()
                     .map(this::convertToDto)
@@ -385,32 +397,72 @@ public class CouncilService {
     // ==================== HELPER METHODS ====================
 
     private CouncilResponse buildCouncilResponse(Council council) {
-        List<CouncilMember> members = councilMemberRepository.findByCouncilId(council.getId());
-
-        List<CouncilResponse.MemberInfo> memberInfos = members.stream()
-                .map(m -> CouncilResponse.MemberInfo.builder()
-                        .id(m.getId())
-                        .lecturerId(m.getLecturer().getId())
-                        .lecturerName(m.getLecturer().getName())
-                        .lecturerEmail(m.getLecturer().getEmail())
-                        .role(m.getRole())
-                        .status(m.getStatus())
-                        .build())
-                .collect(Collectors.toList());
-
-        return CouncilResponse.builder()
-                .id(council.getId())
-                .councilCode(council.getCouncilCode())
-                .councilName(council.getCouncilName())
-                .department(council.getDepartment())
-                .description(council.getDescription())
-                .status(council.getStatus())
-                .createdAt(council.getCreatedAt())
-                .deanId(council.getDean().getId())
-                .deanName(council.getDean().getAccount().getName())
-                .deanEmail(council.getDean().getAccount().getEmail())
-                .members(memberInfos)
-                .build();
+        return buildCouncilResponses(List.of(council)).get(0);
+    }
+
+    /**
+     * Build response cho nhiều council với số query cố định (dean, thành viên, số project theo decision),
+     * không phụ thuộc số council trong trang
+     */
+    private List<CouncilResponse> buildCouncilResponses(List<Council> councils) {
+        if (councils.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<Integer> councilIds = councils.stream().map(Council::getId).collect(Collectors.toList());
+
+        Map<Integer, Council> councilsWithDean = councilRepository.findWithDeanByIdIn(councilIds).stream()
+                .collect(Collectors.toMap(Council::getId, Function.identity()));
+
+        Map<Integer, List<CouncilResponse.MemberInfo>> membersByCouncil = new HashMap<>();
+        for (CouncilMember m : councilMemberRepository.findByCouncilIdInWithLecturer(councilIds)) {
+            membersByCouncil.computeIfAbsent(m.getCouncil().getId(), k -> new ArrayList<>())
+                    .add(CouncilResponse.MemberInfo.builder()
+                            .id(m.getId())
+                            .lecturerId(m.getLecturer().getId())
+                            .lecturerName(m.getLecturer().getName())
+                            .lecturerEmail(m.getLecturer().getEmail())
+                            .role(m.getRole())
+                            .status(m.getStatus())
+                            .build());
+        }
+
+        Map<Integer, Map<DecisionStatus, Integer>> decisionsByCouncil = new HashMap<>();
+        Map<Integer, Integer> totalByCouncil = new HashMap<>();
+        for (CouncilDecisionCount row : projectCouncilRepository.countByDecisionForCouncils(councilIds)) {
+            int total = row.getTotal().intValue();
+            totalByCouncil.merge(row.getCouncilId(), total, Integer::sum);
+            if (row.getDecision() != null) {
+                decisionsByCouncil.computeIfAbsent(row.getCouncilId(), k -> new EnumMap<>(DecisionStatus.class))
+                        .merge(row.getDecision(), total, Integer::sum);
+            }
+        }
+
+        List<CouncilResponse> responses = new ArrayList<>(councils.size());
+        for (Council council : councils) {
+            Council loaded = councilsWithDean.getOrDefault(council.getId(), council);
+            List<CouncilResponse.MemberInfo> memberInfos = membersByCouncil.getOrDefault(council.getId(), new ArrayList<>());
+            Map<DecisionStatus, Integer> decisions = decisionsByCouncil.getOrDefault(council.getId(), Map.of());
+
+            responses.add(CouncilResponse.builder()
+                    .id(council.getId())
+                    .councilCode(council.getCouncilCode())
+                    .councilName(council.getCouncilName())
+                    .department(council.getDepartment())
+                    .description(council.getDescription())
+                    .status(council.getStatus())
+                    .createdAt(council.getCreatedAt())
+                    .deanId(loaded.getDean().getId())
+                    .deanName(loaded.getDean().getAccount().getName())
+                    .deanEmail(loaded.getDean().getAccount().getEmail())
+                    .members(memberInfos)
+                    .memberCount(memberInfos.size())
+                    .totalProjects(totalByCouncil.getOrDefault(council.getId(), 0))
+                    .pendingProjects(decisions.getOrDefault(DecisionStatus.PENDING, 0))
+                    .approvedProjects(decisions.getOrDefault(DecisionStatus.APPROVED, 0))
+                    .rejectedProjects(decisions.getOrDefault(DecisionStatus.REJECTED, 0))
+                    .build());
+        }
+        return responses;
     }
 
     private ProjectCouncilDto convertToDto(ProjectCouncil pc) {
@@ -460,27 +512,20 @@ public class CouncilService {
             }
 
             // Tìm các council mà lecturer này là member
-            List<CouncilMember> myMemberships = councilMemberRepository
-                    .findByLecturerId(currentUser.getId());
+            List<Integer> councilIds = councilMemberRepository.findCouncilIdsByLecturerId(currentUser.getId());
 
-            if (myMemberships.isEmpty()) {
+            if (councilIds.isEmpty()) {
                 return ResponseDto.success(new ArrayList<>(),
                         "You are not a member of any council");
             }
 
-            System.out.println("✅ Found " + myMemberships.size() +
+            System.out.println("✅ Found " + councilIds.size() +
                     " council membership(s) for lecturer " + currentUser.getName());
 
-            List<CouncilResponse> responses = myMemberships.stream()
-                    .map(cm -> {
-                        Council council = cm.getCouncil();
-                        CouncilResponse response = buildCouncilResponse(council);
+            List<Council> councils = new ArrayList<>(councilRepository.findWithDeanByIdIn(councilIds));
+            councils.sort(Comparator.comparing(Council::getId));
 
-                        // Thêm thông tin về role của mình trong hội đồng này
-                        // (Có thể extend CouncilResponse để thêm field myRole nếu cần)
-                        return response;
-                    })
-                    .collect(Collectors.toList());
+            List<CouncilResponse> responses = buildCouncilResponses(councils);
 
             return ResponseDto.success(responses,
                     "Found " + responses.size() + " council(s)");
@@ -728,17 +773,8 @@ public class CouncilService {
 
             Page<Council> councilPage = councilRepository.findAll(spec, pageable);
 
-            // Map to response
-            List<CouncilResponse> responseList = councilPage.getContent().stream()
-                    .map(council -> {
-                        CouncilResponse response = buildCouncilResponse(council);
-
-                        List<ProjectCouncil> projectCouncils = projectCouncilRepository.findByCouncilId(council.getId());
-                        response.setTotalProjects(projectCouncils.size());
-
-                        return response;
-                    })
-                    .collect(Collectors.toList());
+            // Map to response (số thành viên / project của cả trang lấy bằng query gộp)
+            List<CouncilResponse> responseList = buildCouncilResponses(councilPage.getContent());
 
             PageResponse<CouncilResponse> pageResponse = PageResponse.<CouncilResponse>builder()
                     .currentPages(page)
@@ -757,6 +793,42 @@ public class CouncilService {
         }
     }
 
+    /**
+     * GET ALL COUNCILS theo cursor (id tăng dần) thay vì OFFSET.
+     * cursor = nextCursor của trang trước, bỏ trống để lấy trang đầu; chỉ đếm tổng khi withCount = true
+     */
+    public ResponseDto<PageResponse<CouncilResponse>> getAllCouncilsByCursor(
+            String cursor,
+            Integer size,
+            boolean withCount,
+            String name,
+            String status,
+            Integer deanId,
+            Authentication authentication) {
+        try {
+            Account currentUser = getCurrentAccount(authentication);
+            String roleName = currentUser.getRole() != null
+                    ? currentUser.getRole().getRoleName()
+                    : "";
+
+            if (!"ADMIN".equalsIgnoreCase(roleName) && !"DEAN".equalsIgnoreCase(roleName)) {
+                return ResponseDto.fail("Only admins and deans can access all councils");
+            }
+
+            Specification<Council> spec = buildCouncilSpecification(name, status, deanId);
+
+            PageResponse<CouncilResponse> pageResponse = KeysetCursor.page(councilRepository, spec,
+                    "id", Sort.Direction.ASC, cursor, size, withCount, this::buildCouncilResponses);
+
+            return ResponseDto.success(pageResponse,
+                    "Found " + pageResponse.getData().size() + " council(s)");
+
+        } catch (Exception e) {
+            e.printStackTrace();
+            return ResponseDto.fail(e.getMessage());
+        }
+    }
+
     /**
      * Build specification for council filtering
      */
@@ -1040,6 +1112,7 @@ public class CouncilService {
             // Update project status
             project.setStatus(ProjectStatus.IN_REVIEW);
             projectRepository.save(project);
+            notifyCouncilAssigned(List.of(projectCouncil));
 
             System.out.println("✅ Council " + council.getCouncilCode() + " created with " +
                     assignedCount + " member(s) and project " + project.getName() + " assigned");
@@ -1127,6 +1200,7 @@ public class CouncilService {
             // Update project status
             project.setStatus(ProjectStatus.IN_REVIEW);
             projectRepository.save(project);
+            notifyCouncilAssigned(List.of(projectCouncil));
 
             System.out.println("✅ Project " + project.getName() + " assigned to council " + council.getCouncilCode());
 
@@ -1140,5 +1214,335 @@ public class CouncilService {
         }
     }
 
+    /**
+     * 11. Dean xử lý hàng loạt: gán project vào hội đồng có sẵn + approve/reject nhiều project trong 1 request.
+     * Dean profile, project, council, assignment hiện có và final report được load trước (mỗi loại 1 query),
+     * từng item được kiểm tra giống assignProjectToExistingCouncil / makeDecision, item lỗi không chặn item khác.
+     * Thay đổi được ghi trong 1 transaction (saveAll, JDBC batch), mail cho chủ project được ghi outbox 1 lần.
+     */
+    @Transactional
+    public ResponseDto<BulkCouncilActionResult> bulkProcess(
+            BulkCouncilActionRequest request,
+            Authentication authentication) {
+        try {
+            Account currentUser = getCurrentAccount(authentication);
+
+            if (currentUser.getRole() == null ||
+                    !"DEAN".equalsIgnoreCase(currentUser.getRole().getRoleName())) {
+                return ResponseDto.fail("Only deans can make decisions");
+            }
+
+            List<BulkCouncilActionRequest.AssignmentItem> assignments = request.getAssignments() != null
+                    ? request.getAssignments()
+                    : List.of();
+            List<BulkCouncilActionRequest.DecisionItem> decisions = request.getDecisions() != null
+                    ? request.getDecisions()
+                    : List.of();
+
+            if (assignments.isEmpty() && decisions.isEmpty()) {
+                return ResponseDto.fail("No assignments or decisions to process");
+            }
+            if (assignments.size() + decisions.size() > MAX_BULK_ITEMS) {
+                return ResponseDto.fail("At most " + MAX_BULK_ITEMS + " items per request");
+            }
+
+            CouncilManagerProfile deanProfile = councilProfileRepository
+                    .findByAccountId(currentUser.getId())
+                    .orElseThrow(() -> new RuntimeException("Dean profile not found"));
+
+            BulkCouncilActionResult result = applyBulk(deanProfile, assignments, decisions);
+
+            System.out.println("✅ Bulk council actions by dean " + currentUser.getName() + ": " +
+                    result.getSucceeded() + " succeeded, " + result.getFailed() + " failed");
+
+            return ResponseDto.success(result,
+                    result.getSucceeded() + " item(s) succeeded, " + result.getFailed() + " item(s) failed");
+
+        } catch (Exception e) {
+            e.printStackTrace();
+            return ResponseDto.fail(e.getMessage());
+        }
+    }
+
+    /**
+     * 12. Tự phân các project chờ hội đồng vào council của dean, cân bằng số project PENDING giữa các council
+     * dryRun = true: chỉ trả về kế hoạch, không ghi gì
+     */
+    @Transactional
+    public ResponseDto<CouncilAssignmentPlanDto> autoAssignCouncils(
+            boolean dryRun,
+            Authentication authentication) {
+        try {
+            Account currentUser = getCurrentAccount(authentication);
 
+            if (currentUser.getRole() == null ||
+                    !"DEAN".equalsIgnoreCase(currentUser.getRole().getRoleName())) {
+                return ResponseDto.fail("Only deans can assign projects to councils");
+            }
+
+            CouncilManagerProfile deanProfile = councilProfileRepository
+                    .findByAccountId(currentUser.getId())
+                    .orElseThrow(() -> new RuntimeException("Dean profile not found"));
+
+            CouncilAssignmentPlanDto plan = councilAssignmentPlanner.planForDean(deanProfile.getId());
+
+            System.out.println("✅ Council assignment plan for dean " + currentUser.getName() + ": " +
+                    plan.getAssignedCount() + "/" + plan.getTotalProjects() + " project(s) in " +
+                    plan.getPlanningMillis() + "ms" + (dryRun ? " (dry-run)" : ""));
+
+            if (dryRun || plan.getAssignments().isEmpty()) {
+                return ResponseDto.success(plan, "Planned " + plan.getAssignedCount() + " assignment(s), " +
+                        plan.getUnassignedCount() + " project(s) cannot be assigned");
+            }
+
+            List<BulkCouncilActionRequest.AssignmentItem> items = new ArrayList<>();
+            for (CouncilAssignmentPlanDto.PlannedAssignment planned : plan.getAssignments()) {
+                BulkCouncilActionRequest.AssignmentItem item = new BulkCouncilActionRequest.AssignmentItem();
+                item.setProjectId(planned.getProjectId());
+                item.setCouncilId(planned.getCouncilId());
+                items.add(item);
+            }
+
+            BulkCouncilActionResult result = applyBulk(deanProfile, items, List.of());
+            plan.setApplied(true);
+            plan.setApplyResult(result);
+
+            return ResponseDto.success(plan, result.getSucceeded() + " project(s) assigned, " +
+                    (result.getFailed() + plan.getUnassignedCount()) + " project(s) not assigned");
+
+        } catch (Exception e) {
+            e.printStackTrace();
+            return ResponseDto.fail(e.getMessage());
+        }
+    }
+
+    /**
+     * Kiểm tra + ghi các assignment / decision với dữ liệu load trước, dùng chung cho bulkProcess và autoAssignCouncils
+     */
+    private BulkCouncilActionResult applyBulk(
+            CouncilManagerProfile deanProfile,
+            List<BulkCouncilActionRequest.AssignmentItem> assignments,
+            List<BulkCouncilActionRequest.DecisionItem> decisions) {
+        // ========== PRELOAD ==========
+        Set<Integer> projectIds = new HashSet<>();
+        Set<Integer> councilIds = new HashSet<>();
+        Set<Integer> assignProjectIds = new HashSet<>();
+        for (BulkCouncilActionRequest.AssignmentItem item : assignments) {
+            if (item.getProjectId() != null) {
+                projectIds.add(item.getProjectId());
+                assignProjectIds.add(item.getProjectId());
+            }
+            if (item.getCouncilId() != null) {
+                councilIds.add(item.getCouncilId());
+            }
+        }
+        for (BulkCouncilActionRequest.DecisionItem item : decisions) {
+            if (item.getProjectId() != null) {
+                projectIds.add(item.getProjectId());
+            }
+        }
+
+        Map<Integer, Project> projects = projectIds.isEmpty()
+                ? new HashMap<>()
+                : projectRepository.findWithOwnerByIdIn(projectIds).stream()
+                .collect(Collectors.toMap(Project::getId, Function.identity()));
+
+        Map<Integer, Council> councils = councilIds.isEmpty()
+                ? new HashMap<>()
+                : councilRepository.findAllById(councilIds).stream()
+                .collect(Collectors.toMap(Council::getId, Function.identity()));
+
+        Map<Integer, List<ProjectCouncil>> assignmentsByProject = new HashMap<>();
+        if (!projectIds.isEmpty()) {
+            for (ProjectCouncil pc : projectCouncilRepository.findByProjectIdInWithCouncil(projectIds)) {
+                assignmentsByProject.computeIfAbsent(pc.getProject().getId(), k -> new ArrayList<>()).add(pc);
+            }
+        }
+
+        Set<Integer> projectsWithFinalReport = assignProjectIds.isEmpty()
+                ? Set.of()
+                : new HashSet<>(milestoneRepository.findProjectIdsWithFinalMilestone(assignProjectIds));
+
+        // ========== APPLY ==========
+        BulkCouncilActionResult result = new BulkCouncilActionResult();
+        Map<Integer, Project> changedProjects = new LinkedHashMap<>();
+        Set<ProjectCouncil> changedAssignments = new LinkedHashSet<>();
+        List<ProjectDecisionMail> mails = new ArrayList<>();
+        List<ProjectCouncil> newAssignments = new ArrayList<>();
+        Map<Project, BulkCouncilActionRequest.DecisionItem> decided = new LinkedHashMap<>();
+        Instant now = Instant.now();
+
+        for (BulkCouncilActionRequest.AssignmentItem item : assignments) {
+            Project project = projects.get(item.getProjectId());
+            Council council = councils.get(item.getCouncilId());
+
+            String error = null;
+            if (project == null) {
+                error = "Project not found";
+            } else if (council == null) {
+                error = "Council not found";
+            } else if (!projectsWithFinalReport.contains(project.getId())) {
+                error = "Project must have a final report before assigning to council";
+            } else {
+                List<ProjectCouncil> existing = assignmentsByProject.getOrDefault(project.getId(), List.of());
+                if (existing.stream().anyMatch(pc -> pc.getCouncil().getId().equals(council.getId()))) {
+                    error = "Project already assigned to this council";
+                } else if (!existing.isEmpty()) {
+                    error = "Project already assigned to another council: " +
+                            existing.get(0).getCouncil().getCouncilCode();
+                }
+            }
+
+            if (error != null) {
+                addResult(result, "ASSIGNMENT", item.getProjectId(), item.getCouncilId(), false, error);
+                continue;
+            }
+
+            ProjectCouncil projectCouncil = new ProjectCouncil();
+            projectCouncil.setProject(project);
+            projectCouncil.setCouncil(council);
+            projectCouncil.setDecision(DecisionStatus.PENDING);
+            assignmentsByProject.computeIfAbsent(project.getId(), k -> new ArrayList<>()).add(projectCouncil);
+            changedAssignments.add(projectCouncil);
+            newAssignments.add(projectCouncil);
+
+            project.setStatus(ProjectStatus.IN_REVIEW);
+            changedProjects.put(project.getId(), project);
+
+            mails.add(decisionMail(project, "Dự án đã được phân hội đồng",
+                    "Dự án được gán vào hội đồng " + council.getCouncilCode() + " - " + council.getCouncilName(),
+                    null));
+            addResult(result, "ASSIGNMENT", project.getId(), council.getId(), true,
+                    "Project assigned to council successfully");
+        }
+
+        for (BulkCouncilActionRequest.DecisionItem item : decisions) {
+            Project project = projects.get(item.getProjectId());
+
+            if (project == null) {
+                addResult(result, "DECISION", item.getProjectId(), null, false, "Project not found");
+                continue;
+            }
+            if (item.getDecision() != DecisionStatus.APPROVED && item.getDecision() != DecisionStatus.REJECTED) {
+                addResult(result, "DECISION", project.getId(), null, false, "Decision must be APPROVED or REJECTED");
+                continue;
+            }
+            if (item.getDecision() == DecisionStatus.APPROVED && project.getStatus() == ProjectStatus.APPROVED) {
+                addResult(result, "DECISION", project.getId(), null, false, "Project already approved");
+                continue;
+            }
+
+            // Assignment thuộc hội đồng của dean này (nếu có), approve chỉ cập nhật khi còn PENDING
+            ProjectCouncil projectCouncil = assignmentsByProject.getOrDefault(project.getId(), List.of()).stream()
+                    .filter(pc -> pc.getCouncil().getDean().getId().equals(deanProfile.getId()))
+                    .findFirst()
+                    .orElse(null);
+
+            if (projectCouncil != null && (item.getDecision() == DecisionStatus.REJECTED
+                    || projectCouncil.getDecision() == DecisionStatus.PENDING)) {
+                projectCouncil.setDecision(item.getDecision());
+                projectCouncil.setComment(item.getComment());
+                projectCouncil.setDecisionDate(now);
+                projectCouncil.setDecidedBy(deanProfile);
+                changedAssignments.add(projectCouncil);
+            }
+
+            boolean approved = item.getDecision() == DecisionStatus.APPROVED;
+            project.setStatus(approved ? ProjectStatus.APPROVED : ProjectStatus.REJECTED);
+            changedProjects.put(project.getId(), project);
+            decided.put(project, item);
+
+            mails.add(decisionMail(project,
+                    approved ? "Dự án đã được duyệt" : "Dự án đã bị từ chối",
+                    approved
+                            ? "Trưởng khoa đã duyệt dự án. Vui lòng chuẩn bị nộp báo cáo cuối kỳ."
+                            : "Trưởng khoa đã từ chối dự án.",
+                    item.getComment()));
+            addResult(result, "DECISION", project.getId(),
+                    projectCouncil != null ? projectCouncil.getCouncil().getId() : null, true,
+                    approved ? "Project approved successfully" : "Project rejected successfully");
+        }
+
+        // ========== SAVE (1 transaction, JDBC batch) ==========
+        projectCouncilRepository.saveAll(changedAssignments);
+        projectRepository.saveAll(changedProjects.values());
+        mailService.sendProjectDecisionNotifications(mails);
+        notifyCouncilAssigned(newAssignments);
+        decided.forEach((project, item) -> notifyDecision(project, item.getDecision(), item.getComment()));
+
+        return result;
+    }
+
+    private void addResult(BulkCouncilActionResult result, String action, Integer projectId, Integer councilId,
+                           boolean success, String message) {
+        result.getResults().add(BulkCouncilActionResult.ItemResult.builder()
+                .action(action)
+                .projectId(projectId)
+                .councilId(councilId)
+                .success(success)
+                .message(message)
+                .build());
+        if (success) {
+            result.setSucceeded(result.getSucceeded() + 1);
+        } else {
+            result.setFailed(result.getFailed() + 1);
+        }
+    }
+
+    /**
+     * Thông báo đẩy cho giảng viên của hội đồng (inbox chấm điểm) và chủ project; giảng viên load 1 query cho cả lô
+     */
+    private void notifyCouncilAssigned(List<ProjectCouncil> assignments) {
+        if (assignments.isEmpty()) {
+            return;
+        }
+        Set<Integer> councilIds = assignments.stream()
+                .map(pc -> pc.getCouncil().getId())
+                .collect(Collectors.toSet());
+        Map<Integer, List<Integer>> lecturersByCouncil = councilMemberRepository.findLecturerRefsByCouncilIdIn(councilIds)
+                .stream()
+                .collect(Collectors.groupingBy(CouncilLecturerRef::getCouncilId,
+                        Collectors.mapping(CouncilLecturerRef::getLecturerId, Collectors.toList())));
+
+        for (ProjectCouncil pc : assignments) {
+            Project project = pc.getProject();
+            Council council = pc.getCouncil();
+            List<Integer> recipients = new ArrayList<>(lecturersByCouncil.getOrDefault(council.getId(), List.of()));
+            if (project.getOwner() != null) {
+                recipients.add(project.getOwner().getId());
+            }
+            notificationHub.publishAfterCommit(recipients, NotificationType.COUNCIL_ASSIGNED,
+                    "Dự án đã được phân hội đồng",
+                    "Dự án " + project.getName() + " được gán vào hội đồng " + council.getCouncilCode()
+                            + " - " + council.getCouncilName(),
+                    project.getId(), project.getName());
+        }
+    }
+
+    /**
+     * Thông báo đẩy cho chủ project khi dean duyệt / từ chối
+     */
+    private void notifyDecision(Project project, DecisionStatus decision, String comment) {
+        if (project.getOwner() == null) {
+            return;
+        }
+        boolean approved = decision == DecisionStatus.APPROVED;
+        notificationHub.publishAfterCommit(List.of(project.getOwner().getId()), NotificationType.PROJECT_DECISION,
+                approved ? "Dự án đã được duyệt" : "Dự án đã bị từ chối",
+                (approved ? "Trưởng khoa đã duyệt dự án " : "Trưởng khoa đã từ chối dự án ") + project.getName()
+                        + (comment != null && !comment.isBlank() ? ". Nhận xét: " + comment : ""),
+                project.getId(), project.getName());
+    }
+
+    private ProjectDecisionMail decisionMail(Project project, String title, String result, String comment) {
+        Account owner = project.getOwner();
+        return ProjectDecisionMail.builder()
+                .toEmail(owner != null ? owner.getEmail() : null)
+                .userName(owner != null ? owner.getName() : null)
+                .projectName(project.getName())
+                .title(title)
+                .result(result)
+                .comment(comment)
+                .build();
+    }
 }
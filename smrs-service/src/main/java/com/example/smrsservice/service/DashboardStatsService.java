@@ -0,0 +1,182 @@
+package com.example.smrsservice.service;
+
+import com.example.smrsservice.common.ProjectStatus;
+import com.example.smrsservice.repository.AccountRepository;
+import com.example.smrsservice.repository.CouncilRepository;
+import com.example.smrsservice.repository.ProjectRepository;
+import com.example.smrsservice.repository.projection.AccountMonthlyRoleCount;
+import com.example.smrsservice.repository.projection.MonthlyCount;
+import com.example.smrsservice.repository.projection.ProjectMonthlyStatusCount;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.YearMonth;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Read model cho dashboard thống kê: số project theo status/tháng, số account theo role/tháng,
+ * số council theo tháng. Được build lại bằng 3 query GROUP BY và giữ trong bộ nhớ cho tới khi
+ * có ghi vào project/account/council (xem DashboardStatsListener) hoặc hết TTL.
+ */
+@Service
+@RequiredArgsConstructor
+public class DashboardStatsService {
+
+    private static final long SNAPSHOT_TTL_MILLIS = 5 * 60 * 1000L;
+
+    private final ProjectRepository projectRepository;
+    private final AccountRepository accountRepository;
+    private final CouncilRepository councilRepository;
+
+    private final AtomicLong version = new AtomicLong();
+    private volatile Snapshot snapshot;
+
+    public Snapshot getSnapshot() {
+        Snapshot current = snapshot;
+        if (current != null
+                && current.version == version.get()
+                && System.currentTimeMillis() - current.builtAt < SNAPSHOT_TTL_MILLIS) {
+            return current;
+        }
+
+        // Lấy version TRƯỚC khi query: nếu có ghi trong lúc build thì snapshot này tự hết hạn
+        long buildVersion = version.get();
+        Snapshot rebuilt = build(buildVersion);
+        snapshot = rebuilt;
+        return rebuilt;
+    }
+
+    /**
+     * Đánh dấu snapshot hiện tại là cũ, lần đọc tiếp theo sẽ build lại.
+     * Tăng version lần nữa sau commit: request khác có thể đã build snapshot (vẫn thấy dữ liệu cũ)
+     * trong khoảng giữa lúc flush và lúc commit
+     */
+    public void invalidate() {
+        version.incrementAndGet();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    version.incrementAndGet();
+                }
+            });
+        }
+    }
+
+    private Snapshot build(long buildVersion) {
+        Snapshot s = new Snapshot(buildVersion);
+
+        for (ProjectMonthlyStatusCount row : projectRepository.countByCreateMonthAndStatus()) {
+            long total = row.getTotal();
+            s.totalProjects += total;
+            if (row.getStatus() != null) {
+                s.projectsByStatus.merge(row.getStatus(), total, Long::sum);
+            }
+
+            YearMonth month = toYearMonth(row.getCreatedYear(), row.getCreatedMonth());
+            if (month == null) continue;
+
+            s.projectsCreated.merge(month, total, Long::sum);
+            if (row.getStatus() == ProjectStatus.COMPLETED) {
+                s.projectsCompleted.merge(month, total, Long::sum);
+            }
+        }
+
+        for (AccountMonthlyRoleCount row : accountRepository.countByRoleAndCreateMonth()) {
+            long total = row.getTotal();
+            s.totalUsers += total;
+            if (row.getRoleName() != null) {
+                s.usersByRole.merge(row.getRoleName().toUpperCase(), total, Long::sum);
+            }
+
+            YearMonth month = toYearMonth(row.getCreatedYear(), row.getCreatedMonth());
+            if (month != null) {
+                s.usersCreated.merge(month, total, Long::sum);
+            }
+        }
+
+        for (MonthlyCount row : councilRepository.countByCreateMonth()) {
+            long total = row.getTotal();
+            s.totalCouncils += total;
+
+            YearMonth month = toYearMonth(row.getCreatedYear(), row.getCreatedMonth());
+            if (month != null) {
+                s.councilsCreated.merge(month, total, Long::sum);
+            }
+        }
+
+        return s;
+    }
+
+    private static YearMonth toYearMonth(Integer year, Integer month) {
+        if (year == null || month == null) return null;
+        return YearMonth.of(year, month);
+    }
+
+    /**
+     * Kết quả đã tổng hợp, chỉ đọc sau khi build xong
+     */
+    public static class Snapshot {
+        private final long version;
+        private final long builtAt = System.currentTimeMillis();
+
+        private long totalProjects;
+        private long totalUsers;
+        private long totalCouncils;
+
+        private final Map<ProjectStatus, Long> projectsByStatus = new EnumMap<>(ProjectStatus.class);
+        private final Map<String, Long> usersByRole = new HashMap<>();
+
+        private final Map<YearMonth, Long> projectsCreated = new HashMap<>();
+        private final Map<YearMonth, Long> projectsCompleted = new HashMap<>();
+        private final Map<YearMonth, Long> usersCreated = new HashMap<>();
+        private final Map<YearMonth, Long> councilsCreated = new HashMap<>();
+
+        private Snapshot(long version) {
+            this.version = version;
+        }
+
+        public long getTotalProjects() {
+            return totalProjects;
+        }
+
+        public long getTotalUsers() {
+            return totalUsers;
+        }
+
+        public long getTotalCouncils() {
+            return totalCouncils;
+        }
+
+        public long countByStatus(ProjectStatus status) {
+            return projectsByStatus.getOrDefault(status, 0L);
+        }
+
+        public long countActiveProjects() {
+            return countByStatus(ProjectStatus.APPROVED) + countByStatus(ProjectStatus.IN_REVIEW);
+        }
+
+        public long countByRole(String roleName) {
+            return usersByRole.getOrDefault(roleName.toUpperCase(), 0L);
+        }
+
+        public long projectsCreatedIn(YearMonth month) {
+            return projectsCreated.getOrDefault(month, 0L);
+        }
+
+        public long projectsCompletedIn(YearMonth month) {
+            return projectsCompleted.getOrDefault(month, 0L);
+        }
+
+        public long usersCreatedIn(YearMonth month) {
+            return usersCreated.getOrDefault(month, 0L);
+        }
+
+        public long councilsCreatedIn(YearMonth month) {
+            return councilsCreated.getOrDefault(month, 0L);
+        }
+    }
+}
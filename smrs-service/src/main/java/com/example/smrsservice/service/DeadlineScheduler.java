@@ -0,0 +1,544 @@
+package com.example.smrsservice.service;
+
+import com.example.smrsservice.common.ProjectStatus;
+import com.example.smrsservice.dto.mail.DeadlineDigestMail;
+import com.example.smrsservice.entity.Milestone;
+import com.example.smrsservice.entity.Project;
+import com.example.smrsservice.entity.Task;
+import com.example.smrsservice.repository.MilestoneRepository;
+import com.example.smrsservice.repository.ProjectRepository;
+import com.example.smrsservice.repository.TaskRepository;
+import com.example.smrsservice.repository.projection.DeadlineNoticeRow;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.text.SimpleDateFormat;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Lịch hạn của milestone (dueDate), task (deadline) và hạn chỉnh sửa project (revisionDeadline).
+ *
+ * Các hạn còn chờ được nạp một lần lúc khởi động vào một {@link TimingWheel} (tick 1 phút) và được
+ * cập nhật qua DeadlineListener sau mỗi commit, nên mỗi lượt tick chỉ đụng tới các hạn vừa đến:
+ * <ul>
+ *     <li>trước hạn reminder-lead: gửi mail nhắc</li>
+ *     <li>tới hạn: milestone chưa nộp chuyển "Overdue", project quá hạn chỉnh sửa trả về kho (ARCHIVED), task báo quá hạn</li>
+ * </ul>
+ * Mỗi lượt đọc lại các hạn đến hạn từ DB theo id (bỏ qua những cái đã nộp / đã xong) rồi gửi 1 mail gộp cho mỗi người.
+ * Wheel chỉ là gợi ý thời điểm, trạng thái trong DB mới là căn cứ.
+ *
+ * Sau khi khởi động lại không nhắc lại các hạn đã vào khoảng reminder-lead và không báo lại task đã quá hạn
+ * (không lưu trạng thái "đã nhắc"); milestone đã "Overdue" và project đã trả về kho thì không xử lý lại.
+ */
+@Component
+@RequiredArgsConstructor
+public class DeadlineScheduler {
+
+    enum Kind {MILESTONE, TASK, REVISION}
+
+    private enum Phase {REMINDER, OVERDUE}
+
+    static final String OVERDUE = "Overdue";
+
+    private static final long WHEEL_TICK_MILLIS = 60_000;
+    // 64^4 phút ~ 31 năm
+    private static final int WHEEL_LEVELS = 4;
+
+    private final MilestoneRepository milestoneRepository;
+    private final TaskRepository taskRepository;
+    private final ProjectRepository projectRepository;
+    private final MailService mailService;
+    private final StudentStatsService studentStatsService;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${app.deadline.reminder-lead:24h}")
+    private Duration reminderLead;
+
+    private final TimingWheel<Deadline> wheel = new TimingWheel<>(WHEEL_TICK_MILLIS, WHEEL_LEVELS, System.currentTimeMillis());
+    private final Map<Long, Deadline> deadlines = new HashMap<>();
+    // milestone chưa nộp theo project, cho API upcoming deadlines
+    private final Map<Integer, Map<Integer, Deadline>> milestonesByProject = new HashMap<>();
+    // thay đổi trước khi nạp xong: bản trong DB lúc nạp có thể đã cũ
+    private Set<Long> changedBeforeLoad = new HashSet<>();
+    private volatile boolean loaded;
+
+    // ==================== LOAD ====================
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        try {
+            load();
+        } catch (Exception e) {
+            System.err.println("❌ Deadline scheduler load failed: " + e.getMessage());
+        }
+    }
+
+    void load() {
+        long start = System.currentTimeMillis();
+        Date now = new Date(start);
+
+        List<DeadlineNoticeRow> milestones = milestoneRepository.findPendingDeadlineNotices();
+        List<DeadlineNoticeRow> tasks = taskRepository.findDeadlineNoticesAfter(now);
+        List<DeadlineNoticeRow> revisions = projectRepository.findRevisionDeadlineNotices();
+
+        synchronized (this) {
+            for (DeadlineNoticeRow row : milestones) {
+                loadRow(Kind.MILESTONE, row, milestoneName(row.getId(), row.getTitle(), false), start);
+            }
+            for (DeadlineNoticeRow row : tasks) {
+                if (!isFinishedTask(row.getStatus())) {
+                    loadRow(Kind.TASK, row, row.getTitle(), start);
+                }
+            }
+            for (DeadlineNoticeRow row : revisions) {
+                loadRow(Kind.REVISION, row, row.getTitle(), start);
+            }
+            changedBeforeLoad = null;
+            loaded = true;
+        }
+
+        System.out.println("✅ Deadline scheduler loaded " + milestones.size() + " milestone(s), " + tasks.size()
+                + " task(s), " + revisions.size() + " revision(s) in " + (System.currentTimeMillis() - start) + " ms");
+    }
+
+    private void loadRow(Kind kind, DeadlineNoticeRow row, String title, long now) {
+        if (changedBeforeLoad == null || !changedBeforeLoad.contains(key(kind, row.getId()))) {
+            put(new Deadline(kind, row.getId(), row.getProjectId(), title, row.getDueDate(), row.getStatus()), now, true);
+        }
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    // ==================== CHANGES ====================
+
+    /**
+     * Gọi từ DeadlineListener: áp dụng sau commit (rollback thì bỏ)
+     */
+    public void changedAfterCommit(Object entity, boolean removed) {
+        Runnable change = toChange(entity, removed);
+        if (change == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    change.run();
+                }
+            });
+        } else {
+            change.run();
+        }
+    }
+
+    /**
+     * Chụp giá trị của entity ngay lúc thay đổi (entity có thể bị sửa tiếp trước khi commit)
+     */
+    private Runnable toChange(Object entity, boolean removed) {
+        if (entity instanceof Milestone m) {
+            boolean active = !removed && m.getDueDate() != null && m.getReportSubmittedAt() == null;
+            Deadline deadline = active
+                    ? new Deadline(Kind.MILESTONE, m.getId(), m.getProject() != null ? m.getProject().getId() : null,
+                    milestoneName(m.getId(), m.getDescription(), m.getIsFinal()), m.getDueDate(), m.getStatus())
+                    : null;
+            return () -> apply(Kind.MILESTONE, m.getId(), deadline);
+        }
+        if (entity instanceof Task t) {
+            boolean active = !removed && t.getDeadline() != null && !isFinishedTask(t.getStatus());
+            Deadline deadline = active
+                    ? new Deadline(Kind.TASK, t.getId(), t.getProject() != null ? t.getProject().getId() : null,
+                    t.getName(), t.getDeadline(), t.getStatus())
+                    : null;
+            return () -> apply(Kind.TASK, t.getId(), deadline);
+        }
+        if (entity instanceof Project p) {
+            boolean active = !removed && p.getStatus() == ProjectStatus.REVISION_REQUIRED && p.getRevisionDeadline() != null;
+            Deadline deadline = active
+                    ? new Deadline(Kind.REVISION, p.getId(), p.getId(), p.getName(), p.getRevisionDeadline(), null)
+                    : null;
+            return () -> apply(Kind.REVISION, p.getId(), deadline);
+        }
+        return null;
+    }
+
+    synchronized void apply(Kind kind, Integer id, Deadline deadline) {
+        long key = key(kind, id);
+        if (changedBeforeLoad != null) {
+            changedBeforeLoad.add(key);
+        }
+        if (deadline == null) {
+            remove(key);
+            return;
+        }
+
+        Deadline current = deadlines.get(key);
+        if (current != null && current.dueAt == deadline.dueAt) {
+            // cùng hạn: giữ lịch đang chạy (không nhắc lại), chỉ cập nhật thông tin
+            current.projectId = deadline.projectId;
+            current.title = deadline.title;
+            current.status = deadline.status;
+            index(current);
+            return;
+        }
+        put(deadline, System.currentTimeMillis(), false);
+    }
+
+    /**
+     * Hạn mới: còn xa thì hẹn nhắc ở (hạn - reminder-lead); đã trong khoảng đó thì nhắc ngay (trừ lúc nạp
+     * khi khởi động), tới hạn thì xử lý quá hạn. Milestone đã "Overdue" chỉ giữ lại cho API upcoming deadlines.
+     */
+    private void put(Deadline deadline, long now, boolean loading) {
+        remove(key(deadline.kind, deadline.id));
+        deadlines.put(key(deadline.kind, deadline.id), deadline);
+        index(deadline);
+
+        if (deadline.kind == Kind.MILESTONE && OVERDUE.equalsIgnoreCase(deadline.status)) {
+            return;
+        }
+
+        long remindAt = deadline.dueAt - reminderLead.toMillis();
+        if (now < remindAt || (!loading && now < deadline.dueAt)) {
+            deadline.phase = Phase.REMINDER;
+            wheel.add(deadline, remindAt);
+        } else {
+            deadline.phase = Phase.OVERDUE;
+            wheel.add(deadline, deadline.dueAt);
+        }
+    }
+
+    private void remove(long key) {
+        Deadline removed = deadlines.remove(key);
+        if (removed != null && removed.kind == Kind.MILESTONE && removed.projectId != null) {
+            Map<Integer, Deadline> byId = milestonesByProject.get(removed.projectId);
+            if (byId != null) {
+                byId.remove(removed.id);
+                if (byId.isEmpty()) {
+                    milestonesByProject.remove(removed.projectId);
+                }
+            }
+        }
+    }
+
+    private void index(Deadline deadline) {
+        if (deadline.kind != Kind.MILESTONE) {
+            return;
+        }
+        milestonesByProject.values().forEach(byId -> byId.remove(deadline.id, deadline));
+        milestonesByProject.values().removeIf(Map::isEmpty);
+        if (deadline.projectId != null) {
+            milestonesByProject.computeIfAbsent(deadline.projectId, k -> new HashMap<>()).put(deadline.id, deadline);
+        }
+    }
+
+    // ==================== READ ====================
+
+    /**
+     * Milestone chưa nộp report (có due date) của các project, sắp theo hạn
+     */
+    public synchronized List<Deadline> milestoneDeadlines(Collection<Integer> projectIds) {
+        List<Deadline> result = new ArrayList<>();
+        for (Integer projectId : projectIds) {
+            Map<Integer, Deadline> byId = milestonesByProject.get(projectId);
+            if (byId != null) {
+                byId.values().forEach(d -> result.add(d.copy()));
+            }
+        }
+        result.sort((a, b) -> Long.compare(a.dueAt, b.dueAt));
+        return result;
+    }
+
+    synchronized int scheduledCount() {
+        return wheel.size();
+    }
+
+    // ==================== TICK ====================
+
+    @Scheduled(fixedDelayString = "${app.deadline.tick-ms:60000}", initialDelayString = "${app.deadline.tick-ms:60000}")
+    public void tick() {
+        if (loaded) {
+            tick(System.currentTimeMillis());
+        }
+    }
+
+    void tick(long now) {
+        List<Deadline> reminders = new ArrayList<>();
+        List<Deadline> overdue = new ArrayList<>();
+
+        synchronized (this) {
+            wheel.advance(now, deadline -> {
+                if (deadlines.get(key(deadline.kind, deadline.id)) != deadline) {
+                    return; // đã đổi hạn / đã xoá
+                }
+                if (deadline.phase == Phase.REMINDER) {
+                    reminders.add(deadline.copy());
+                    deadline.phase = Phase.OVERDUE;
+                    wheel.add(deadline, deadline.dueAt);
+                } else {
+                    overdue.add(deadline.copy());
+                    if (deadline.kind != Kind.MILESTONE) {
+                        remove(key(deadline.kind, deadline.id));
+                    }
+                }
+            });
+        }
+        if (reminders.isEmpty() && overdue.isEmpty()) {
+            return;
+        }
+
+        try {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> fire(reminders, overdue, new Date(now)));
+        } catch (Exception e) {
+            System.err.println("❌ Deadline batch failed, will retry: " + e.getMessage());
+            retry(reminders, Phase.REMINDER, now);
+            retry(overdue, Phase.OVERDUE, now);
+        }
+    }
+
+    private synchronized void retry(List<Deadline> batch, Phase phase, long now) {
+        for (Deadline failed : batch) {
+            long key = key(failed.kind, failed.id);
+            Deadline current = deadlines.get(key);
+            if (current == null && failed.kind != Kind.MILESTONE && phase == Phase.OVERDUE) {
+                current = failed;
+                deadlines.put(key, current);
+            }
+            if (current != null && current.dueAt == failed.dueAt) {
+                current.phase = phase;
+                wheel.add(current, now + WHEEL_TICK_MILLIS);
+            }
+        }
+    }
+
+    private void fire(List<Deadline> reminders, List<Deadline> overdue, Date now) {
+        Map<String, DeadlineDigestMail> digests = new LinkedHashMap<>();
+
+        // ----- milestone -----
+        Set<Integer> remindMilestones = ids(reminders, Kind.MILESTONE);
+        Set<Integer> overdueMilestones = ids(overdue, Kind.MILESTONE);
+        List<Integer> markOverdue = new ArrayList<>();
+        Set<Integer> touchedProjects = new HashSet<>();
+        if (!remindMilestones.isEmpty() || !overdueMilestones.isEmpty()) {
+            Set<Integer> all = new HashSet<>(remindMilestones);
+            all.addAll(overdueMilestones);
+            for (DeadlineNoticeRow row : milestoneRepository.findPendingDeadlineNoticesByIdIn(all)) {
+                if (isFinishedMilestone(row.getStatus())) {
+                    continue;
+                }
+                String name = "Milestone '" + milestoneName(row.getId(), row.getTitle(), false) + "'";
+                if (row.getDueDate().after(now)) {
+                    if (remindMilestones.contains(row.getId())) {
+                        addItem(digests, row, name + " (dự án " + row.getProjectName() + "): " + dueIn(row.getDueDate(), now));
+                    }
+                } else if (overdueMilestones.contains(row.getId()) && !OVERDUE.equalsIgnoreCase(row.getStatus())) {
+                    markOverdue.add(row.getId());
+                    touchedProjects.add(row.getProjectId());
+                    addItem(digests, row, name + " (dự án " + row.getProjectName() + "): đã quá hạn " + format(row.getDueDate()));
+                }
+            }
+            if (!markOverdue.isEmpty()) {
+                milestoneRepository.markOverdue(markOverdue);
+                markedOverdueAfterCommit(markOverdue, touchedProjects);
+            }
+        }
+
+        // ----- task -----
+        Set<Integer> remindTasks = ids(reminders, Kind.TASK);
+        Set<Integer> overdueTasks = ids(overdue, Kind.TASK);
+        if (!remindTasks.isEmpty() || !overdueTasks.isEmpty()) {
+            Set<Integer> all = new HashSet<>(remindTasks);
+            all.addAll(overdueTasks);
+            for (DeadlineNoticeRow row : taskRepository.findDeadlineNoticesByIdIn(all)) {
+                if (isFinishedTask(row.getStatus())) {
+                    continue;
+                }
+                String name = "Task '" + row.getTitle() + "'"
+                        + (row.getProjectName() != null ? " (dự án " + row.getProjectName() + ")" : "");
+                if (row.getDueDate().after(now)) {
+                    if (remindTasks.contains(row.getId())) {
+                        addItem(digests, row, name + ": " + dueIn(row.getDueDate(), now));
+                    }
+                } else if (overdueTasks.contains(row.getId())) {
+                    addItem(digests, row, name + ": đã quá hạn " + format(row.getDueDate()));
+                }
+            }
+        }
+
+        // ----- hạn chỉnh sửa project -----
+        Set<Integer> remindRevisions = ids(reminders, Kind.REVISION);
+        if (!remindRevisions.isEmpty()) {
+            for (DeadlineNoticeRow row : projectRepository.findRevisionDeadlineNoticesByIdIn(remindRevisions)) {
+                if (row.getDueDate().after(now)) {
+                    addItem(digests, row, "Dự án '" + row.getTitle() + "' cần nộp lại bản chỉnh sửa: " + dueIn(row.getDueDate(), now));
+                }
+            }
+        }
+        Set<Integer> overdueRevisions = ids(overdue, Kind.REVISION);
+        if (!overdueRevisions.isEmpty()) {
+            List<Project> archived = new ArrayList<>();
+            for (Project project : projectRepository.findWithOwnerByIdIn(overdueRevisions)) {
+                if (project.getStatus() != ProjectStatus.REVISION_REQUIRED || project.getRevisionDeadline() == null
+                        || project.getRevisionDeadline().after(now)) {
+                    continue;
+                }
+                if (project.getOwner() != null) {
+                    addItem(digests, project.getOwner().getEmail(), project.getOwner().getName(),
+                            "Dự án '" + project.getName() + "' đã quá hạn chỉnh sửa (" + format(project.getRevisionDeadline())
+                                    + ") và được trả về kho");
+                }
+                // giống performResubmit khi nộp lại sau hạn
+                project.setStatus(ProjectStatus.ARCHIVED);
+                project.setOwner(null);
+                project.setRevisionDeadline(null);
+                archived.add(project);
+            }
+            projectRepository.saveAll(archived);
+        }
+
+        if (!digests.isEmpty()) {
+            mailService.sendDeadlineDigests(new ArrayList<>(digests.values()));
+        }
+        System.out.println("⏰ Deadline batch: " + reminders.size() + " reminder(s), " + overdue.size()
+                + " due, " + markOverdue.size() + " milestone(s) marked overdue, " + digests.size() + " digest(s)");
+    }
+
+    /**
+     * UPDATE hàng loạt không qua entity listener: tự cập nhật index và xoá cache dashboard sau commit
+     */
+    private void markedOverdueAfterCommit(List<Integer> milestoneIds, Set<Integer> projectIds) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                synchronized (DeadlineScheduler.this) {
+                    for (Integer id : milestoneIds) {
+                        Deadline deadline = deadlines.get(key(Kind.MILESTONE, id));
+                        if (deadline != null) {
+                            deadline.status = OVERDUE;
+                        }
+                    }
+                }
+                projectIds.forEach(studentStatsService::invalidateProject);
+            }
+        });
+    }
+
+    // ==================== HELPERS ====================
+
+    /**
+     * Tên hiển thị của milestone: final report, mô tả, hoặc "Milestone #id"
+     */
+    static String milestoneName(Integer id, String description, Boolean isFinal) {
+        if (Boolean.TRUE.equals(isFinal)) {
+            return "Final Report";
+        }
+        return description != null && !description.isEmpty() ? description : "Milestone #" + id;
+    }
+
+    private static boolean isFinishedMilestone(String status) {
+        return "Completed".equalsIgnoreCase(status) || "Submitted".equalsIgnoreCase(status);
+    }
+
+    private static boolean isFinishedTask(String status) {
+        return "Done".equalsIgnoreCase(status) || "Completed".equalsIgnoreCase(status);
+    }
+
+    private static Set<Integer> ids(List<Deadline> deadlines, Kind kind) {
+        return deadlines.stream()
+                .filter(d -> d.kind == kind)
+                .map(d -> d.id)
+                .collect(Collectors.toSet());
+    }
+
+    private static void addItem(Map<String, DeadlineDigestMail> digests, DeadlineNoticeRow row, String item) {
+        addItem(digests, row.getRecipientEmail(), row.getRecipientName(), item);
+    }
+
+    private static void addItem(Map<String, DeadlineDigestMail> digests, String email, String name, String item) {
+        if (email == null || email.isBlank()) {
+            return;
+        }
+        digests.computeIfAbsent(email, (Function<String, DeadlineDigestMail>) e -> DeadlineDigestMail.builder()
+                        .toEmail(e)
+                        .userName(name)
+                        .build())
+                .getItems().add("• " + item);
+    }
+
+    private static String dueIn(Date dueDate, Date now) {
+        long hours = Math.max(1, (dueDate.getTime() - now.getTime() + 3_599_999) / 3_600_000);
+        String left = hours < 48 ? hours + " giờ" : (hours / 24) + " ngày";
+        return "còn " + left + " (hạn " + format(dueDate) + ")";
+    }
+
+    private static String format(Date date) {
+        return new SimpleDateFormat("dd/MM/yyyy HH:mm").format(date);
+    }
+
+    private static long key(Kind kind, Integer id) {
+        return ((long) kind.ordinal() << 32) | (id & 0xffffffffL);
+    }
+
+    /**
+     * Một hạn trong wheel; các field chỉ đổi khi giữ lock của scheduler, ra ngoài thì trả bản copy
+     */
+    static final class Deadline {
+        private final Kind kind;
+        private final Integer id;
+        private final long dueAt;
+        private Integer projectId;
+        private String title;
+        private String status;
+        private Phase phase;
+
+        private Deadline(Kind kind, Integer id, Integer projectId, String title, Date dueDate, String status) {
+            this.kind = kind;
+            this.id = id;
+            this.dueAt = dueDate.getTime();
+            this.projectId = projectId;
+            this.title = title;
+            this.status = status;
+        }
+
+        private Deadline copy() {
+            Deadline copy = new Deadline(kind, id, projectId, title, new Date(dueAt), status);
+            copy.phase = phase;
+            return copy;
+        }
+
+        Integer getId() {
+            return id;
+        }
+
+        Integer getProjectId() {
+            return projectId;
+        }
+
+        String getTitle() {
+            return title;
+        }
+
+        Date getDueDate() {
+            return new Date(dueAt);
+        }
+    }
+}
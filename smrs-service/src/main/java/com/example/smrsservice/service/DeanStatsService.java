@@ -1,17 +1,18 @@
 package com.example.smrsservice.service;
 
 import com.example.smrsservice.common.DecisionStatus;
-import com.example.smrsservice.common.ProjectStatus;
 import com.example.smrsservice.dto.stats.dean.CouncilPerformanceDto;
 import com.example.smrsservice.dto.stats.dean.DeanOverviewDto;
 import com.example.smrsservice.dto.stats.dean.LecturerActivityDto;
 import com.example.smrsservice.dto.stats.dean.TimelineChartDto;
 import com.example.smrsservice.entity.*;
 import com.example.smrsservice.repository.*;
+import com.example.smrsservice.repository.projection.*;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.YearMonth;
 import java.time.ZoneId;
@@ -33,26 +34,15 @@ public class DeanStatsService {
      * 1. Overview Cards
      */
     public DeanOverviewDto getOverview(Authentication authentication) {
-        Account dean = getCurrentAccount(authentication);
-        CouncilManagerProfile deanProfile = councilProfileRepository
-                .findByAccountId(dean.getId())
-                .orElseThrow(() -> new RuntimeException("Dean profile not found"));
-
-        List<Council> myCouncils = councilRepository.findByDeanId(deanProfile.getId());
-        long totalCouncils = myCouncils.size();
+        Integer deanId = getDeanProfileId(authentication);
 
-        long pendingProjects = projectCouncilRepository.findPendingProjectsByDean(deanProfile.getId()).size();
+        long totalCouncils = councilRepository.countByDeanId(deanId);
 
-        long approvedProjects = myCouncils.stream()
-                .flatMap(c -> projectCouncilRepository.findByCouncilId(c.getId()).stream())
-                .filter(pc -> pc.getDecision() == DecisionStatus.APPROVED)
-                .count();
+        Map<DecisionStatus, Long> decisions = countByDecision(deanId);
+        long pendingProjects = decisions.getOrDefault(DecisionStatus.PENDING, 0L);
+        long approvedProjects = decisions.getOrDefault(DecisionStatus.APPROVED, 0L);
 
-        long totalLecturers = myCouncils.stream()
-                .flatMap(c -> councilMemberRepository.findByCouncilId(c.getId()).stream())
-                .map(cm -> cm.getLecturer().getId())
-                .distinct()
-                .count();
+        long totalLecturers = councilMemberRepository.countDistinctLecturersByDeanId(deanId);
 
         return DeanOverviewDto.builder()
                 .totalCouncils(totalCouncils)
@@ -70,23 +60,13 @@ public class DeanStatsService {
      * 2. Projects by Decision Status
      */
     public Map<String, Long> getProjectsByDecision(Authentication authentication) {
-        Account dean = getCurrentAccount(authentication);
-        CouncilManagerProfile deanProfile = councilProfileRepository
-                .findByAccountId(dean.getId())
-                .orElseThrow(() -> new RuntimeException("Dean profile not found"));
-
-        List<Council> myCouncils = councilRepository.findByDeanId(deanProfile.getId());
-        List<ProjectCouncil> allProjects = myCouncils.stream()
-                .flatMap(c -> projectCouncilRepository.findByCouncilId(c.getId()).stream())
-                .collect(Collectors.toList());
+        Integer deanId = getDeanProfileId(authentication);
+        Map<DecisionStatus, Long> decisions = countByDecision(deanId);
 
         Map<String, Long> result = new LinkedHashMap<>();
-        result.put("PENDING", allProjects.stream()
-                .filter(pc -> pc.getDecision() == DecisionStatus.PENDING).count());
-        result.put("APPROVED", allProjects.stream()
-                .filter(pc -> pc.getDecision() == DecisionStatus.APPROVED).count());
-        result.put("REJECTED", allProjects.stream()
-                .filter(pc -> pc.getDecision() == DecisionStatus.REJECTED).count());
+        result.put("PENDING", decisions.getOrDefault(DecisionStatus.PENDING, 0L));
+        result.put("APPROVED", decisions.getOrDefault(DecisionStatus.APPROVED, 0L));
+        result.put("REJECTED", decisions.getOrDefault(DecisionStatus.REJECTED, 0L));
 
         return result;
     }
@@ -95,30 +75,43 @@ public class DeanStatsService {
      * 3. Councils Performance
      */
     public List<CouncilPerformanceDto> getCouncilsPerformance(Authentication authentication) {
-        Account dean = getCurrentAccount(authentication);
-        CouncilManagerProfile deanProfile = councilProfileRepository
-                .findByAccountId(dean.getId())
-                .orElseThrow(() -> new RuntimeException("Dean profile not found"));
+        Integer deanId = getDeanProfileId(authentication);
 
-        List<Council> myCouncils = councilRepository.findByDeanId(deanProfile.getId());
+        List<Council> myCouncils = councilRepository.findByDeanId(deanId);
+        if (myCouncils.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Map<Integer, CouncilProjectStats> projectStats = projectCouncilRepository.summarizeCouncilsForDean(deanId)
+                .stream()
+                .collect(Collectors.toMap(CouncilProjectStats::getCouncilId, s -> s));
+
+        // Điểm TB của council = trung bình điểm TB của các project đã có điểm
+        Map<Integer, List<Double>> projectAverages = new HashMap<>();
+        for (CouncilProjectScore row : projectCouncilRepository.averageProjectScoresForDean(deanId)) {
+            if (row.getAverageScore() != null) {
+                projectAverages.computeIfAbsent(row.getCouncilId(), k -> new ArrayList<>()).add(row.getAverageScore());
+            }
+        }
+
+        Map<Integer, Long> memberCounts = councilMemberRepository.countMembersByCouncilIds(
+                        myCouncils.stream().map(Council::getId).collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.toMap(CouncilMemberCount::getCouncilId, CouncilMemberCount::getMemberCount));
 
         return myCouncils.stream()
                 .map(council -> {
-                    List<ProjectCouncil> projects = projectCouncilRepository.findByCouncilId(council.getId());
-                    int totalProjects = projects.size();
+                    CouncilProjectStats stats = projectStats.get(council.getId());
+                    int totalProjects = stats != null ? stats.getTotalProjects().intValue() : 0;
+                    long completedProjects = stats != null && stats.getCompletedProjects() != null
+                            ? stats.getCompletedProjects() : 0L;
 
-                    long completedProjects = projects.stream()
-                            .filter(pc -> pc.getProject().getStatus() == ProjectStatus.COMPLETED)
-                            .count();
-
-                    Double avgScore = projects.stream()
-                            .map(pc -> projectScoreRepository.getAverageScoreByProjectId(pc.getProject().getId()))
-                            .filter(Objects::nonNull)
+                    Double avgScore = projectAverages.getOrDefault(council.getId(), List.of()).stream()
                             .mapToDouble(Double::doubleValue)
                             .average()
                             .orElse(0.0);
 
-                    int activeMembers = councilMemberRepository.findByCouncilId(council.getId()).size();
+                    int activeMembers = memberCounts.getOrDefault(council.getId(), 0L).intValue();
 
                     String completionRate = totalProjects > 0
                             ? String.format("%.1f%%", (completedProjects * 100.0 / totalProjects))
@@ -142,51 +135,45 @@ public class DeanStatsService {
      * 4. Decision Timeline
      */
     public TimelineChartDto getDecisionTimeline(Authentication authentication, int year, int months) {
-        Account dean = getCurrentAccount(authentication);
-        CouncilManagerProfile deanProfile = councilProfileRepository
-                .findByAccountId(dean.getId())
-                .orElseThrow(() -> new RuntimeException("Dean profile not found"));
-
-        List<Council> myCouncils = councilRepository.findByDeanId(deanProfile.getId());
-        List<ProjectCouncil> allProjects = myCouncils.stream()
-                .flatMap(c -> projectCouncilRepository.findByCouncilId(c.getId()).stream())
-                .collect(Collectors.toList());
+        Integer deanId = getDeanProfileId(authentication);
 
         List<String> labels = new ArrayList<>();
         List<Long> approved = new ArrayList<>();
         List<Long> rejected = new ArrayList<>();
 
         LocalDateTime now = LocalDateTime.now();
+        ZoneId zone = ZoneId.systemDefault();
 
+        // Các tháng hiển thị, từ cũ đến mới
+        List<YearMonth> window = new ArrayList<>();
         for (int i = months - 1; i >= 0; i--) {
-            YearMonth yearMonth = YearMonth.from(now.minusMonths(i));
-            labels.add(yearMonth.getMonth().toString().substring(0, 3));
+            window.add(YearMonth.from(now.minusMonths(i)));
+        }
+        if (window.isEmpty()) {
+            return TimelineChartDto.builder()
+                    .labels(labels)
+                    .dataset1(approved)
+                    .dataset2(rejected)
+                    .dataset1Label("Approved")
+                    .dataset2Label("Rejected")
+                    .build();
+        }
 
-            LocalDateTime start = yearMonth.atDay(1).atStartOfDay();
-            LocalDateTime end = yearMonth.atEndOfMonth().atTime(23, 59, 59);
-
-            long approvedCount = allProjects.stream()
-                    .filter(pc -> pc.getDecision() == DecisionStatus.APPROVED)
-                    .filter(pc -> pc.getDecisionDate() != null)
-                    .filter(pc -> {
-                        LocalDateTime decisionTime = LocalDateTime.ofInstant(
-                                pc.getDecisionDate(), ZoneId.systemDefault());
-                        return !decisionTime.isBefore(start) && !decisionTime.isAfter(end);
-                    })
-                    .count();
-
-            long rejectedCount = allProjects.stream()
-                    .filter(pc -> pc.getDecision() == DecisionStatus.REJECTED)
-                    .filter(pc -> pc.getDecisionDate() != null)
-                    .filter(pc -> {
-                        LocalDateTime decisionTime = LocalDateTime.ofInstant(
-                                pc.getDecisionDate(), ZoneId.systemDefault());
-                        return !decisionTime.isBefore(start) && !decisionTime.isAfter(end);
-                    })
-                    .count();
-
-            approved.add(approvedCount);
-            rejected.add(rejectedCount);
+        // 1 query cho cả khoảng thời gian, chia theo tháng ở đây (theo timezone của server như trước)
+        Instant from = window.get(0).atDay(1).atStartOfDay(zone).toInstant();
+        Map<YearMonth, long[]> counts = new HashMap<>();
+        for (DecisionDateRef ref : projectCouncilRepository.findDecisionDatesForDean(
+                deanId, List.of(DecisionStatus.APPROVED, DecisionStatus.REJECTED), from)) {
+            LocalDateTime decisionTime = LocalDateTime.ofInstant(ref.getDecisionDate(), zone);
+            long[] bucket = counts.computeIfAbsent(YearMonth.from(decisionTime), k -> new long[2]);
+            bucket[ref.getDecision() == DecisionStatus.APPROVED ? 0 : 1]++;
+        }
+
+        for (YearMonth yearMonth : window) {
+            labels.add(yearMonth.getMonth().toString().substring(0, 3));
+            long[] bucket = counts.getOrDefault(yearMonth, new long[2]);
+            approved.add(bucket[0]);
+            rejected.add(bucket[1]);
         }
 
         return TimelineChartDto.builder()
@@ -202,46 +189,34 @@ public class DeanStatsService {
      * 5. Lecturers Activity
      */
     public List<LecturerActivityDto> getLecturersActivity(Authentication authentication) {
-        Account dean = getCurrentAccount(authentication);
-        CouncilManagerProfile deanProfile = councilProfileRepository
-                .findByAccountId(dean.getId())
-                .orElseThrow(() -> new RuntimeException("Dean profile not found"));
-
-        List<Council> myCouncils = councilRepository.findByDeanId(deanProfile.getId());
+        Integer deanId = getDeanProfileId(authentication);
 
-        Map<Integer, Account> lecturerMap = new HashMap<>();
-        Map<Integer, Integer> councilsCountMap = new HashMap<>();
-
-        for (Council council : myCouncils) {
-            List<CouncilMember> members = councilMemberRepository.findByCouncilId(council.getId());
-            for (CouncilMember cm : members) {
-                Account lecturer = cm.getLecturer();
-                lecturerMap.put(lecturer.getId(), lecturer);
-                councilsCountMap.put(lecturer.getId(),
-                        councilsCountMap.getOrDefault(lecturer.getId(), 0) + 1);
-            }
+        List<LecturerCouncilCount> lecturers = councilMemberRepository.countCouncilsPerLecturerByDeanId(deanId);
+        if (lecturers.isEmpty()) {
+            return new ArrayList<>();
         }
 
-        return lecturerMap.values().stream()
-                .map(lecturer -> {
-                    int councilsCount = councilsCountMap.getOrDefault(lecturer.getId(), 0);
+        Map<Integer, LecturerScoreSummary> scores = projectScoreRepository.summarizeByLecturerIds(
+                        lecturers.stream().map(LecturerCouncilCount::getLecturerId).collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.toMap(LecturerScoreSummary::getLecturerId, s -> s));
 
-                    int projectsScored = projectScoreRepository.findByLecturerId(lecturer.getId()).size();
+        return lecturers.stream()
+                .map(lecturer -> {
+                    int councilsCount = lecturer.getCouncilsCount().intValue();
 
-                    Double avgScoreGiven = projectScoreRepository.findByLecturerId(lecturer.getId()).stream()
-                            .map(ProjectScore::getFinalScore)
-                            .filter(Objects::nonNull)
-                            .mapToDouble(Double::doubleValue)
-                            .average()
-                            .orElse(0.0);
+                    LecturerScoreSummary summary = scores.get(lecturer.getLecturerId());
+                    int projectsScored = summary != null ? summary.getTotalScores().intValue() : 0;
+                    Double avgScoreGiven = summary != null && summary.getAverageScore() != null
+                            ? summary.getAverageScore() : 0.0;
 
                     String activityLevel = projectsScored >= 10 ? "HIGH"
                             : projectsScored >= 5 ? "MEDIUM" : "LOW";
 
                     return LecturerActivityDto.builder()
-                            .lecturerId(lecturer.getId())
-                            .lecturerName(lecturer.getName())
-                            .lecturerEmail(lecturer.getEmail())
+                            .lecturerId(lecturer.getLecturerId())
+                            .lecturerName(lecturer.getLecturerName())
+                            .lecturerEmail(lecturer.getLecturerEmail())
                             .councilsCount(councilsCount)
                             .projectsScored(projectsScored)
                             .averageScoreGiven(avgScoreGiven)
@@ -252,6 +227,22 @@ public class DeanStatsService {
                 .collect(Collectors.toList());
     }
 
+    private Integer getDeanProfileId(Authentication authentication) {
+        Account dean = getCurrentAccount(authentication);
+        return councilProfileRepository.findIdByAccountId(dean.getId())
+                .orElseThrow(() -> new RuntimeException("Dean profile not found"));
+    }
+
+    private Map<DecisionStatus, Long> countByDecision(Integer deanId) {
+        Map<DecisionStatus, Long> result = new EnumMap<>(DecisionStatus.class);
+        for (DecisionCount row : projectCouncilRepository.countByDecisionForDean(deanId)) {
+            if (row.getDecision() != null) {
+                result.put(row.getDecision(), row.getTotal());
+            }
+        }
+        return result;
+    }
+
     private Account getCurrentAccount(Authentication authentication) {
         if (authentication == null) {
             throw new RuntimeException("User not authenticated");
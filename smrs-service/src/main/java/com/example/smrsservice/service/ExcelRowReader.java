@@ -0,0 +1,121 @@
+package com.example.smrsservice.service;
+
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.springframework.web.multipart.MultipartFile;
+import org.xml.sax.InputSource;
+import org.xml.sax.XMLReader;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Đọc sheet đầu tiên của file .xlsx bằng SAX (event model) của POI:
+ * mỗi lần chỉ giữ một dòng trong bộ nhớ thay vì dựng cả workbook như XSSFWorkbook.
+ * Giá trị cell được trim, cell số bị cắt về số nguyên giống cách import cũ đọc cell.
+ */
+final class ExcelRowReader {
+
+    interface RowHandler {
+        /**
+         * @param rowNumber số dòng trong Excel (bắt đầu từ 1)
+         * @param cells     column index -> giá trị, chỉ gồm các cell có dữ liệu
+         */
+        void row(int rowNumber, Map<Integer, String> cells);
+    }
+
+    private ExcelRowReader() {
+    }
+
+    static void read(MultipartFile file, RowHandler handler) throws IOException {
+        Path tempFile = Files.createTempFile("smrs-import-", ".xlsx");
+        try {
+            try (InputStream is = file.getInputStream()) {
+                Files.copy(is, tempFile, StandardCopyOption.REPLACE_EXISTING);
+            }
+            read(tempFile.toFile(), handler);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    static void read(File file, RowHandler handler) throws IOException {
+        try (OPCPackage pkg = OPCPackage.open(file, PackageAccess.READ)) {
+            XSSFReader reader = new XSSFReader(pkg);
+            ReadOnlySharedStringsTable strings = new ReadOnlySharedStringsTable(pkg);
+            StylesTable styles = reader.getStylesTable();
+
+            Iterator<InputStream> sheets = reader.getSheetsData();
+            if (!sheets.hasNext()) {
+                return;
+            }
+            try (InputStream sheet = sheets.next()) {
+                XMLReader parser = XMLHelper.newXMLReader();
+                parser.setContentHandler(new XSSFSheetXMLHandler(
+                        styles, null, strings, new RowCollector(handler), new IntegerDataFormatter(), false));
+                parser.parse(new InputSource(sheet));
+            }
+        } catch (IOException | RuntimeException e) {
+            // lỗi của handler (vd. lỗi ghi DB của một chunk) được ném lại nguyên vẹn
+            throw e;
+        } catch (Exception e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    private static final class RowCollector implements XSSFSheetXMLHandler.SheetContentsHandler {
+        private final RowHandler handler;
+        private Map<Integer, String> cells;
+        private int nextColumn;
+
+        private RowCollector(RowHandler handler) {
+            this.handler = handler;
+        }
+
+        @Override
+        public void startRow(int rowNum) {
+            cells = new HashMap<>();
+            nextColumn = 0;
+        }
+
+        @Override
+        public void endRow(int rowNum) {
+            handler.row(rowNum + 1, cells);
+        }
+
+        @Override
+        public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+            int column = cellReference != null ? new CellReference(cellReference).getCol() : nextColumn;
+            nextColumn = column + 1;
+            if (formattedValue != null) {
+                cells.put(column, formattedValue.trim());
+            }
+        }
+    }
+
+    /**
+     * Cell số trả về phần nguyên (vd. số điện thoại, tuổi, majorId) giống
+     * {@code String.valueOf((int) cell.getNumericCellValue())}.
+     */
+    private static final class IntegerDataFormatter extends DataFormatter {
+        @Override
+        public String formatRawCellContents(double value, int formatIndex, String formatString, boolean use1904Windowing) {
+            return String.valueOf((int) value);
+        }
+    }
+}
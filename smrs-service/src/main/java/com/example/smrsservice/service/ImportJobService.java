@@ -0,0 +1,354 @@
+package com.example.smrsservice.service;
+
+import com.example.smrsservice.common.ImportJobStatus;
+import com.example.smrsservice.common.ImportJobType;
+import com.example.smrsservice.dto.account.AccountImportResult;
+import com.example.smrsservice.dto.common.ResponseDto;
+import com.example.smrsservice.dto.importjob.ImportJobResponse;
+import com.example.smrsservice.dto.project.ProjectImportDto;
+import com.example.smrsservice.entity.Account;
+import com.example.smrsservice.entity.ImportJob;
+import com.example.smrsservice.repository.AccountRepository;
+import com.example.smrsservice.repository.ImportJobRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Import Excel chạy nền: nhận file, trả về job id ngay và xử lý trên importJobExecutor.
+ * Trạng thái job lưu trong bảng import_job; tiến độ của job đang chạy giữ trong bộ nhớ.
+ * Tiến độ được ghi xuống import_job sau mỗi chunk (transaction riêng) nên instance khác và lần khởi động sau
+ * vẫn thấy job đã chạy tới đâu. Khi khởi động lại, job QUEUED/RUNNING còn file upload (app.import.dir) sẽ được
+ * chạy lại từ đầu: mỗi lần import là một transaction nên lần chạy dở trước đó đã rollback, message của job ghi rõ điều này.
+ */
+@Service
+@RequiredArgsConstructor
+public class ImportJobService {
+
+    private static final int MAX_ERROR_ROWS = 10_000;
+    // Import chỉ báo rowsSucceeded ở cuối (project) thì ghi tiến độ theo số dòng đã đọc
+    private static final int CHECKPOINT_ROWS = 500;
+
+    private final ImportJobRepository importJobRepository;
+    private final AccountRepository accountRepository;
+    private final AccountService accountService;
+    private final ProjectService projectService;
+    private final ThreadPoolTaskExecutor importJobExecutor;
+    private final Path importJobDir;
+
+    private final Map<Long, JobProgress> runningJobs = new ConcurrentHashMap<>();
+
+    public ResponseDto<ImportJobResponse> submit(ImportJobType type, MultipartFile file, Authentication authentication) {
+        if (file == null || file.isEmpty()) {
+            return ResponseDto.fail("File cannot be empty");
+        }
+
+        Account account = currentAccount(authentication);
+
+        ImportJob job = new ImportJob();
+        job.setType(type);
+        job.setStatus(ImportJobStatus.QUEUED);
+        job.setFileName(file.getOriginalFilename());
+        job.setCreatedBy(accountRepository.getReferenceById(account.getId()));
+        importJobRepository.save(job);
+
+        try {
+            Path target = importJobDir.resolve("import-job-" + job.getId() + ".xlsx");
+            try (InputStream is = file.getInputStream()) {
+                Files.copy(is, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+            job.setFilePath(target.toString());
+            importJobRepository.save(job);
+        } catch (IOException e) {
+            markFailed(job, "Cannot store uploaded file: " + e.getMessage());
+            return ResponseDto.fail("Cannot store uploaded file: " + e.getMessage());
+        }
+
+        if (!enqueue(job)) {
+            return ResponseDto.fail("Import queue is full, please try again later");
+        }
+        return ResponseDto.success(toResponse(job), "Import job queued");
+    }
+
+    public ResponseDto<ImportJobResponse> getJob(Long id, Authentication authentication) {
+        ImportJob job = importJobRepository.findById(id).orElse(null);
+        if (job == null || !canView(job, currentAccount(authentication))) {
+            return ResponseDto.fail("Import job not found");
+        }
+        return ResponseDto.success(toResponse(job), "OK");
+    }
+
+    public ResponseDto<List<ImportJobResponse>> getMyJobs(Authentication authentication) {
+        Account account = currentAccount(authentication);
+        List<ImportJobResponse> jobs = importJobRepository.findTop20ByCreatedByIdOrderByIdDesc(account.getId())
+                .stream()
+                .map(this::toResponse)
+                .toList();
+        return ResponseDto.success(jobs, "OK");
+    }
+
+    /**
+     * CSV các dòng lỗi (row,key,message); null nếu job không tồn tại hoặc không có lỗi.
+     */
+    public String getErrorReport(Long id, Authentication authentication) {
+        ImportJob job = importJobRepository.findById(id).orElse(null);
+        if (job == null || !canView(job, currentAccount(authentication))) {
+            return null;
+        }
+        JobProgress progress = runningJobs.get(id);
+        return progress != null ? progress.errorReport() : job.getErrorReport();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeUnfinishedJobs() {
+        List<ImportJob> jobs = importJobRepository.findByStatusInOrderByIdAsc(
+                List.of(ImportJobStatus.QUEUED, ImportJobStatus.RUNNING));
+
+        for (ImportJob job : jobs) {
+            String interrupted = job.getStatus() == ImportJobStatus.RUNNING
+                    ? "Interrupted by server restart after " + valueOrZero(job.getRowsRead()) + " row(s) read, "
+                    + valueOrZero(job.getRowsSucceeded()) + " row(s) processed (rolled back)"
+                    : null;
+            if (job.getFilePath() == null || !Files.exists(Paths.get(job.getFilePath()))) {
+                markFailed(job, (interrupted != null ? interrupted : "Interrupted by server restart")
+                        + "; uploaded file is missing in " + importJobDir);
+                continue;
+            }
+            job.setMessage(interrupted != null ? interrupted + "; restarted from the beginning" : null);
+            job.setStatus(ImportJobStatus.QUEUED);
+            job.setRowsRead(0);
+            job.setRowsSucceeded(0);
+            job.setRowsFailed(0);
+            job.setStartedAt(null);
+            importJobRepository.save(job);
+            enqueue(job);
+        }
+
+        if (!jobs.isEmpty()) {
+            System.out.println("🔁 Resumed " + jobs.size() + " unfinished import job(s)");
+        }
+    }
+
+    private boolean enqueue(ImportJob job) {
+        Long jobId = job.getId();
+        try {
+            importJobExecutor.execute(() -> run(jobId));
+            return true;
+        } catch (TaskRejectedException e) {
+            markFailed(job, "Import queue is full");
+            deleteUpload(job);
+            return false;
+        }
+    }
+
+    private void run(Long jobId) {
+        ImportJob job = importJobRepository.findById(jobId).orElse(null);
+        if (job == null) {
+            return;
+        }
+
+        JobProgress progress = new JobProgress(jobId, importJobRepository);
+        runningJobs.put(jobId, progress);
+        job.setStatus(ImportJobStatus.RUNNING);
+        job.setAttempts(valueOrZero(job.getAttempts()) + 1);
+        job.setStartedAt(Instant.now());
+        importJobRepository.save(job);
+
+        try {
+            File file = new File(job.getFilePath());
+            String message;
+            if (job.getType() == ImportJobType.ACCOUNT) {
+                AccountImportResult result = accountService.importAccountsFromExcel(file, progress);
+                message = "Imported " + (result.getCreatedCount() + result.getUpdatedCount()) + " account(s)";
+            } else {
+                ResponseDto<List<ProjectImportDto>> result =
+                        projectService.importProjectsFromExcel(file, job.getCreatedBy(), progress);
+                if (!result.isSuccess()) {
+                    throw new IllegalStateException(result.getMessage());
+                }
+                message = result.getMessage();
+            }
+            finish(job, progress, ImportJobStatus.COMPLETED, message);
+        } catch (Exception e) {
+            System.err.println("❌ Import job " + jobId + " failed: " + e.getMessage());
+            finish(job, progress, ImportJobStatus.FAILED, e.getMessage());
+        } finally {
+            runningJobs.remove(jobId);
+            deleteUpload(job);
+        }
+    }
+
+    private void finish(ImportJob job, JobProgress progress, ImportJobStatus status, String message) {
+        job.setStatus(status);
+        job.setMessage(job.getAttempts() > 1
+                ? message + " (run " + job.getAttempts() + ", earlier run interrupted by server restart and rolled back)"
+                : message);
+        job.setRowsRead(progress.rowsRead);
+        // Import là một transaction: lỗi giữa chừng thì không dòng nào được lưu
+        job.setRowsSucceeded(status == ImportJobStatus.COMPLETED ? progress.succeeded.get() : 0);
+        job.setRowsFailed(progress.failed.get());
+        job.setErrorReport(progress.errorReport());
+        job.setFinishedAt(Instant.now());
+        job.setProgressAt(job.getFinishedAt());
+        importJobRepository.save(job);
+    }
+
+    private void markFailed(ImportJob job, String message) {
+        job.setStatus(ImportJobStatus.FAILED);
+        job.setMessage(message);
+        job.setFinishedAt(Instant.now());
+        importJobRepository.save(job);
+    }
+
+    private void deleteUpload(ImportJob job) {
+        if (job.getFilePath() == null) return;
+        try {
+            Files.deleteIfExists(Paths.get(job.getFilePath()));
+        } catch (IOException e) {
+            System.err.println("⚠️ Cannot delete import file " + job.getFilePath() + ": " + e.getMessage());
+        }
+    }
+
+    private ImportJobResponse toResponse(ImportJob job) {
+        JobProgress progress = runningJobs.get(job.getId());
+        boolean running = progress != null && job.getStatus() != ImportJobStatus.COMPLETED
+                && job.getStatus() != ImportJobStatus.FAILED;
+
+        int rowsFailed = running ? progress.failed.get() : valueOrZero(job.getRowsFailed());
+        return ImportJobResponse.builder()
+                .id(job.getId())
+                .type(job.getType().name())
+                .status(job.getStatus().name())
+                .fileName(job.getFileName())
+                .rowsRead(running ? progress.rowsRead : valueOrZero(job.getRowsRead()))
+                .rowsSucceeded(running ? progress.succeeded.get() : valueOrZero(job.getRowsSucceeded()))
+                .rowsFailed(rowsFailed)
+                .attempts(valueOrZero(job.getAttempts()))
+                .message(job.getMessage())
+                .hasErrorReport(rowsFailed > 0)
+                .createdAt(job.getCreatedAt())
+                .startedAt(job.getStartedAt())
+                .finishedAt(job.getFinishedAt())
+                .progressAt(job.getProgressAt())
+                .build();
+    }
+
+    private static int valueOrZero(Integer value) {
+        return value != null ? value : 0;
+    }
+
+    private boolean canView(ImportJob job, Account account) {
+        if (account.getRole() != null && "ADMIN".equalsIgnoreCase(account.getRole().getRoleName())) {
+            return true;
+        }
+        return job.getCreatedBy() != null && job.getCreatedBy().getId().equals(account.getId());
+    }
+
+    private Account currentAccount(Authentication authentication) {
+        if (authentication == null) {
+            throw new RuntimeException("User not authenticated");
+        }
+
+        Object principal = authentication.getPrincipal();
+
+        if (principal instanceof Account) {
+            return (Account) principal;
+        }
+
+        if (principal instanceof String) {
+            String email = (String) principal;
+            return accountRepository.findByEmail(email)
+                    .orElseThrow(() -> new RuntimeException("Account not found with email: " + email));
+        }
+
+        throw new RuntimeException("Invalid authentication principal type");
+    }
+
+    /**
+     * Tiến độ của job đang chạy, được import cập nhật từ thread worker và ghi xuống DB sau mỗi chunk.
+     */
+    private static final class JobProgress implements ImportProgressListener {
+        private final Long jobId;
+        private final ImportJobRepository importJobRepository;
+        private volatile int rowsRead;
+        private int checkpointRows;
+        private final AtomicInteger succeeded = new AtomicInteger();
+        private final AtomicInteger failed = new AtomicInteger();
+        private final List<Map.Entry<Integer, String>> errorLines = new ArrayList<>();
+
+        private JobProgress(Long jobId, ImportJobRepository importJobRepository) {
+            this.jobId = jobId;
+            this.importJobRepository = importJobRepository;
+        }
+
+        @Override
+        public void rowsRead(int rowsRead) {
+            this.rowsRead = rowsRead;
+            if (rowsRead - checkpointRows >= CHECKPOINT_ROWS) {
+                checkpoint();
+            }
+        }
+
+        @Override
+        public void rowsSucceeded(int count) {
+            succeeded.addAndGet(count);
+            checkpoint();
+        }
+
+        private void checkpoint() {
+            checkpointRows = rowsRead;
+            try {
+                importJobRepository.updateProgress(jobId, rowsRead, succeeded.get(), failed.get(), Instant.now());
+            } catch (Exception e) {
+                // Chỉ là tiến độ: không làm hỏng import
+                System.err.println("⚠️ Cannot save progress of import job " + jobId + ": " + e.getMessage());
+            }
+        }
+
+        @Override
+        public void rowFailed(int rowNumber, String key, String message) {
+            failed.incrementAndGet();
+            synchronized (errorLines) {
+                if (errorLines.size() < MAX_ERROR_ROWS) {
+                    errorLines.add(Map.entry(rowNumber, rowNumber + "," + csv(key) + "," + csv(message)));
+                }
+            }
+        }
+
+        private String errorReport() {
+            synchronized (errorLines) {
+                if (errorLines.isEmpty()) return null;
+                // Sắp lại theo số dòng cho dễ đọc
+                StringBuilder report = new StringBuilder("row,key,message\n");
+                errorLines.stream()
+                        .sorted(Map.Entry.comparingByKey())
+                        .forEach(line -> report.append(line.getValue()).append('\n'));
+                return report.toString();
+            }
+        }
+
+        private static String csv(String value) {
+            if (value == null) return "";
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+    }
+}
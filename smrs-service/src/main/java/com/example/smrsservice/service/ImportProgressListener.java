@@ -0,0 +1,21 @@
+package com.example.smrsservice.service;
+
+/**
+ * Nhận tiến độ từ các hàm import Excel (account, project).
+ * Import chạy đồng bộ trong request dùng {@link #NONE}; import job dùng để cập nhật trạng thái.
+ */
+public interface ImportProgressListener {
+
+    ImportProgressListener NONE = new ImportProgressListener() {
+    };
+
+    /** Tổng số dòng dữ liệu đã đọc được tới thời điểm hiện tại. */
+    default void rowsRead(int rowsRead) {
+    }
+
+    default void rowsSucceeded(int count) {
+    }
+
+    default void rowFailed(int rowNumber, String key, String message) {
+    }
+}
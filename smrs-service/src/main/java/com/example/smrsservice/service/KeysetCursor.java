@@ -0,0 +1,201 @@
+package com.example.smrsservice.service;
+
+import com.example.smrsservice.dto.account.PageResponse;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Keyset (cursor) pagination dùng chung cho các list endpoint.
+ *
+ * Token là chuỗi Base64 (không cần client hiểu) chứa cột sort, chiều sort, giá trị cột sort và id của dòng
+ * cuối trang trước. Trang sau lấy các dòng đứng sau (sortKey, id) đó thay vì OFFSET, lấy dư 1 dòng để biết
+ * còn trang sau hay không nên không cần COUNT. NULL của cột sort được coi là nhỏ nhất như MySQL
+ * (đầu danh sách khi ASC, cuối danh sách khi DESC).
+ * Giá trị sort nằm nguyên trong token nên chỉ sort theo cột ngắn (id, ngày, VARCHAR(255)), không theo TEXT.
+ */
+final class KeysetCursor {
+
+    static final int DEFAULT_PAGE_SIZE = 10;
+    static final int MAX_PAGE_SIZE = 100;
+
+    // totalPages / totalElements khi không yêu cầu đếm
+    static final int NOT_COUNTED = -1;
+
+    // VARCHAR(255) toàn ký tự 4 byte + phần đầu token vẫn dưới giới hạn này
+    static final int MAX_CURSOR_LENGTH = 1500;
+
+    private static final String ID = "id";
+
+    private final String sortField;
+    private final Sort.Direction direction;
+    private final Object value;
+    private final Integer id;
+
+    private KeysetCursor(String sortField, Sort.Direction direction, Object value, Integer id) {
+        this.sortField = sortField;
+        this.direction = direction;
+        this.value = value;
+        this.id = id;
+    }
+
+    /**
+     * Lấy 1 trang theo cursor. cursor rỗng = trang đầu.
+     * withCount = true mới chạy thêm COUNT (trên spec gốc, không tính điều kiện cursor).
+     */
+    static <T, R> PageResponse<R> page(
+            JpaSpecificationExecutor<T> repository,
+            Specification<T> spec,
+            String sortField,
+            Sort.Direction direction,
+            String cursor,
+            Integer size,
+            boolean withCount,
+            Function<List<T>, List<R>> mapper) {
+
+        int pageSize = pageSize(size);
+        KeysetCursor after = decode(cursor, sortField, direction);
+
+        Specification<T> where = after == null ? spec : spec.and(after.toSpecification());
+
+        List<T> rows = repository.findBy(where, q -> q
+                .sortBy(sort(sortField, direction))
+                .limit(pageSize + 1)
+                .all());
+
+        boolean hasNext = rows.size() > pageSize;
+        if (hasNext) {
+            rows = rows.subList(0, pageSize);
+        }
+
+        long total = withCount ? repository.count(spec) : NOT_COUNTED;
+
+        return PageResponse.<R>builder()
+                .pageSizes(pageSize)
+                .totalElements(total)
+                .totalPages(withCount ? (int) ((total + pageSize - 1) / pageSize) : NOT_COUNTED)
+                .data(mapper.apply(rows))
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? encode(sortField, direction, rows.get(rows.size() - 1)) : null)
+                .build();
+    }
+
+    static <R> PageResponse<R> empty(Integer size) {
+        return PageResponse.<R>builder()
+                .pageSizes(pageSize(size))
+                .data(new ArrayList<>())
+                .hasNext(false)
+                .build();
+    }
+
+    static int pageSize(Integer size) {
+        return size == null || size <= 0 ? DEFAULT_PAGE_SIZE : Math.min(size, MAX_PAGE_SIZE);
+    }
+
+    static Sort sort(String sortField, Sort.Direction direction) {
+        if (ID.equals(sortField)) {
+            return Sort.by(direction, ID);
+        }
+        return Sort.by(direction, sortField, ID);
+    }
+
+    static String encode(String sortField, Sort.Direction direction, Object entity) {
+        BeanWrapperImpl bean = new BeanWrapperImpl(entity);
+        Object id = bean.getPropertyValue(ID);
+        Object value = ID.equals(sortField) ? id : bean.getPropertyValue(sortField);
+
+        String raw = sortField + "|" + direction.name() + "|" + id + "|" + encodeValue(value);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Cursor phải được tạo với cùng cột / chiều sort, nếu không thì báo lỗi thay vì trả trang sai
+     */
+    static KeysetCursor decode(String cursor, String sortField, Sort.Direction direction) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        if (cursor.length() > MAX_CURSOR_LENGTH) {
+            throw new IllegalArgumentException("Invalid cursor: too long");
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", 4);
+            if (parts.length != 4 || !parts[0].equals(sortField) || !parts[1].equals(direction.name())) {
+                throw new IllegalArgumentException("Cursor does not match the requested sort");
+            }
+            return new KeysetCursor(sortField, direction, decodeValue(parts[3]), Integer.valueOf(parts[2]));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * DESC: (k < v) OR (k = v AND id < lastId) OR k IS NULL; dòng cuối có k NULL: k IS NULL AND id < lastId
+     * ASC:  (k > v) OR (k = v AND id > lastId);               dòng cuối có k NULL: (k IS NULL AND id > lastId) OR k IS NOT NULL
+     */
+    private <T> Specification<T> toSpecification() {
+        return (root, query, cb) -> {
+            Predicate idAfter = after(cb, root.get(ID), id);
+            if (ID.equals(sortField)) {
+                return idAfter;
+            }
+
+            Path<Comparable<Object>> key = root.get(sortField);
+            if (value == null) {
+                Predicate sameNull = cb.and(cb.isNull(key), idAfter);
+                return direction.isAscending() ? cb.or(sameNull, cb.isNotNull(key)) : sameNull;
+            }
+
+            Predicate keyAfter = cb.or(after(cb, key, value), cb.and(cb.equal(key, value), idAfter));
+            return direction.isAscending() ? keyAfter : cb.or(keyAfter, cb.isNull(key));
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private Predicate after(CriteriaBuilder cb, Path<?> path, Object bound) {
+        Path<Comparable<Object>> comparable = (Path<Comparable<Object>>) path;
+        Comparable<Object> value = (Comparable<Object>) bound;
+        return direction.isAscending()
+                ? cb.greaterThan(comparable, value)
+                : cb.lessThan(comparable, value);
+    }
+
+    private static String encodeValue(Object value) {
+        if (value == null) {
+            return "n:";
+        }
+        if (value instanceof Date date) {
+            return "d:" + date.getTime();
+        }
+        if (value instanceof Integer number) {
+            return "i:" + number;
+        }
+        return "s:" + value;
+    }
+
+    private static Object decodeValue(String encoded) {
+        if (encoded.length() < 2) {
+            throw new IllegalArgumentException("Unknown cursor value");
+        }
+        String payload = encoded.substring(2);
+        return switch (encoded.substring(0, 2)) {
+            case "n:" -> null;
+            case "d:" -> new Date(Long.parseLong(payload));
+            case "i:" -> Integer.valueOf(payload);
+            case "s:" -> payload;
+            default -> throw new IllegalArgumentException("Unknown cursor value");
+        };
+    }
+}
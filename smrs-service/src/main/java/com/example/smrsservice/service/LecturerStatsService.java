@@ -2,48 +2,184 @@ package com.example.smrsservice.service;
 
 import com.example.smrsservice.common.ProjectStatus;
 import com.example.smrsservice.dto.stats.lecturer.CouncilStatsDto;
+import com.example.smrsservice.dto.stats.lecturer.LecturerDashboardDto;
 import com.example.smrsservice.dto.stats.lecturer.LecturerOverviewDto;
 import com.example.smrsservice.dto.stats.lecturer.MentorProjectDto;
 import com.example.smrsservice.dto.stats.lecturer.ScoringActivityDto;
-import com.example.smrsservice.entity.*;
+import com.example.smrsservice.entity.Account;
 import com.example.smrsservice.repository.AccountRepository;
 import com.example.smrsservice.repository.CouncilMemberRepository;
 import com.example.smrsservice.repository.ProjectMemberRepository;
 import com.example.smrsservice.repository.ProjectScoreRepository;
+import com.example.smrsservice.repository.projection.LecturerScoreRow;
+import com.example.smrsservice.repository.projection.MentorshipRow;
+import com.example.smrsservice.repository.projection.ProjectAverageScore;
+import com.example.smrsservice.repository.projection.ProjectMemberSummary;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
+/**
+ * Thống kê dashboard giảng viên.
+ * Điểm của giảng viên được đọc 1 lần qua projection nhẹ (LecturerScoreRow) và gom trong 1 vòng lặp
+ * (ScoreStats: số điểm đã chấm, histogram, N điểm mới nhất); các endpoint riêng lẻ và /dashboard dùng chung.
+ */
 @Service
 @RequiredArgsConstructor
 public class LecturerStatsService {
 
+    private static final String MENTOR_ROLE = "LECTURER";
+    private static final int DASHBOARD_RECENT_LIMIT = 10;
+
+    /** Nhãn histogram theo thứ tự, bucket i chứa điểm < BUCKET_UPPER_BOUNDS[i] */
+    private static final String[] BUCKET_LABELS = {"0-4", "4-5", "5-6", "6-7", "7-8", "8-9", "9-10"};
+    private static final double[] BUCKET_UPPER_BOUNDS = {4, 5, 6, 7, 8, 9};
+
     private final ProjectMemberRepository projectMemberRepository;
     private final ProjectScoreRepository projectScoreRepository;
     private final CouncilMemberRepository councilMemberRepository;
     private final AccountRepository accountRepository;
 
+    /**
+     * 0. Toàn bộ dashboard trong 1 request
+     */
+    public LecturerDashboardDto getDashboard(Authentication authentication) {
+        Account lecturer = getCurrentAccount(authentication);
+
+        List<MentorshipRow> mentorships = approvedMentorships(lecturer.getId());
+        ScoreStats scoreStats = scoreStats(lecturer.getId(), DASHBOARD_RECENT_LIMIT);
+        List<CouncilStatsDto> councils = buildCouncilsStats(lecturer.getId());
+
+        return LecturerDashboardDto.builder()
+                .overview(buildOverview(mentorships.size(), scoreStats.scored, councils.size()))
+                .mentorProjectsStatus(buildMentorProjectsStatus(mentorships))
+                .scoringProgress(buildScoringProgress(scoreStats.scored))
+                .mentorProjectsPerformance(buildMentorProjectsPerformance(mentorships))
+                .myCouncilsStats(councils)
+                .recentScores(scoreStats.recent)
+                .scoreDistribution(scoreStats.distribution)
+                .build();
+    }
+
     /**
      * 1. Overview Cards
      */
     public LecturerOverviewDto getOverview(Authentication authentication) {
         Account lecturer = getCurrentAccount(authentication);
 
-        List<ProjectMember> mentorships = projectMemberRepository.findByAccountIdAndMemberRole(
-                lecturer.getId(), "LECTURER");
-        long projectsAsMentor = mentorships.stream()
-                .filter(pm -> "Approved".equals(pm.getStatus()))
-                .count();
+        long projectsAsMentor = approvedMentorships(lecturer.getId()).size();
+        long projectsScored = scoreStats(lecturer.getId(), 0).scored;
+        long councilsJoined = councilMemberRepository.countByLecturerId(lecturer.getId());
+
+        return buildOverview(projectsAsMentor, projectsScored, councilsJoined);
+    }
+
+    /**
+     * 2. Mentor Projects Status
+     */
+    public Map<String, Long> getMentorProjectsStatus(Authentication authentication) {
+        Account lecturer = getCurrentAccount(authentication);
+        return buildMentorProjectsStatus(approvedMentorships(lecturer.getId()));
+    }
+
+    /**
+     * 3. Scoring Progress
+     */
+    public Map<String, Object> getScoringProgress(Authentication authentication) {
+        Account lecturer = getCurrentAccount(authentication);
+        return buildScoringProgress(scoreStats(lecturer.getId(), 0).scored);
+    }
+
+    /**
+     * 4. Mentor Projects Performance
+     */
+    public List<MentorProjectDto> getMentorProjectsPerformance(Authentication authentication) {
+        Account lecturer = getCurrentAccount(authentication);
+        return buildMentorProjectsPerformance(approvedMentorships(lecturer.getId()));
+    }
+
+    /**
+     * 5. My Councils Stats
+     */
+    public List<CouncilStatsDto> getMyCouncilsStats(Authentication authentication) {
+        Account lecturer = getCurrentAccount(authentication);
+        return buildCouncilsStats(lecturer.getId());
+    }
+
+    /**
+     * 6. Recent Scoring Activities
+     */
+    public List<ScoringActivityDto> getRecentScores(Authentication authentication, int limit) {
+        Account lecturer = getCurrentAccount(authentication);
+        return scoreStats(lecturer.getId(), limit).recent;
+    }
+
+    /**
+     * 7. Score Distribution
+     */
+    public Map<String, Long> getScoreDistribution(Authentication authentication) {
+        Account lecturer = getCurrentAccount(authentication);
+        return scoreStats(lecturer.getId(), 0).distribution;
+    }
 
-        long projectsScored = projectScoreRepository.findByLecturerId(lecturer.getId()).size();
+    // ==================== PIPELINE ====================
 
-        long councilsJoined = councilMemberRepository.findByLecturerId(lecturer.getId()).size();
+    private List<MentorshipRow> approvedMentorships(Integer lecturerId) {
+        return projectMemberRepository.findMentorshipRowsByAccountId(lecturerId, MENTOR_ROLE).stream()
+                .filter(m -> "Approved".equals(m.getMemberStatus()))
+                .collect(Collectors.toList());
+    }
 
+    /**
+     * 1 vòng qua điểm của giảng viên (đã sắp xếp mới nhất trước): đếm, histogram, recentLimit điểm đầu
+     */
+    private ScoreStats scoreStats(Integer lecturerId, int recentLimit) {
+        ScoreStats stats = new ScoreStats();
+        long[] buckets = new long[BUCKET_LABELS.length];
+
+        for (LecturerScoreRow row : projectScoreRepository.findScoreRowsByLecturerId(lecturerId)) {
+            stats.scored++;
+
+            if (row.getFinalScore() != null) {
+                buckets[bucketOf(row.getFinalScore())]++;
+            }
+
+            if (stats.recent.size() < recentLimit && row.getScoreDate() != null) {
+                stats.recent.add(ScoringActivityDto.builder()
+                        .scoreId(row.getScoreId())
+                        .projectId(row.getProjectId())
+                        .projectName(row.getProjectName())
+                        .finalScore(row.getFinalScore())
+                        .scoreDate(row.getScoreDate().toInstant())
+                        .councilName("Council Name")
+                        .build());
+            }
+        }
+
+        for (int i = 0; i < BUCKET_LABELS.length; i++) {
+            stats.distribution.put(BUCKET_LABELS[i], buckets[i]);
+        }
+        return stats;
+    }
+
+    private static int bucketOf(double finalScore) {
+        for (int i = 0; i < BUCKET_UPPER_BOUNDS.length; i++) {
+            if (finalScore < BUCKET_UPPER_BOUNDS[i]) {
+                return i;
+            }
+        }
+        return BUCKET_LABELS.length - 1;
+    }
+
+    private LecturerOverviewDto buildOverview(long projectsAsMentor, long projectsScored, long councilsJoined) {
         // Mock projects to score
         long projectsToScore = 5L;
 
@@ -59,22 +195,12 @@ public class LecturerStatsService {
                 .build();
     }
 
-    /**
-     * 2. Mentor Projects Status
-     */
-    public Map<String, Long> getMentorProjectsStatus(Authentication authentication) {
-        Account lecturer = getCurrentAccount(authentication);
-
-        List<ProjectMember> mentorships = projectMemberRepository.findByAccountIdAndMemberRole(
-                lecturer.getId(), "LECTURER");
-
+    private Map<String, Long> buildMentorProjectsStatus(List<MentorshipRow> mentorships) {
         Map<String, Long> result = new LinkedHashMap<>();
 
         for (ProjectStatus status : ProjectStatus.values()) {
             long count = mentorships.stream()
-                    .filter(pm -> "Approved".equals(pm.getStatus()))
-                    .map(ProjectMember::getProject)
-                    .filter(p -> p.getStatus() == status)
+                    .filter(m -> m.getProjectStatus() == status)
                     .count();
             result.put(status.name(), count);
         }
@@ -82,13 +208,7 @@ public class LecturerStatsService {
         return result;
     }
 
-    /**
-     * 3. Scoring Progress
-     */
-    public Map<String, Object> getScoringProgress(Authentication authentication) {
-        Account lecturer = getCurrentAccount(authentication);
-
-        long scored = projectScoreRepository.findByLecturerId(lecturer.getId()).size();
+    private Map<String, Object> buildScoringProgress(long scored) {
         long toScore = 5L; // Mock
         long total = toScore + scored;
 
@@ -105,51 +225,52 @@ public class LecturerStatsService {
     }
 
     /**
-     * 4. Mentor Projects Performance
+     * Số sinh viên và điểm TB của mọi project hướng dẫn: 2 query gộp thay vì 2 query / project
      */
-    public List<MentorProjectDto> getMentorProjectsPerformance(Authentication authentication) {
-        Account lecturer = getCurrentAccount(authentication);
+    private List<MentorProjectDto> buildMentorProjectsPerformance(List<MentorshipRow> mentorships) {
+        if (mentorships.isEmpty()) {
+            return new ArrayList<>();
+        }
 
-        List<ProjectMember> mentorships = projectMemberRepository.findByAccountIdAndMemberRole(
-                lecturer.getId(), "LECTURER");
+        Set<Integer> projectIds = mentorships.stream()
+                .map(MentorshipRow::getProjectId)
+                .collect(Collectors.toSet());
 
-        return mentorships.stream()
-                .filter(pm -> "Approved".equals(pm.getStatus()))
-                .map(pm -> {
-                    Project project = pm.getProject();
+        Map<Integer, Long> studentsByProject = new HashMap<>();
+        for (ProjectMemberSummary summary : projectMemberRepository.summarizeByProjectIds(projectIds)) {
+            studentsByProject.put(summary.getProjectId(), summary.getTotalStudents());
+        }
 
-                    int studentsCount = (int) projectMemberRepository.findByProjectId(project.getId()).stream()
-                            .filter(m -> "STUDENT".equals(m.getMemberRole()))
-                            .count();
+        Map<Integer, Double> averageByProject = new HashMap<>();
+        for (ProjectAverageScore average : projectScoreRepository.averageByProjectIds(projectIds)) {
+            averageByProject.put(average.getProjectId(), average.getAverageScore());
+        }
 
-                    Double avgScore = projectScoreRepository.getAverageScoreByProjectId(project.getId());
+        return mentorships.stream()
+                .map(m -> {
+                    Long studentsCount = studentsByProject.getOrDefault(m.getProjectId(), 0L);
+                    Double avgScore = averageByProject.get(m.getProjectId());
 
                     return MentorProjectDto.builder()
-                            .projectId(project.getId())
-                            .projectName(project.getName())
-                            .studentsCount(studentsCount)
-                            .currentStatus(project.getStatus().toString())
-                            .progress("75%")
+                            .projectId(m.getProjectId())
+                            .projectName(m.getProjectName())
+                            .studentsCount(studentsCount.intValue())
+                            .currentStatus(String.valueOf(m.getProjectStatus()))
+                            .progress(ProgressRollupService.format(
+                                    m.getMilestoneProgressSum(), m.getMilestoneCount()))
                             .averageScore(avgScore != null ? avgScore : 0.0)
                             .build();
                 })
                 .collect(Collectors.toList());
     }
 
-    /**
-     * 5. My Councils Stats
-     */
-    public List<CouncilStatsDto> getMyCouncilsStats(Authentication authentication) {
-        Account lecturer = getCurrentAccount(authentication);
-
-        List<CouncilMember> myMemberships = councilMemberRepository.findByLecturerId(lecturer.getId());
-
-        return myMemberships.stream()
+    private List<CouncilStatsDto> buildCouncilsStats(Integer lecturerId) {
+        return councilMemberRepository.findCouncilRowsByLecturerId(lecturerId).stream()
                 .map(cm -> CouncilStatsDto.builder()
-                        .councilId(cm.getCouncil().getId())
-                        .councilName(cm.getCouncil().getCouncilName())
-                        .councilCode(cm.getCouncil().getCouncilCode())
-                        .myRole(cm.getRole())
+                        .councilId(cm.getCouncilId())
+                        .councilName(cm.getCouncilName())
+                        .councilCode(cm.getCouncilCode())
+                        .myRole(cm.getMemberRole())
                         .totalProjects(10) // Mock
                         .projectsScored(5) // Mock
                         .projectsToScore(5) // Mock
@@ -158,56 +279,12 @@ public class LecturerStatsService {
     }
 
     /**
-     * 6. Recent Scoring Activities
+     * Kết quả 1 vòng qua điểm của giảng viên
      */
-    public List<ScoringActivityDto> getRecentScores(Authentication authentication, int limit) {
-        Account lecturer = getCurrentAccount(authentication);
-
-        return projectScoreRepository.findByLecturerId(lecturer.getId()).stream()
-                .sorted((a, b) -> b.getScoreDate().compareTo(a.getScoreDate()))
-                .limit(limit)
-                .map(score -> ScoringActivityDto.builder()
-                        .scoreId(score.getId())
-                        .projectId(score.getProject().getId())
-                        .projectName(score.getProject().getName())
-                        .finalScore(score.getFinalScore())
-                        .scoreDate(score.getScoreDate().toInstant())
-                        .councilName("Council Name")
-                        .build())
-                .collect(Collectors.toList());
-    }
-
-    /**
-     * 7. Score Distribution
-     */
-    public Map<String, Long> getScoreDistribution(Authentication authentication) {
-        Account lecturer = getCurrentAccount(authentication);
-
-        List<ProjectScore> scores = projectScoreRepository.findByLecturerId(lecturer.getId());
-
-        Map<String, Long> distribution = new LinkedHashMap<>();
-        distribution.put("0-4", 0L);
-        distribution.put("4-5", 0L);
-        distribution.put("5-6", 0L);
-        distribution.put("6-7", 0L);
-        distribution.put("7-8", 0L);
-        distribution.put("8-9", 0L);
-        distribution.put("9-10", 0L);
-
-        for (ProjectScore score : scores) {
-            Double finalScore = score.getFinalScore();
-            if (finalScore == null) continue;
-
-            if (finalScore < 4) distribution.put("0-4", distribution.get("0-4") + 1);
-            else if (finalScore < 5) distribution.put("4-5", distribution.get("4-5") + 1);
-            else if (finalScore < 6) distribution.put("5-6", distribution.get("5-6") + 1);
-            else if (finalScore < 7) distribution.put("6-7", distribution.get("6-7") + 1);
-            else if (finalScore < 8) distribution.put("7-8", distribution.get("7-8") + 1);
-            else if (finalScore < 9) distribution.put("8-9", distribution.get("8-9") + 1);
-            else distribution.put("9-10", distribution.get("9-10") + 1);
-        }
-
-        return distribution;
+    private static class ScoreStats {
+        private long scored;
+        private final Map<String, Long> distribution = new LinkedHashMap<>();
+        private final List<ScoringActivityDto> recent = new ArrayList<>();
     }
 
     private Account getCurrentAccount(Authentication authentication) {
@@ -0,0 +1,248 @@
+package com.example.smrsservice.service;
+
+import com.example.smrsservice.common.MailOutboxStatus;
+import com.example.smrsservice.dto.mail.MailOutboxStats;
+import com.example.smrsservice.entity.MailOutboxMessage;
+import com.example.smrsservice.repository.MailOutboxRepository;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.internet.MimeMessage;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Gửi mail từ bảng mail_outbox trên một thread nền.
+ * Mỗi lượt lấy tối đa batch-size mail đến hạn và gửi bằng một lần
+ * {@link JavaMailSender#send(MimeMessage...)} (một kết nối SMTP cho cả lô).
+ * Mail lỗi được thử lại với backoff tăng gấp đôi, quá max-attempts thì chuyển FAILED.
+ * Gửi xong thì xoá nội dung mail (link mời, thông tin cá nhân), chỉ giữ người nhận / subject / trạng thái;
+ * mail SENT / FAILED bị xoá hẳn sau retention.
+ */
+@Component
+@RequiredArgsConstructor
+public class MailOutboxDispatcher {
+
+    private final MailOutboxRepository mailOutboxRepository;
+    private final JavaMailSender mailSender;
+
+    @Value("${spring.mail.username}")
+    private String fromEmail;
+
+    @Value("${app.mail.outbox.batch-size:50}")
+    private int batchSize;
+
+    @Value("${app.mail.outbox.max-attempts:6}")
+    private int maxAttempts;
+
+    @Value("${app.mail.outbox.retry-backoff:30s}")
+    private Duration retryBackoff;
+
+    @Value("${app.mail.outbox.max-backoff:1h}")
+    private Duration maxBackoff;
+
+    @Value("${app.mail.outbox.retention:30d}")
+    private Duration retention;
+
+    // platform thread riêng kể cả khi bật virtual thread: SMTPTransport của Jakarta Mail giữ synchronized khi ghi socket
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "mail-outbox");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean drainScheduled = new AtomicBoolean();
+    private final AtomicLong sentSinceStartup = new AtomicLong();
+    private volatile Instant lastDrainAt;
+
+    /**
+     * Gọi sau khi ghi mail vào outbox: nếu đang trong transaction thì chờ commit rồi mới gửi.
+     */
+    public void wakeUpAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    wakeUp();
+                }
+            });
+        } else {
+            wakeUp();
+        }
+    }
+
+    public void wakeUp() {
+        if (drainScheduled.compareAndSet(false, true)) {
+            worker.execute(() -> {
+                drainScheduled.set(false);
+                drain();
+            });
+        }
+    }
+
+    /**
+     * Quét định kỳ cho mail đang chờ retry và mail còn lại sau khi restart.
+     */
+    @Scheduled(fixedDelayString = "${app.mail.outbox.poll-interval-ms:10000}", initialDelayString = "${app.mail.outbox.poll-interval-ms:10000}")
+    public void poll() {
+        wakeUp();
+    }
+
+    /**
+     * Xoá mail đã gửi / đã bỏ cuộc cũ hơn retention
+     */
+    @Scheduled(fixedDelayString = "${app.mail.outbox.purge-interval-ms:3600000}", initialDelayString = "${app.mail.outbox.purge-interval-ms:3600000}")
+    public void purgeFinished() {
+        try {
+            int deleted = mailOutboxRepository.deleteFinishedBefore(Instant.now().minus(retention));
+            if (deleted > 0) {
+                System.out.println("✅ Mail outbox: purged " + deleted + " sent/failed message(s) older than " + retention.toDays() + "d");
+            }
+        } catch (Exception e) {
+            System.err.println("❌ Mail outbox purge failed: " + e.getMessage());
+        }
+    }
+
+    public MailOutboxStats getStats() {
+        return MailOutboxStats.builder()
+                .pending(mailOutboxRepository.countByStatus(MailOutboxStatus.PENDING))
+                .failed(mailOutboxRepository.countByStatus(MailOutboxStatus.FAILED))
+                .sentSinceStartup(sentSinceStartup.get())
+                .oldestPendingAt(mailOutboxRepository.findOldestPendingCreatedAt())
+                .lastDrainAt(lastDrainAt)
+                .build();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        worker.shutdownNow();
+    }
+
+    void drain() {
+        try {
+            List<MailOutboxMessage> batch;
+            do {
+                batch = mailOutboxRepository.findDue(Instant.now(), PageRequest.of(0, batchSize));
+                if (!batch.isEmpty()) {
+                    sendBatch(batch);
+                }
+            } while (batch.size() == batchSize);
+        } catch (Exception e) {
+            System.err.println("❌ Mail outbox drain failed: " + e.getMessage());
+        } finally {
+            lastDrainAt = Instant.now();
+        }
+    }
+
+    private void sendBatch(List<MailOutboxMessage> batch) {
+        Map<MimeMessage, MailOutboxMessage> byMessage = new IdentityHashMap<>();
+        List<MimeMessage> messages = new ArrayList<>();
+
+        for (MailOutboxMessage outbox : batch) {
+            try {
+                MimeMessage message = toMimeMessage(outbox);
+                byMessage.put(message, outbox);
+                messages.add(message);
+            } catch (Exception e) {
+                markFailedAttempt(outbox, e);
+            }
+        }
+
+        Map<Object, Exception> failures = Map.of();
+        if (!messages.isEmpty()) {
+            try {
+                mailSender.send(messages.toArray(new MimeMessage[0]));
+            } catch (MailSendException e) {
+                failures = e.getFailedMessages();
+                if (failures.isEmpty()) {
+                    failures = allFailed(messages, e);
+                }
+            } catch (MailException e) {
+                // Lỗi kết nối / xác thực: cả lô chưa gửi được
+                failures = allFailed(messages, e);
+            }
+        }
+
+        Instant now = Instant.now();
+        for (Map.Entry<MimeMessage, MailOutboxMessage> entry : byMessage.entrySet()) {
+            Exception failure = failures.get(entry.getKey());
+            MailOutboxMessage outbox = entry.getValue();
+            if (failure == null) {
+                outbox.setStatus(MailOutboxStatus.SENT);
+                outbox.setSentAt(now);
+                outbox.setAttempts(outbox.getAttempts() + 1);
+                outbox.setLastError(null);
+                outbox.setTextBody(null);
+                outbox.setHtmlBody(null);
+                sentSinceStartup.incrementAndGet();
+            } else {
+                markFailedAttempt(outbox, failure);
+            }
+        }
+
+        mailOutboxRepository.saveAll(batch);
+        if (!failures.isEmpty()) {
+            System.err.println("⚠️ Mail outbox: " + failures.size() + "/" + batch.size() + " message(s) failed, will retry");
+        }
+    }
+
+    private MimeMessage toMimeMessage(MailOutboxMessage outbox) throws Exception {
+        MimeMessage message = mailSender.createMimeMessage();
+        boolean html = outbox.getHtmlBody() != null;
+        MimeMessageHelper helper = new MimeMessageHelper(message, html, "UTF-8");
+
+        helper.setFrom(fromEmail);
+        helper.setTo(outbox.getToEmail());
+        helper.setSubject(outbox.getSubject());
+        if (html) {
+            helper.setText(outbox.getTextBody(), outbox.getHtmlBody());
+        } else {
+            helper.setText(outbox.getTextBody());
+        }
+        return message;
+    }
+
+    private void markFailedAttempt(MailOutboxMessage outbox, Exception error) {
+        int attempts = outbox.getAttempts() + 1;
+        outbox.setAttempts(attempts);
+        outbox.setLastError(error.getMessage());
+
+        if (attempts >= maxAttempts) {
+            outbox.setStatus(MailOutboxStatus.FAILED);
+            System.err.println("❌ Giving up mail to " + outbox.getToEmail() + " after " + attempts + " attempts: " + error.getMessage());
+            return;
+        }
+
+        // 30s, 1m, 2m, 4m ... tối đa max-backoff
+        Duration backoff = retryBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        if (backoff.compareTo(maxBackoff) > 0) {
+            backoff = maxBackoff;
+        }
+        outbox.setNextAttemptAt(Instant.now().plus(backoff));
+    }
+
+    private static Map<Object, Exception> allFailed(List<MimeMessage> messages, Exception error) {
+        Map<Object, Exception> failures = new IdentityHashMap<>();
+        for (MimeMessage message : messages) {
+            failures.put(message, error);
+        }
+        return failures;
+    }
+}
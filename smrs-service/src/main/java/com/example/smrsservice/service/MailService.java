@@ -1,21 +1,32 @@
 package com.example.smrsservice.service;
 
-import jakarta.mail.internet.MimeMessage;
+import com.example.smrsservice.dto.mail.DeadlineDigestMail;
+import com.example.smrsservice.dto.mail.MailOutboxStats;
+import com.example.smrsservice.dto.mail.ProjectDecisionMail;
+import com.example.smrsservice.entity.MailOutboxMessage;
+import com.example.smrsservice.repository.MailOutboxRepository;
+import com.example.smrsservice.service.MailTemplate.Field;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Mail không gửi trực tiếp trong request: mỗi mail được ghi vào bảng mail_outbox
+ * (cùng transaction với thay đổi nghiệp vụ nếu có) và {@link MailOutboxDispatcher} gửi sau khi commit.
+ */
 @Service
 @RequiredArgsConstructor
 public class MailService {
 
-    private final JavaMailSender mailSender;
-
-    @Value("${spring.mail.username}")
-    private String fromEmail;
+    private final MailOutboxRepository mailOutboxRepository;
+    private final MailOutboxDispatcher mailOutboxDispatcher;
+    private final MailTemplateRenderer mailTemplateRenderer;
 
     @Value("${app.base-url:https://smrs.space}")
     private String baseUrl;
@@ -24,12 +35,36 @@ public class MailService {
      * Gửi email đơn giản (text)
      */
     public void sendSimpleMail(String to, String subject, String body) {
-        SimpleMailMessage message = new SimpleMailMessage();
-        message.setFrom(fromEmail);
-        message.setTo(to);
+        enqueue(to, subject, body, null);
+    }
+
+    public MailOutboxStats getOutboxStats() {
+        return mailOutboxDispatcher.getStats();
+    }
+
+    private void enqueue(String to, String subject, String textBody, String htmlBody) {
+        mailOutboxRepository.save(newMessage(to, subject, textBody, htmlBody));
+
+        mailOutboxDispatcher.wakeUpAfterCommit();
+    }
+
+    private MailOutboxMessage newMessage(String to, String subject, String textBody, String htmlBody) {
+        MailOutboxMessage message = new MailOutboxMessage();
+        message.setToEmail(to);
         message.setSubject(subject);
-        message.setText(body);
-        mailSender.send(message);
+        message.setTextBody(textBody);
+        message.setHtmlBody(htmlBody);
+        message.setNextAttemptAt(Instant.now());
+        return message;
+    }
+
+    /**
+     * Render bản text + HTML của template {@code templateName} (cùng layout chung) rồi đưa vào outbox.
+     */
+    private void enqueueTemplate(String to, String subject, String templateName, Map<Field, String> values) {
+        enqueue(to, subject,
+                mailTemplateRenderer.renderText(templateName, values),
+                mailTemplateRenderer.renderHtml(templateName, values));
     }
 
     /**
@@ -45,99 +80,23 @@ public class MailService {
             String invitationToken) {
 
         try {
-            MimeMessage message = mailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
-
-            helper.setFrom(fromEmail);
-            helper.setTo(toEmail);
-            helper.setSubject("Lời mời tham gia dự án: " + projectName);
-
-            // Tạo links
-            String acceptUrl = baseUrl + "/api/project-members/accept/" + invitationId + "/" + invitationToken;
-            String rejectUrl = baseUrl + "/api/project-members/reject/" + invitationId + "/" + invitationToken;
-
-            String roleText = "LECTURER".equalsIgnoreCase(role) ? "Giảng viên hướng dẫn" : "Thành viên sinh viên";
-
-            // ✅ TEXT VERSION (fallback)
-            String textContent = "Xin chào " + userName + ",\n\n" +
-                    "Bạn đã được " + ownerName + " mời tham gia dự án '" + projectName + "' với vai trò " + roleText + ".\n\n" +
-                    "Vui lòng click vào link dưới đây để chấp nhận:\n" +
-                    acceptUrl + "\n\n" +
-                    "Hoặc từ chối:\n" +
-                    rejectUrl + "\n\n" +
-                    "Lưu ý:\n" +
-                    "- Mỗi dự án chỉ có 1 giảng viên hướng dẫn\n" +
-                    "- Mỗi dự án tối đa 5 sinh viên\n" +
-                    "- Bạn chỉ được tham gia 1 dự án tại một thời điểm\n\n" +
-                    "Trân trọng,\n" +
-                    "SMRS Team";
-
-            // ✅ HTML VERSION
-            String htmlContent =
-                    "<!DOCTYPE html>" +
-                            "<html>" +
-                            "<head><meta charset='UTF-8'></head>" +
-                            "<body style='font-family: Arial, sans-serif; background-color: #f4f4f4; margin: 0; padding: 20px;'>" +
-
-                            "<div style='max-width: 600px; margin: 0 auto; background-color: #ffffff; border-radius: 10px; overflow: hidden; box-shadow: 0 2px 10px rgba(0,0,0,0.1);'>" +
-
-                            "<!-- Header -->" +
-                            "<div style='background: linear-gradient(135deg, #667eea 0%, #764ba2 100%); padding: 30px; text-align: center;'>" +
-                            "<h1 style='margin: 0; color: #ffffff; font-size: 24px;'>📨 Lời mời tham gia dự án</h1>" +
-                            "</div>" +
-
-                            "<!-- Body -->" +
-                            "<div style='padding: 30px;'>" +
-
-                            "<p style='color: #333333; font-size: 16px; margin-bottom: 15px;'>Xin chào <strong style='color: #667eea;'>" + userName + "</strong>,</p>" +
-
-                            "<p style='color: #555555; font-size: 15px; margin-bottom: 15px;'><strong>" + ownerName + "</strong> đã mời bạn tham gia dự án:</p>" +
-
-                            "<!-- Project Box -->" +
-                            "<div style='background-color: #f8f9fa; border-left: 4px solid #667eea; padding: 15px; margin: 20px 0; border-radius: 5px;'>" +
-                            "<h2 style='margin: 0 0 10px 0; color: #333333; font-size: 18px;'>" + projectName + "</h2>" +
-                            "<p style='margin: 0; color: #666666; font-size: 14px;'><strong>Vai trò:</strong> <span style='color: #667eea;'>" + roleText + "</span></p>" +
-                            "</div>" +
+            String subject = "Lời mời tham gia dự án: " + projectName;
 
-                            "<p style='color: #555555; font-size: 15px; margin: 20px 0;'>Vui lòng click vào một trong các nút bên dưới:</p>" +
+            Map<Field, String> values = new EnumMap<>(Field.class);
+            values.put(Field.TITLE, "📨 Lời mời tham gia dự án");
+            values.put(Field.USER_NAME, userName);
+            values.put(Field.OWNER_NAME, ownerName);
+            values.put(Field.PROJECT_NAME, projectName);
+            values.put(Field.ROLE, "LECTURER".equalsIgnoreCase(role) ? "Giảng viên hướng dẫn" : "Thành viên sinh viên");
+            values.put(Field.ACCEPT_URL, baseUrl + "/api/project-members/accept/" + invitationId + "/" + invitationToken);
+            values.put(Field.REJECT_URL, baseUrl + "/api/project-members/reject/" + invitationId + "/" + invitationToken);
 
-                            "<!-- Buttons -->" +
-                            "<div style='text-align: center; margin: 30px 0;'>" +
-                            "<a href='" + acceptUrl + "' style='display: inline-block; background-color: #28a745; color: #ffffff; padding: 12px 30px; text-decoration: none; border-radius: 25px; font-weight: bold; margin: 0 5px;'>✅ Chấp nhận</a>" +
-                            "<a href='" + rejectUrl + "' style='display: inline-block; background-color: #dc3545; color: #ffffff; padding: 12px 30px; text-decoration: none; border-radius: 25px; font-weight: bold; margin: 0 5px;'>❌ Từ chối</a>" +
-                            "</div>" +
+            enqueueTemplate(toEmail, subject, "project-invitation", values);
 
-                            "<!-- Info Box -->" +
-                            "<div style='background-color: #fff3cd; border: 1px solid #ffc107; padding: 15px; margin: 20px 0; border-radius: 5px;'>" +
-                            "<p style='margin: 0 0 10px 0; color: #856404; font-weight: bold;'>📌 Lưu ý:</p>" +
-                            "<ul style='margin: 0; padding-left: 20px; color: #856404; font-size: 13px;'>" +
-                            "<li>Mỗi dự án chỉ có 1 giảng viên hướng dẫn</li>" +
-                            "<li>Mỗi dự án tối đa 5 sinh viên</li>" +
-                            "<li>Bạn chỉ được tham gia 1 dự án tại một thời điểm</li>" +
-                            "</ul>" +
-                            "</div>" +
-
-                            "</div>" +
-
-                            "<!-- Footer -->" +
-                            "<div style='background-color: #f8f9fa; padding: 15px; text-align: center; border-top: 1px solid #e9ecef;'>" +
-                            "<p style='margin: 0; color: #6c757d; font-size: 12px;'>© 2025 SMRS Team</p>" +
-                            "</div>" +
-
-                            "</div>" +
-
-                            "</body>" +
-                            "</html>";
-
-            // ✅ SET BOTH TEXT AND HTML
-            helper.setText(textContent, htmlContent);
-
-            mailSender.send(message);
-
-            System.out.println("✅ Invitation email sent to: " + toEmail);
+            System.out.println("✅ Invitation email queued for: " + toEmail);
 
         } catch (Exception e) {
-            System.err.println("❌ Failed to send email: " + e.getMessage());
+            System.err.println("❌ Failed to queue email: " + e.getMessage());
             e.printStackTrace();
         }
     }
@@ -151,16 +110,12 @@ public class MailService {
                     ? "Bạn đã tham gia dự án: " + projectName
                     : "Bạn đã từ chối lời mời dự án: " + projectName;
 
-            String body = accepted
-                    ? "Xin chào " + userName + ",\n\n" +
-                    "Bạn đã chấp nhận tham gia dự án '" + projectName + "'.\n\n" +
-                    "Vui lòng đăng nhập vào hệ thống để xem chi tiết dự án.\n\n" +
-                    "Trân trọng,\nSMRS Team"
-                    : "Xin chào " + userName + ",\n\n" +
-                    "Bạn đã từ chối tham gia dự án '" + projectName + "'.\n\n" +
-                    "Trân trọng,\nSMRS Team";
+            Map<Field, String> values = new EnumMap<>(Field.class);
+            values.put(Field.TITLE, accepted ? "✅ Đã tham gia dự án" : "Đã từ chối lời mời");
+            values.put(Field.USER_NAME, userName);
+            values.put(Field.PROJECT_NAME, projectName);
 
-            sendSimpleMail(toEmail, subject, body);
+            enqueueTemplate(toEmail, subject, accepted ? "invitation-accepted" : "invitation-declined", values);
 
         } catch (Exception e) {
             System.err.println("Failed to send result email: " + e.getMessage());
@@ -177,18 +132,15 @@ public class MailService {
 
         String subject = "Dự án cần chỉnh sửa: " + projectName;
 
-        String body = "Xin chào " + userName + ",\n\n" +
-                "Dự án '" + projectName + "' của bạn cần được chỉnh sửa lại.\n\n" +
-                "Lý do: " + reason + "\n\n" +
-                (feedback != null && !feedback.isEmpty()
-                        ? "Nhận xét chi tiết:\n" + feedback + "\n\n"
-                        : "") +
-                "Deadline sửa lại: " + deadline + "\n\n" +
-                "Vui lòng sửa lại theo yêu cầu và nộp lại project trước deadline.\n" +
-                "Sau deadline, project sẽ tự động trả về kho cho các nhóm khác.\n\n" +
-                "Trân trọng,\nSMRS Team";
-
-        sendSimpleMail(toEmail, subject, body);
+        Map<Field, String> values = new EnumMap<>(Field.class);
+        values.put(Field.TITLE, "✏️ Dự án cần chỉnh sửa");
+        values.put(Field.USER_NAME, userName);
+        values.put(Field.PROJECT_NAME, projectName);
+        values.put(Field.REASON, reason);
+        values.put(Field.FEEDBACK, feedback);
+        values.put(Field.DEADLINE, deadline);
+
+        enqueueTemplate(toEmail, subject, "project-revision", values);
     }
 
     public void sendProjectRejectionNotification(
@@ -201,24 +153,83 @@ public class MailService {
         try {
             String subject = "Dự án của bạn đã bị từ chối: " + projectName;
 
-            String body = "Xin chào " + userName + ",\n\n" +
-                    "Dự án '" + projectName + "' của bạn đã bị từ chối.\n\n" +
-                    "Lý do: " + reason + "\n\n" +
-                    (feedback != null && !feedback.isEmpty()
-                            ? "Nhận xét chi tiết:\n" + feedback + "\n\n"
-                            : "") +
-                    "Dự án đã được trả về trạng thái ARCHIVED.\n" +
-                    "Các nhóm khác có thể chọn dự án này nếu bạn không thể tiếp tục.\n\n" +
-                    "Nếu bạn vẫn muốn tiếp tục, vui lòng chọn lại dự án và chuẩn bị tốt hơn.\n\n" +
-                    "Trân trọng,\nSMRS Team";
+            Map<Field, String> values = new EnumMap<>(Field.class);
+            values.put(Field.TITLE, "Dự án đã bị từ chối");
+            values.put(Field.USER_NAME, userName);
+            values.put(Field.PROJECT_NAME, projectName);
+            values.put(Field.REASON, reason);
+            values.put(Field.FEEDBACK, feedback);
 
-            sendSimpleMail(toEmail, subject, body);
+            enqueueTemplate(toEmail, subject, "project-rejection", values);
 
-            System.out.println("✅ Rejection notification email sent to: " + toEmail);
+            System.out.println("✅ Rejection notification email queued for: " + toEmail);
 
         } catch (Exception e) {
-            System.err.println("❌ Failed to send rejection notification email: " + e.getMessage());
+            System.err.println("❌ Failed to queue rejection notification email: " + e.getMessage());
             e.printStackTrace();
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Báo kết quả duyệt / phân hội đồng cho nhiều chủ project: render hết rồi ghi outbox 1 lần (saveAll),
+     * dispatcher chỉ được đánh thức 1 lần sau commit.
+     */
+    public void sendProjectDecisionNotifications(List<ProjectDecisionMail> mails) {
+        List<MailOutboxMessage> messages = new ArrayList<>(mails.size());
+        for (ProjectDecisionMail mail : mails) {
+            if (mail.getToEmail() == null || mail.getToEmail().isBlank()) {
+                continue;
+            }
+
+            Map<Field, String> values = new EnumMap<>(Field.class);
+            values.put(Field.TITLE, mail.getTitle());
+            values.put(Field.USER_NAME, mail.getUserName());
+            values.put(Field.PROJECT_NAME, mail.getProjectName());
+            values.put(Field.REASON, mail.getResult());
+            values.put(Field.FEEDBACK, mail.getComment());
+
+            messages.add(newMessage(mail.getToEmail(),
+                    mail.getTitle() + ": " + mail.getProjectName(),
+                    mailTemplateRenderer.renderText("project-decision", values),
+                    mailTemplateRenderer.renderHtml("project-decision", values)));
+        }
+        if (messages.isEmpty()) {
+            return;
+        }
+
+        mailOutboxRepository.saveAll(messages);
+        mailOutboxDispatcher.wakeUpAfterCommit();
+
+        System.out.println("✅ " + messages.size() + " decision notification email(s) queued");
+    }
+
+    /**
+     * Nhắc hạn / báo quá hạn: mỗi người nhận 1 mail gộp các mục đến hạn trong lượt, ghi outbox 1 lần
+     */
+    public void sendDeadlineDigests(List<DeadlineDigestMail> mails) {
+        List<MailOutboxMessage> messages = new ArrayList<>(mails.size());
+        for (DeadlineDigestMail mail : mails) {
+            if (mail.getToEmail() == null || mail.getToEmail().isBlank() || mail.getItems().isEmpty()) {
+                continue;
+            }
+
+            Map<Field, String> values = new EnumMap<>(Field.class);
+            values.put(Field.TITLE, "⏰ Nhắc hạn");
+            values.put(Field.USER_NAME, mail.getUserName());
+            values.put(Field.ITEMS, String.join("\n", mail.getItems()));
+
+            messages.add(newMessage(mail.getToEmail(),
+                    "Nhắc hạn: " + mail.getItems().size() + " mục sắp đến hạn hoặc đã quá hạn",
+                    mailTemplateRenderer.renderText("deadline-digest", values),
+                    mailTemplateRenderer.renderHtml("deadline-digest", values)));
+        }
+        if (messages.isEmpty()) {
+            return;
+        }
+
+        mailOutboxRepository.saveAll(messages);
+        mailOutboxDispatcher.wakeUpAfterCommit();
+
+        System.out.println("✅ " + messages.size() + " deadline digest email(s) queued");
+    }
+}
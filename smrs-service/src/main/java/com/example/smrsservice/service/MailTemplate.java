@@ -0,0 +1,191 @@
+package com.example.smrsservice.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Template mail đã compile: chuỗi literal + placeholder có kiểu, parse một lần lúc khởi động.
+ *
+ * Cú pháp:
+ * <ul>
+ *     <li>{@code {{projectName}}} - giá trị của {@link Field} tương ứng (HTML-escape với template .html)</li>
+ *     <li>{@code {{#feedback}} ... {{/feedback}}} - chỉ render khi field có giá trị</li>
+ *     <li>{@code {{content}}} - chỉ dùng trong layout, là chỗ chèn template nội dung</li>
+ * </ul>
+ */
+public final class MailTemplate {
+
+    public enum Field {
+        TITLE("title"),
+        USER_NAME("userName"),
+        OWNER_NAME("ownerName"),
+        PROJECT_NAME("projectName"),
+        ROLE("role"),
+        ACCEPT_URL("acceptUrl"),
+        REJECT_URL("rejectUrl"),
+        REASON("reason"),
+        FEEDBACK("feedback"),
+        DEADLINE("deadline"),
+        ITEMS("items"),
+        CONTENT("content");
+
+        private final String placeholder;
+
+        Field(String placeholder) {
+            this.placeholder = placeholder;
+        }
+
+        static Field fromPlaceholder(String placeholder) {
+            for (Field field : values()) {
+                if (field.placeholder.equals(placeholder)) return field;
+            }
+            return null;
+        }
+    }
+
+    private static final int LITERAL = 0;
+    private static final int VALUE = 1;
+    private static final int SECTION = 2;
+    private static final int ESTIMATED_VALUE_LENGTH = 64;
+
+    private final String name;
+    private final boolean html;
+    private final int[] kinds;
+    private final String[] literals;
+    private final Field[] fields;
+    // SECTION: index của segment ngay sau {{/field}}
+    private final int[] sectionEnds;
+    // độ dài ước lượng khi render: literal + chỗ cho mỗi giá trị
+    private final int estimatedLength;
+
+    private MailTemplate(String name, boolean html, List<Object[]> segments) {
+        this.name = name;
+        this.html = html;
+        int size = segments.size();
+        this.kinds = new int[size];
+        this.literals = new String[size];
+        this.fields = new Field[size];
+        this.sectionEnds = new int[size];
+        for (int i = 0; i < size; i++) {
+            Object[] segment = segments.get(i);
+            kinds[i] = (int) segment[0];
+            literals[i] = (String) segment[1];
+            fields[i] = (Field) segment[2];
+            sectionEnds[i] = (int) segment[3];
+        }
+        int length = 0;
+        for (int i = 0; i < size; i++) {
+            length += kinds[i] == LITERAL ? literals[i].length() : kinds[i] == VALUE ? ESTIMATED_VALUE_LENGTH : 0;
+        }
+        this.estimatedLength = length;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    int getEstimatedLength() {
+        return estimatedLength;
+    }
+
+    public static MailTemplate compile(String name, String source) {
+        boolean html = name.endsWith(".html");
+        List<Object[]> segments = new ArrayList<>();
+        Deque<Integer> openSections = new ArrayDeque<>();
+
+        int pos = 0;
+        while (pos < source.length()) {
+            int start = source.indexOf("{{", pos);
+            if (start < 0) {
+                segments.add(new Object[]{LITERAL, source.substring(pos), null, 0});
+                break;
+            }
+            if (start > pos) {
+                segments.add(new Object[]{LITERAL, source.substring(pos, start), null, 0});
+            }
+            int end = source.indexOf("}}", start);
+            if (end < 0) {
+                throw new IllegalStateException("Unclosed placeholder in mail template " + name + " at " + start);
+            }
+
+            String tag = source.substring(start + 2, end).trim();
+            if (tag.startsWith("#")) {
+                openSections.push(segments.size());
+                segments.add(new Object[]{SECTION, null, field(name, tag.substring(1)), 0});
+            } else if (tag.startsWith("/")) {
+                Field field = field(name, tag.substring(1));
+                if (openSections.isEmpty() || segments.get(openSections.peek())[2] != field) {
+                    throw new IllegalStateException("Unexpected {{/" + tag.substring(1) + "}} in mail template " + name);
+                }
+                segments.get(openSections.pop())[3] = segments.size();
+            } else {
+                segments.add(new Object[]{VALUE, null, field(name, tag), 0});
+            }
+            pos = end + 2;
+        }
+
+        if (!openSections.isEmpty()) {
+            throw new IllegalStateException("Unclosed section in mail template " + name);
+        }
+        return new MailTemplate(name, html, segments);
+    }
+
+    private static Field field(String templateName, String placeholder) {
+        Field field = Field.fromPlaceholder(placeholder);
+        if (field == null) {
+            throw new IllegalStateException("Unknown placeholder {{" + placeholder + "}} in mail template " + templateName);
+        }
+        return field;
+    }
+
+    /**
+     * Render vào {@code out}; {@code content} được chèn tại {{content}} (dùng khi đây là layout).
+     */
+    void renderTo(StringBuilder out, Map<Field, String> values, MailTemplate content) {
+        int i = 0;
+        while (i < kinds.length) {
+            switch (kinds[i]) {
+                case LITERAL -> out.append(literals[i]);
+                case VALUE -> {
+                    if (fields[i] == Field.CONTENT) {
+                        if (content != null) content.renderTo(out, values, null);
+                    } else {
+                        appendValue(out, values.get(fields[i]));
+                    }
+                }
+                case SECTION -> {
+                    String value = values.get(fields[i]);
+                    if (value == null || value.isEmpty()) {
+                        i = sectionEnds[i];
+                        continue;
+                    }
+                }
+                default -> throw new IllegalStateException();
+            }
+            i++;
+        }
+    }
+
+    private void appendValue(StringBuilder out, String value) {
+        if (value == null) return;
+        if (!html) {
+            out.append(value);
+            return;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '<' -> out.append("&lt;");
+                case '>' -> out.append("&gt;");
+                case '&' -> out.append("&amp;");
+                case '"' -> out.append("&quot;");
+                case '\'' -> out.append("&#39;");
+                case '\n' -> out.append("<br>");
+                default -> out.append(c);
+            }
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.smrsservice.service;
+
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Nạp và compile toàn bộ template trong classpath:mail-templates/ một lần khi khởi động.
+ * Mỗi loại mail có một bản .html và một bản .txt, cả hai được bọc trong layout chung
+ * (layout.html / layout.txt) nên header, footer, chữ ký chỉ khai báo ở một chỗ.
+ */
+@Component
+public class MailTemplateRenderer {
+
+    private static final String LOCATION = "classpath:mail-templates/*";
+
+    private final Map<String, MailTemplate> templates = new HashMap<>();
+
+    public MailTemplateRenderer() throws IOException {
+        Resource[] resources = new PathMatchingResourcePatternResolver().getResources(LOCATION);
+        for (Resource resource : resources) {
+            String fileName = resource.getFilename();
+            if (fileName == null || !(fileName.endsWith(".html") || fileName.endsWith(".txt"))) {
+                continue;
+            }
+            try (InputStream is = resource.getInputStream()) {
+                String source = new String(is.readAllBytes(), StandardCharsets.UTF_8);
+                templates.put(fileName, MailTemplate.compile(fileName, source));
+            }
+        }
+        require("layout.html");
+        require("layout.txt");
+        System.out.println("✅ Compiled " + templates.size() + " mail template(s)");
+    }
+
+    /**
+     * Render bản HTML của template {@code name} bên trong layout.html.
+     */
+    public String renderHtml(String name, Map<MailTemplate.Field, String> values) {
+        return render("layout.html", name + ".html", values);
+    }
+
+    /**
+     * Render bản text (fallback) của template {@code name} bên trong layout.txt.
+     */
+    public String renderText(String name, Map<MailTemplate.Field, String> values) {
+        return render("layout.txt", name + ".txt", values);
+    }
+
+    private String render(String layoutName, String contentName, Map<MailTemplate.Field, String> values) {
+        MailTemplate layout = require(layoutName);
+        MailTemplate content = require(contentName);
+
+        // Buffer cục bộ theo kích thước template: với virtual thread, buffer giữ theo thread không được dùng lại
+        StringBuilder buffer = new StringBuilder(layout.getEstimatedLength() + content.getEstimatedLength());
+        layout.renderTo(buffer, values, content);
+        return buffer.toString();
+    }
+
+    private MailTemplate require(String name) {
+        MailTemplate template = templates.get(name);
+        if (template == null) {
+            throw new IllegalStateException("Mail template not found: " + name);
+        }
+        return template;
+    }
+}
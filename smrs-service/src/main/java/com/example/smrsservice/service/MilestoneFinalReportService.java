@@ -26,6 +26,7 @@ public class MilestoneFinalReportService {
 
     private final MilestoneRepository milestoneRepository;
     private final AccountRepository accountRepository;
+    private final ProgressRollupService progressRollupService;
 
     @Transactional
     public ResponseDto<MilestoneResponseDto> reviewFinalReport(
@@ -43,18 +44,17 @@ public class MilestoneFinalReportService {
                 return ResponseDto.fail("You are not authorized to review final report");
             }
 
-            Milestone milestone = milestoneRepository.findById(milestoneId)
-                    .orElseThrow(() -> new RuntimeException("Milestone not found"));
+            Milestone milestone = progressRollupService.lockMilestone(milestoneId);
 
             if (milestone.getIsFinal() == null || !milestone.getIsFinal()) {
                 return ResponseDto.fail("This milestone is not a final milestone");
             }
 
             if (status != null && !status.isBlank()) {
-                milestone.setStatus(status);
+                progressRollupService.setMilestoneStatus(milestone, status);
             }
             if (progressPercent != null) {
-                milestone.setProgressPercent(progressPercent);
+                progressRollupService.setMilestoneProgress(milestone, progressPercent);
             }
             if (reviewComment != null && !reviewComment.isBlank()) {
                 milestone.setReportComment(reviewComment);
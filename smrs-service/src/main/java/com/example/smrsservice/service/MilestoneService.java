@@ -23,6 +23,7 @@ public class MilestoneService {
     private final MilestoneRepository milestoneRepository;
     private final ProjectRepository projectRepository;
     private final AccountRepository accountRepository;
+    private final ProgressRollupService progressRollupService;
 
     /**
      * Tạo milestone mới
@@ -55,6 +56,7 @@ public class MilestoneService {
         milestone.setIsFinal(dto.getIsFinal() != null ? dto.getIsFinal() : false);
 
         milestoneRepository.save(milestone);
+        progressRollupService.milestoneAdded(milestone);
 
         return mapToDto(milestone);
     }
@@ -64,17 +66,16 @@ public class MilestoneService {
      */
     @Transactional
     public MilestoneResponseDto updateMilestone(Integer id, MilestoneUpdateDto dto) {
-        Milestone milestone = milestoneRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Milestone not found"));
+        Milestone milestone = progressRollupService.lockMilestone(id);
 
         if (dto.getDescription() != null) {
             milestone.setDescription(dto.getDescription());
         }
         if (dto.getStatus() != null) {
-            milestone.setStatus(dto.getStatus());
+            progressRollupService.setMilestoneStatus(milestone, dto.getStatus());
         }
         if (dto.getProgressPercent() != null) {
-            milestone.setProgressPercent(dto.getProgressPercent());
+            progressRollupService.setMilestoneProgress(milestone, dto.getProgressPercent());
         }
         if (dto.getDueDate() != null) {
             milestone.setDueDate(dto.getDueDate());
@@ -89,7 +90,9 @@ public class MilestoneService {
      */
     @Transactional
     public void deleteMilestone(Integer id) {
-        milestoneRepository.deleteById(id);
+        Milestone milestone = progressRollupService.lockMilestone(id);
+        progressRollupService.milestoneRemoved(milestone);
+        milestoneRepository.delete(milestone);
     }
 
     /**
@@ -120,9 +123,8 @@ public class MilestoneService {
             MilestoneSubmitReportDto dto,
             Authentication authentication) {
 
-        // Lấy milestone
-        Milestone milestone = milestoneRepository.findById(milestoneId)
-                .orElseThrow(() -> new RuntimeException("Milestone not found"));
+        // Lấy milestone (khoá để cập nhật tiến độ project)
+        Milestone milestone = progressRollupService.lockMilestone(milestoneId);
 
         // Lấy user hiện tại
         Account currentUser = getCurrentAccount(authentication);
@@ -160,8 +162,8 @@ public class MilestoneService {
         milestone.setReportSubmittedBy(currentUser);
 
         // Cập nhật status và progress
-        milestone.setStatus("Submitted");
-        milestone.setProgressPercent(100.0);
+        progressRollupService.setMilestoneStatus(milestone, "Submitted");
+        progressRollupService.setMilestoneProgress(milestone, 100.0);
 
         milestoneRepository.save(milestone);
 
@@ -0,0 +1,280 @@
+package com.example.smrsservice.service;
+
+import com.example.smrsservice.common.NotificationType;
+import com.example.smrsservice.dto.notification.NotificationEvent;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Kênh đẩy thông báo (Server-Sent Events) theo account: lời mời, chấp nhận lời mời, phân hội đồng,
+ * quyết định của dean, điểm mới. Client nhận event rồi mới gọi lại API danh sách tương ứng thay vì poll.
+ *
+ * - Mỗi stream là 1 async request (SseEmitter), không giữ thread khi đang chờ: hàng nghìn kết nối rảnh
+ *   chỉ tốn socket + vài object.
+ * - Heartbeat (comment ":ping") định kỳ để proxy không cắt kết nối và phát hiện client đã mất.
+ * - Event có id tăng dần; event gần nhất được giữ trong ring buffer giới hạn. Client kết nối lại với
+ *   header Last-Event-ID (EventSource tự gửi) được phát lại các event bị lỡ; nếu đã trôi khỏi buffer
+ *   (hoặc server vừa khởi động lại) thì nhận event "RESYNC" để load lại toàn bộ.
+ * - Event chỉ được đẩy sau commit. Hiếm khi 1 event có thể tới 2 lần, client bỏ qua id đã nhận.
+ */
+@Component
+public class NotificationHub {
+
+    static final String RESYNC = "RESYNC";
+    private static final long RECONNECT_DELAY_MILLIS = 3_000;
+
+    @Value("${app.notifications.replay-buffer:2000}")
+    private int replayBufferSize;
+
+    @Value("${app.notifications.emitter-timeout:30m}")
+    private Duration emitterTimeout;
+
+    @Value("${app.notifications.max-streams-per-account:5}")
+    private int maxStreamsPerAccount;
+
+    private final Map<Integer, List<Stream>> streams = new ConcurrentHashMap<>();
+
+    // ring buffer, chỉ đọc / ghi khi giữ lock của hub
+    private Buffered[] buffer;
+    private int head;
+    private int count;
+    // id tăng dần và lớn hơn id của lần chạy trước (bắt đầu từ thời điểm khởi động)
+    private long nextId = System.currentTimeMillis();
+
+    // ==================== SUBSCRIBE ====================
+
+    /**
+     * Mở stream cho account; lastEventId = id event cuối client đã nhận (null nếu kết nối mới)
+     */
+    public SseEmitter subscribe(Integer accountId, Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(emitterTimeout.toMillis());
+        Stream stream = new Stream(accountId, emitter);
+        emitter.onCompletion(() -> remove(stream));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> remove(stream));
+
+        List<Buffered> missed = new ArrayList<>();
+        boolean resync;
+        long latestId;
+        Stream evicted = null;
+        // giữ lock của stream tới khi phát lại xong: event mới tới trong lúc đó xếp sau các event bị lỡ
+        stream.lock.lock();
+        try {
+            synchronized (this) {
+                List<Stream> own = streams.computeIfAbsent(accountId, k -> new CopyOnWriteArrayList<>());
+                own.add(stream);
+                if (own.size() > maxStreamsPerAccount) {
+                    evicted = own.remove(0);
+                }
+                resync = lastEventId != null && !collectSince(accountId, lastEventId, missed);
+                latestId = nextId - 1;
+            }
+
+            stream.sendComment("connected", RECONNECT_DELAY_MILLIS);
+            if (resync) {
+                // id mới nhất: lần kết nối lại sau không phải resync nữa
+                stream.send(SseEmitter.event().id(String.valueOf(latestId)).name(RESYNC).data(""));
+            }
+            for (Buffered buffered : missed) {
+                stream.send(buffered.event);
+            }
+        } finally {
+            stream.lock.unlock();
+        }
+
+        if (evicted != null) {
+            evicted.emitter.complete();
+        }
+        return emitter;
+    }
+
+    /**
+     * Event của account có id > lastEventId; false nếu có event có thể đã bị lỡ mà không còn trong buffer
+     */
+    private boolean collectSince(Integer accountId, long lastEventId, List<Buffered> result) {
+        long oldestAvailable = count == 0 ? nextId : buffer(head).event.getId();
+        if (lastEventId + 1 < oldestAvailable) {
+            return false;
+        }
+        for (int i = 0; i < count; i++) {
+            Buffered buffered = buffer(head + i);
+            if (buffered.event.getId() > lastEventId && buffered.recipients.contains(accountId)) {
+                result.add(buffered);
+            }
+        }
+        return true;
+    }
+
+    private synchronized void remove(Stream stream) {
+        List<Stream> own = streams.get(stream.accountId);
+        if (own != null) {
+            own.remove(stream);
+            if (own.isEmpty()) {
+                streams.remove(stream.accountId);
+            }
+        }
+    }
+
+    // ==================== PUBLISH ====================
+
+    /**
+     * Đẩy thông báo cho các account sau khi transaction hiện tại commit (rollback thì bỏ)
+     */
+    public void publishAfterCommit(Collection<Integer> accountIds, NotificationType type, String title,
+                                   String message, Integer projectId, String projectName) {
+        Set<Integer> recipients = new LinkedHashSet<>(accountIds);
+        recipients.remove(null);
+        if (recipients.isEmpty()) {
+            return;
+        }
+        NotificationEvent event = NotificationEvent.builder()
+                .type(type)
+                .title(title)
+                .message(message)
+                .projectId(projectId)
+                .projectName(projectName)
+                .build();
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publish(recipients, event);
+                }
+            });
+        } else {
+            publish(recipients, event);
+        }
+    }
+
+    void publish(Set<Integer> recipients, NotificationEvent event) {
+        List<Stream> targets = new ArrayList<>();
+        synchronized (this) {
+            event.setId(nextId++);
+            event.setCreatedAt(Instant.now());
+            append(new Buffered(recipients, event));
+            for (Integer accountId : recipients) {
+                targets.addAll(streams.getOrDefault(accountId, List.of()));
+            }
+        }
+        for (Stream stream : targets) {
+            stream.send(event);
+        }
+    }
+
+    private void append(Buffered buffered) {
+        if (buffer == null) {
+            buffer = new Buffered[Math.max(1, replayBufferSize)];
+        }
+        if (count == buffer.length) {
+            buffer[head] = buffered;
+            head = (head + 1) % buffer.length;
+        } else {
+            buffer[(head + count) % buffer.length] = buffered;
+            count++;
+        }
+    }
+
+    private Buffered buffer(int index) {
+        return buffer[index % buffer.length];
+    }
+
+    // ==================== HEARTBEAT ====================
+
+    @Scheduled(fixedDelayString = "${app.notifications.heartbeat-ms:25000}",
+            initialDelayString = "${app.notifications.heartbeat-ms:25000}")
+    public void heartbeat() {
+        for (List<Stream> own : streams.values()) {
+            for (Stream stream : own) {
+                stream.sendComment("ping", null);
+            }
+        }
+    }
+
+    public int connectionCount() {
+        return streams.values().stream().mapToInt(List::size).sum();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (List<Stream> own : streams.values()) {
+            for (Stream stream : own) {
+                stream.emitter.complete();
+            }
+        }
+        streams.clear();
+    }
+
+    // ==================== TYPES ====================
+
+    private static final class Buffered {
+        private final Set<Integer> recipients;
+        private final NotificationEvent event;
+
+        private Buffered(Set<Integer> recipients, NotificationEvent event) {
+            this.recipients = recipients;
+            this.event = event;
+        }
+    }
+
+    /**
+     * 1 kết nối SSE; ghi tuần tự trên từng kết nối, lỗi ghi (client đã đóng) thì bỏ kết nối.
+     * ReentrantLock thay cho synchronized vì giữ lock trong lúc ghi socket (không ghim carrier của virtual thread).
+     */
+    private final class Stream {
+        private final Integer accountId;
+        private final SseEmitter emitter;
+        private final ReentrantLock lock = new ReentrantLock();
+
+        private Stream(Integer accountId, SseEmitter emitter) {
+            this.accountId = accountId;
+            this.emitter = emitter;
+        }
+
+        private void send(NotificationEvent event) {
+            send(SseEmitter.event()
+                    .id(String.valueOf(event.getId()))
+                    .name(event.getType().name())
+                    .data(event, MediaType.APPLICATION_JSON));
+        }
+
+        private void sendComment(String comment, Long reconnectTime) {
+            SseEmitter.SseEventBuilder builder = SseEmitter.event().comment(comment);
+            if (reconnectTime != null) {
+                builder.reconnectTime(reconnectTime);
+            }
+            send(builder);
+        }
+
+        private void send(SseEmitter.SseEventBuilder builder) {
+            lock.lock();
+            try {
+                emitter.send(builder);
+            } catch (IOException | IllegalStateException e) {
+                remove(this);
+                emitter.completeWithError(e);
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
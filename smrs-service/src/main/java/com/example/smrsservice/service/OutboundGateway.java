@@ -0,0 +1,222 @@
+package com.example.smrsservice.service;
+
+import com.example.smrsservice.common.Upstream;
+import com.example.smrsservice.config.UpstreamSettings;
+import com.example.smrsservice.dto.stats.admin.UpstreamStatsDto;
+import com.example.smrsservice.exeption.UpstreamUnavailableException;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Mọi lời gọi ra ngoài (Copyleaks, storage node, Cloudinary) đi qua đây, mỗi upstream một bộ riêng:
+ *
+ * - Bulkhead: tối đa max-concurrent lời gọi cùng lúc (bằng kích thước connection pool của client tương ứng).
+ *   Hết chỗ thì chờ tối đa acquire-timeout rồi từ chối: 1 upstream treo không giữ hết thread / kết nối của app.
+ * - Circuit breaker: failure-threshold lỗi liên tiếp (I/O, timeout, 5xx) thì mở mạch, từ chối ngay trong open-duration;
+ *   hết thời gian thì cho đúng 1 lời gọi thử (half-open), thành công thì đóng mạch, lỗi thì mở lại.
+ *   Lỗi 4xx là lỗi của request, không tính là upstream hỏng.
+ * - Số liệu theo upstream: số lời gọi, lỗi, bị từ chối, latency, trạng thái mạch.
+ */
+@Component
+public class OutboundGateway {
+
+    private final Map<Upstream, Guard> guards = new EnumMap<>(Upstream.class);
+
+    public OutboundGateway(Environment environment) {
+        for (Upstream upstream : Upstream.values()) {
+            guards.put(upstream, new Guard(upstream, UpstreamSettings.of(environment, upstream)));
+        }
+    }
+
+    /**
+     * Chạy call trong bulkhead + circuit breaker của upstream; exception của call được ném lại nguyên vẹn,
+     * bị từ chối trước khi gọi thì ném UpstreamUnavailableException
+     */
+    public <T, E extends Exception> T call(Upstream upstream, OutboundCall<T, E> call) throws E {
+        Guard guard = guards.get(upstream);
+        boolean trial = guard.acquire();
+        long start = System.nanoTime();
+        boolean healthy = false;
+        try {
+            T result = call.execute();
+            healthy = true;
+            return result;
+        } catch (Exception e) {
+            healthy = !isUpstreamFailure(e);
+            throw e;
+        } finally {
+            guard.release(trial, healthy, System.nanoTime() - start);
+        }
+    }
+
+    public UpstreamSettings settings(Upstream upstream) {
+        return guards.get(upstream).settings;
+    }
+
+    public List<UpstreamStatsDto> getStats() {
+        List<UpstreamStatsDto> result = new ArrayList<>();
+        for (Guard guard : guards.values()) {
+            result.add(guard.stats());
+        }
+        return result;
+    }
+
+    private static boolean isUpstreamFailure(Exception e) {
+        return e instanceof IOException
+                || e instanceof UncheckedIOException
+                || e instanceof ResourceAccessException
+                || e instanceof HttpServerErrorException;
+    }
+
+    @FunctionalInterface
+    public interface OutboundCall<T, E extends Exception> {
+        T execute() throws E;
+    }
+
+    enum CircuitState {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private static final class Guard {
+        private final Upstream upstream;
+        private final UpstreamSettings settings;
+        private final Semaphore bulkhead;
+
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder rejected = new LongAdder();
+        private final LongAdder shortCircuited = new LongAdder();
+        private final LongAdder latencyNanos = new LongAdder();
+        private final AtomicLong maxLatencyNanos = new AtomicLong();
+
+        // trạng thái mạch, chỉ đọc / ghi khi giữ lock của guard (không có I/O trong lock)
+        private CircuitState state = CircuitState.CLOSED;
+        private int consecutiveFailures;
+        private long openedAt;
+        private boolean trialInFlight;
+
+        private Guard(Upstream upstream, UpstreamSettings settings) {
+            this.upstream = upstream;
+            this.settings = settings;
+            this.bulkhead = new Semaphore(settings.getMaxConcurrent(), true);
+        }
+
+        /**
+         * true nếu đây là lời gọi thử của trạng thái half-open
+         */
+        private boolean acquire() {
+            boolean trial = enterCircuit();
+            boolean acquired;
+            try {
+                acquired = bulkhead.tryAcquire(settings.getAcquireTimeout().toNanos(), TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                acquired = false;
+            }
+            if (!acquired) {
+                if (trial) {
+                    cancelTrial();
+                }
+                rejected.increment();
+                throw new UpstreamUnavailableException(upstream,
+                        "đã có " + settings.getMaxConcurrent() + " lời gọi đang chờ");
+            }
+            return trial;
+        }
+
+        private void release(boolean trial, boolean healthy, long elapsedNanos) {
+            bulkhead.release();
+            calls.increment();
+            latencyNanos.add(elapsedNanos);
+            maxLatencyNanos.accumulateAndGet(elapsedNanos, Math::max);
+            if (!healthy) {
+                failures.increment();
+            }
+            onResult(trial, healthy);
+        }
+
+        private synchronized boolean enterCircuit() {
+            if (state == CircuitState.OPEN) {
+                if (System.nanoTime() - openedAt < settings.getOpenDuration().toNanos()) {
+                    shortCircuited.increment();
+                    throw new UpstreamUnavailableException(upstream, "circuit breaker đang mở");
+                }
+                state = CircuitState.HALF_OPEN;
+            }
+            if (state == CircuitState.HALF_OPEN) {
+                if (trialInFlight) {
+                    shortCircuited.increment();
+                    throw new UpstreamUnavailableException(upstream, "đang gọi thử sau khi mở circuit breaker");
+                }
+                trialInFlight = true;
+                return true;
+            }
+            return false;
+        }
+
+        private synchronized void cancelTrial() {
+            trialInFlight = false;
+        }
+
+        private synchronized void onResult(boolean trial, boolean healthy) {
+            if (trial) {
+                trialInFlight = false;
+            }
+            if (healthy) {
+                consecutiveFailures = 0;
+                if (trial && state == CircuitState.HALF_OPEN) {
+                    state = CircuitState.CLOSED;
+                    System.out.println("✅ [Outbound] " + upstream + ": gọi thử thành công, đóng circuit breaker");
+                }
+                return;
+            }
+
+            consecutiveFailures++;
+            boolean tripped = state == CircuitState.CLOSED && consecutiveFailures >= settings.getFailureThreshold();
+            if (tripped || (trial && state == CircuitState.HALF_OPEN)) {
+                state = CircuitState.OPEN;
+                openedAt = System.nanoTime();
+                System.err.println("⚠️ [Outbound] " + upstream + ": " + consecutiveFailures
+                        + " lỗi liên tiếp, mở circuit breaker trong " + settings.getOpenDuration().toMillis() + "ms");
+            }
+        }
+
+        private UpstreamStatsDto stats() {
+            long count = calls.sum();
+            CircuitState currentState;
+            int currentFailures;
+            synchronized (this) {
+                currentState = state;
+                currentFailures = consecutiveFailures;
+            }
+            return UpstreamStatsDto.builder()
+                    .upstream(upstream.name())
+                    .circuitState(currentState.name())
+                    .maxConcurrent(settings.getMaxConcurrent())
+                    .inFlight(settings.getMaxConcurrent() - bulkhead.availablePermits())
+                    .calls(count)
+                    .failures(failures.sum())
+                    .consecutiveFailures(currentFailures)
+                    .rejected(rejected.sum())
+                    .shortCircuited(shortCircuited.sum())
+                    .avgLatencyMs(count == 0 ? 0.0 : latencyNanos.sum() / 1_000_000.0 / count)
+                    .maxLatencyMs(maxLatencyNanos.get() / 1_000_000.0)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.example.smrsservice.service;
+
+import com.example.smrsservice.entity.Milestone;
+import com.example.smrsservice.repository.ProjectRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Objects;
+
+/**
+ * Cộng dồn tiến độ task -> milestone -> project theo delta, không đếm lại.
+ *
+ * Milestone giữ task_count / task_progress_sum, progress milestone = trung bình progress các task (mỗi task
+ * trọng số như nhau). Project giữ milestone_count / milestone_progress_sum / completed_milestones, progress
+ * project = trung bình progress các milestone. Mỗi thay đổi chỉ cộng phần chênh lệch (O(1)).
+ *
+ * Đồng thời: task và milestone được khoá (SELECT ... FOR UPDATE) trước khi đọc giá trị cũ, luôn theo thứ tự
+ * task -> milestone (id tăng dần) -> project nên không deadlock. Cột tổng của project chỉ được cộng bằng
+ * UPDATE nguyên tử, hai milestone cùng project đổi một lúc không ghi đè nhau.
+ * Các method nhận Milestone yêu cầu milestone đã được khoá bằng lockMilestone / lock.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class ProgressRollupService {
+
+    private static final String COMPLETED = "Completed";
+
+    private final EntityManager entityManager;
+    private final ProjectRepository projectRepository;
+
+    /**
+     * Load milestone và khoá dòng. Gọi trước khi đọc / sửa milestone trong transaction.
+     */
+    public Milestone lockMilestone(Integer milestoneId) {
+        Milestone milestone = entityManager.find(Milestone.class, milestoneId);
+        if (milestone == null) {
+            throw new RuntimeException("Milestone not found");
+        }
+        lock(milestone);
+        return milestone;
+    }
+
+    /**
+     * Khoá milestone đã load và đọc lại giá trị mới nhất (giá trị đang giữ có thể đã cũ)
+     */
+    public void lock(Milestone milestone) {
+        entityManager.refresh(milestone, LockModeType.PESSIMISTIC_WRITE);
+    }
+
+    // ==================== TASK -> MILESTONE ====================
+
+    /**
+     * Task được tạo / sửa / xoá hoặc chuyển milestone: from = milestone + progress cũ, to = milestone + progress mới
+     * (null nếu task mới tạo / bị xoá). Task phải đang được khoá nếu là task đã có.
+     */
+    public void taskChanged(Milestone from, Double fromProgress, Milestone to, Double toProgress) {
+        if (from != null && to != null && Objects.equals(from.getId(), to.getId())) {
+            double delta = value(toProgress) - value(fromProgress);
+            if (delta != 0) {
+                lock(to);
+                applyTaskDelta(to, 0, delta);
+            }
+            return;
+        }
+
+        // khoá theo id tăng dần khi task chuyển giữa 2 milestone
+        if (from != null && to != null && from.getId() > to.getId()) {
+            lock(to);
+            lock(from);
+        } else {
+            if (from != null) lock(from);
+            if (to != null) lock(to);
+        }
+
+        if (from != null) {
+            applyTaskDelta(from, -1, -value(fromProgress));
+        }
+        if (to != null) {
+            applyTaskDelta(to, 1, value(toProgress));
+        }
+    }
+
+    private void applyTaskDelta(Milestone milestone, int countDelta, double progressDelta) {
+        int count = value(milestone.getTaskCount()) + countDelta;
+        double sum = count == 0 ? 0.0 : value(milestone.getTaskProgressSum()) + progressDelta;
+
+        milestone.setTaskCount(count);
+        milestone.setTaskProgressSum(sum);
+
+        // không còn task: giữ progress đang có (nhập tay / đã nộp report)
+        if (count > 0) {
+            setMilestoneProgress(milestone, percent(sum, count));
+        }
+    }
+
+    // ==================== MILESTONE -> PROJECT ====================
+
+    /**
+     * Milestone mới (đã persist)
+     */
+    public void milestoneAdded(Milestone milestone) {
+        addToProject(milestone, 1, value(milestone.getProgressPercent()), isCompleted(milestone.getStatus()) ? 1 : 0);
+    }
+
+    /**
+     * Milestone sắp bị xoá (đã khoá)
+     */
+    public void milestoneRemoved(Milestone milestone) {
+        addToProject(milestone, -1, -value(milestone.getProgressPercent()), isCompleted(milestone.getStatus()) ? -1 : 0);
+    }
+
+    public void setMilestoneProgress(Milestone milestone, Double progressPercent) {
+        double delta = value(progressPercent) - value(milestone.getProgressPercent());
+        milestone.setProgressPercent(progressPercent);
+        if (delta != 0) {
+            addToProject(milestone, 0, delta, 0);
+        }
+    }
+
+    public void setMilestoneStatus(Milestone milestone, String status) {
+        boolean wasCompleted = isCompleted(milestone.getStatus());
+        milestone.setStatus(status);
+        boolean completed = isCompleted(status);
+        if (wasCompleted != completed) {
+            addToProject(milestone, 0, 0, completed ? 1 : -1);
+        }
+    }
+
+    private void addToProject(Milestone milestone, int countDelta, double progressDelta, int completedDelta) {
+        if (milestone.getProject() == null) {
+            return;
+        }
+        projectRepository.addMilestoneProgress(milestone.getProject().getId(), countDelta, progressDelta, completedDelta);
+    }
+
+    // ==================== READ ====================
+
+    /**
+     * Trung bình từ tổng + số lượng đã lưu, làm tròn 1 chữ số và giới hạn 0..100 (bỏ sai số cộng dồn số thực)
+     */
+    public static double percent(Double sum, Integer count) {
+        if (count == null || count <= 0 || sum == null) {
+            return 0.0;
+        }
+        double average = Math.round(sum / count * 10) / 10.0;
+        return Math.max(0.0, Math.min(100.0, average));
+    }
+
+    /**
+     * Dạng hiển thị trên dashboard, vd "75%"
+     */
+    public static String format(Double sum, Integer count) {
+        return Math.round(percent(sum, count)) + "%";
+    }
+
+    private static boolean isCompleted(String status) {
+        return COMPLETED.equalsIgnoreCase(status);
+    }
+
+    private static double value(Double number) {
+        return number != null ? number : 0.0;
+    }
+
+    private static int value(Integer number) {
+        return number != null ? number : 0;
+    }
+}
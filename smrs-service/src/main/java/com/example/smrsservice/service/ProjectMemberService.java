@@ -1,5 +1,6 @@
 package com.example.smrsservice.service;
 
+import com.example.smrsservice.common.NotificationType;
 import com.example.smrsservice.dto.common.ResponseDto;
 import com.example.smrsservice.dto.project.InviteMemberResponse;
 import com.example.smrsservice.dto.project.ProjectMemberResponse;
@@ -27,6 +28,7 @@ public class ProjectMemberService {
     private final AccountRepository accountRepository;
     private final ProjectRepository projectRepository;
     private final MailService mailService;
+    private final NotificationHub notificationHub;
 
     private static final int MAX_STUDENTS_PER_PROJECT = 5;
 
@@ -92,6 +94,7 @@ public class ProjectMemberService {
 
             invitation.setStatus("Approved");
             projectMemberRepository.save(invitation);
+            notifyInvitationAccepted(invitation);
 
             ProjectMemberResponse response = convertToResponse(invitation);
 
@@ -306,6 +309,13 @@ public class ProjectMemberService {
                         System.err.println("Failed to send email to " + invitedAccount.getEmail() + ": " + emailEx.getMessage());
                     }
 
+                    notificationHub.publishAfterCommit(List.of(invitedAccount.getId()),
+                            NotificationType.INVITATION_RECEIVED,
+                            "Lời mời tham gia dự án",
+                            currentUser.getName() + " mời bạn tham gia dự án " + project.getName()
+                                    + " với vai trò " + roleName.toUpperCase(),
+                            project.getId(), project.getName());
+
                     successEmails.add(trimmedEmail);
 
                 } catch (Exception e) {
@@ -417,6 +427,7 @@ public class ProjectMemberService {
 
             invitation.setStatus("Approved");
             projectMemberRepository.save(invitation);
+            notifyInvitationAccepted(invitation);
 
             ProjectMemberResponse response = convertToResponse(invitation);
 
@@ -458,6 +469,21 @@ public class ProjectMemberService {
         }
     }
 
+    /**
+     * Báo cho chủ project: thành viên đã nhận lời mời
+     */
+    private void notifyInvitationAccepted(ProjectMember invitation) {
+        Project project = invitation.getProject();
+        if (project.getOwner() == null) {
+            return;
+        }
+        notificationHub.publishAfterCommit(List.of(project.getOwner().getId()),
+                NotificationType.INVITATION_ACCEPTED,
+                "Lời mời đã được chấp nhận",
+                invitation.getAccount().getName() + " đã tham gia dự án " + project.getName(),
+                project.getId(), project.getName());
+    }
+
     private String generateInvitationToken(Integer invitationId) {
         String secretKey = "smrs-invitation-secret-key-2025";
         long timestamp = System.currentTimeMillis();
@@ -5,18 +5,28 @@ import com.example.smrsservice.common.PublicationType;
 import com.example.smrsservice.dto.common.ResponseDto;
 import com.example.smrsservice.dto.projectpublication.CreatePublicationRequest;
 import com.example.smrsservice.dto.projectpublication.ProjectPublicationDto;
+import com.example.smrsservice.dto.projectpublication.PublicationCatalogDto;
 import com.example.smrsservice.dto.projectpublication.UpdatePublicationRequest;
 import com.example.smrsservice.entity.Account;
 import com.example.smrsservice.entity.Project;
 import com.example.smrsservice.entity.ProjectPublication;
 import com.example.smrsservice.repository.*;
+import com.example.smrsservice.repository.projection.PublicationCatalogRow;
+import com.example.smrsservice.repository.projection.PublicationFacetCount;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.LocalDate;
+import java.time.ZoneId;
 import java.util.Date;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 @Service
@@ -29,6 +39,14 @@ public class ProjectPublicationService {
     private final ProjectMemberRepository projectMemberRepository;
     private final MilestoneRepository milestoneRepository;
 
+    private static final int DEFAULT_CATALOG_PAGE_SIZE = 20;
+    private static final int MAX_CATALOG_PAGE_SIZE = 100;
+    private static final long CATALOG_COUNTS_TTL_MILLIS = 5 * 60 * 1000L;
+
+    // Bộ đếm type/status của catalogue, hết hạn khi có ghi vào publication (xem PublicationCatalogListener)
+    private final AtomicLong catalogCountsVersion = new AtomicLong();
+    private volatile CatalogCounts catalogCounts;
+
     /**
      * 1. CREATE - Đăng ký publication
      * Lecturer/Student của project có thể đăng ký
@@ -230,9 +248,10 @@ public class ProjectPublicationService {
                 return ResponseDto.fail("Only admins and deans can view all publications");
             }
 
-            List<ProjectPublication> publications = publicationRepository.findAll();
-
-            List<ProjectPublicationDto> dtos = publications.stream()
+            // 1 câu SELECT kèm project / owner / major / author, không lazy load từng dòng
+            List<ProjectPublicationDto> dtos = publicationRepository
+                    .findCatalogPage(null, null, null, null, null, null, null, null)
+                    .stream()
                     .map(this::toDto)
                     .collect(Collectors.toList());
 
@@ -244,6 +263,98 @@ public class ProjectPublicationService {
         }
     }
 
+    /**
+     * 4b. CATALOGUE - Lấy publications theo trang (keyset theo id giảm dần) kèm filter
+     * cursor = nextCursor của trang trước, bỏ trống để lấy trang đầu
+     */
+    public ResponseDto<PublicationCatalogDto> getCatalog(
+            Authentication authentication,
+            String type,
+            String status,
+            Integer projectId,
+            Integer majorId,
+            Integer year,
+            Integer cursor,
+            Integer size) {
+        try {
+            Account currentUser = getCurrentAccount(authentication);
+
+            String roleName = currentUser.getRole() != null
+                    ? currentUser.getRole().getRoleName()
+                    : "";
+
+            if (!"ADMIN".equalsIgnoreCase(roleName) && !"DEAN".equalsIgnoreCase(roleName)) {
+                return ResponseDto.fail("Only admins and deans can view all publications");
+            }
+
+            PublicationType typeFilter = type != null && !type.isBlank()
+                    ? PublicationType.valueOf(type.trim().toUpperCase())
+                    : null;
+            PublicationStatus statusFilter = status != null && !status.isBlank()
+                    ? PublicationStatus.valueOf(status.trim().toUpperCase())
+                    : null;
+
+            Date registeredFrom = null;
+            Date registeredTo = null;
+            if (year != null) {
+                ZoneId zone = ZoneId.systemDefault();
+                registeredFrom = Date.from(LocalDate.of(year, 1, 1).atStartOfDay(zone).toInstant());
+                registeredTo = Date.from(LocalDate.of(year + 1, 1, 1).atStartOfDay(zone).toInstant());
+            }
+
+            int pageSize = size == null || size <= 0
+                    ? DEFAULT_CATALOG_PAGE_SIZE
+                    : Math.min(size, MAX_CATALOG_PAGE_SIZE);
+
+            // Lấy dư 1 dòng để biết còn trang sau hay không, không cần COUNT
+            List<PublicationCatalogRow> rows = publicationRepository.findCatalogPage(
+                    typeFilter, statusFilter, projectId, majorId,
+                    registeredFrom, registeredTo, cursor, pageSize + 1);
+
+            boolean hasNext = rows.size() > pageSize;
+            if (hasNext) {
+                rows = rows.subList(0, pageSize);
+            }
+
+            List<ProjectPublicationDto> items = rows.stream()
+                    .map(this::toDto)
+                    .collect(Collectors.toList());
+
+            CatalogCounts counts = getCatalogCounts();
+
+            PublicationCatalogDto dto = PublicationCatalogDto.builder()
+                    .items(items)
+                    .nextCursor(hasNext ? items.get(items.size() - 1).getId() : null)
+                    .hasNext(hasNext)
+                    .typeCounts(counts.typeCounts)
+                    .statusCounts(counts.statusCounts)
+                    .build();
+
+            return ResponseDto.success(dto, "Found " + items.size() + " publication(s)");
+
+        } catch (Exception e) {
+            e.printStackTrace();
+            return ResponseDto.fail(e.getMessage());
+        }
+    }
+
+    /**
+     * Đánh dấu bộ đếm type/status là cũ, lần đọc catalogue tiếp theo sẽ đếm lại.
+     * Listener chạy lúc flush nên tăng version lần nữa sau commit: request khác đếm trong lúc
+     * transaction chưa commit vẫn thấy dữ liệu cũ và đã cache bộ đếm đó với version mới
+     */
+    public void invalidateCatalogCounts() {
+        catalogCountsVersion.incrementAndGet();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    catalogCountsVersion.incrementAndGet();
+                }
+            });
+        }
+    }
+
     /**
      * 5. GET BY ID - Xem chi tiết publication
      */
@@ -397,6 +508,83 @@ public class ProjectPublicationService {
 
     // ==================== HELPER METHODS ====================
 
+    private CatalogCounts getCatalogCounts() {
+        CatalogCounts current = catalogCounts;
+        if (current != null
+                && current.version == catalogCountsVersion.get()
+                && System.currentTimeMillis() - current.builtAt < CATALOG_COUNTS_TTL_MILLIS) {
+            return current;
+        }
+
+        // Lấy version TRƯỚC khi query: nếu có ghi trong lúc đếm thì kết quả này tự hết hạn
+        long buildVersion = catalogCountsVersion.get();
+        CatalogCounts rebuilt = new CatalogCounts(buildVersion);
+        for (PublicationFacetCount row : publicationRepository.countByTypeAndStatus()) {
+            if (row.getPublicationType() != null) {
+                rebuilt.typeCounts.merge(row.getPublicationType().getJsonName(), row.getTotal(), Long::sum);
+            }
+            if (row.getStatus() != null) {
+                rebuilt.statusCounts.merge(row.getStatus().getJsonName(), row.getTotal(), Long::sum);
+            }
+        }
+        catalogCounts = rebuilt;
+        return rebuilt;
+    }
+
+    private ProjectPublicationDto toDto(PublicationCatalogRow row) {
+        ProjectPublicationDto.ProjectInfo projectInfo = ProjectPublicationDto.ProjectInfo.builder()
+                .projectId(row.getProjectId())
+                .projectName(row.getProjectName())
+                .projectDescription(row.getProjectDescription())
+                .projectType(row.getProjectType())
+                .projectStatus(row.getProjectStatus() != null
+                        ? row.getProjectStatus().toString()
+                        : null)
+                .projectDueDate(row.getProjectDueDate())
+                .projectCreateDate(row.getProjectCreateDate())
+                .ownerId(row.getOwnerId())
+                .ownerName(row.getOwnerName())
+                .ownerEmail(row.getOwnerEmail())
+                .ownerRole(row.getOwnerRole())
+                .majorId(row.getMajorId())
+                .majorName(row.getMajorName())
+                .build();
+
+        ProjectPublicationDto.AuthorInfo authorInfo = ProjectPublicationDto.AuthorInfo.builder()
+                .authorId(row.getAuthorId())
+                .authorName(row.getAuthorName())
+                .authorEmail(row.getAuthorEmail())
+                .authorPhone(row.getAuthorPhone())
+                .authorAvatar(row.getAuthorAvatar())
+                .authorRole(row.getAuthorRole())
+                .authorAge(row.getAuthorAge())
+                .authorStatus(row.getAuthorStatus() != null
+                        ? row.getAuthorStatus().toString()
+                        : null)
+                .build();
+
+        return ProjectPublicationDto.builder()
+                .id(row.getId())
+                .status(row.getStatus() != null
+                        ? row.getStatus().getJsonName()
+                        : null)
+                .publicationName(row.getPublicationName())
+                .publicationType(row.getPublicationType() != null
+                        ? row.getPublicationType().getJsonName()
+                        : null)
+                .publicationLink(row.getPublicationLink())
+                .registeredDate(row.getRegisteredDate())
+                .publishedDate(row.getPublishedDate())
+                .notes(row.getNotes())
+                .doi(row.getDoi())
+                .isbnIssn(row.getIsbnIssn())
+                .createdAt(row.getCreatedAt())
+                .updatedAt(row.getUpdatedAt())
+                .project(projectInfo)
+                .author(authorInfo)
+                .build();
+    }
+
 
 
     private Account getCurrentAccount(Authentication authentication) {
@@ -418,4 +606,21 @@ public class ProjectPublicationService {
 
         throw new RuntimeException("Invalid authentication principal");
     }
+
+    private static class CatalogCounts {
+        private final long version;
+        private final long builtAt = System.currentTimeMillis();
+        private final Map<String, Long> typeCounts = new LinkedHashMap<>();
+        private final Map<String, Long> statusCounts = new LinkedHashMap<>();
+
+        private CatalogCounts(long version) {
+            this.version = version;
+            for (PublicationType type : PublicationType.values()) {
+                typeCounts.put(type.getJsonName(), 0L);
+            }
+            for (PublicationStatus status : PublicationStatus.values()) {
+                statusCounts.put(status.getJsonName(), 0L);
+            }
+        }
+    }
 }
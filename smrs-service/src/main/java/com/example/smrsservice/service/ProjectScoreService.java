@@ -1,5 +1,7 @@
 package com.example.smrsservice.service;
 
+import com.example.smrsservice.common.NotificationType;
+import com.example.smrsservice.dto.account.PageResponse;
 import com.example.smrsservice.dto.common.ResponseDto;
 import com.example.smrsservice.dto.score.ProjectScoreCreateDto;
 import com.example.smrsservice.dto.score.ProjectScoreResponseDto;
@@ -12,15 +14,24 @@ import com.example.smrsservice.repository.AccountRepository;
 import com.example.smrsservice.repository.MilestoneRepository;
 import com.example.smrsservice.repository.ProjectRepository;
 import com.example.smrsservice.repository.ProjectScoreRepository;
+import com.example.smrsservice.repository.projection.ScoreSearchRow;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.text.SimpleDateFormat;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -30,6 +41,11 @@ public class ProjectScoreService {
     private final ProjectRepository projectRepository;
     private final AccountRepository accountRepository;
     private final MilestoneRepository milestoneRepository;
+    private final NotificationHub notificationHub;
+
+    private static final Set<String> SEARCH_SORT_FIELDS = Set.of(
+            "id", "scoreDate", "finalScore", "projectName", "lecturerName");
+    private static final int MAX_SEARCH_PAGE_SIZE = 100;
 
 
 
@@ -85,6 +101,13 @@ public class ProjectScoreService {
 
             projectScoreRepository.save(score);
 
+            if (project.getOwner() != null) {
+                notificationHub.publishAfterCommit(List.of(project.getOwner().getId()),
+                        NotificationType.SCORE_CREATED,
+                        "Dự án có điểm mới",
+                        lecturer.getName() + " đã chấm điểm báo cáo cuối kỳ của dự án " + project.getName(),
+                        project.getId(), project.getName());
+            }
 
             return ResponseDto.success(toResponseDto(score), "Score created successfully");
 
@@ -218,30 +241,53 @@ public class ProjectScoreService {
 
     public ResponseDto<List<ProjectScoreResponseDto>> searchScores(String keyword, String status) {
         try {
-            List<ProjectScore> scores = projectScoreRepository.findAll();
-
-            if (keyword != null && !keyword.trim().isEmpty()) {
-                String lowerKeyword = keyword.toLowerCase().trim();
-                scores = scores.stream()
-                        .filter(score ->
-                                (score.getProject().getName() != null && score.getProject().getName().toLowerCase().contains(lowerKeyword)) ||
-                                        (score.getLecturer().getName() != null && score.getLecturer().getName().toLowerCase().contains(lowerKeyword)) ||
-                                        (score.getComment() != null && score.getComment().toLowerCase().contains(lowerKeyword))
-                        )
-                        .collect(Collectors.toList());
-            }
+            List<ProjectScoreResponseDto> result = findScores(keyword, status, null, null, null, null,
+                    Pageable.unpaged()).getContent();
 
-            if (status != null && !status.trim().isEmpty()) {
-                scores = scores.stream()
-                        .filter(score -> matchesStatus(score.getFinalScore(), status))
-                        .collect(Collectors.toList());
-            }
+            return ResponseDto.success(result, "Found " + result.size() + " scores");
+        } catch (Exception e) {
+            return ResponseDto.fail(e.getMessage());
+        }
+    }
 
-            List<ProjectScoreResponseDto> result = scores.stream()
-                    .map(this::toResponseDto)
-                    .collect(Collectors.toList());
+    /**
+     * Tìm kiếm điểm có phân trang, lọc hoàn toàn trong DB (page bắt đầu từ 1)
+     */
+    public ResponseDto<PageResponse<ProjectScoreResponseDto>> searchScoresPaged(
+            String keyword,
+            String status,
+            Integer lecturerId,
+            Integer councilId,
+            LocalDate fromDate,
+            LocalDate toDate,
+            int page,
+            int size,
+            String sortBy,
+            String sortDir) {
+        try {
+            String by = sortBy != null && SEARCH_SORT_FIELDS.contains(sortBy) ? sortBy : "scoreDate";
+            Sort sort = "asc".equalsIgnoreCase(sortDir)
+                    ? Sort.by(by).ascending()
+                    : Sort.by(by).descending();
+            if (!"id".equals(by)) {
+                // Thứ tự ổn định giữa các trang khi trùng giá trị sort
+                sort = sort.and(Sort.by("id").descending());
+            }
+            Pageable pageable = PageRequest.of(Math.max(page, 1) - 1,
+                    Math.min(Math.max(size, 1), MAX_SEARCH_PAGE_SIZE), sort);
+
+            Page<ProjectScoreResponseDto> result = findScores(keyword, status, lecturerId, councilId,
+                    fromDate, toDate, pageable);
+
+            PageResponse<ProjectScoreResponseDto> pageResponse = PageResponse.<ProjectScoreResponseDto>builder()
+                    .currentPages(pageable.getPageNumber() + 1)
+                    .pageSizes(pageable.getPageSize())
+                    .totalPages(result.getTotalPages())
+                    .totalElements(result.getTotalElements())
+                    .data(result.getContent())
+                    .build();
 
-            return ResponseDto.success(result, "Found " + result.size() + " scores");
+            return ResponseDto.success(pageResponse, "Found " + result.getTotalElements() + " scores");
         } catch (Exception e) {
             return ResponseDto.fail(e.getMessage());
         }
@@ -249,16 +295,45 @@ public class ProjectScoreService {
 
     public ResponseDto<List<ProjectScoreResponseDto>> getAllScores() {
         try {
-            List<ProjectScore> scores = projectScoreRepository.findAll();
-            List<ProjectScoreResponseDto> result = scores.stream()
-                    .map(this::toResponseDto)
-                    .collect(Collectors.toList());
+            List<ProjectScoreResponseDto> result = findScores(null, null, null, null, null, null,
+                    Pageable.unpaged()).getContent();
             return ResponseDto.success(result, "OK");
         } catch (Exception e) {
             return ResponseDto.fail(e.getMessage());
         }
     }
 
+    private Page<ProjectScoreResponseDto> findScores(
+            String keyword,
+            String status,
+            Integer lecturerId,
+            Integer councilId,
+            LocalDate fromDate,
+            LocalDate toDate,
+            Pageable pageable) {
+
+        String trimmedKeyword = (keyword != null && !keyword.trim().isEmpty())
+                ? keyword.trim()
+                : null;
+
+        Double minScore = null;
+        Double maxScore = null;
+        if (status != null && !status.trim().isEmpty()) {
+            double[] band = scoreBand(status);
+            minScore = band[0];
+            maxScore = band[1];
+        }
+
+        ZoneId zone = ZoneId.systemDefault();
+        Date from = fromDate != null ? Date.from(fromDate.atStartOfDay(zone).toInstant()) : null;
+        // toDate tính cả ngày cuối
+        Date to = toDate != null ? Date.from(toDate.plusDays(1).atStartOfDay(zone).toInstant()) : null;
+
+        return projectScoreRepository.searchScores(trimmedKeyword, minScore, maxScore, lecturerId, councilId,
+                        from, to, pageable)
+                .map(this::toResponseDto);
+    }
+
     public ResponseDto<List<ProjectScoreResponseDto>> getScoresByLecturer(Authentication authentication) {
         try {
             Account lecturer = currentAccount(authentication);
@@ -290,22 +365,23 @@ public class ProjectScoreService {
         }
     }
 
-    private boolean matchesStatus(Double finalScore, String status) {
-        if (finalScore == null) return false;
-
+    /**
+     * Khoảng điểm [min, max) của status. Status lạ vẫn loại điểm null (min = -MAX_VALUE)
+     */
+    private double[] scoreBand(String status) {
         switch (status.toUpperCase()) {
             case "EXCELLENT":
-                return finalScore >= 90;
+                return new double[]{90, Double.MAX_VALUE};
             case "GOOD":
-                return finalScore >= 80 && finalScore < 90;
+                return new double[]{80, 90};
             case "AVERAGE":
-                return finalScore >= 70 && finalScore < 80;
+                return new double[]{70, 80};
             case "BELOW_AVERAGE":
-                return finalScore >= 60 && finalScore < 70;
+                return new double[]{60, 70};
             case "FAIL":
-                return finalScore < 60;
+                return new double[]{-Double.MAX_VALUE, 60};
             default:
-                return true;
+                return new double[]{-Double.MAX_VALUE, Double.MAX_VALUE};
         }
     }
 
@@ -321,6 +397,30 @@ public class ProjectScoreService {
         return true;
     }
 
+    private ProjectScoreResponseDto toResponseDto(ScoreSearchRow score) {
+        SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+        return ProjectScoreResponseDto.builder()
+                .id(score.getId())
+                .projectId(score.getProjectId())
+                .projectName(score.getProjectName())
+                .finalMilestoneId(score.getFinalMilestoneId())
+                .lecturerId(score.getLecturerId())
+                .lecturerName(score.getLecturerName())
+                .criteria1Score(score.getCriteria1Score())
+                .criteria2Score(score.getCriteria2Score())
+                .criteria3Score(score.getCriteria3Score())
+                .criteria4Score(score.getCriteria4Score())
+                .criteria5Score(score.getCriteria5Score())
+                .criteria6Score(score.getCriteria6Score())
+                .bonusScore1(score.getBonusScore1())
+                .bonusScore2(score.getBonusScore2())
+                .totalScore(score.getTotalScore())
+                .finalScore(score.getFinalScore())
+                .comment(score.getComment())
+                .scoreDate(score.getScoreDate() != null ? sdf.format(score.getScoreDate()) : null)
+                .build();
+    }
+
     private ProjectScoreResponseDto toResponseDto(ProjectScore score) {
         SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
         return ProjectScoreResponseDto.builder()
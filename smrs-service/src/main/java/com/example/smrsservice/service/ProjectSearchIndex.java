@@ -0,0 +1,362 @@
+package com.example.smrsservice.service;
+
+import com.example.smrsservice.repository.ProjectRepository;
+import com.example.smrsservice.repository.projection.ProjectSearchRow;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Index tìm kiếm project trong bộ nhớ (inverted index) trên name, description, type và tên major.
+ *
+ * Từ khoá được bỏ dấu tiếng Việt ("Hệ thống" = "he thong"), mỗi từ trong câu tìm kiếm khớp theo tiền tố
+ * ("robo" khớp "robotics") và project phải khớp tất cả các từ. Điểm = tổng theo từ của trọng số cột
+ * (name > type / major > description) nhân IDF, khớp tiền tố được nửa điểm so với khớp nguyên từ.
+ *
+ * Build trên thread nền khi ứng dụng khởi động; sau đó project tạo / sửa / xoá được cập nhật lại sau commit
+ * (ProjectSearchIndexListener). Khi chưa build xong các hàm tìm kiếm trả null để caller dùng LIKE như cũ.
+ */
+@Component
+@RequiredArgsConstructor
+public class ProjectSearchIndex {
+
+    private static final float NAME_WEIGHT = 3f;
+    private static final float TYPE_WEIGHT = 2f;
+    private static final float MAJOR_WEIGHT = 2f;
+    private static final float DESCRIPTION_WEIGHT = 1f;
+    private static final float PREFIX_MATCH_FACTOR = 0.5f;
+
+    private static final int BATCH_SIZE = 1000;
+
+    private static final char[] FOLDED = buildFoldTable();
+
+    private final ProjectRepository projectRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // term -> (projectId -> trọng số)
+    private TreeMap<String, Map<Integer, Float>> postings = new TreeMap<>();
+    // projectId -> (term -> trọng số), dùng khi cập nhật / xoá 1 project
+    private Map<Integer, Map<String, Float>> documents = new HashMap<>();
+    private volatile boolean ready;
+
+    // Mọi thay đổi index chạy tuần tự trên 1 thread: cập nhật đến trong lúc build sẽ chạy sau build
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "project-search-index");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Object pendingKey = new Object();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        worker.execute(this::rebuild);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        worker.shutdownNow();
+    }
+
+    /**
+     * Đọc toàn bộ project theo lô (keyset theo id) và thay index cũ
+     */
+    void rebuild() {
+        try {
+            long start = System.currentTimeMillis();
+            TreeMap<String, Map<Integer, Float>> newPostings = new TreeMap<>();
+            Map<Integer, Map<String, Float>> newDocuments = new HashMap<>();
+
+            int afterId = 0;
+            List<ProjectSearchRow> rows;
+            do {
+                rows = projectRepository.findSearchRowsAfter(afterId, PageRequest.ofSize(BATCH_SIZE));
+                for (ProjectSearchRow row : rows) {
+                    add(newPostings, newDocuments, row.getId(),
+                            terms(row.getName(), row.getDescription(), row.getType(), row.getMajorName()));
+                    afterId = row.getId();
+                }
+            } while (rows.size() == BATCH_SIZE);
+
+            lock.writeLock().lock();
+            try {
+                postings = newPostings;
+                documents = newDocuments;
+                ready = true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            System.out.println("✅ Project search index built: " + newDocuments.size() + " projects, "
+                    + newPostings.size() + " terms in " + (System.currentTimeMillis() - start) + " ms");
+        } catch (Exception e) {
+            System.err.println("❌ Failed to build project search index: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Gọi khi project thay đổi: nếu đang trong transaction thì gom id lại, commit xong mới đọc lại từ DB
+     * (rollback thì bỏ qua)
+     */
+    public void refreshAfterCommit(Integer projectId) {
+        if (projectId == null) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            refresh(List.of(projectId));
+            return;
+        }
+
+        @SuppressWarnings("unchecked")
+        Set<Integer> pending = (Set<Integer>) TransactionSynchronizationManager.getResource(pendingKey);
+        if (pending == null) {
+            Set<Integer> ids = new HashSet<>();
+            TransactionSynchronizationManager.bindResource(pendingKey, ids);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResource(pendingKey);
+                    if (status == STATUS_COMMITTED) {
+                        refresh(ids);
+                    }
+                }
+            });
+            pending = ids;
+        }
+        pending.add(projectId);
+    }
+
+    /**
+     * Đọc lại các project từ DB trên thread nền; id không còn trong DB thì bị xoá khỏi index
+     */
+    public void refresh(Collection<Integer> projectIds) {
+        List<Integer> ids = new ArrayList<>(projectIds);
+        worker.execute(() -> {
+            try {
+                reindex(ids);
+            } catch (Exception e) {
+                System.err.println("❌ Failed to refresh project search index: " + e.getMessage());
+            }
+        });
+    }
+
+    void reindex(List<Integer> projectIds) {
+        for (int from = 0; from < projectIds.size(); from += BATCH_SIZE) {
+            List<Integer> chunk = projectIds.subList(from, Math.min(from + BATCH_SIZE, projectIds.size()));
+            Set<Integer> missing = new HashSet<>(chunk);
+
+            for (ProjectSearchRow row : projectRepository.findSearchRowsByIdIn(chunk)) {
+                put(row.getId(), row.getName(), row.getDescription(), row.getType(), row.getMajorName());
+                missing.remove(row.getId());
+            }
+            missing.forEach(this::remove);
+        }
+    }
+
+    void put(Integer projectId, String name, String description, String type, String majorName) {
+        Map<String, Float> terms = terms(name, description, type, majorName);
+        lock.writeLock().lock();
+        try {
+            removeLocked(projectId);
+            add(postings, documents, projectId, terms);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(Integer projectId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(projectId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Id project khớp tất cả các từ, xếp theo điểm giảm dần (bằng điểm thì id mới hơn trước).
+     * null nếu index chưa sẵn sàng hoặc câu tìm kiếm không có từ nào.
+     */
+    public List<Integer> search(String text) {
+        Map<Integer, Float> scores = score(text);
+        if (scores == null) {
+            return null;
+        }
+        List<Integer> ids = new ArrayList<>(scores.keySet());
+        ids.sort(Comparator.<Integer, Float>comparing(scores::get).reversed()
+                .thenComparing(Comparator.reverseOrder()));
+        return ids;
+    }
+
+    /**
+     * Giống search nhưng không cần thứ tự (dùng làm filter)
+     */
+    public Set<Integer> matchingIds(String text) {
+        Map<Integer, Float> scores = score(text);
+        return scores == null ? null : scores.keySet();
+    }
+
+    private Map<Integer, Float> score(String text) {
+        if (!ready) {
+            return null;
+        }
+        Set<String> tokens = new LinkedHashSet<>(tokenize(text));
+        if (tokens.isEmpty()) {
+            return null;
+        }
+
+        lock.readLock().lock();
+        try {
+            List<Map<Integer, Float>> perToken = new ArrayList<>();
+            for (String token : tokens) {
+                Map<Integer, Float> matches = matchToken(token);
+                if (matches.isEmpty()) {
+                    return new HashMap<>();
+                }
+                perToken.add(matches);
+            }
+
+            // Giao từ tập nhỏ nhất trước
+            perToken.sort(Comparator.comparingInt(Map::size));
+            Map<Integer, Float> result = new HashMap<>(perToken.get(0));
+            for (int i = 1; i < perToken.size() && !result.isEmpty(); i++) {
+                Map<Integer, Float> next = perToken.get(i);
+                result.keySet().retainAll(next.keySet());
+                result.replaceAll((id, score) -> score + next.get(id));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Tất cả term bắt đầu bằng token; mỗi project lấy điểm cao nhất trong các term khớp
+     */
+    private Map<Integer, Float> matchToken(String token) {
+        Map<Integer, Float> matches = new HashMap<>();
+        double totalDocuments = documents.size();
+
+        for (Map.Entry<String, Map<Integer, Float>> entry
+                : postings.subMap(token, true, token + Character.MAX_VALUE, false).entrySet()) {
+            Map<Integer, Float> docs = entry.getValue();
+            float idf = (float) Math.log(1 + totalDocuments / docs.size());
+            float factor = entry.getKey().length() == token.length() ? 1f : PREFIX_MATCH_FACTOR;
+
+            for (Map.Entry<Integer, Float> doc : docs.entrySet()) {
+                matches.merge(doc.getKey(), doc.getValue() * idf * factor, Math::max);
+            }
+        }
+        return matches;
+    }
+
+    private void removeLocked(Integer projectId) {
+        Map<String, Float> old = documents.remove(projectId);
+        if (old == null) {
+            return;
+        }
+        for (String term : old.keySet()) {
+            Map<Integer, Float> docs = postings.get(term);
+            if (docs != null) {
+                docs.remove(projectId);
+                if (docs.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+
+    private static void add(Map<String, Map<Integer, Float>> postings,
+                            Map<Integer, Map<String, Float>> documents,
+                            Integer projectId,
+                            Map<String, Float> terms) {
+        documents.put(projectId, terms);
+        terms.forEach((term, weight) ->
+                postings.computeIfAbsent(term, t -> new HashMap<>()).put(projectId, weight));
+    }
+
+    /**
+     * Trọng số mỗi term của 1 project: cộng trọng số cột cho mỗi lần xuất hiện, rồi lấy 1 + ln(tổng)
+     * để mô tả dài lặp nhiều lần không lấn át tên project
+     */
+    private static Map<String, Float> terms(String name, String description, String type, String majorName) {
+        Map<String, Float> raw = new HashMap<>();
+        addField(raw, name, NAME_WEIGHT);
+        addField(raw, type, TYPE_WEIGHT);
+        addField(raw, majorName, MAJOR_WEIGHT);
+        addField(raw, description, DESCRIPTION_WEIGHT);
+        raw.replaceAll((term, sum) -> (float) (1 + Math.log(sum)));
+        return raw;
+    }
+
+    private static void addField(Map<String, Float> raw, String text, float weight) {
+        for (String token : tokenize(text)) {
+            raw.merge(token, weight, Float::sum);
+        }
+    }
+
+    /**
+     * Chữ thường, bỏ dấu (kể cả đ -> d), tách theo ký tự không phải chữ / số
+     */
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        List<String> tokens = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                current.append(c < FOLDED.length ? FOLDED[c] : Character.toLowerCase(c));
+            } else if (!isCombiningMark(c) && current.length() > 0) {
+                tokens.add(current.toString());
+                current.setLength(0);
+            }
+        }
+        if (current.length() > 0) {
+            tokens.add(current.toString());
+        }
+        return tokens;
+    }
+
+    private static boolean isCombiningMark(char c) {
+        int type = Character.getType(c);
+        return type == Character.NON_SPACING_MARK
+                || type == Character.COMBINING_SPACING_MARK
+                || type == Character.ENCLOSING_MARK;
+    }
+
+    /**
+     * Bảng bỏ dấu + chữ thường cho các ký tự Latin (gồm cả khối tiếng Việt U+1EA0..U+1EF9),
+     * tính 1 lần bằng Normalizer thay vì normalize cả chuỗi cho mỗi project
+     */
+    private static char[] buildFoldTable() {
+        char[] table = new char[0x2000];
+        for (int c = 0; c < table.length; c++) {
+            char base = Normalizer.normalize(String.valueOf((char) c), Normalizer.Form.NFD).charAt(0);
+            table[c] = base == 'đ' || base == 'Đ' ? 'd' : Character.toLowerCase(base);
+        }
+        return table;
+    }
+}
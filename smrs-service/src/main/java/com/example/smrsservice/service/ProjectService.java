@@ -2,16 +2,26 @@ package com.example.smrsservice.service;
 
 import com.example.smrsservice.common.ProjectStatus;
 import com.example.smrsservice.common.RejectType;
+import com.example.smrsservice.dto.account.PageResponse;
 import com.example.smrsservice.dto.common.ResponseDto;
 import com.example.smrsservice.dto.project.*;
 import com.example.smrsservice.dto.score.ProjectScoreResponseDto;
 import com.example.smrsservice.entity.*;
 import com.example.smrsservice.repository.*;
+import com.example.smrsservice.repository.projection.CouncilMemberCount;
+import com.example.smrsservice.repository.projection.LecturerScoreRef;
+import com.example.smrsservice.repository.projection.MilestoneScoreSummary;
+import com.example.smrsservice.repository.projection.ProjectMemberSummary;
+import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
 import lombok.RequiredArgsConstructor;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
 import org.apache.poi.ss.usermodel.*;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -24,6 +34,7 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
 
+import java.io.File;
 import java.io.InputStream;
 import java.text.SimpleDateFormat;
 import java.time.Instant;
@@ -47,6 +58,9 @@ public class ProjectService {
     private final ProjectCouncilRepository projectCouncilRepository;
     private final MilestoneRepository milestoneRepository;
     private final PlagiarismResultRepository plagiarismResultRepository;
+    private final ProjectFileRepository projectFileRepository;
+    private final ProjectImageRepository projectImageRepository;
+    private final ProjectSearchIndex projectSearchIndex;
 
 
     private static final int MAX_STUDENTS_PER_PROJECT = 5;
@@ -131,7 +145,46 @@ public class ProjectService {
             }
         }
 
-        return result.map(this::toResponse);
+        return toResponsePage(result);
+    }
+
+    /**
+     * Giống getAllProjects nhưng phân trang bằng cursor (keyset theo sortBy + id), không OFFSET.
+     * cursor = nextCursor của trang trước, bỏ trống để lấy trang đầu; chỉ đếm tổng khi withCount = true
+     */
+    public PageResponse<ProjectResponse> getProjectsByCursor(
+            String cursor,
+            Integer size,
+            boolean withCount,
+            String sortBy,
+            String sortDir,
+            String name,
+            ProjectStatus status,
+            Integer ownerId,
+            Integer majorId,
+            Boolean isMine,
+            Authentication authentication) {
+
+        // giá trị cột sort của dòng cuối nằm trong cursor: chỉ cột ngắn, không sort theo description (TEXT)
+        Set<String> allowed = Set.of("id", "name", "type", "dueDate", "createDate");
+        String by = allowed.contains(sortBy) ? sortBy : "createDate";
+        Sort.Direction direction = "asc".equalsIgnoreCase(sortDir) ? Sort.Direction.ASC : Sort.Direction.DESC;
+
+        Specification<Project> spec;
+
+        if (Boolean.TRUE.equals(isMine)) {
+            Account currentUser = currentAccount(authentication);
+            Set<Integer> projectIds = getMyProjectIds(currentUser.getId());
+
+            if (projectIds.isEmpty()) {
+                return KeysetCursor.empty(size);
+            }
+            spec = buildMyProjectsSpecification(projectIds, name, status);
+        } else {
+            spec = buildSpecification(name, status, ownerId, majorId);
+        }
+
+        return KeysetCursor.page(projectRepository, spec, by, direction, cursor, size, withCount, this::toResponses);
     }
 
     private Set<Integer> getMyProjectIds(Integer userId) {
@@ -157,18 +210,15 @@ public class ProjectService {
             Set<Integer> projectIds,
             String name,
             ProjectStatus status) {
+        Set<Integer> matchedIds = StringUtils.hasText(name) ? indexedMatches(name) : null;
+
         return (root, query, criteriaBuilder) -> {
             List<Predicate> predicates = new ArrayList<>();
 
             predicates.add(root.get("id").in(projectIds));
 
             if (StringUtils.hasText(name)) {
-                predicates.add(
-                        criteriaBuilder.like(
-                                criteriaBuilder.lower(root.get("name")),
-                                "%" + name.toLowerCase() + "%"
-                        )
-                );
+                predicates.add(textMatches(root, criteriaBuilder, name, matchedIds));
             }
 
             if (status != null) {
@@ -186,16 +236,13 @@ public class ProjectService {
             ProjectStatus status,
             Integer ownerId, Integer majorId
     ) {
+        Set<Integer> matchedIds = StringUtils.hasText(name) ? indexedMatches(name) : null;
+
         return (root, query, criteriaBuilder) -> {
             List<Predicate> predicates = new ArrayList<>();
 
             if (StringUtils.hasText(name)) {
-                predicates.add(
-                        criteriaBuilder.like(
-                                criteriaBuilder.lower(root.get("name")),
-                                "%" + name.toLowerCase() + "%"
-                        )
-                );
+                predicates.add(textMatches(root, criteriaBuilder, name, matchedIds));
             }
 
             if (status != null) {
@@ -219,6 +266,30 @@ public class ProjectService {
         };
     }
 
+    /**
+     * Id khớp từ khoá theo index tìm kiếm (cùng ngữ nghĩa với searchProjects: bỏ dấu, khớp tiền tố từng từ
+     * trên name / description / type / major). null nếu index chưa build xong hoặc từ khoá không có chữ / số
+     */
+    private Set<Integer> indexedMatches(String text) {
+        return projectSearchIndex.matchingIds(text);
+    }
+
+    /**
+     * Có kết quả từ index thì luôn lọc theo id, kể cả khi rất nhiều id: IN trên khoá chính
+     * (MySQL sắp xếp danh sách rồi tìm nhị phân) không đổi kết quả theo số lượng khớp.
+     * LIKE chỉ dùng khi indexedMatches trả null, trên name / description như các cột index chứa chữ
+     */
+    private Predicate textMatches(Root<Project> root, CriteriaBuilder criteriaBuilder, String text, Set<Integer> matchedIds) {
+        if (matchedIds == null) {
+            String pattern = "%" + text.toLowerCase() + "%";
+            return criteriaBuilder.or(
+                    criteriaBuilder.like(criteriaBuilder.lower(root.get("name")), pattern),
+                    criteriaBuilder.like(criteriaBuilder.lower(root.get("description")), pattern)
+            );
+        }
+        return matchedIds.isEmpty() ? criteriaBuilder.disjunction() : root.get("id").in(matchedIds);
+    }
+
     @Transactional
     public ResponseDto<ProjectResponse> createProject(ProjectCreateDto dto, Authentication authentication) {
         try {
@@ -416,15 +487,32 @@ public class ProjectService {
         String n = (name != null) ? name.trim() : null;
         String d = (description != null) ? description.trim() : null;
 
+        boolean hasName = StringUtils.hasText(n);
+        boolean hasDesc = StringUtils.hasText(d);
+        boolean byRelevance = sortBy == null || "relevance".equalsIgnoreCase(sortBy);
+
+        String by = byRelevance ? "id" : sortBy;
         Sort sort = ("desc".equalsIgnoreCase(sortDir))
-                ? Sort.by(sortBy == null ? "id" : sortBy).descending()
-                : Sort.by(sortBy == null ? "id" : sortBy).ascending();
+                ? Sort.by(by).descending()
+                : Sort.by(by).ascending();
 
         Pageable pageable = PageRequest.of(Math.max(page, 0), Math.max(size, 1), sort);
 
+        // ⭐ Có từ khoá: lấy id đã xếp hạng từ index tìm kiếm thay vì LIKE '%...%'
+        // (LIKE bên dưới chỉ còn cho lúc index chưa build xong / từ khoá không có chữ, số)
+        if (hasName || hasDesc) {
+            List<Integer> ranked = rankedIds(hasName ? n : null, hasDesc ? d : null);
+            if (ranked != null && byRelevance) {
+                return relevancePage(ranked, pageable);
+            }
+            if (ranked != null) {
+                Specification<Project> matched = (root, query, cb) ->
+                        ranked.isEmpty() ? cb.disjunction() : root.get("id").in(ranked);
+                return toResponsePage(projectRepository.findAll(matched, pageable));
+            }
+        }
+
         Page<Project> result;
-        boolean hasName = StringUtils.hasText(n);
-        boolean hasDesc = StringUtils.hasText(d);
 
         if (!hasName && !hasDesc) {
             result = projectRepository.findAll(pageable);
@@ -437,11 +525,142 @@ public class ProjectService {
             result = projectRepository.findByDescriptionContainingIgnoreCase(d, pageable);
         }
 
-        return result.map(this::toResponse);
+        return toResponsePage(result);
+    }
+
+    /**
+     * Giữ ngữ nghĩa OR của name / description: kết quả của name trước, rồi description.
+     * null nếu index chưa sẵn sàng
+     */
+    private List<Integer> rankedIds(String name, String description) {
+        if (name == null || description == null || name.equalsIgnoreCase(description)) {
+            return projectSearchIndex.search(name != null ? name : description);
+        }
+        List<Integer> byName = projectSearchIndex.search(name);
+        List<Integer> byDescription = projectSearchIndex.search(description);
+        if (byName == null || byDescription == null) {
+            return null;
+        }
+        Set<Integer> merged = new LinkedHashSet<>(byName);
+        merged.addAll(byDescription);
+        return new ArrayList<>(merged);
+    }
+
+    /**
+     * Cắt 1 trang từ danh sách id đã xếp hạng rồi load project theo id, giữ nguyên thứ tự
+     */
+    private Page<ProjectResponse> relevancePage(List<Integer> ranked, Pageable pageable) {
+        int from = (int) Math.min(pageable.getOffset(), ranked.size());
+        List<Integer> pageIds = ranked.subList(from, Math.min(from + pageable.getPageSize(), ranked.size()));
+
+        Map<Integer, Project> byId = projectRepository.findAllById(pageIds).stream()
+                .collect(Collectors.toMap(Project::getId, p -> p));
+        List<Project> ordered = pageIds.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+
+        return new PageImpl<>(toResponses(ordered), PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()),
+                ranked.size());
     }
 
     private ProjectResponse toResponse(Project p) {
-        List<ProjectMember> allMembers = projectMemberRepository.findByProjectId(p.getId());
+        return toResponses(List.of(p)).get(0);
+    }
+
+    private Page<ProjectResponse> toResponsePage(Page<Project> page) {
+        return new PageImpl<>(toResponses(page.getContent()), page.getPageable(), page.getTotalElements());
+    }
+
+    /**
+     * Build ProjectResponse cho cả 1 page: members, owners, majors, files, images,
+     * final milestone và trạng thái chấm điểm được load theo danh sách id
+     * (số query cố định, không phụ thuộc số project trong page)
+     */
+    private List<ProjectResponse> toResponses(List<Project> projects) {
+        if (projects.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        List<Integer> projectIds = projects.stream()
+                .map(Project::getId)
+                .collect(Collectors.toList());
+
+        Map<Integer, List<ProjectMember>> membersByProject = projectMemberRepository
+                .findByProjectIdIn(projectIds).stream()
+                .collect(Collectors.groupingBy(pm -> pm.getProject().getId()));
+
+        Map<Integer, List<ProjectFile>> filesByProject = projectFileRepository
+                .findByProjectIdIn(projectIds).stream()
+                .collect(Collectors.groupingBy(f -> f.getProject().getId()));
+
+        Map<Integer, List<ProjectImage>> imagesByProject = projectImageRepository
+                .findByProjectIdIn(projectIds).stream()
+                .collect(Collectors.groupingBy(i -> i.getProject().getId()));
+
+        Set<Integer> withFinalReport = new HashSet<>(
+                milestoneRepository.findProjectIdsWithFinalMilestone(projectIds));
+
+        // Chỉ project IN_REVIEW mới cần biết đã có điểm hay chưa (xem calculateDisplayStatus)
+        List<Integer> inReviewIds = projects.stream()
+                .filter(p -> p.getStatus() == ProjectStatus.IN_REVIEW)
+                .map(Project::getId)
+                .collect(Collectors.toList());
+        Set<Integer> scoredIds = inReviewIds.isEmpty()
+                ? Collections.emptySet()
+                : new HashSet<>(projectScoreRepository.findScoredProjectIds(inReviewIds));
+
+        // owner và major là LAZY → getId() không kích hoạt load, chỉ load theo lô bên dưới
+        Set<Integer> ownerIds = projects.stream()
+                .filter(p -> p.getOwner() != null)
+                .map(p -> p.getOwner().getId())
+                .collect(Collectors.toSet());
+        Map<Integer, Account> ownersById = ownerIds.isEmpty()
+                ? Collections.emptyMap()
+                : accountRepository.findWithRoleByIdIn(ownerIds).stream()
+                .collect(Collectors.toMap(Account::getId, a -> a));
+
+        Set<Integer> majorIds = projects.stream()
+                .filter(p -> p.getMajor() != null)
+                .map(p -> p.getMajor().getId())
+                .collect(Collectors.toSet());
+        Map<Integer, Major> majorsById = majorIds.isEmpty()
+                ? Collections.emptyMap()
+                : majorRepository.findAllById(majorIds).stream()
+                .collect(Collectors.toMap(Major::getId, m -> m));
+
+        List<ProjectResponse> responses = new ArrayList<>(projects.size());
+        for (Project p : projects) {
+            Account owner = p.getOwner() != null ? ownersById.get(p.getOwner().getId()) : null;
+            Major major = p.getMajor() != null ? majorsById.get(p.getMajor().getId()) : null;
+
+            ProjectStatus displayStatus = (p.getStatus() == ProjectStatus.IN_REVIEW && scoredIds.contains(p.getId()))
+                    ? ProjectStatus.SCORED
+                    : p.getStatus();
+
+            responses.add(buildResponse(
+                    p,
+                    owner,
+                    major,
+                    membersByProject.getOrDefault(p.getId(), Collections.emptyList()),
+                    filesByProject.getOrDefault(p.getId(), Collections.emptyList()),
+                    imagesByProject.getOrDefault(p.getId(), Collections.emptyList()),
+                    withFinalReport.contains(p.getId()),
+                    displayStatus
+            ));
+        }
+        return responses;
+    }
+
+    private ProjectResponse buildResponse(
+            Project p,
+            Account owner,
+            Major major,
+            List<ProjectMember> allMembers,
+            List<ProjectFile> projectFiles,
+            List<ProjectImage> projectImages,
+            boolean hasFinalReport,
+            ProjectStatus displayStatus) {
 
         Optional<ProjectMember> lecturerMember = allMembers.stream()
                 .filter(pm -> "LECTURER".equalsIgnoreCase(pm.getMemberRole()))
@@ -470,22 +689,18 @@ public class ProjectService {
                         .build())
                 .collect(Collectors.toList());
 
-        List<ProjectResponse.FileInfo> files = (p.getFiles() != null)
-                ? p.getFiles().stream()
+        List<ProjectResponse.FileInfo> files = projectFiles.stream()
                 .map(f -> ProjectResponse.FileInfo.builder()
                         .id(f.getId())
                         .fileName(f.getFilePath())
                         .fileUrl(f.getFilePath())
                         .fileType(f.getType())
                         .build())
-                .collect(Collectors.toList())
-                : new ArrayList<>();
+                .collect(Collectors.toList());
 
-        List<String> images = (p.getImages() != null)
-                ? p.getImages().stream()
+        List<String> images = projectImages.stream()
                 .map(ProjectImage::getUrl)
-                .collect(Collectors.toList())
-                : new ArrayList<>();
+                .collect(Collectors.toList());
 
         Instant dueDate = (p.getDueDate() != null)
                 ? p.getDueDate().toInstant()
@@ -495,26 +710,20 @@ public class ProjectService {
                 ? p.getCreateDate().toInstant()
                 : null;
 
-        // ✅ SỬA TẠI ĐÂY - THÊM true
-        boolean hasFinalReport = milestoneRepository
-                .findFirstByProjectIdAndIsFinalOrderByIdDesc(p.getId(), true)
-                .isPresent();
-
         Integer ownerId = null;
         String ownerName = null;
         String ownerEmail = null;
         String ownerRole = null;
 
-        if (p.getOwner() != null) {
-            ownerId = p.getOwner().getId();
-            ownerName = p.getOwner().getName();
-            ownerEmail = p.getOwner().getEmail();
-            ownerRole = (p.getOwner().getRole() != null)
-                    ? p.getOwner().getRole().getRoleName()
+        if (owner != null) {
+            ownerId = owner.getId();
+            ownerName = owner.getName();
+            ownerEmail = owner.getEmail();
+            ownerRole = (owner.getRole() != null)
+                    ? owner.getRole().getRoleName()
                     : null;
         }
 
-        ProjectStatus displayStatus = calculateDisplayStatus(p);
         return ProjectResponse.builder()
                 .id(p.getId())
                 .name(p.getName())
@@ -528,8 +737,8 @@ public class ProjectService {
                 .ownerRole(ownerRole)
 
                 .status(displayStatus)
-                .majorId(p.getMajor() != null ? p.getMajor().getId() : null)
-                .majorName(p.getMajor() != null ? p.getMajor().getName() : null)
+                .majorId(major != null ? major.getId() : null)
+                .majorName(major != null ? major.getName() : null)
                 .createdAt(createdAt)
 
                 .files(files)
@@ -678,6 +887,11 @@ public class ProjectService {
         }
     }
 
+    /**
+     * Inbox chấm điểm của giảng viên: mọi dữ liệu được load theo danh sách council/project/milestone
+     * (số query cố định, tỉ lệ với số project được phân cho council của giảng viên)
+     */
+    @Transactional(readOnly = true)
     public ResponseDto<List<ProjectReviewDto>> getProjectsToReview(Authentication authentication) {
         try {
             Account lecturer = getCurrentAccount(authentication);
@@ -686,73 +900,70 @@ public class ProjectService {
                 return ResponseDto.fail("Only lecturers can access this endpoint");
             }
 
-            List<CouncilMember> councilMembers = councilMemberRepository.findByLecturerId(lecturer.getId());
+            List<Integer> councilIds = councilMemberRepository.findCouncilIdsByLecturerId(lecturer.getId());
 
-            if (councilMembers.isEmpty()) {
+            if (councilIds.isEmpty()) {
                 return ResponseDto.success(new ArrayList<>(), "You are not assigned to any council");
             }
 
-            List<Integer> councilIds = councilMembers.stream()
-                    .map(cm -> cm.getCouncil().getId())
-                    .collect(Collectors.toList());
-
-            List<ProjectCouncil> projectCouncils = projectCouncilRepository.findAll().stream()
-                    .filter(pc -> councilIds.contains(pc.getCouncil().getId()))
-                    .collect(Collectors.toList());
+            List<ProjectCouncil> projectCouncils = projectCouncilRepository.findByCouncilIdInWithProject(councilIds);
 
             if (projectCouncils.isEmpty()) {
                 return ResponseDto.success(new ArrayList<>(), "No projects assigned to your councils");
             }
 
-            List<ProjectReviewDto> result = new ArrayList<>();
-            SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
-
-            for (ProjectCouncil pc : projectCouncils) {
-                Project project = pc.getProject();
-                Council council = pc.getCouncil();
+            Set<Integer> projectIds = projectCouncils.stream()
+                    .map(pc -> pc.getProject().getId())
+                    .collect(Collectors.toSet());
 
-                // ✅ SỬA TẠI ĐÂY - THÊM true
-                Optional<Milestone> finalMilestoneOpt =
-                        milestoneRepository.findFirstByProjectIdAndIsFinalOrderByIdDesc(project.getId(), true);
+            Map<Integer, Milestone> finalMilestoneByProject = milestoneRepository
+                    .findLatestFinalByProjectIdIn(projectIds).stream()
+                    .collect(Collectors.toMap(m -> m.getProject().getId(), m -> m, (a, b) -> a));
 
-                if (!finalMilestoneOpt.isPresent()) {
-                    continue;
-                }
+            if (finalMilestoneByProject.isEmpty()) {
+                return ResponseDto.success(new ArrayList<>(), "Found 0 projects to review");
+            }
 
-                Milestone finalMilestone = finalMilestoneOpt.get();
+            Set<Integer> milestoneIds = finalMilestoneByProject.values().stream()
+                    .map(Milestone::getId)
+                    .collect(Collectors.toSet());
 
-                List<ProjectScore> myScores = projectScoreRepository
-                        .findByFinalMilestoneId(finalMilestone.getId()).stream()
-                        .filter(score -> score.getLecturer().getId().equals(lecturer.getId()))
-                        .collect(Collectors.toList());
+            Map<Integer, MilestoneScoreSummary> scoreSummaryByMilestone = projectScoreRepository
+                    .summarizeByFinalMilestoneIds(milestoneIds).stream()
+                    .collect(Collectors.toMap(MilestoneScoreSummary::getMilestoneId, s -> s));
 
-                ProjectScore myScore = myScores.isEmpty() ? null : myScores.get(0);
+            Map<Integer, LecturerScoreRef> myScoreByMilestone = projectScoreRepository
+                    .findLecturerScoresByFinalMilestoneIds(lecturer.getId(), milestoneIds).stream()
+                    .collect(Collectors.toMap(LecturerScoreRef::getMilestoneId, s -> s, (a, b) -> a));
 
-                Double avgScore =
-                        projectScoreRepository.getAverageScoreByFinalReportId(finalMilestone.getId());
+            Map<Integer, Long> memberCountByCouncil = councilMemberRepository
+                    .countMembersByCouncilIds(councilIds).stream()
+                    .collect(Collectors.toMap(CouncilMemberCount::getCouncilId, CouncilMemberCount::getMemberCount));
 
-                List<ProjectScore> allScores =
-                        projectScoreRepository.findByFinalMilestoneId(finalMilestone.getId());
+            Map<Integer, ProjectMemberSummary> memberSummaryByProject = projectMemberRepository
+                    .summarizeByProjectIds(finalMilestoneByProject.keySet()).stream()
+                    .collect(Collectors.toMap(ProjectMemberSummary::getProjectId, s -> s));
 
-                List<CouncilMember> councilMembersList =
-                        councilMemberRepository.findByCouncilId(council.getId());
+            Set<String> checkedScanIds = new HashSet<>(plagiarismResultRepository.findExistingScanIds(
+                    milestoneIds.stream().map(String::valueOf).collect(Collectors.toList())));
 
-                List<ProjectMember> projectMembers =
-                        projectMemberRepository.findByProjectId(project.getId());
+            List<ProjectReviewDto> result = new ArrayList<>();
+            SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
 
-                long totalStudents = projectMembers.stream()
-                        .filter(pm -> "STUDENT".equalsIgnoreCase(pm.getMemberRole()))
-                        .count();
+            for (ProjectCouncil pc : projectCouncils) {
+                Project project = pc.getProject();
+                Council council = pc.getCouncil();
 
-                boolean hasLecturer = projectMembers.stream()
-                        .anyMatch(pm -> "LECTURER".equalsIgnoreCase(pm.getMemberRole())
-                                && "Approved".equals(pm.getStatus()));
+                Milestone finalMilestone = finalMilestoneByProject.get(project.getId());
+                if (finalMilestone == null) {
+                    continue;
+                }
 
+                LecturerScoreRef myScore = myScoreByMilestone.get(finalMilestone.getId());
+                MilestoneScoreSummary scoreSummary = scoreSummaryByMilestone.get(finalMilestone.getId());
+                ProjectMemberSummary memberSummary = memberSummaryByProject.get(project.getId());
+                Account owner = project.getOwner();
 
-                boolean isCheck =
-                        plagiarismResultRepository
-                                .findByScanId(finalMilestone.getId().toString())
-                                .isPresent();
                 ProjectReviewDto dto = ProjectReviewDto.builder()
                         .projectId(project.getId())
                         .projectName(project.getName())
@@ -779,23 +990,25 @@ public class ProjectService {
                         .councilDepartment(council.getDepartment())
 
                         .hasScored(myScore != null)
-                        .myScoreId(myScore != null ? myScore.getId() : null)
+                        .myScoreId(myScore != null ? myScore.getScoreId() : null)
                         .myFinalScore(myScore != null ? myScore.getFinalScore() : null)
-                        .currentAverage(avgScore != null ? avgScore : 0.0)
-                        .totalScores(allScores.size())
-                        .totalCouncilMembers(councilMembersList.size())
-
-                        .ownerId(project.getOwner().getId())
-                        .ownerName(project.getOwner().getName())
-                        .ownerEmail(project.getOwner().getEmail())
-                        .ownerRole(project.getOwner().getRole() != null
-                                ? project.getOwner().getRole().getRoleName()
+                        .currentAverage(scoreSummary != null && scoreSummary.getAverageScore() != null
+                                ? scoreSummary.getAverageScore()
+                                : 0.0)
+                        .totalScores(scoreSummary != null ? scoreSummary.getTotalScores().intValue() : 0)
+                        .totalCouncilMembers(memberCountByCouncil.getOrDefault(council.getId(), 0L).intValue())
+
+                        .ownerId(owner != null ? owner.getId() : null)
+                        .ownerName(owner != null ? owner.getName() : null)
+                        .ownerEmail(owner != null ? owner.getEmail() : null)
+                        .ownerRole(owner != null && owner.getRole() != null
+                                ? owner.getRole().getRoleName()
                                 : null)
 
-                        .totalMembers(projectMembers.size())
-                        .totalStudents((int) totalStudents)
-                        .hasLecturer(hasLecturer)
-                        .isCheck(isCheck)
+                        .totalMembers(memberSummary != null ? memberSummary.getTotalMembers().intValue() : 0)
+                        .totalStudents(memberSummary != null ? memberSummary.getTotalStudents().intValue() : 0)
+                        .hasLecturer(memberSummary != null && memberSummary.getApprovedLecturers() > 0)
+                        .isCheck(checkedScanIds.contains(finalMilestone.getId().toString()))
                         .build();
 
                 result.add(dto);
@@ -940,101 +1153,123 @@ public class ProjectService {
     @Transactional
     public ResponseDto<List<ProjectImportDto>> importProjectsFromExcel(
             MultipartFile file, Authentication authentication) {
-        List<Project> projects = new ArrayList<>();
-
         try (InputStream is = file.getInputStream();
              Workbook workbook = new XSSFWorkbook(is)) {
+            return importProjects(workbook, currentAccount(authentication), ImportProgressListener.NONE);
+        } catch (Exception e) {
+            e.printStackTrace();
+            return ResponseDto.fail("Lỗi khi đọc file Excel: " + e.getMessage());
+        }
+    }
 
-            Sheet sheet = workbook.getSheetAt(0);
-            Iterator<Row> rows = sheet.iterator();
-
-            Account currentUser = currentAccount(authentication);
-
-            String roleName = currentUser.getRole() != null
-                    ? currentUser.getRole().getRoleName()
-                    : "";
-            boolean isAdminOrDean = "ADMIN".equalsIgnoreCase(roleName)
-                    || "DEAN".equalsIgnoreCase(roleName);
+    /**
+     * Import từ file đã lưu trên đĩa (import job chạy nền), báo tiến độ qua listener.
+     */
+    public ResponseDto<List<ProjectImportDto>> importProjectsFromExcel(
+            File file, Account currentUser, ImportProgressListener progress) {
+        try (Workbook workbook = new XSSFWorkbook(OPCPackage.open(file, PackageAccess.READ))) {
+            return importProjects(workbook, currentUser, progress);
+        } catch (Exception e) {
+            e.printStackTrace();
+            return ResponseDto.fail("Lỗi khi đọc file Excel: " + e.getMessage());
+        }
+    }
 
-            Map<String, Integer> headerMap = new HashMap<>();
-            if (rows.hasNext()) {
-                Row headerRow = rows.next();
-                for (Cell cell : headerRow) {
-                    String columnName = cell.getStringCellValue().trim().toLowerCase();
-                    headerMap.put(columnName, cell.getColumnIndex());
-                }
-            }
+    private ResponseDto<List<ProjectImportDto>> importProjects(
+            Workbook workbook, Account currentUser, ImportProgressListener progress) {
+        List<Project> projects = new ArrayList<>();
 
-            if (!headerMap.containsKey("name")) {
-                return ResponseDto.fail("Missing required column: name");
+        Sheet sheet = workbook.getSheetAt(0);
+        Iterator<Row> rows = sheet.iterator();
+
+        String roleName = currentUser.getRole() != null
+                ? currentUser.getRole().getRoleName()
+                : "";
+        boolean isAdminOrDean = "ADMIN".equalsIgnoreCase(roleName)
+                || "DEAN".equalsIgnoreCase(roleName);
+
+        Map<String, Integer> headerMap = new HashMap<>();
+        if (rows.hasNext()) {
+            Row headerRow = rows.next();
+            for (Cell cell : headerRow) {
+                String columnName = cell.getStringCellValue().trim().toLowerCase();
+                headerMap.put(columnName, cell.getColumnIndex());
             }
+        }
 
-            while (rows.hasNext()) {
-                Row row = rows.next();
-
-                String name = getCellValue(row.getCell(headerMap.get("name")));
-                if (name == null || name.isBlank()) continue;
+        if (!headerMap.containsKey("name")) {
+            return ResponseDto.fail("Missing required column: name");
+        }
 
-                Project project = new Project();
-                project.setName(name);
-                project.setCreateDate(new Date());
+        int rowsRead = 0;
+        while (rows.hasNext()) {
+            Row row = rows.next();
+            progress.rowsRead(++rowsRead);
 
-                if (isAdminOrDean) {
-                    project.setOwner(null);
-                    project.setStatus(ProjectStatus.ARCHIVED);
-                    System.out.println("✅ ADMIN/DEAN imported project: " + name + " (ARCHIVED, no owner)");
-                } else {
-                    project.setOwner(currentUser);
-                    project.setStatus(ProjectStatus.PENDING);
-                    System.out.println("✅ " + roleName + " imported project: " + name + " (PENDING, owner: " + currentUser.getEmail() + ")");
+            String name = getCellValue(row.getCell(headerMap.get("name")));
+            if (name == null || name.isBlank()) {
+                if (!isBlankRow(row)) {
+                    progress.rowFailed(row.getRowNum() + 1, "", "Missing name");
                 }
+                continue;
+            }
 
-                if (headerMap.containsKey("description")) {
-                    project.setDescription(getCellValue(row.getCell(headerMap.get("description"))));
-                }
+            Project project = new Project();
+            project.setName(name);
+            project.setCreateDate(new Date());
 
-                if (headerMap.containsKey("type")) {
-                    project.setType(getCellValue(row.getCell(headerMap.get("type"))));
-                }
+            if (isAdminOrDean) {
+                project.setOwner(null);
+                project.setStatus(ProjectStatus.ARCHIVED);
+                System.out.println("✅ ADMIN/DEAN imported project: " + name + " (ARCHIVED, no owner)");
+            } else {
+                project.setOwner(currentUser);
+                project.setStatus(ProjectStatus.PENDING);
+                System.out.println("✅ " + roleName + " imported project: " + name + " (PENDING, owner: " + currentUser.getEmail() + ")");
+            }
 
-                if (headerMap.containsKey("duedate")) {
-                    project.setDueDate(parseDueDate(row.getCell(headerMap.get("duedate"))));
-                }
+            if (headerMap.containsKey("description")) {
+                project.setDescription(getCellValue(row.getCell(headerMap.get("description"))));
+            }
 
-                if (headerMap.containsKey("major")) {
-                    String majorName = getCellValue(row.getCell(headerMap.get("major")));
-                    if (!majorName.isEmpty()) {
-                        majorRepository.findByName(majorName).ifPresent(project::setMajor);
-                    }
-                }
+            if (headerMap.containsKey("type")) {
+                project.setType(getCellValue(row.getCell(headerMap.get("type"))));
+            }
 
-                if (!isAdminOrDean && headerMap.containsKey("status")) {
-                    project.setStatus(parseStatus(row.getCell(headerMap.get("status"))));
-                }
+            if (headerMap.containsKey("duedate")) {
+                project.setDueDate(parseDueDate(row.getCell(headerMap.get("duedate"))));
+            }
 
-                projects.add(project);
+            if (headerMap.containsKey("major")) {
+                String majorName = getCellValue(row.getCell(headerMap.get("major")));
+                if (!majorName.isEmpty()) {
+                    majorRepository.findByName(majorName).ifPresent(project::setMajor);
+                }
             }
 
-            if (projects.isEmpty()) {
-                return ResponseDto.fail("No valid projects found in file");
+            if (!isAdminOrDean && headerMap.containsKey("status")) {
+                project.setStatus(parseStatus(row.getCell(headerMap.get("status"))));
             }
 
-            projectRepository.saveAll(projects);
+            projects.add(project);
+        }
 
-            List<ProjectImportDto> result = projects.stream()
-                    .map(this::toImportDto)
-                    .toList();
+        if (projects.isEmpty()) {
+            return ResponseDto.fail("No valid projects found in file");
+        }
 
-            String message = isAdminOrDean
-                    ? "Imported " + result.size() + " project(s) as ARCHIVED (ready for students to pick)"
-                    : "Imported " + result.size() + " project(s) successfully";
+        projectRepository.saveAll(projects);
+        progress.rowsSucceeded(projects.size());
 
-            return ResponseDto.success(result, message);
+        List<ProjectImportDto> result = projects.stream()
+                .map(this::toImportDto)
+                .toList();
 
-        } catch (Exception e) {
-            e.printStackTrace();
-            return ResponseDto.fail("Lỗi khi đọc file Excel: " + e.getMessage());
-        }
+        String message = isAdminOrDean
+                ? "Imported " + result.size() + " project(s) as ARCHIVED (ready for students to pick)"
+                : "Imported " + result.size() + " project(s) successfully";
+
+        return ResponseDto.success(result, message);
     }
 
     private ProjectImportDto toImportDto(Project p) {
@@ -1077,6 +1312,13 @@ public class ProjectService {
         }
     }
 
+    private boolean isBlankRow(Row row) {
+        for (Cell cell : row) {
+            if (!getCellValue(cell).isEmpty()) return false;
+        }
+        return true;
+    }
+
     private String getCellValue(Cell cell) {
         if (cell == null) return "";
         if (cell.getCellType() == CellType.STRING) return cell.getStringCellValue().trim();
@@ -1395,13 +1637,7 @@ public class ProjectService {
                                 .build())
                         .collect(Collectors.toList());
 
-                List<Milestone> milestones = milestoneRepository
-                        .findByProjectId(project.getId());
-
-                long completedMilestones = milestones.stream()
-                        .filter(m -> "Completed".equalsIgnoreCase(m.getStatus()))
-                        .count();
-
+                // ⭐ Số milestone / tiến độ đã được ProgressRollupService cộng dồn sẵn trên project
                 MentoringProjectDto dto = MentoringProjectDto.builder()
                         .projectId(project.getId())
                         .projectName(project.getName())
@@ -1435,8 +1671,10 @@ public class ProjectService {
                         .approvedStudents((int) approvedStudents)
                         .pendingStudents((int) pendingStudents)
 
-                        .totalMilestones(milestones.size())
-                        .completedMilestones((int) completedMilestones)
+                        .totalMilestones(project.getMilestoneCount())
+                        .completedMilestones(project.getCompletedMilestones())
+                        .progressPercent(ProgressRollupService.percent(
+                                project.getMilestoneProgressSum(), project.getMilestoneCount()))
                         .hasFinalReport(hasFinalReport)
                         .finalReportUrl(finalReportUrl)
 
@@ -22,6 +22,7 @@ public class StatisticsService {
     private final ProjectRepository projectRepository;
     private final AccountRepository accountRepository;
     private final ProjectMemberRepository projectMemberRepository;
+    private final DashboardStatsService dashboardStatsService;
 
     public ResponseDto<StatisticsResponse> getMyStatistics() {
         try {
@@ -60,35 +61,29 @@ public class StatisticsService {
     }
 
     private StatisticsResponse getAdminStatistics() {
-        long totalProjects = projectRepository.count();
-        long totalAccounts = accountRepository.count();
-
-        long totalStudents = accountRepository.countByRoleName("STUDENT");
-        long totalLecturers = accountRepository.countByRoleName("LECTURER");
-        long totalDeans = accountRepository.countByRoleName("DEAN");
-        long totalAdmins = accountRepository.countByRoleName("ADMIN");
+        DashboardStatsService.Snapshot stats = dashboardStatsService.getSnapshot();
 
         return StatisticsResponse.builder()
-                .totalProjects(totalProjects)
-                .totalAccounts(totalAccounts)
-                .totalStudents(totalStudents)
-                .totalLecturers(totalLecturers)
-                .totalDeans(totalDeans)
-                .totalAdmins(totalAdmins)
+                .totalProjects(stats.getTotalProjects())
+                .totalAccounts(stats.getTotalUsers())
+                .totalStudents(stats.countByRole("STUDENT"))
+                .totalLecturers(stats.countByRole("LECTURER"))
+                .totalDeans(stats.countByRole("DEAN"))
+                .totalAdmins(stats.countByRole("ADMIN"))
                 .build();
     }
 
     private StatisticsResponse getDeanStatistics() {
+        DashboardStatsService.Snapshot stats = dashboardStatsService.getSnapshot();
         Map<String, Long> projectsByStatus = new HashMap<>();
 
         for (ProjectStatus status : ProjectStatus.values()) {
-            long count = projectRepository.countByStatus(status);
-            projectsByStatus.put(status.getJsonName(), count);
+            projectsByStatus.put(status.getJsonName(), stats.countByStatus(status));
         }
 
-        long archivedProjects = projectRepository.countByStatus(ProjectStatus.ARCHIVED);
-        long activeProjects = projectRepository.countByStatus(ProjectStatus.IN_PROGRESS);
-        long completedProjects = projectRepository.countByStatus(ProjectStatus.COMPLETED);
+        long archivedProjects = stats.countByStatus(ProjectStatus.ARCHIVED);
+        long activeProjects = stats.countByStatus(ProjectStatus.IN_PROGRESS);
+        long completedProjects = stats.countByStatus(ProjectStatus.COMPLETED);
 
         return StatisticsResponse.builder()
                 .projectsByStatus(projectsByStatus)
@@ -6,57 +6,270 @@ import com.example.smrsservice.dto.stats.admin.ActivityDto;
 import com.example.smrsservice.dto.stats.students.DeadlineDto;
 import com.example.smrsservice.dto.stats.students.ProjectProgressDto;
 import com.example.smrsservice.dto.stats.students.ScoreComparisonDto;
+import com.example.smrsservice.dto.stats.students.StudentDashboardDto;
 import com.example.smrsservice.dto.stats.students.StudentOverviewDto;
-import com.example.smrsservice.entity.*;
+import com.example.smrsservice.entity.Account;
 import com.example.smrsservice.repository.*;
+import com.example.smrsservice.repository.projection.MembershipRef;
+import com.example.smrsservice.repository.projection.MilestoneDeadlineRow;
+import com.example.smrsservice.repository.projection.ProjectDashboardRow;
+import com.example.smrsservice.repository.projection.ProjectScoreRow;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.temporal.ChronoUnit;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
+/**
+ * Thống kê dashboard sinh viên.
+ * Dữ liệu của 1 sinh viên (project, điểm, milestone) được đọc 1 lần bằng vài query gộp thành Snapshot
+ * và giữ trong bộ nhớ SNAPSHOT_TTL_MILLIS; 8 endpoint và endpoint /dashboard chỉ cắt dữ liệu từ snapshot.
+ * Snapshot bị xoá khi membership / điểm / milestone / project liên quan thay đổi (xem StudentDashboardListener).
+ * Upcoming deadlines đọc thẳng từ DeadlineScheduler khi lịch hạn đã nạp xong, không query milestone.
+ */
 @Service
 @RequiredArgsConstructor
 public class StudentStatsService {
 
+    private static final long SNAPSHOT_TTL_MILLIS = 60 * 1000L;
+    private static final int MAX_CACHED_SNAPSHOTS = 5_000;
+    private static final int DASHBOARD_ACTIVITY_LIMIT = 15;
+
     private final ProjectRepository projectRepository;
     private final ProjectMemberRepository projectMemberRepository;
     private final ProjectScoreRepository projectScoreRepository;
     private final MilestoneRepository milestoneRepository;
     private final AccountRepository accountRepository;
+    private final ObjectProvider<DeadlineScheduler> deadlineScheduler;
+
+    private final Map<Integer, Snapshot> snapshots = new ConcurrentHashMap<>();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    /**
+     * 0. Toàn bộ dashboard trong 1 request
+     */
+    public StudentDashboardDto getDashboard(Authentication authentication) {
+        Account student = getCurrentAccount(authentication);
+        Snapshot snapshot = getSnapshot(student.getId());
+
+        List<ActivityDto> activities = buildActivities(snapshot);
+
+        return StudentDashboardDto.builder()
+                .overview(buildOverview(snapshot))
+                .projectsStatus(buildProjectsStatus(snapshot))
+                .roles(buildRoles(snapshot))
+                .scoreTrend(buildScoreTrend(snapshot))
+                .projectsProgress(buildProjectsProgress(snapshot, student.getId()))
+                .recentActivities(new ArrayList<>(activities.subList(0, Math.min(DASHBOARD_ACTIVITY_LIMIT, activities.size()))))
+                .scoreComparison(buildScoreComparison(snapshot))
+                .upcomingDeadlines(buildUpcomingDeadlines(snapshot))
+                .build();
+    }
 
     /**
      * 1. Overview Cards
      */
     public StudentOverviewDto getOverview(Authentication authentication) {
         Account student = getCurrentAccount(authentication);
+        return buildOverview(getSnapshot(student.getId()));
+    }
+
+    /**
+     * 2. My Projects Status
+     */
+    public Map<String, Long> getMyProjectsStatus(Authentication authentication) {
+        Account student = getCurrentAccount(authentication);
+        return buildProjectsStatus(getSnapshot(student.getId()));
+    }
+
+    /**
+     * 3. My Role Distribution
+     */
+    public Map<String, Long> getMyRoles(Authentication authentication) {
+        Account student = getCurrentAccount(authentication);
+        return buildRoles(getSnapshot(student.getId()));
+    }
+
+    /**
+     * 4. Score Trend
+     */
+    public Map<String, List<Double>> getScoreTrend(Authentication authentication) {
+        Account student = getCurrentAccount(authentication);
+        return buildScoreTrend(getSnapshot(student.getId()));
+    }
 
-        Set<Integer> projectIds = getMyProjectIds(student.getId());
-        long myProjects = projectIds.size();
+    /**
+     * 5. Projects Progress
+     */
+    public List<ProjectProgressDto> getProjectsProgress(Authentication authentication) {
+        Account student = getCurrentAccount(authentication);
+        return buildProjectsProgress(getSnapshot(student.getId()), student.getId());
+    }
 
-        long projectsAsOwner = projectRepository.findByOwnerId(student.getId()).size();
+    /**
+     * 6. Recent Activities - với Pagination
+     */
+    public PaginatedResponseDto<List<ActivityDto>> getRecentActivities(
+            Authentication authentication, int page, int limit) {
 
-        List<Project> allMyProjects = projectRepository.findAllById(projectIds);
-        long completedProjects = allMyProjects.stream()
+        Account student = getCurrentAccount(authentication);
+        List<ActivityDto> allActivities = buildActivities(getSnapshot(student.getId()));
+
+        // Pagination logic
+        long totalElements = allActivities.size();
+        int totalPages = (int) Math.ceil((double) totalElements / limit);
+        int startIndex = page * limit;
+        int endIndex = Math.min(startIndex + limit, (int) totalElements);
+
+        List<ActivityDto> pagedActivities = (startIndex >= totalElements)
+                ? new ArrayList<>()
+                : allActivities.subList(startIndex, endIndex);
+
+        PaginatedResponseDto.PaginationInfo pagination = PaginatedResponseDto.PaginationInfo.builder()
+                .currentPage(page)
+                .pageSize(limit)
+                .totalElements(totalElements)
+                .totalPages(totalPages)
+                .hasNext(page < totalPages - 1)
+                .hasPrevious(page > 0)
+                .build();
+
+        return PaginatedResponseDto.success(pagedActivities, pagination, "Success");
+    }
+
+    /**
+     * 7. Score Comparison
+     */
+    public ScoreComparisonDto getScoreComparison(Authentication authentication) {
+        Account student = getCurrentAccount(authentication);
+        return buildScoreComparison(getSnapshot(student.getId()));
+    }
+
+    /**
+     * 8. Upcoming Deadlines
+     */
+    public List<DeadlineDto> getUpcomingDeadlines(Authentication authentication) {
+        Account student = getCurrentAccount(authentication);
+        return buildUpcomingDeadlines(getSnapshot(student.getId()));
+    }
+
+    // ==================== INVALIDATION ====================
+
+    /**
+     * Membership / project sở hữu của sinh viên thay đổi
+     */
+    public void invalidateStudent(Integer accountId) {
+        if (accountId == null) return;
+        invalidations.incrementAndGet();
+        snapshots.remove(accountId);
+        runAfterCommit(() -> snapshots.remove(accountId));
+    }
+
+    /**
+     * Project / điểm / milestone của project thay đổi: xoá snapshot của mọi sinh viên có project này
+     */
+    public void invalidateProject(Integer projectId) {
+        if (projectId == null) return;
+        invalidations.incrementAndGet();
+        snapshots.values().removeIf(s -> s.projectIds.contains(projectId));
+        runAfterCommit(() -> snapshots.values().removeIf(s -> s.projectIds.contains(projectId)));
+    }
+
+    /**
+     * Xoá lại sau commit: request khác có thể đã build snapshot từ dữ liệu chưa commit trong lúc chờ
+     */
+    private static void runAfterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        }
+    }
+
+    // ==================== SNAPSHOT ====================
+
+    private Snapshot getSnapshot(Integer studentId) {
+        Snapshot current = snapshots.get(studentId);
+        if (current != null && System.currentTimeMillis() - current.builtAt < SNAPSHOT_TTL_MILLIS) {
+            return current;
+        }
+
+        // Có ghi trong lúc build thì vẫn trả kết quả nhưng không cache
+        long buildVersion = invalidations.get();
+        Snapshot rebuilt = build(studentId);
+        if (invalidations.get() == buildVersion) {
+            if (snapshots.size() >= MAX_CACHED_SNAPSHOTS) {
+                long now = System.currentTimeMillis();
+                snapshots.values().removeIf(s -> now - s.builtAt >= SNAPSHOT_TTL_MILLIS);
+            }
+            snapshots.put(studentId, rebuilt);
+        }
+        return rebuilt;
+    }
+
+    private Snapshot build(Integer studentId) {
+        Snapshot s = new Snapshot();
+
+        List<Integer> ownedIds = projectRepository.findIdsByOwnerId(studentId);
+        s.projectsAsOwner = ownedIds.size();
+        s.projectIds.addAll(ownedIds);
+
+        for (MembershipRef membership : projectMemberRepository.findMembershipsByAccountId(studentId)) {
+            s.projectIds.add(membership.getProjectId());
+            if ("STUDENT".equals(membership.getMemberRole())) {
+                s.projectsAsMember++;
+            }
+        }
+
+        if (s.projectIds.isEmpty()) {
+            return s;
+        }
+
+        s.projects = projectRepository.findDashboardRowsByIdIn(s.projectIds);
+        for (ProjectDashboardRow project : s.projects) {
+            s.projectNames.put(project.getId(), project.getName());
+        }
+
+        s.scores = projectScoreRepository.findScoreRowsByProjectIdIn(s.projectIds);
+        Map<Integer, double[]> sums = new HashMap<>();
+        for (ProjectScoreRow score : s.scores) {
+            if (score.getFinalScore() != null) {
+                double[] sum = sums.computeIfAbsent(score.getProjectId(), k -> new double[2]);
+                sum[0] += score.getFinalScore();
+                sum[1]++;
+            }
+        }
+        sums.forEach((projectId, sum) -> s.averageScores.put(projectId, sum[0] / sum[1]));
+
+        DeadlineScheduler scheduler = deadlineScheduler.getIfAvailable();
+        if (scheduler == null || !scheduler.isLoaded()) {
+            s.milestones = milestoneRepository.findDeadlineRowsByProjectIdIn(s.projectIds);
+        }
+        return s;
+    }
+
+    private StudentOverviewDto buildOverview(Snapshot s) {
+        long completedProjects = s.projects.stream()
                 .filter(p -> p.getStatus() == ProjectStatus.COMPLETED)
                 .count();
 
-        Double averageScore = allMyProjects.stream()
-                .map(p -> projectScoreRepository.getAverageScoreByProjectId(p.getId()))
-                .filter(Objects::nonNull)
-                .mapToDouble(Double::doubleValue)
-                .average()
-                .orElse(0.0);
-
         return StudentOverviewDto.builder()
-                .myProjects(myProjects)
-                .projectsAsOwner(projectsAsOwner)
+                .myProjects((long) s.projectIds.size())
+                .projectsAsOwner(s.projectsAsOwner)
                 .completedProjects(completedProjects)
-                .averageScore(averageScore)
+                .averageScore(myAverageScore(s))
                 .projectsGrowth("+50%")
                 .ownerGrowth("+100%")
                 .completedGrowth("+0%")
@@ -64,19 +277,11 @@ public class StudentStatsService {
                 .build();
     }
 
-    /**
-     * 2. My Projects Status
-     */
-    public Map<String, Long> getMyProjectsStatus(Authentication authentication) {
-        Account student = getCurrentAccount(authentication);
-
-        Set<Integer> projectIds = getMyProjectIds(student.getId());
-        List<Project> myProjects = projectRepository.findAllById(projectIds);
-
+    private Map<String, Long> buildProjectsStatus(Snapshot s) {
         Map<String, Long> result = new LinkedHashMap<>();
 
         for (ProjectStatus status : ProjectStatus.values()) {
-            long count = myProjects.stream()
+            long count = s.projects.stream()
                     .filter(p -> p.getStatus() == status)
                     .count();
             result.put(status.name(), count);
@@ -85,43 +290,25 @@ public class StudentStatsService {
         return result;
     }
 
-    /**
-     * 3. My Role Distribution
-     */
-    public Map<String, Long> getMyRoles(Authentication authentication) {
-        Account student = getCurrentAccount(authentication);
-
-        long asOwner = projectRepository.findByOwnerId(student.getId()).size();
-
-        long asMember = projectMemberRepository.findByAccountId(student.getId()).stream()
-                .filter(pm -> "STUDENT".equals(pm.getMemberRole()))
-                .count();
-
+    private Map<String, Long> buildRoles(Snapshot s) {
         Map<String, Long> result = new LinkedHashMap<>();
-        result.put("OWNER", asOwner);
-        result.put("MEMBER", asMember);
+        result.put("OWNER", s.projectsAsOwner);
+        result.put("MEMBER", s.projectsAsMember);
 
         return result;
     }
 
-    /**
-     * 4. Score Trend
-     */
-    public Map<String, List<Double>> getScoreTrend(Authentication authentication) {
-        Account student = getCurrentAccount(authentication);
-
-        Set<Integer> projectIds = getMyProjectIds(student.getId());
-        List<Project> myProjects = projectRepository.findAllById(projectIds).stream()
+    private Map<String, List<Double>> buildScoreTrend(Snapshot s) {
+        List<ProjectDashboardRow> completed = s.projects.stream()
                 .filter(p -> p.getStatus() == ProjectStatus.COMPLETED)
-                .sorted(Comparator.comparing(Project::getCreateDate))
+                .sorted(Comparator.comparing(ProjectDashboardRow::getCreateDate))
                 .collect(Collectors.toList());
 
         List<Double> myScores = new ArrayList<>();
         List<Double> classAverage = new ArrayList<>();
 
-        for (Project p : myProjects) {
-            Double projectScore = projectScoreRepository.getAverageScoreByProjectId(p.getId());
-            myScores.add(projectScore != null ? projectScore : 0.0);
+        for (ProjectDashboardRow p : completed) {
+            myScores.add(s.averageScores.getOrDefault(p.getId(), 0.0));
             classAverage.add(7.5); // Mock
         }
 
@@ -132,29 +319,21 @@ public class StudentStatsService {
         return result;
     }
 
-    /**
-     * 5. Projects Progress
-     */
-    public List<ProjectProgressDto> getProjectsProgress(Authentication authentication) {
-        Account student = getCurrentAccount(authentication);
-
-        Set<Integer> projectIds = getMyProjectIds(student.getId());
-        List<Project> myProjects = projectRepository.findAllById(projectIds);
+    private List<ProjectProgressDto> buildProjectsProgress(Snapshot s, Integer studentId) {
+        LocalDateTime now = LocalDateTime.now();
 
-        return myProjects.stream()
+        return s.projects.stream()
                 .map(project -> {
-                    String myRole = project.getOwner().getId().equals(student.getId())
-                            ? "OWNER" : "MEMBER";
+                    String myRole = studentId.equals(project.getOwnerId()) ? "OWNER" : "MEMBER";
 
                     Integer daysLeft = null;
                     if (project.getDueDate() != null) {
                         LocalDateTime dueDate = LocalDateTime.ofInstant(
                                 project.getDueDate().toInstant(), ZoneId.systemDefault());
-                        LocalDateTime now = LocalDateTime.now();
                         daysLeft = (int) ChronoUnit.DAYS.between(now, dueDate);
                     }
 
-                    Double currentScore = projectScoreRepository.getAverageScoreByProjectId(project.getId());
+                    Double currentScore = s.averageScores.get(project.getId());
                     boolean hasScore = currentScore != null;
 
                     return ProjectProgressDto.builder()
@@ -162,7 +341,8 @@ public class StudentStatsService {
                             .projectName(project.getName())
                             .myRole(myRole)
                             .status(project.getStatus().toString())
-                            .progress("75%")
+                            .progress(ProgressRollupService.format(
+                                    project.getMilestoneProgressSum(), project.getMilestoneCount()))
                             .dueDate(project.getDueDate())
                             .daysLeft(daysLeft)
                             .hasScore(hasScore)
@@ -178,83 +358,28 @@ public class StudentStatsService {
     }
 
     /**
-     * 6. Recent Activities - với Pagination
+     * Mọi lần chấm điểm trên project của sinh viên, mới nhất trước
      */
-    public PaginatedResponseDto<List<ActivityDto>> getRecentActivities(
-            Authentication authentication, int page, int limit) {
-
-        Account student = getCurrentAccount(authentication);
-
-        Set<Integer> projectIds = getMyProjectIds(student.getId());
-        List<Project> myProjects = projectRepository.findAllById(projectIds);
-
-        List<ActivityDto> allActivities = new ArrayList<>();
-
-        // Lấy tất cả activities
-        for (Project p : myProjects) {
-            List<ProjectScore> scores = projectScoreRepository.findByProjectId(p.getId());
-            for (ProjectScore score : scores) {
-                if (score.getScoreDate() != null) {
-                    allActivities.add(ActivityDto.builder()
-                            .type("PROJECT_SCORED")
-                            .userId(score.getLecturer().getId())
-                            .userName(score.getLecturer().getName())
-                            .projectId(p.getId())
-                            .projectName(p.getName())
-                            .description("Scored " + score.getFinalScore())
-                            .timestamp(score.getScoreDate().toInstant())
-                            .icon("up")
-                            .build());
-                }
-            }
-        }
-
-        // Sort by timestamp
-        allActivities = allActivities.stream()
-                .filter(a -> a.getTimestamp() != null)
+    private List<ActivityDto> buildActivities(Snapshot s) {
+        return s.scores.stream()
+                .filter(score -> score.getScoreDate() != null)
+                .map(score -> ActivityDto.builder()
+                        .type("PROJECT_SCORED")
+                        .userId(score.getLecturerId())
+                        .userName(score.getLecturerName())
+                        .projectId(score.getProjectId())
+                        .projectName(s.projectNames.get(score.getProjectId()))
+                        .description("Scored " + score.getFinalScore())
+                        .timestamp(score.getScoreDate().toInstant())
+                        .icon("up")
+                        .build())
                 .sorted((a, b) -> b.getTimestamp().compareTo(a.getTimestamp()))
                 .collect(Collectors.toList());
-
-        // Pagination logic
-        long totalElements = allActivities.size();
-        int totalPages = (int) Math.ceil((double) totalElements / limit);
-        int startIndex = page * limit;
-        int endIndex = Math.min(startIndex + limit, (int) totalElements);
-
-        List<ActivityDto> pagedActivities = (startIndex >= totalElements)
-                ? new ArrayList<>()
-                : allActivities.subList(startIndex, endIndex);
-
-        PaginatedResponseDto.PaginationInfo pagination = PaginatedResponseDto.PaginationInfo.builder()
-                .currentPage(page)
-                .pageSize(limit)
-                .totalElements(totalElements)
-                .totalPages(totalPages)
-                .hasNext(page < totalPages - 1)
-                .hasPrevious(page > 0)
-                .build();
-
-        return PaginatedResponseDto.success(pagedActivities, pagination, "Success");
     }
 
-    /**
-     * 7. Score Comparison
-     */
-    public ScoreComparisonDto getScoreComparison(Authentication authentication) {
-        Account student = getCurrentAccount(authentication);
-
-        Set<Integer> projectIds = getMyProjectIds(student.getId());
-        List<Project> myProjects = projectRepository.findAllById(projectIds);
-
-        Double myAverageScore = myProjects.stream()
-                .map(p -> projectScoreRepository.getAverageScoreByProjectId(p.getId()))
-                .filter(Objects::nonNull)
-                .mapToDouble(Double::doubleValue)
-                .average()
-                .orElse(0.0);
-
+    private ScoreComparisonDto buildScoreComparison(Snapshot s) {
         return ScoreComparisonDto.builder()
-                .myAverageScore(myAverageScore)
+                .myAverageScore(myAverageScore(s))
                 .classAverageScore(7.5)
                 .ranking(15)
                 .totalStudents(120)
@@ -262,47 +387,25 @@ public class StudentStatsService {
                 .build();
     }
 
-    /**
-     * 8. Upcoming Deadlines
-     */
-    public List<DeadlineDto> getUpcomingDeadlines(Authentication authentication) {
-        Account student = getCurrentAccount(authentication);
-
-        Set<Integer> projectIds = getMyProjectIds(student.getId());
-        List<Project> myProjects = projectRepository.findAllById(projectIds);
-
+    private List<DeadlineDto> buildUpcomingDeadlines(Snapshot s) {
+        LocalDateTime now = LocalDateTime.now();
         List<DeadlineDto> deadlines = new ArrayList<>();
 
-        for (Project p : myProjects) {
-            List<Milestone> milestones = milestoneRepository.findByProjectId(p.getId());
-
-            for (Milestone m : milestones) {
-                if (m.getDueDate() != null) {
-                    LocalDateTime dueDate = LocalDateTime.ofInstant(
-                            m.getDueDate().toInstant(), ZoneId.systemDefault());
-                    LocalDateTime now = LocalDateTime.now();
-                    int daysLeft = (int) ChronoUnit.DAYS.between(now, dueDate);
-
-                    String status = m.getReportSubmittedAt() != null
-                            ? "SUBMITTED"
-                            : (daysLeft < 0 ? "OVERDUE" : "NOT_SUBMITTED");
-
-                    // ✅ SỬA: Dùng description hoặc tạo tên dựa vào isFinal
-                    String milestoneName = m.getIsFinal() != null && m.getIsFinal()
-                            ? "Final Report"
-                            : (m.getDescription() != null && !m.getDescription().isEmpty()
-                            ? m.getDescription()
-                            : "Milestone #" + m.getId());
-
-                    deadlines.add(DeadlineDto.builder()
-                            .projectId(p.getId())
-                            .projectName(p.getName())
-                            .milestone(milestoneName)
-                            .dueDate(m.getDueDate())
-                            .daysLeft(daysLeft)
-                            .status(status)
-                            .build());
+        DeadlineScheduler scheduler = deadlineScheduler.getIfAvailable();
+        if (scheduler != null && scheduler.isLoaded()) {
+            // chỉ gồm milestone chưa nộp report
+            for (DeadlineScheduler.Deadline d : scheduler.milestoneDeadlines(s.projectNames.keySet())) {
+                deadlines.add(toDeadlineDto(d.getProjectId(), s.projectNames.get(d.getProjectId()), d.getTitle(),
+                        d.getDueDate(), false, now));
+            }
+        } else {
+            for (MilestoneDeadlineRow m : s.milestones) {
+                if (m.getDueDate() == null || !s.projectNames.containsKey(m.getProjectId())) {
+                    continue;
                 }
+                deadlines.add(toDeadlineDto(m.getProjectId(), s.projectNames.get(m.getProjectId()),
+                        DeadlineScheduler.milestoneName(m.getId(), m.getDescription(), m.getIsFinal()),
+                        m.getDueDate(), m.getReportSubmittedAt() != null, now));
             }
         }
 
@@ -312,20 +415,50 @@ public class StudentStatsService {
                 .collect(Collectors.toList());
     }
 
-    private Set<Integer> getMyProjectIds(Integer userId) {
-        Set<Integer> projectIds = new HashSet<>();
-
-        List<Project> ownedProjects = projectRepository.findByOwnerId(userId);
-        projectIds.addAll(ownedProjects.stream()
-                .map(Project::getId)
-                .collect(Collectors.toSet()));
+    private static DeadlineDto toDeadlineDto(Integer projectId, String projectName, String milestoneName,
+                                             Date dueDate, boolean submitted, LocalDateTime now) {
+        LocalDateTime due = LocalDateTime.ofInstant(dueDate.toInstant(), ZoneId.systemDefault());
+        int daysLeft = (int) ChronoUnit.DAYS.between(now, due);
+
+        String status = submitted
+                ? "SUBMITTED"
+                : (daysLeft < 0 ? "OVERDUE" : "NOT_SUBMITTED");
+
+        return DeadlineDto.builder()
+                .projectId(projectId)
+                .projectName(projectName)
+                .milestone(milestoneName)
+                .dueDate(dueDate)
+                .daysLeft(daysLeft)
+                .status(status)
+                .build();
+    }
 
-        List<ProjectMember> memberProjects = projectMemberRepository.findByAccountId(userId);
-        projectIds.addAll(memberProjects.stream()
-                .map(pm -> pm.getProject().getId())
-                .collect(Collectors.toSet()));
+    /**
+     * Trung bình điểm TB của các project đã có điểm
+     */
+    private static Double myAverageScore(Snapshot s) {
+        return s.projects.stream()
+                .map(p -> s.averageScores.get(p.getId()))
+                .filter(Objects::nonNull)
+                .mapToDouble(Double::doubleValue)
+                .average()
+                .orElse(0.0);
+    }
 
-        return projectIds;
+    /**
+     * Dữ liệu dashboard của 1 sinh viên, chỉ đọc sau khi build xong
+     */
+    private static class Snapshot {
+        private final long builtAt = System.currentTimeMillis();
+        private final Set<Integer> projectIds = new HashSet<>();
+        private long projectsAsOwner;
+        private long projectsAsMember;
+        private List<ProjectDashboardRow> projects = List.of();
+        private final Map<Integer, String> projectNames = new HashMap<>();
+        private List<ProjectScoreRow> scores = List.of();
+        private final Map<Integer, Double> averageScores = new HashMap<>();
+        private List<MilestoneDeadlineRow> milestones = List.of();
     }
 
     private Account getCurrentAccount(Authentication authentication) {
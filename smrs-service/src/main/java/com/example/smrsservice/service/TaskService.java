@@ -16,6 +16,8 @@ import com.example.smrsservice.repository.TaskRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
@@ -31,6 +33,7 @@ public class TaskService {
     private final AccountRepository accountRepository;
     private final MilestoneRepository milestoneRepository;
     private final ProjectRepository projectRepository;
+    private final ProgressRollupService progressRollupService;
 
 
     public TaskResponse createTask(CreateTaskRequest request) {
@@ -71,13 +74,17 @@ public class TaskService {
         }
 
         taskRepository.save(task);
+        progressRollupService.taskChanged(null, null, task.getMilestone(), task.getProgressPercent());
 
         return buildTaskResponse(task);
     }
 
     public TaskResponse updateTask(Integer id, UpdateTaskRequest request) {
-        Task task = taskRepository.findById(id)
+        // khoá task để progress / milestone cũ dùng cho rollup không bị update khác chen vào
+        Task task = taskRepository.findByIdForUpdate(id)
                 .orElseThrow(() -> new RuntimeException("Task not found"));
+        Milestone oldMilestone = task.getMilestone();
+        Double oldProgress = task.getProgressPercent();
 
         if (request.getName() != null) task.setName(request.getName());
         if (request.getDescription() != null) task.setDescription(request.getDescription());
@@ -98,6 +105,7 @@ public class TaskService {
         }
 
         taskRepository.save(task);
+        progressRollupService.taskChanged(oldMilestone, oldProgress, task.getMilestone(), task.getProgressPercent());
 
         return buildTaskResponse(task);
     }
@@ -125,6 +133,15 @@ public class TaskService {
                 .build();
     }
 
+    /**
+     * Phân trang bằng cursor (id tăng dần), không OFFSET; chỉ đếm tổng khi withCount = true
+     */
+    public PageResponse<TaskResponse> getTasksByCursor(String cursor, Integer size, boolean withCount) {
+        Specification<Task> all = (root, query, cb) -> cb.conjunction();
+        return KeysetCursor.page(taskRepository, all, "id", Sort.Direction.ASC, cursor, size, withCount,
+                tasks -> tasks.stream().map(this::buildTaskResponse).toList());
+    }
+
     public PageResponse<TaskResponse> getTasksByProject(Integer projectId, int page, int size) {
         PageRequest pageable = PageRequest.of(page - 1, size);
         Page<Task> taskPage = taskRepository.findByProjectId(projectId, pageable);
@@ -158,10 +175,10 @@ public class TaskService {
     }
 
     public void deleteTask(Integer id) {
-        if (!taskRepository.existsById(id)) {
-            throw new RuntimeException("Task not found");
-        }
-        taskRepository.deleteById(id);
+        Task task = taskRepository.findByIdForUpdate(id)
+                .orElseThrow(() -> new RuntimeException("Task not found"));
+        progressRollupService.taskChanged(task.getMilestone(), task.getProgressPercent(), null, null);
+        taskRepository.delete(task);
     }
     private TaskResponse buildTaskResponse(Task task) {
         return TaskResponse.builder()
@@ -0,0 +1,123 @@
+package com.example.smrsservice.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Timing wheel nhiều tầng (kiểu timer của Linux kernel): mỗi tầng 64 ô, ô tầng k dài 64^k tick.
+ *
+ * Thêm phần tử O(1); advance chỉ đi qua các tick đã trôi qua, mỗi tick một ô tầng 0, cứ 64 tick thì
+ * đổ (cascade) một ô của tầng trên xuống. Chi phí tỉ lệ với số phần tử đến hạn, không phụ thuộc tổng số phần tử.
+ * Phần tử xa hơn tầm của wheel được giữ ở ô xa nhất của tầng cao nhất và xếp lại khi cascade.
+ *
+ * Không thread-safe: caller tự đồng bộ. Huỷ phần tử theo kiểu lazy (caller bỏ qua phần tử đã cũ khi nhận).
+ */
+final class TimingWheel<T> {
+
+    private static final int BITS = 6;
+    private static final int SLOTS = 1 << BITS;
+    private static final int MASK = SLOTS - 1;
+
+    private final long tickMillis;
+    private final List<Node<T>>[][] buckets;
+    private final long horizon;
+
+    // tick kế tiếp chưa xử lý
+    private long currentTick;
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    TimingWheel(long tickMillis, int levels, long startMillis) {
+        this.tickMillis = tickMillis;
+        this.buckets = new List[levels][SLOTS];
+        for (List<Node<T>>[] level : buckets) {
+            for (int i = 0; i < SLOTS; i++) {
+                level[i] = new ArrayList<>();
+            }
+        }
+        this.horizon = (1L << (BITS * levels)) - 1;
+        this.currentTick = startMillis / tickMillis;
+    }
+
+    /**
+     * Đến hạn tại fireAtMillis; thời điểm đã qua thì nhận ở lần advance kế tiếp
+     */
+    void add(T item, long fireAtMillis) {
+        place(new Node<>(item, Math.max(fireAtMillis / tickMillis, currentTick)));
+        size++;
+    }
+
+    /**
+     * Chạy tới nowMillis, trả các phần tử đến hạn cho consumer theo thứ tự tick
+     */
+    void advance(long nowMillis, Consumer<T> due) {
+        long target = nowMillis / tickMillis;
+        while (currentTick <= target) {
+            cascade();
+
+            // consumer có thể add lại vào đúng tick này: nhận luôn trong lượt
+            List<Node<T>> slot = buckets[0][(int) (currentTick & MASK)];
+            while (!slot.isEmpty()) {
+                List<Node<T>> nodes = new ArrayList<>(slot);
+                slot.clear();
+                for (Node<T> node : nodes) {
+                    if (node.tick <= currentTick) {
+                        size--;
+                        due.accept(node.item);
+                    } else {
+                        place(node);
+                    }
+                }
+            }
+            currentTick++;
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Đầu mỗi chu kỳ của tầng k (currentTick chia hết cho 64^k): đổ ô hiện tại của tầng k xuống,
+     * tầng cao trước để phần tử đi tiếp xuống các tầng dưới trong cùng lượt
+     */
+    private void cascade() {
+        int level = 1;
+        while (level < buckets.length && (currentTick & ((1L << (BITS * level)) - 1)) == 0) {
+            level++;
+        }
+        for (int k = level - 1; k >= 1; k--) {
+            List<Node<T>> slot = buckets[k][(int) ((currentTick >> (BITS * k)) & MASK)];
+            if (slot.isEmpty()) {
+                continue;
+            }
+            List<Node<T>> nodes = new ArrayList<>(slot);
+            slot.clear();
+            for (Node<T> node : nodes) {
+                place(node);
+            }
+        }
+    }
+
+    private void place(Node<T> node) {
+        long delta = Math.min(node.tick - currentTick, horizon);
+        long tick = currentTick + delta;
+
+        int level = 0;
+        while (level < buckets.length - 1 && delta >= 1L << (BITS * (level + 1))) {
+            level++;
+        }
+        buckets[level][(int) ((tick >> (BITS * level)) & MASK)].add(node);
+    }
+
+    private static final class Node<T> {
+        private final T item;
+        private final long tick;
+
+        private Node(T item, long tick) {
+            this.item = item;
+            this.tick = tick;
+        }
+    }
+}
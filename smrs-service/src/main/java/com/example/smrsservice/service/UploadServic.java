@@ -2,11 +2,14 @@ package com.example.smrsservice.service;
 
 import com.cloudinary.Cloudinary;
 import com.cloudinary.utils.ObjectUtils;
+import com.example.smrsservice.common.Upstream;
+import com.example.smrsservice.config.CloudinaryConfig;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.util.HashMap;
 import java.util.Map;
 
 @Service
@@ -14,10 +17,13 @@ import java.util.Map;
 public class UploadServic {
 
     private final Cloudinary cloudinary;
+    private final OutboundGateway outboundGateway;
 
     public String uploadImage(MultipartFile file) {
         try {
-            Map<?, ?> uploadResult = cloudinary.uploader().upload(file.getBytes(), ObjectUtils.emptyMap());
+            byte[] bytes = file.getBytes();
+            Map<?, ?> uploadResult = outboundGateway.call(Upstream.CLOUDINARY,
+                    () -> cloudinary.uploader().upload(bytes, timeoutOptions()));
             return uploadResult.get("secure_url").toString();
         } catch (IOException e) {
             throw new RuntimeException("Lỗi upload hình ảnh lên Cloudinary", e);
@@ -41,13 +47,16 @@ public class UploadServic {
             }
 
             // Upload với resource_type = "raw"
-            Map<?, ?> uploadResult = cloudinary.uploader().upload(file.getBytes(),
-                    ObjectUtils.asMap(
-                            "resource_type", "raw",  // ✅ CHO PHÉP FILE
-                            "folder", "smrs/documents",
-                            "use_filename", true,
-                            "unique_filename", true
-                    ));
+            byte[] bytes = file.getBytes();
+            Map<String, Object> options = ObjectUtils.asMap(
+                    "resource_type", "raw",  // ✅ CHO PHÉP FILE
+                    "folder", "smrs/documents",
+                    "use_filename", true,
+                    "unique_filename", true
+            );
+            options.putAll(timeoutOptions());
+            Map<?, ?> uploadResult = outboundGateway.call(Upstream.CLOUDINARY,
+                    () -> cloudinary.uploader().upload(bytes, options));
 
             return uploadResult.get("secure_url").toString();
 
@@ -74,8 +83,9 @@ public class UploadServic {
      */
     public void deleteFile(String publicId, String resourceType) {
         try {
-            cloudinary.uploader().destroy(publicId,
-                    ObjectUtils.asMap("resource_type", resourceType));
+            Map<String, Object> options = ObjectUtils.asMap("resource_type", resourceType);
+            options.putAll(timeoutOptions());
+            outboundGateway.call(Upstream.CLOUDINARY, () -> cloudinary.uploader().destroy(publicId, options));
         } catch (IOException e) {
             throw new RuntimeException("Lỗi xóa file trên Cloudinary", e);
         }
@@ -83,6 +93,10 @@ public class UploadServic {
 
     // ==================== HELPER METHODS ====================
 
+    private Map<String, Object> timeoutOptions() {
+        return new HashMap<>(CloudinaryConfig.timeoutOptions(outboundGateway.settings(Upstream.CLOUDINARY)));
+    }
+
     private String getFileExtension(String filename) {
         if (filename == null || !filename.contains(".")) {
             return "";
@@ -2,43 +2,69 @@ package com.example.smrsservice.service;
 
 import com.cloudinary.Cloudinary;
 import com.cloudinary.utils.ObjectUtils;
+import com.example.smrsservice.common.Upstream;
+import com.example.smrsservice.config.CloudinaryConfig;
 import com.example.smrsservice.dto.upload.FileUploadResponse;
+import com.example.smrsservice.exeption.UpstreamUnavailableException;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
 import lombok.RequiredArgsConstructor;
 import okhttp3.*;
+import okio.BufferedSink;
+import okio.Okio;
+import okio.Source;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class UploadService {
 
     private final Cloudinary cloudinary;
+    private final OkHttpClient uploadHttpClient;
+    private final OutboundGateway outboundGateway;
 
+    @Value("${app.upload.node-url:http://103.200.20.45:3030/upload/}")
+    private String uploadNodeUrl;
+
+    /**
+     * Multipart part được chuyển ra file tạm (Tomcat đã ghi part xuống đĩa nên thường chỉ là move),
+     * Cloudinary SDK đọc stream từ file thay vì cả mảng byte trong heap.
+     */
     public String uploadImage(MultipartFile file) {
+        File tempFile = null;
         try {
             String original = file.getOriginalFilename();
-
-            Map<?, ?> uploadResult = cloudinary.uploader().upload(
-                    file.getBytes(),
-                    ObjectUtils.asMap(
-                            "resource_type", "image",
-                            "folder", "smrs/images",
-                            "public_id", original,
-                            "overwrite", true
-                    )
+            tempFile = Files.createTempFile("smrs-upload-", ".tmp").toFile();
+            file.transferTo(tempFile);
+
+            File source = tempFile;
+            Map<String, Object> options = ObjectUtils.asMap(
+                    "resource_type", "image",
+                    "folder", "smrs/images",
+                    "public_id", original,
+                    "overwrite", true
             );
+            options.putAll(CloudinaryConfig.timeoutOptions(outboundGateway.settings(Upstream.CLOUDINARY)));
+
+            Map<?, ?> uploadResult = outboundGateway.call(Upstream.CLOUDINARY,
+                    () -> cloudinary.uploader().upload(source, options));
 
             return uploadResult.get("secure_url").toString();
 
         } catch (IOException e) {
             throw new RuntimeException("Lỗi upload hình ảnh lên Cloudinary", e);
+        } finally {
+            if (tempFile != null && tempFile.exists() && !tempFile.delete()) {
+                tempFile.deleteOnExit();
+            }
         }
     }
 
@@ -66,13 +92,11 @@ public class UploadService {
         }
 
         try {
-            String uploadApiUrl = "http://103.200.20.45:3030/upload/" + folder;
-
-            OkHttpClient client = new OkHttpClient();
+            String uploadApiUrl = uploadNodeUrl + folder;
 
-            // Multipart form data
-            RequestBody fileBody = RequestBody.create(
-                    file.getBytes(),
+            // Multipart form data: part file được stream thẳng từ request sang storage node
+            RequestBody fileBody = new MultipartFileRequestBody(
+                    file,
                     MediaType.parse(file.getContentType()) // lấy đúng content type của file
             );
 
@@ -86,21 +110,60 @@ public class UploadService {
                     .post(requestBody)
                     .build();
 
-            Response response = client.newCall(request).execute();
-
-            if (!response.isSuccessful()) {
-                throw new RuntimeException("Upload thất bại: " + response.code());
-            }
-
-            String resultJson = response.body().string();
+            // 5xx tính là storage node lỗi (circuit breaker), 4xx là lỗi của request
+            String resultJson = outboundGateway.call(Upstream.STORAGE_NODE, () -> {
+                try (Response response = uploadHttpClient.newCall(request).execute()) {
+                    if (response.code() >= 500) {
+                        throw new IOException("Upload thất bại: " + response.code());
+                    }
+                    if (!response.isSuccessful()) {
+                        throw new RuntimeException("Upload thất bại: " + response.code());
+                    }
+                    return response.body().string();
+                }
+            });
 
             JsonObject json = JsonParser.parseString(resultJson).getAsJsonObject();
             String url = json.getAsJsonObject("file").get("url").getAsString();
 
             return url;
 
+        } catch (UpstreamUnavailableException e) {
+            // storage node quá tải / circuit breaker đang mở: giữ nguyên để trả 503 thay vì 400
+            throw e;
         } catch (Exception e) {
             throw new RuntimeException("Lỗi upload file: " + e.getMessage(), e);
         }
     }
+
+    /**
+     * Body đọc từ InputStream của MultipartFile theo từng segment của Okio;
+     * contentLength = -1 nên OkHttp gửi chunked, heap dùng cố định bất kể kích thước file.
+     */
+    private static final class MultipartFileRequestBody extends RequestBody {
+        private final MultipartFile file;
+        private final MediaType contentType;
+
+        private MultipartFileRequestBody(MultipartFile file, MediaType contentType) {
+            this.file = file;
+            this.contentType = contentType;
+        }
+
+        @Override
+        public MediaType contentType() {
+            return contentType;
+        }
+
+        @Override
+        public long contentLength() {
+            return -1;
+        }
+
+        @Override
+        public void writeTo(BufferedSink sink) throws IOException {
+            try (Source source = Okio.source(file.getInputStream())) {
+                sink.writeAll(source);
+            }
+        }
+    }
 }
@@ -0,0 +1,8 @@
+-- DeadlineScheduler: milestone chưa nộp report có due_date (nạp lúc khởi động)
+CREATE INDEX idx_milestone_report_due_date ON milestone (report_submitted_at, due_date);
+
+-- DeadlineScheduler: task có deadline trong tương lai
+CREATE INDEX idx_task_deadline ON task (deadline);
+
+-- DeadlineScheduler: project REVISION_REQUIRED có hạn chỉnh sửa
+CREATE INDEX idx_project_status_revision_deadline ON project (status, revision_deadline);
@@ -0,0 +1,2 @@
+-- MailOutboxDispatcher: không giữ nội dung mail đã gửi (mail gửi trước khi có thay đổi này)
+UPDATE mail_outbox SET text_body = NULL, html_body = NULL WHERE status = 'SENT';
@@ -0,0 +1,5 @@
+-- ProjectMemberRepository: lời mời / thành viên theo project + role + status
+CREATE INDEX idx_project_member_project_role_status ON project_member (project_id, member_role, status);
+
+-- ProjectMemberRepository: project của một account (findByAccountIdAndStatus, count*Projects, findByAccountIdAndMemberRole)
+CREATE INDEX idx_project_member_account_status_role ON project_member (account_id, status, member_role);
@@ -0,0 +1,8 @@
+-- MilestoneRepository: final milestone mới nhất của project (ORDER BY id DESC LIMIT 1, MAX(id) subquery)
+CREATE INDEX idx_milestone_project_final_id ON milestone (project_id, is_final, id);
+
+-- MilestoneRepository.findByProjectId: ORDER BY due_date
+CREATE INDEX idx_milestone_project_due_date ON milestone (project_id, due_date);
+
+-- MilestoneRepository.findByIsFinalAndStatus / findByIsFinal
+CREATE INDEX idx_milestone_final_status ON milestone (is_final, status);
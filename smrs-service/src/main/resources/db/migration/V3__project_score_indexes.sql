@@ -0,0 +1,5 @@
+-- ProjectScoreRepository: điểm theo final milestone (+ giảng viên đã chấm chưa)
+CREATE INDEX idx_project_score_milestone_lecturer ON project_score (final_milestone_id, lecturer_id);
+
+-- ProjectScoreRepository.findByLecturerId: ORDER BY score_date DESC
+CREATE INDEX idx_project_score_lecturer_date ON project_score (lecturer_id, score_date);
@@ -0,0 +1,5 @@
+-- ProjectRepository: lọc theo status (+ khoảng create_date cho thống kê)
+CREATE INDEX idx_project_status_create_date ON project (status, create_date);
+
+-- ProjectRepository: countCreatedBetween / findByCreateDateBetween
+CREATE INDEX idx_project_create_date ON project (create_date);
@@ -0,0 +1,2 @@
+-- PlagiarismResultRepository: kết quả scan mới nhất theo scan_id
+CREATE INDEX idx_plagiarism_result_scan_received ON plagiarism_result (scan_id, received_at);
@@ -0,0 +1,10 @@
+-- Đăng nhập / import tìm account theo email; email đã được kiểm tra trùng ở tầng service
+--
+-- SchemaMigrationRunner kiểm tra email trùng trước khi chạy file này và dừng khởi động nếu có.
+-- Xử lý thủ công rồi khởi động lại (migration chưa được ghi vào schema_migration nên sẽ chạy lại):
+--   1. Liệt kê: SELECT email, GROUP_CONCAT(id ORDER BY id) FROM account GROUP BY email HAVING COUNT(*) > 1;
+--   2. Với mỗi email, giữ account đang được dùng (thường là id nhỏ nhất) và chuyển dữ liệu của account còn lại
+--      (project_member, project.owner_id, project_score, ...) sang account giữ lại, hoặc
+--   3. nếu account thừa chưa có dữ liệu thì đổi email để giữ lại dấu vết:
+--      UPDATE account SET email = CONCAT('dup-', id, '-', email), status = 'LOCKED' WHERE id IN (...);
+CREATE UNIQUE INDEX uk_account_email ON account (email);
@@ -0,0 +1,6 @@
+-- ProjectScoreRepository.searchScores: thứ tự mặc định ORDER BY score_date DESC, id DESC,
+-- đọc theo index và dừng ở LIMIT, không cần filesort
+CREATE INDEX idx_project_score_date_id ON project_score (score_date DESC, id DESC);
+
+-- ProjectScoreRepository.searchScores: lọc khoảng điểm (+ khoảng ngày), count query chỉ đọc index
+CREATE INDEX idx_project_score_final_date ON project_score (final_score, score_date);
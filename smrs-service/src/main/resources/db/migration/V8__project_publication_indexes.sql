@@ -0,0 +1,6 @@
+-- ProjectPublicationRepository.findCatalogPage: lọc theo status / type rồi đọc theo id giảm dần (keyset)
+CREATE INDEX idx_project_publication_status_id ON project_publication (status, id);
+CREATE INDEX idx_project_publication_type_status_id ON project_publication (publication_type, status, id);
+
+-- ProjectPublicationRepository.findCatalogPage: lọc theo năm đăng ký
+CREATE INDEX idx_project_publication_registered_date ON project_publication (registered_date);
@@ -0,0 +1,10 @@
+-- ProgressRollupService: điền giá trị ban đầu cho các cột tổng hợp (cột do ddl-auto thêm với default 0).
+-- Progress hiện có của milestone giữ nguyên, lần đổi task tiếp theo mới tính lại từ task.
+UPDATE milestone m SET
+    task_count = (SELECT COUNT(*) FROM task t WHERE t.milestone_id = m.id),
+    task_progress_sum = (SELECT COALESCE(SUM(t.progress_percent), 0) FROM task t WHERE t.milestone_id = m.id);
+
+UPDATE project p SET
+    milestone_count = (SELECT COUNT(*) FROM milestone m WHERE m.project_id = p.id),
+    milestone_progress_sum = (SELECT COALESCE(SUM(m.progress_percent), 0) FROM milestone m WHERE m.project_id = p.id),
+    completed_milestones = (SELECT COUNT(*) FROM milestone m WHERE m.project_id = p.id AND LOWER(m.status) = 'completed');
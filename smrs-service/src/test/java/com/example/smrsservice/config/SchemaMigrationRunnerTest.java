@@ -0,0 +1,62 @@
+package com.example.smrsservice.config;
+
+import com.example.smrsservice.support.TestFixtures;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * V6 (unique email) trên database đã có account trùng email: dừng với danh sách email trùng,
+ * chạy lại được sau khi dữ liệu đã được xử lý.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(SchemaMigrationRunner.class)
+@ActiveProfiles("test")
+class SchemaMigrationRunnerTest {
+
+    @Autowired
+    private SchemaMigrationRunner schemaMigrationRunner;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void duplicateEmailsStopV6UntilResolved() throws Exception {
+        // database như trước khi có V6
+        jdbcTemplate.execute("DROP INDEX uk_account_email");
+        jdbcTemplate.update("DELETE FROM schema_migration WHERE version = 6");
+
+        TestFixtures fixtures = new TestFixtures(entityManager);
+        fixtures.account("dup@smrs.test");
+        Integer duplicateId = fixtures.account("dup@smrs.test").getId();
+        fixtures.account("unique@smrs.test");
+        entityManager.flush();
+
+        IllegalStateException error = assertThrows(IllegalStateException.class, schemaMigrationRunner::migrate);
+        assertTrue(error.getMessage().contains("dup@smrs.test (2 accounts"), error.getMessage());
+        assertEquals(0, countV6());
+
+        jdbcTemplate.update("UPDATE account SET email = CONCAT('dup-', id, '-', email), status = 'LOCKED' WHERE id = ?",
+                duplicateId);
+        schemaMigrationRunner.migrate();
+
+        assertEquals(1, countV6());
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.indexes WHERE index_name = 'uk_account_email'", Integer.class));
+    }
+
+    private int countV6() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM schema_migration WHERE version = 6", Integer.class);
+    }
+}
@@ -0,0 +1,191 @@
+package com.example.smrsservice.config;
+
+import com.sun.net.httpserver.HttpServer;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.http.HttpMessageConvertersAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.embedded.EmbeddedWebServerFactoryCustomizerAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.DispatcherServletAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.ServletWebServerFactoryAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.WebMvcAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * So sánh virtual thread với platform thread khi upstream chậm (storage node / Copyleaks treo 500ms).
+ * 200 request gọi upstream chậm cùng lúc, đo thời gian của request nhanh (kiểu dashboard) đến sau:
+ * platform thread (Tomcat 20 thread) thì request nhanh phải xếp hàng chờ thread rảnh, virtual thread thì không.
+ * Chỉ chạy khi có -Dbenchmark=true.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class VirtualThreadsBenchmarkTest {
+
+    private static final int TOMCAT_THREADS = 20;
+    private static final int SLOW_REQUESTS = 200;
+    private static final long UPSTREAM_DELAY_MILLIS = 500;
+
+    private HttpServer upstream;
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+
+    @BeforeEach
+    void startUpstream() throws IOException {
+        upstream = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1000);
+        upstream.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        upstream.createContext("/", exchange -> {
+            try {
+                Thread.sleep(UPSTREAM_DELAY_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] body = "ok".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        upstream.start();
+    }
+
+    @AfterEach
+    void stopUpstream() {
+        upstream.stop(0);
+    }
+
+    @Test
+    void fastRequestsStayFastUnderSlowUpstreamWithVirtualThreads() throws Exception {
+        long[] platform = run(false);
+        long[] virtual = run(true);
+
+        System.out.printf("⭐ Platform thread: request nhanh p50 %d ms, max %d ms; %d request chậm xong sau %d ms%n",
+                platform[0], platform[1], SLOW_REQUESTS, platform[2]);
+        System.out.printf("⭐ Virtual thread: request nhanh p50 %d ms, max %d ms; %d request chậm xong sau %d ms%n",
+                virtual[0], virtual[1], SLOW_REQUESTS, virtual[2]);
+        assertTrue(virtual[0] < platform[0], "virtual thread phải không bị xếp hàng sau request chậm");
+        assertTrue(virtual[2] < platform[2]);
+    }
+
+    /**
+     * [p50 request nhanh, max request nhanh, thời gian xong toàn bộ request chậm] (ms)
+     */
+    private long[] run(boolean virtualThreads) throws Exception {
+        // tham số dòng lệnh: ưu tiên hơn application.yaml (mặc định platform thread)
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(BenchmarkApp.class)
+                .web(WebApplicationType.SERVLET)
+                .run("--server.port=0",
+                        "--server.tomcat.threads.max=" + TOMCAT_THREADS,
+                        "--spring.threads.virtual.enabled=" + virtualThreads,
+                        "--app.outbound.storage.max-concurrent=" + SLOW_REQUESTS,
+                        "--benchmark.upstream-url=http://127.0.0.1:" + upstream.getAddress().getPort() + "/")) {
+            int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+            String base = "http://127.0.0.1:" + port;
+            // warm up
+            assertEquals("ok", get(base + "/slow").join());
+            get(base + "/fast").join();
+
+            long start = System.nanoTime();
+            List<CompletableFuture<String>> slow = new ArrayList<>();
+            for (int i = 0; i < SLOW_REQUESTS; i++) {
+                slow.add(get(base + "/slow"));
+            }
+            // để các request chậm chiếm thread trước
+            Thread.sleep(100);
+
+            long[] fast = new long[20];
+            List<CompletableFuture<String>> fastCalls = new ArrayList<>();
+            for (int i = 0; i < fast.length; i++) {
+                int index = i;
+                long fastStart = System.nanoTime();
+                fastCalls.add(get(base + "/fast").whenComplete((body, error) ->
+                        fast[index] = (System.nanoTime() - fastStart) / 1_000_000));
+            }
+            CompletableFuture.allOf(fastCalls.toArray(CompletableFuture[]::new)).join();
+            CompletableFuture.allOf(slow.toArray(CompletableFuture[]::new)).join();
+            long slowTotal = (System.nanoTime() - start) / 1_000_000;
+
+            Arrays.sort(fast);
+            return new long[]{fast[fast.length / 2], fast[fast.length - 1], slowTotal};
+        }
+    }
+
+    private CompletableFuture<String> get(String url) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url)).timeout(Duration.ofSeconds(60)).build();
+        return client.sendAsync(request, HttpResponse.BodyHandlers.ofString()).thenApply(HttpResponse::body);
+    }
+
+    @Configuration
+    @ImportAutoConfiguration({
+            ServletWebServerFactoryAutoConfiguration.class,
+            EmbeddedWebServerFactoryCustomizerAutoConfiguration.class,
+            DispatcherServletAutoConfiguration.class,
+            WebMvcAutoConfiguration.class,
+            HttpMessageConvertersAutoConfiguration.class,
+            JacksonAutoConfiguration.class,
+            TaskExecutionAutoConfiguration.class
+    })
+    @Import({HttpClientConfig.class, BenchmarkController.class})
+    static class BenchmarkApp {
+    }
+
+    /**
+     * /slow: gọi upstream bằng OkHttpClient upload như FileUploadService; /fast: không I/O, thay cho dashboard
+     */
+    @RestController
+    static class BenchmarkController {
+
+        private final OkHttpClient uploadHttpClient;
+        private final String upstreamUrl;
+
+        BenchmarkController(OkHttpClient uploadHttpClient, @Value("${benchmark.upstream-url}") String upstreamUrl) {
+            this.uploadHttpClient = uploadHttpClient;
+            this.upstreamUrl = upstreamUrl;
+        }
+
+        @GetMapping("/slow")
+        public String slow() throws IOException {
+            try (Response response = uploadHttpClient.newCall(new Request.Builder().url(upstreamUrl).build()).execute()) {
+                return response.body().string();
+            }
+        }
+
+        @GetMapping("/fast")
+        public String fast() {
+            return "fast";
+        }
+    }
+}
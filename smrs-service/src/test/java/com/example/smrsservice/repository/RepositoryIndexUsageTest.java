@@ -0,0 +1,255 @@
+package com.example.smrsservice.repository;
+
+import com.example.smrsservice.common.PublicationStatus;
+import com.example.smrsservice.common.PublicationType;
+import com.example.smrsservice.config.SchemaMigrationRunner;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Gọi từng query khai báo trong các repository nóng, lấy SQL Hibernate sinh ra rồi chạy EXPLAIN (H2, MySQL mode)
+ * trên schema đã áp dụng db/migration. Test fail nếu plan có full table scan.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(SchemaMigrationRunner.class)
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.example.smrsservice.repository.RepositoryIndexUsageTest$CapturingInspector"
+})
+class RepositoryIndexUsageTest {
+
+    /**
+     * Query không thể dùng index B-tree: LIKE '%...%' và GROUP BY trên toàn bảng.
+     */
+    private static final Set<String> FULL_SCAN_ALLOWED = Set.of(
+            "ProjectRepository.findByNameContainingIgnoreCase",
+            "ProjectRepository.findByDescriptionContainingIgnoreCase",
+            "ProjectRepository.findByNameContainingIgnoreCaseOrDescriptionContainingIgnoreCase",
+            "ProjectRepository.searchProjectsWithFilters",
+            "ProjectRepository.countByCreateMonthAndStatus"
+    );
+
+    /**
+     * Query không chạy được trên Hibernate 6 (fetch 2 bag cùng lúc) và hiện không được dùng.
+     */
+    private static final Set<String> SKIPPED = Set.of(
+            "ProjectRepository.findByIdWithFilesAndImages"
+    );
+
+    @Autowired
+    private ProjectMemberRepository projectMemberRepository;
+    @Autowired
+    private MilestoneRepository milestoneRepository;
+    @Autowired
+    private ProjectScoreRepository projectScoreRepository;
+    @Autowired
+    private ProjectRepository projectRepository;
+    @Autowired
+    private PlagiarismResultRepository plagiarismResultRepository;
+    @Autowired
+    private ProjectPublicationRepository projectPublicationRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void repositoryQueriesDoNotScanWholeTables() throws Exception {
+        Map<Class<?>, Object> repositories = Map.of(
+                ProjectMemberRepository.class, projectMemberRepository,
+                MilestoneRepository.class, milestoneRepository,
+                ProjectScoreRepository.class, projectScoreRepository,
+                ProjectRepository.class, projectRepository,
+                PlagiarismResultRepository.class, plagiarismResultRepository);
+
+        List<String> violations = new ArrayList<>();
+        int checked = 0;
+
+        for (var entry : repositories.entrySet()) {
+            Method[] methods = entry.getKey().getDeclaredMethods();
+            Arrays.sort(methods, Comparator.comparing(Method::toGenericString));
+
+            for (Method method : methods) {
+                // UPDATE / DELETE (@Modifying) không có plan SELECT để kiểm tra
+                if (method.isDefault() || java.lang.reflect.Modifier.isStatic(method.getModifiers())
+                        || method.isAnnotationPresent(Modifying.class)) {
+                    continue;
+                }
+                String name = entry.getKey().getSimpleName() + "." + method.getName();
+                if (SKIPPED.contains(name)) {
+                    continue;
+                }
+
+                CapturingInspector.SQL.clear();
+                method.invoke(entry.getValue(), arguments(method));
+                List<String> statements = new ArrayList<>(CapturingInspector.SQL);
+                assertTrue(!statements.isEmpty(), name + " did not run any SQL");
+
+                for (String sql : statements) {
+                    checked++;
+                    String plan = explain(sql);
+                    if (plan.contains(".tableScan") && !FULL_SCAN_ALLOWED.contains(name)) {
+                        violations.add(name + "\n  " + plan.replace("\n", "\n  "));
+                    }
+                }
+            }
+        }
+
+        assertTrue(checked > 0);
+        if (!violations.isEmpty()) {
+            fail("Full table scan in repository queries:\n" + String.join("\n", violations));
+        }
+    }
+
+    /**
+     * searchScores (query động) không nằm trong getDeclaredMethods: kiểm tra riêng các tổ hợp filter không có keyword
+     * (LIKE '%...%' thì không index nào dùng được).
+     */
+    @Test
+    void scoreSearchWithoutKeywordDoesNotScanScores() {
+        Date from = new Date(0);
+        Date to = new Date();
+        Pageable secondPage = PageRequest.of(1, 20, Sort.by("scoreDate").descending().and(Sort.by("id").descending()));
+
+        List<Runnable> searches = List.of(
+                () -> projectScoreRepository.searchScores(null, null, null, null, null, null, null, secondPage),
+                () -> projectScoreRepository.searchScores(null, 60.0, 70.0, null, null, from, to, secondPage),
+                () -> projectScoreRepository.searchScores(null, null, null, 1, null, from, to, secondPage),
+                () -> projectScoreRepository.searchScores(null, 80.0, 90.0, null, 1, null, null, secondPage),
+                () -> projectScoreRepository.searchScores(null, 90.0, null, null, null, null, null,
+                        PageRequest.of(1, 20, Sort.by("finalScore").ascending())));
+
+        List<String> violations = new ArrayList<>();
+        for (Runnable search : searches) {
+            CapturingInspector.SQL.clear();
+            search.run();
+            assertTrue(CapturingInspector.SQL.size() == 2, "expected data + count query");
+            for (String sql : CapturingInspector.SQL) {
+                String plan = explain(sql);
+                if (plan.contains("project_score.tableScan")) {
+                    violations.add(plan);
+                }
+            }
+        }
+        if (!violations.isEmpty()) {
+            fail("Full table scan in score search:\n" + String.join("\n", violations));
+        }
+    }
+
+    /**
+     * findCatalogPage (query động): các filter type / status / project / năm kèm cursor không đọc toàn bảng publication.
+     */
+    @Test
+    void publicationCatalogFiltersDoNotScanPublications() {
+        Date from = new Date(0);
+        Date to = new Date();
+
+        List<Runnable> pages = List.of(
+                () -> projectPublicationRepository.findCatalogPage(null, PublicationStatus.PUBLISHED, null, null,
+                        null, null, 100, 21),
+                () -> projectPublicationRepository.findCatalogPage(PublicationType.JOURNAL, PublicationStatus.REGISTERED,
+                        null, null, null, null, 100, 21),
+                () -> projectPublicationRepository.findCatalogPage(null, null, 1, null, null, null, 100, 21),
+                () -> projectPublicationRepository.findCatalogPage(null, null, null, null, from, to, null, 21));
+
+        List<String> violations = new ArrayList<>();
+        for (Runnable page : pages) {
+            CapturingInspector.SQL.clear();
+            page.run();
+            for (String sql : CapturingInspector.SQL) {
+                String plan = explain(sql);
+                if (plan.contains("project_publication.tableScan")) {
+                    violations.add(plan);
+                }
+            }
+        }
+        if (!violations.isEmpty()) {
+            fail("Full table scan in publication catalogue:\n" + String.join("\n", violations));
+        }
+    }
+
+    private String explain(String sql) {
+        return jdbcTemplate.execute((java.sql.Connection connection) -> {
+            try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+                int parameters = statement.getParameterMetaData().getParameterCount();
+                for (int i = 1; i <= parameters; i++) {
+                    statement.setObject(i, null);
+                }
+                StringBuilder plan = new StringBuilder();
+                try (ResultSet rs = statement.executeQuery()) {
+                    while (rs.next()) {
+                        plan.append(rs.getString(1));
+                    }
+                }
+                return plan.toString();
+            }
+        });
+    }
+
+    private static Object[] arguments(Method method) {
+        Type[] types = method.getGenericParameterTypes();
+        Object[] args = new Object[types.length];
+        for (int i = 0; i < types.length; i++) {
+            args[i] = sample(types[i]);
+        }
+        return args;
+    }
+
+    private static Object sample(Type type) {
+        if (type instanceof ParameterizedType parameterized) {
+            Class<?> raw = (Class<?>) parameterized.getRawType();
+            if (java.util.Collection.class.isAssignableFrom(raw)) {
+                return List.of(sample(parameterized.getActualTypeArguments()[0]));
+            }
+            type = raw;
+        }
+        Class<?> cls = (Class<?>) type;
+        if (cls == Integer.class || cls == int.class) return 1;
+        if (cls == Long.class || cls == long.class) return 1L;
+        if (cls == Double.class || cls == double.class) return 1.0;
+        if (cls == String.class) return "x";
+        if (cls == Boolean.class || cls == boolean.class) return true;
+        if (cls == Date.class) return new Date();
+        if (cls == Pageable.class) return PageRequest.of(0, 10);
+        if (cls.isEnum()) return cls.getEnumConstants()[0];
+        throw new IllegalArgumentException("No sample value for parameter type " + type);
+    }
+
+    public static class CapturingInspector implements StatementInspector {
+        static final List<String> SQL = new ArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            if (sql.trim().regionMatches(true, 0, "select", 0, 6)) {
+                SQL.add(sql);
+            }
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.smrsservice.security;
+
+import com.example.smrsservice.common.AccountStatus;
+import com.example.smrsservice.entity.Account;
+import com.example.smrsservice.entity.Role;
+import com.example.smrsservice.repository.AccountRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Stream thông báo chỉ nhận ticket trên URL, không nhận JWT qua ?token=; EventSource kết nối lại bằng URL cũ
+ * vẫn được xác thực tới khi ticket hết hạn.
+ */
+class JwtAuthenticationFilterTest {
+
+    private static final String STREAM = "/api/notifications/stream";
+    private static final String EMAIL = "student@smrs.test";
+
+    private final JwtTokenUtil jwtTokenUtil = new JwtTokenUtil();
+    private final StreamTicketStore tickets = new StreamTicketStore(Duration.ofSeconds(60), Duration.ofMinutes(30));
+    private JwtAuthenticationFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        Role role = new Role();
+        role.setRoleName("STUDENT");
+        Account account = new Account();
+        account.setId(1);
+        account.setEmail(EMAIL);
+        account.setRole(role);
+        account.setStatus(AccountStatus.ACTIVE);
+
+        AccountRepository accountRepository = mock(AccountRepository.class);
+        when(accountRepository.findWithRoleByEmail(EMAIL)).thenReturn(Optional.of(account));
+        filter = new JwtAuthenticationFilter(jwtTokenUtil, accountRepository, new AuthPrincipalCache(), tickets);
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void streamRejectsJwtInQueryString() throws Exception {
+        MockHttpServletRequest request = request(STREAM);
+        request.setParameter("token", jwtTokenUtil.generateToken(EMAIL, "STUDENT"));
+
+        assertNull(authenticate(request));
+    }
+
+    @Test
+    void streamTicketWorksOnStreamPathAndForReconnects() throws Exception {
+        String ticket = tickets.issue(EMAIL);
+        // path khác không đọc ticket (và không làm mất ticket)
+        MockHttpServletRequest other = request("/api/projects");
+        other.setParameter("ticket", ticket);
+        assertNull(authenticate(other));
+
+        MockHttpServletRequest first = request(STREAM);
+        first.setParameter("ticket", ticket);
+        Authentication authentication = authenticate(first);
+        assertNotNull(authentication);
+        assertEquals(EMAIL, ((Account) authentication.getPrincipal()).getEmail());
+
+        // EventSource kết nối lại: cùng URL, thêm header Last-Event-ID
+        MockHttpServletRequest reconnect = request(STREAM);
+        reconnect.setParameter("ticket", ticket);
+        reconnect.addHeader("Last-Event-ID", "42");
+        assertNotNull(authenticate(reconnect));
+
+        MockHttpServletRequest unknown = request(STREAM);
+        unknown.setParameter("ticket", ticket + "x");
+        assertNull(authenticate(unknown));
+    }
+
+    @Test
+    void usedTicketOutlivesTicketTtlUntilReconnectWindowEnds() throws Exception {
+        // ticket-ttl 100 ms, emitter timeout 300 ms: đã mở stream thì còn hạn 400 ms kể từ lần mở gần nhất
+        StreamTicketStore store = new StreamTicketStore(Duration.ofMillis(100), Duration.ofMillis(300));
+        String ticket = store.issue(EMAIL);
+        assertEquals(EMAIL, store.redeem(ticket));
+
+        // quá ticket-ttl nhưng còn trong emitter timeout: emitter hết hạn, EventSource mở lại
+        Thread.sleep(200);
+        assertEquals(EMAIL, store.redeem(ticket));
+
+        // client bỏ đi lâu hơn emitter timeout + ticket-ttl
+        Thread.sleep(600);
+        assertNull(store.redeem(ticket));
+    }
+
+    @Test
+    void expiredTicketIsRejected() throws Exception {
+        StreamTicketStore shortLived = new StreamTicketStore(Duration.ofMillis(1), Duration.ofMinutes(30));
+        String ticket = shortLived.issue(EMAIL);
+        Thread.sleep(5);
+
+        assertNull(shortLived.redeem(ticket));
+    }
+
+    @Test
+    void headerStillAuthenticatesStream() throws Exception {
+        MockHttpServletRequest request = request(STREAM);
+        request.addHeader("Authorization", "Bearer " + jwtTokenUtil.generateToken(EMAIL, "STUDENT"));
+
+        assertNotNull(authenticate(request));
+    }
+
+    private Authentication authenticate(MockHttpServletRequest request) throws Exception {
+        SecurityContextHolder.clearContext();
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    private static MockHttpServletRequest request(String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        request.setServletPath(path);
+        return request;
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.smrsservice.service;
+
+import com.example.smrsservice.dto.account.AccountImportResult;
+import com.example.smrsservice.entity.Account;
+import com.example.smrsservice.repository.AccountBatchRepository;
+import com.example.smrsservice.repository.AccountRepository;
+import com.example.smrsservice.security.AuthPrincipalCache;
+import com.example.smrsservice.security.JwtTokenUtil;
+import com.example.smrsservice.support.TestFixtures;
+import jakarta.persistence.EntityManager;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Import account: dòng được ghi theo từng chunk trong lúc đọc sheet, email trùng thì dòng đầu tiên thắng
+ * và cột nó để trống được điền từ dòng trùng phía sau, kể cả ở chunk sau.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({AccountService.class, AccountBatchRepository.class, AuthPrincipalCache.class, JwtTokenUtil.class,
+        DashboardStatsService.class, MailService.class, MailTemplateRenderer.class})
+@ActiveProfiles("test")
+class AccountServiceImportTest {
+
+    private static final int CHUNK_SIZE = 500;
+
+    @Autowired
+    private AccountService accountService;
+    @Autowired
+    private AccountRepository accountRepository;
+    @Autowired
+    private EntityManager entityManager;
+    @MockBean
+    private MailOutboxDispatcher mailOutboxDispatcher;
+
+    @TempDir
+    private Path tempDir;
+
+    private TestFixtures fixtures;
+
+    @BeforeEach
+    void setUp() {
+        fixtures = new TestFixtures(entityManager);
+        fixtures.role("STUDENT");
+        fixtures.account("existing@smrs.test").setName("Old name");
+        entityManager.flush();
+    }
+
+    @Test
+    void importsChunksAsRowsArriveAndKeepsFirstDuplicate() throws IOException {
+        List<String[]> rows = new ArrayList<>();
+        rows.add(new String[]{"email", "name", "role", "age"});
+        rows.add(new String[]{"Dup@smrs.test", "First", "STUDENT", ""});
+        rows.add(new String[]{"existing@smrs.test", "New name", "STUDENT", "21"});
+        rows.add(new String[]{"", "No email", "STUDENT", ""});
+        rows.add(new String[]{"bad-role@smrs.test", "Bad", "ALIEN", ""});
+        rows.add(new String[]{"bad-age@smrs.test", "Bad", "STUDENT", "abc"});
+        for (int i = 0; i < CHUNK_SIZE; i++) {
+            rows.add(new String[]{"student" + i + "@smrs.test", "Student " + i, "STUDENT", ""});
+        }
+        // trùng với dòng 2, nằm ở chunk sau: tên giữ của dòng 2, age dòng 2 để trống nên lấy từ dòng này
+        rows.add(new String[]{"dup@smrs.test", "Second", "STUDENT", "30"});
+
+        List<Integer> rowsReadReports = new ArrayList<>();
+        List<Integer> succeededReports = new ArrayList<>();
+        AccountImportResult result = accountService.importAccountsFromExcel(workbook(rows), new ImportProgressListener() {
+            @Override
+            public void rowsRead(int rowsRead) {
+                rowsReadReports.add(rowsRead);
+            }
+
+            @Override
+            public void rowsSucceeded(int count) {
+                succeededReports.add(count);
+            }
+        });
+
+        assertEquals(506, result.getTotalRows());
+        assertEquals(501, result.getCreatedCount());
+        assertEquals(2, result.getUpdatedCount());
+        assertEquals(2, result.getFailedCount());
+        assertEquals(1, result.getSkippedCount());
+        // chunk đầu được ghi ngay khi đủ 500 email, chunk cuối khi hết sheet (gồm cả dòng trùng ghi lại dup@)
+        assertEquals(List.of(CHUNK_SIZE, 3), succeededReports);
+        assertEquals(506, rowsReadReports.get(rowsReadReports.size() - 1));
+
+        entityManager.flush();
+        entityManager.clear();
+        Account dup = accountRepository.findByEmail("Dup@smrs.test").orElseThrow();
+        assertEquals("First", dup.getName());
+        assertEquals(30, dup.getAge());
+
+        AccountImportResult.RowResult first = result.getRows().get(0);
+        assertEquals("CREATED", first.getStatus());
+        assertEquals(dup.getId(), first.getAccountId());
+        AccountImportResult.RowResult duplicate = result.getRows().get(result.getRows().size() - 1);
+        assertEquals("UPDATED", duplicate.getStatus());
+        assertEquals("Duplicate email, merged into row 2", duplicate.getMessage());
+        assertEquals(dup.getId(), duplicate.getAccountId());
+
+        assertEquals("New name", accountRepository.findByEmail("existing@smrs.test").orElseThrow().getName());
+        assertEquals(502, accountRepository.count());
+    }
+
+    private File workbook(List<String[]> rows) throws IOException {
+        File file = tempDir.resolve("accounts.xlsx").toFile();
+        try (XSSFWorkbook workbook = new XSSFWorkbook(); OutputStream out = new FileOutputStream(file)) {
+            Sheet sheet = workbook.createSheet();
+            for (int r = 0; r < rows.size(); r++) {
+                Row row = sheet.createRow(r);
+                String[] values = rows.get(r);
+                for (int c = 0; c < values.length; c++) {
+                    if (!values[c].isEmpty()) {
+                        row.createCell(c).setCellValue(values[c]);
+                    }
+                }
+            }
+            workbook.write(out);
+        }
+        return file;
+    }
+}
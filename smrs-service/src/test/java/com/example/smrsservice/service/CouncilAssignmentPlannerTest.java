@@ -0,0 +1,93 @@
+package com.example.smrsservice.service;
+
+import com.example.smrsservice.service.CouncilAssignmentPlanner.Candidate;
+import com.example.smrsservice.service.CouncilAssignmentPlanner.CouncilSlot;
+import com.example.smrsservice.service.CouncilAssignmentPlanner.Plan;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Thuật toán phân hội đồng (không cần DB).
+ */
+class CouncilAssignmentPlannerTest {
+
+    private final CouncilAssignmentPlanner planner = new CouncilAssignmentPlanner(null, null, null, null, null);
+
+    @Test
+    void balancesAroundExistingLoad() {
+        List<CouncilSlot> slots = List.of(
+                new CouncilSlot(1, Set.of(), Set.of(101), 10),
+                new CouncilSlot(2, Set.of(), Set.of(102), 0),
+                new CouncilSlot(3, Set.of(), Set.of(103), 4));
+        List<Candidate> candidates = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            candidates.add(new Candidate(i, null, Set.of()));
+        }
+
+        Plan plan = planner.plan(candidates, slots);
+
+        assertEquals(16, plan.getAssignments().size());
+        assertArrayEquals(new int[]{10, 10, 10}, plan.getLoads());
+    }
+
+    @Test
+    void respectsMajorAndExcludesMentorCouncils() {
+        List<CouncilSlot> slots = List.of(
+                new CouncilSlot(1, Set.of(7), Set.of(101, 102), 0),
+                new CouncilSlot(2, Set.of(7, 8), Set.of(103), 0),
+                new CouncilSlot(3, Set.of(8), Set.of(104), 0));
+
+        Plan plan = planner.plan(List.of(
+                new Candidate(1, 7, Set.of(103)),     // major 7, mentor ở council 2 -> chỉ còn council 1
+                new Candidate(2, 8, Set.of()),         // council 2 hoặc 3
+                new Candidate(3, 9, Set.of()),         // không council nào có major 9
+                new Candidate(4, 8, Set.of(103, 104)), // mentor ở cả 2 council major 8
+                new Candidate(5, null, Set.of(101))    // không major, loại council 1
+        ), slots);
+
+        assertEquals(1, plan.getAssignments().get(1));
+        assertTrue(Set.of(2, 3).contains(plan.getAssignments().get(2)));
+        assertNotEquals(1, plan.getAssignments().get(5));
+        assertEquals(CouncilAssignmentPlanner.NO_MAJOR_MATCH, plan.getUnassigned().get(3));
+        assertEquals(CouncilAssignmentPlanner.ONLY_MENTOR_COUNCILS, plan.getUnassigned().get(4));
+        assertArrayEquals(new int[]{1, 1, 1}, plan.getLoads());
+    }
+
+    @Test
+    void reportsMissingCouncils() {
+        Plan plan = planner.plan(List.of(new Candidate(1, null, Set.of())), List.of());
+        assertEquals(CouncilAssignmentPlanner.NO_ACTIVE_COUNCIL, plan.getUnassigned().get(1));
+    }
+
+    @Test
+    void plansFullSemesterQuickly() {
+        // 40 council, 5 major, mỗi council 5 giảng viên; 6000 project, mỗi project 1 mentor
+        List<CouncilSlot> slots = new ArrayList<>();
+        for (int c = 0; c < 40; c++) {
+            Set<Integer> members = Set.of(c * 5, c * 5 + 1, c * 5 + 2, c * 5 + 3, c * 5 + 4);
+            slots.add(new CouncilSlot(c, Set.of(c % 5), members, c % 3));
+        }
+        List<Candidate> candidates = new ArrayList<>();
+        for (int p = 0; p < 6000; p++) {
+            candidates.add(new Candidate(p, p % 5, Set.of(p % 200)));
+        }
+
+        long start = System.nanoTime();
+        Plan plan = planner.plan(candidates, slots);
+        long millis = (System.nanoTime() - start) / 1_000_000;
+
+        assertEquals(6000, plan.getAssignments().size());
+        assertTrue(millis < 1000, "planning took " + millis + "ms");
+        int max = Arrays.stream(plan.getLoads()).max().orElse(0);
+        int min = Arrays.stream(plan.getLoads()).min().orElse(0);
+        assertTrue(max - min <= 2, "unbalanced loads " + Arrays.toString(plan.getLoads()));
+        plan.getAssignments().forEach((projectId, councilId) ->
+                assertFalse(slots.get(councilId).getMemberIds().contains(projectId % 200)));
+    }
+}
@@ -0,0 +1,272 @@
+package com.example.smrsservice.service;
+
+import com.example.smrsservice.common.AccountStatus;
+import com.example.smrsservice.common.DecisionStatus;
+import com.example.smrsservice.common.ProjectStatus;
+import com.example.smrsservice.dto.common.ResponseDto;
+import com.example.smrsservice.dto.concil.BulkCouncilActionRequest;
+import com.example.smrsservice.dto.concil.BulkCouncilActionResult;
+import com.example.smrsservice.dto.concil.CouncilAssignmentPlanDto;
+import com.example.smrsservice.entity.*;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Xử lý hàng loạt của dean: cùng điều kiện với các endpoint xử lý từng project, kết quả theo từng item,
+ * mail cho chủ project được ghi outbox 1 lần.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({CouncilService.class, CouncilAssignmentPlanner.class, MailService.class, MailTemplateRenderer.class,
+        NotificationHub.class})
+@ActiveProfiles("test")
+class CouncilServiceBulkTest {
+
+    @Autowired
+    private CouncilService councilService;
+    @Autowired
+    private EntityManager entityManager;
+    @MockBean
+    private MailOutboxDispatcher mailOutboxDispatcher;
+
+    private Authentication dean;
+    private Account owner;
+    private Council myCouncil;
+    private Council otherCouncil;
+
+    @BeforeEach
+    void setUp() {
+        Role deanRole = role("DEAN");
+        Account deanAccount = account("dean@smrs.test", deanRole);
+        dean = new UsernamePasswordAuthenticationToken(deanAccount, null, List.of());
+        owner = account("owner@smrs.test", role("STUDENT"));
+
+        CouncilManagerProfile deanProfile = new CouncilManagerProfile();
+        deanProfile.setAccount(deanAccount);
+        entityManager.persist(deanProfile);
+        CouncilManagerProfile otherDean = new CouncilManagerProfile();
+        otherDean.setAccount(account("other-dean@smrs.test", deanRole));
+        entityManager.persist(otherDean);
+
+        myCouncil = council("C1", deanProfile);
+        otherCouncil = council("C2", otherDean);
+    }
+
+    @Test
+    void appliesValidItemsAndReportsInvalidOnes() {
+        Project ready = project(ProjectStatus.APPROVED, true);
+        Project noReport = project(ProjectStatus.APPROVED, false);
+        Project elsewhere = project(ProjectStatus.IN_REVIEW, true);
+        assign(elsewhere, otherCouncil);
+        Project toReject = project(ProjectStatus.IN_REVIEW, false);
+        Project alreadyApproved = project(ProjectStatus.APPROVED, false);
+        flushAndClear();
+
+        BulkCouncilActionRequest request = new BulkCouncilActionRequest();
+        request.setAssignments(List.of(
+                assignment(ready, myCouncil),
+                assignment(noReport, myCouncil),
+                assignment(elsewhere, myCouncil)));
+        request.setDecisions(List.of(
+                decision(ready.getId(), DecisionStatus.APPROVED, "Tốt"),
+                decision(toReject.getId(), DecisionStatus.REJECTED, "Thiếu báo cáo"),
+                decision(alreadyApproved.getId(), DecisionStatus.APPROVED, null),
+                decision(999_999, DecisionStatus.APPROVED, null),
+                decision(toReject.getId(), DecisionStatus.PENDING, null)));
+
+        BulkCouncilActionResult result = bulk(request);
+        flushAndClear();
+
+        assertEquals(3, result.getSucceeded());
+        assertEquals(5, result.getFailed());
+        assertEquals(List.of(
+                        "Project assigned to council successfully",
+                        "Project must have a final report before assigning to council",
+                        "Project already assigned to another council: C2",
+                        "Project approved successfully",
+                        "Project rejected successfully",
+                        "Project already approved",
+                        "Project not found",
+                        "Decision must be APPROVED or REJECTED"),
+                result.getResults().stream().map(BulkCouncilActionResult.ItemResult::getMessage)
+                        .collect(Collectors.toList()));
+
+        // Assignment tạo trong cùng request được cập nhật luôn bởi decision phía sau
+        ProjectCouncil assigned = entityManager.createQuery(
+                        "SELECT pc FROM ProjectCouncil pc WHERE pc.project.id = :id", ProjectCouncil.class)
+                .setParameter("id", ready.getId())
+                .getSingleResult();
+        assertEquals(myCouncil.getId(), assigned.getCouncil().getId());
+        assertEquals(DecisionStatus.APPROVED, assigned.getDecision());
+        assertEquals("Tốt", assigned.getComment());
+        assertNotNull(assigned.getDecisionDate());
+
+        assertEquals(ProjectStatus.APPROVED, entityManager.find(Project.class, ready.getId()).getStatus());
+        assertEquals(ProjectStatus.APPROVED, entityManager.find(Project.class, noReport.getId()).getStatus());
+        assertEquals(ProjectStatus.REJECTED, entityManager.find(Project.class, toReject.getId()).getStatus());
+
+        // 3 item thành công -> 3 mail cho owner, dispatcher được đánh thức 1 lần
+        List<MailOutboxMessage> mails = entityManager
+                .createQuery("SELECT m FROM MailOutboxMessage m ORDER BY m.id", MailOutboxMessage.class)
+                .getResultList();
+        assertEquals(3, mails.size());
+        assertTrue(mails.stream().allMatch(m -> "owner@smrs.test".equals(m.getToEmail())));
+        assertTrue(mails.get(2).getTextBody().contains("Thiếu báo cáo"));
+        verify(mailOutboxDispatcher, times(1)).wakeUpAfterCommit();
+    }
+
+    @Test
+    void autoAssignPreviewsThenAppliesBalancedPlan() {
+        Council secondCouncil = council("C3", entityManager.createQuery(
+                        "SELECT c.dean FROM Council c WHERE c.id = :id", CouncilManagerProfile.class)
+                .setParameter("id", myCouncil.getId())
+                .getSingleResult());
+        Account lecturer = account("lecturer@smrs.test", role("LECTURER"));
+        CouncilMember member = new CouncilMember();
+        member.setCouncil(myCouncil);
+        member.setLecturer(lecturer);
+        entityManager.persist(member);
+
+        // Project do lecturer hướng dẫn không được vào C1
+        Project mentored = project(ProjectStatus.APPROVED, true);
+        ProjectMember mentor = new ProjectMember();
+        mentor.setProject(mentored);
+        mentor.setAccount(lecturer);
+        mentor.setMemberRole("LECTURER");
+        mentor.setStatus("Approved");
+        entityManager.persist(mentor);
+        for (int i = 0; i < 3; i++) {
+            project(ProjectStatus.APPROVED, true);
+        }
+        project(ProjectStatus.APPROVED, false);  // chưa có final report -> không nằm trong kế hoạch
+        flushAndClear();
+
+        ResponseDto<CouncilAssignmentPlanDto> preview = councilService.autoAssignCouncils(true, dean);
+        assertTrue(preview.isSuccess(), preview.getMessage());
+        CouncilAssignmentPlanDto plan = preview.getData();
+        assertFalse(plan.isApplied());
+        assertEquals(4, plan.getTotalProjects());
+        assertEquals(4, plan.getAssignedCount());
+        assertEquals(List.of(2, 2), plan.getCouncilLoads().stream()
+                .map(CouncilAssignmentPlanDto.CouncilLoad::getTotalLoad).collect(Collectors.toList()));
+        assertEquals(secondCouncil.getId(), plan.getAssignments().stream()
+                .filter(a -> a.getProjectId().equals(mentored.getId()))
+                .findFirst().orElseThrow().getCouncilId());
+        assertEquals(0L, entityManager.createQuery("SELECT COUNT(pc) FROM ProjectCouncil pc", Long.class)
+                .getSingleResult());
+
+        ResponseDto<CouncilAssignmentPlanDto> applied = councilService.autoAssignCouncils(false, dean);
+        assertTrue(applied.isSuccess(), applied.getMessage());
+        assertTrue(applied.getData().isApplied());
+        assertEquals(4, applied.getData().getApplyResult().getSucceeded());
+        flushAndClear();
+        assertEquals(4L, entityManager.createQuery("SELECT COUNT(pc) FROM ProjectCouncil pc", Long.class)
+                .getSingleResult());
+
+        // Đã phân hết: lần sau không còn project nào
+        assertEquals(0, councilService.autoAssignCouncils(true, dean).getData().getTotalProjects());
+    }
+
+    @Test
+    void rejectsNonDeanAndEmptyRequests() {
+        Authentication student = new UsernamePasswordAuthenticationToken(owner, null, List.of());
+        BulkCouncilActionRequest request = new BulkCouncilActionRequest();
+        request.setDecisions(List.of(decision(1, DecisionStatus.APPROVED, null)));
+
+        assertFalse(councilService.bulkProcess(request, student).isSuccess());
+        assertFalse(councilService.bulkProcess(new BulkCouncilActionRequest(), dean).isSuccess());
+    }
+
+    private BulkCouncilActionResult bulk(BulkCouncilActionRequest request) {
+        ResponseDto<BulkCouncilActionResult> response = councilService.bulkProcess(request, dean);
+        assertTrue(response.isSuccess(), response.getMessage());
+        return response.getData();
+    }
+
+    private void flushAndClear() {
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private static BulkCouncilActionRequest.AssignmentItem assignment(Project project, Council council) {
+        BulkCouncilActionRequest.AssignmentItem item = new BulkCouncilActionRequest.AssignmentItem();
+        item.setProjectId(project.getId());
+        item.setCouncilId(council.getId());
+        return item;
+    }
+
+    private static BulkCouncilActionRequest.DecisionItem decision(Integer projectId, DecisionStatus decision,
+                                                                  String comment) {
+        BulkCouncilActionRequest.DecisionItem item = new BulkCouncilActionRequest.DecisionItem();
+        item.setProjectId(projectId);
+        item.setDecision(decision);
+        item.setComment(comment);
+        return item;
+    }
+
+    private Role role(String name) {
+        Role role = new Role();
+        role.setRoleName(name);
+        entityManager.persist(role);
+        return role;
+    }
+
+    private Account account(String email, Role role) {
+        Account account = new Account();
+        account.setEmail(email);
+        account.setName(email);
+        account.setRole(role);
+        account.setStatus(AccountStatus.ACTIVE);
+        entityManager.persist(account);
+        return account;
+    }
+
+    private Council council(String code, CouncilManagerProfile deanProfile) {
+        Council council = new Council();
+        council.setCouncilCode(code);
+        council.setCouncilName("Council " + code);
+        council.setDean(deanProfile);
+        entityManager.persist(council);
+        return council;
+    }
+
+    private Project project(ProjectStatus status, boolean finalReport) {
+        Project project = new Project();
+        project.setName("Project");
+        project.setStatus(status);
+        project.setOwner(owner);
+        entityManager.persist(project);
+
+        if (finalReport) {
+            Milestone milestone = new Milestone();
+            milestone.setProject(project);
+            milestone.setIsFinal(true);
+            entityManager.persist(milestone);
+        }
+        return project;
+    }
+
+    private void assign(Project project, Council council) {
+        ProjectCouncil projectCouncil = new ProjectCouncil();
+        projectCouncil.setProject(project);
+        projectCouncil.setCouncil(council);
+        projectCouncil.setDecision(DecisionStatus.PENDING);
+        entityManager.persist(projectCouncil);
+    }
+}
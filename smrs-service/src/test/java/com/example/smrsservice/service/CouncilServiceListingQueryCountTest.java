@@ -0,0 +1,142 @@
+package com.example.smrsservice.service;
+
+import com.example.smrsservice.common.DecisionStatus;
+import com.example.smrsservice.common.ProjectStatus;
+import com.example.smrsservice.dto.concil.CouncilResponse;
+import com.example.smrsservice.entity.*;
+import com.example.smrsservice.support.TestFixtures;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Danh sách council: số thành viên / project / decision lấy bằng query gộp, số query không tăng theo số council.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({CouncilService.class, CouncilAssignmentPlanner.class, MailService.class, MailTemplateRenderer.class,
+        NotificationHub.class})
+@ActiveProfiles("test")
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class CouncilServiceListingQueryCountTest {
+
+    @Autowired
+    private CouncilService councilService;
+    @Autowired
+    private EntityManager entityManager;
+    @MockBean
+    private MailOutboxDispatcher mailOutboxDispatcher;
+
+    private TestFixtures fixtures;
+    private Authentication dean;
+    private Authentication lecturer;
+    private Account lecturerAccount;
+    private Account otherLecturer;
+    private CouncilManagerProfile deanProfile;
+    private int seq;
+
+    @BeforeEach
+    void setUp() {
+        fixtures = new TestFixtures(entityManager);
+
+        Account deanAccount = fixtures.account("dean@smrs.test", fixtures.role("DEAN"));
+        deanProfile = fixtures.deanProfile(deanAccount);
+        dean = new UsernamePasswordAuthenticationToken(deanAccount, null, List.of());
+
+        Role lecturerRole = fixtures.role("LECTURER");
+        lecturerAccount = fixtures.account("lecturer@smrs.test", lecturerRole);
+        otherLecturer = fixtures.account("other@smrs.test", lecturerRole);
+        lecturer = new UsernamePasswordAuthenticationToken(lecturerAccount, null, List.of());
+    }
+
+    @Test
+    void allCouncilsPageUsesConstantQueries() {
+        seedCouncils(2);
+        long small = fixtures.countQueries(() -> councilService.getAllCouncils(1, 50, null, null, null, dean));
+        seedCouncils(20);
+        long large = fixtures.countQueries(() -> councilService.getAllCouncils(1, 50, null, null, null, dean));
+
+        assertEquals(small, large, "query count grew with the number of councils");
+        assertTrue(large <= 6, "expected at most 6 queries but was " + large);
+
+        List<CouncilResponse> councils = councilService.getAllCouncils(1, 50, null, null, null, dean)
+                .getData().getData();
+        assertEquals(22, councils.size());
+        assertCounts(councils.get(0));
+    }
+
+    @Test
+    void myCouncilsAndJoinedCouncilsUseConstantQueries() {
+        seedCouncils(2);
+        long mySmall = fixtures.countQueries(() -> councilService.getMyCouncils(dean));
+        long joinedSmall = fixtures.countQueries(() -> councilService.getMyJoinedCouncils(lecturer));
+        seedCouncils(20);
+        long myLarge = fixtures.countQueries(() -> councilService.getMyCouncils(dean));
+        long joinedLarge = fixtures.countQueries(() -> councilService.getMyJoinedCouncils(lecturer));
+
+        assertEquals(mySmall, myLarge);
+        assertEquals(joinedSmall, joinedLarge);
+        assertTrue(myLarge <= 6, "expected at most 6 queries but was " + myLarge);
+        assertTrue(joinedLarge <= 6, "expected at most 6 queries but was " + joinedLarge);
+
+        List<CouncilResponse> joined = councilService.getMyJoinedCouncils(lecturer).getData();
+        assertEquals(22, joined.size());
+        assertCounts(joined.get(0));
+        assertEquals("dean@smrs.test", joined.get(0).getDeanEmail());
+        assertEquals(councilService.getMyCouncils(dean).getData(), joined);
+    }
+
+    @Test
+    void projectsByCouncilUsesConstantQueries() {
+        Council council = seedCouncils(1);
+        long small = fixtures.countQueries(() -> councilService.getProjectsByCouncil(council.getId()));
+        for (int i = 0; i < 10; i++) {
+            fixtures.projectInCouncil(council, ProjectStatus.IN_REVIEW, DecisionStatus.PENDING);
+        }
+        long large = fixtures.countQueries(() -> councilService.getProjectsByCouncil(council.getId()));
+
+        assertEquals(small, large);
+        assertEquals(13, councilService.getProjectsByCouncil(council.getId()).getData().size());
+    }
+
+    private void assertCounts(CouncilResponse council) {
+        assertEquals(2, council.getMemberCount());
+        assertEquals(2, council.getMembers().size());
+        assertEquals(3, council.getTotalProjects());
+        assertEquals(1, council.getPendingProjects());
+        assertEquals(1, council.getApprovedProjects());
+        assertEquals(1, council.getRejectedProjects());
+    }
+
+    /**
+     * Mỗi council: 2 giảng viên, 3 project (PENDING / APPROVED / REJECTED)
+     */
+    private Council seedCouncils(int count) {
+        Council council = null;
+        for (int i = 0; i < count; i++) {
+            int n = seq++;
+            council = fixtures.council("C" + n, deanProfile);
+            fixtures.councilMember(council, lecturerAccount);
+            fixtures.councilMember(council, otherLecturer);
+            fixtures.projectInCouncil(council, ProjectStatus.IN_REVIEW, DecisionStatus.PENDING);
+            fixtures.projectInCouncil(council, ProjectStatus.IN_REVIEW, DecisionStatus.APPROVED);
+            fixtures.projectInCouncil(council, ProjectStatus.IN_REVIEW, DecisionStatus.REJECTED);
+        }
+        entityManager.flush();
+        return council;
+    }
+}
@@ -0,0 +1,196 @@
+package com.example.smrsservice.service;
+
+import com.example.smrsservice.common.AccountStatus;
+import com.example.smrsservice.common.ProjectStatus;
+import com.example.smrsservice.entity.Account;
+import com.example.smrsservice.entity.Milestone;
+import com.example.smrsservice.entity.Project;
+import com.example.smrsservice.entity.Task;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Lịch hạn: nạp lúc khởi động, mỗi tick xử lý theo lô các hạn vừa đến (milestone quá hạn, trả project về kho,
+ * mail gộp theo người nhận), thay đổi sau commit được cập nhật vào lịch.
+ * Không chạy trong transaction của test để listener sau commit chạy như thật; mỗi test một context
+ * (scheduler và wheel mới).
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({DeadlineScheduler.class, MailService.class, MailTemplateRenderer.class, StudentStatsService.class})
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class DeadlineSchedulerTest {
+
+    private static final long MINUTE = 60_000;
+    private static final long HOUR = 60 * MINUTE;
+
+    @Autowired
+    private DeadlineScheduler scheduler;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @MockBean
+    private MailOutboxDispatcher mailOutboxDispatcher;
+
+    private TransactionTemplate tx;
+    private long now;
+
+    @BeforeEach
+    void setUp() {
+        tx = new TransactionTemplate(transactionManager);
+        now = System.currentTimeMillis();
+    }
+
+    @Test
+    void overdueMilestonesAreMarkedAndMailedInOneBatch() {
+        Integer projectId = project("Hệ thống quản lý", "owner@smrs.test", ProjectStatus.APPROVED, null);
+        Integer pastDue = milestone(projectId, "Báo cáo giữa kỳ", now - HOUR);
+        Integer alsoPastDue = milestone(projectId, "Phân tích", now - 2 * HOUR);
+        Integer dueSoon = milestone(projectId, "Thiết kế", now + 2 * HOUR);
+        Integer dueLater = milestone(projectId, "Triển khai", now + 72 * HOUR);
+        Integer taskId = task(projectId, "assignee@smrs.test", now + 30 * HOUR);
+
+        // nạp lại từ DB như khi khởi động lại (lịch cũ thành phần tử cũ trong wheel, bị bỏ qua)
+        scheduler.load();
+        assertEquals(List.of(alsoPastDue, pastDue, dueSoon, dueLater), scheduler.milestoneDeadlines(List.of(projectId))
+                .stream().map(DeadlineScheduler.Deadline::getId).toList());
+
+        // 2 milestone đã quá hạn: 1 lô, 1 mail cho chủ project
+        scheduler.tick(now + MINUTE);
+        assertEquals("Overdue", milestoneStatus(pastDue));
+        assertEquals("Overdue", milestoneStatus(alsoPastDue));
+        assertEquals("InProgress", milestoneStatus(dueSoon));
+        List<Map<String, Object>> mails = mails();
+        assertEquals(1, mails.size());
+        assertEquals("owner@smrs.test", mails.get(0).get("to_email"));
+        assertTrue(((String) mails.get(0).get("text_body")).contains("Báo cáo giữa kỳ"));
+        assertTrue(((String) mails.get(0).get("text_body")).contains("Phân tích"));
+
+        // "Thiết kế" đã trong khoảng nhắc lúc nạp: không nhắc, chỉ xử lý khi quá hạn
+        scheduler.tick(now + 3 * HOUR);
+        assertEquals("Overdue", milestoneStatus(dueSoon));
+        assertEquals(2, mails().size());
+
+        // nhắc task trước 24h
+        scheduler.tick(now + 7 * HOUR);
+        mails = mails();
+        assertEquals(3, mails.size());
+        assertEquals("assignee@smrs.test", mails.get(2).get("to_email"));
+
+        // nộp report trước hạn: không còn nhắc / quá hạn
+        tx.executeWithoutResult(status -> entityManager.find(Milestone.class, dueLater).setReportSubmittedAt(new Date()));
+        tx.executeWithoutResult(status -> entityManager.find(Task.class, taskId).setStatus("Done"));
+        assertEquals(List.of(alsoPastDue, pastDue, dueSoon), scheduler.milestoneDeadlines(List.of(projectId))
+                .stream().map(DeadlineScheduler.Deadline::getId).toList());
+        scheduler.tick(now + 100 * HOUR);
+        assertEquals("InProgress", milestoneStatus(dueLater));
+        assertEquals(3, mails().size());
+        assertEquals(0, scheduler.scheduledCount());
+    }
+
+    @Test
+    void expiredRevisionReturnsProjectToArchive() {
+        Integer expired = project("Đề tài hết hạn", "late@smrs.test", ProjectStatus.REVISION_REQUIRED, now - HOUR);
+        Integer open = project("Đề tài còn hạn", "ontime@smrs.test", ProjectStatus.REVISION_REQUIRED, now + 5 * HOUR);
+
+        scheduler.load();
+        scheduler.tick(now + MINUTE);
+
+        Map<String, Object> row = jdbcTemplate.queryForMap(
+                "SELECT status, owner_id, revision_deadline FROM project WHERE id = ?", expired);
+        assertEquals(ProjectStatus.ARCHIVED.name(), row.get("status"));
+        assertNull(row.get("owner_id"));
+        assertNull(row.get("revision_deadline"));
+        assertEquals(ProjectStatus.REVISION_REQUIRED.name(),
+                jdbcTemplate.queryForObject("SELECT status FROM project WHERE id = ?", String.class, open));
+
+        List<Map<String, Object>> mails = mails();
+        assertEquals(1, mails.size());
+        assertEquals("late@smrs.test", mails.get(0).get("to_email"));
+
+        // nộp lại trước hạn -> không còn trong lịch
+        tx.executeWithoutResult(status -> entityManager.find(Project.class, open).setStatus(ProjectStatus.PENDING));
+        scheduler.tick(now + 10 * HOUR);
+        assertEquals(ProjectStatus.PENDING.name(),
+                jdbcTemplate.queryForObject("SELECT status FROM project WHERE id = ?", String.class, open));
+        assertEquals(1, mails().size());
+    }
+
+    private List<Map<String, Object>> mails() {
+        return jdbcTemplate.queryForList("SELECT to_email, text_body FROM mail_outbox ORDER BY id");
+    }
+
+    private String milestoneStatus(Integer milestoneId) {
+        return jdbcTemplate.queryForObject("SELECT status FROM milestone WHERE id = ?", String.class, milestoneId);
+    }
+
+    private Integer project(String name, String ownerEmail, ProjectStatus status, Long revisionDeadline) {
+        return tx.execute(s -> {
+            Project project = new Project();
+            project.setName(name);
+            project.setStatus(status);
+            project.setOwner(account(ownerEmail));
+            if (revisionDeadline != null) {
+                project.setRevisionDeadline(new Date(revisionDeadline));
+            }
+            entityManager.persist(project);
+            return project.getId();
+        });
+    }
+
+    private Integer milestone(Integer projectId, String description, long dueAt) {
+        return tx.execute(s -> {
+            Milestone milestone = new Milestone();
+            milestone.setProject(entityManager.find(Project.class, projectId));
+            milestone.setDescription(description);
+            milestone.setDueDate(new Date(dueAt));
+            entityManager.persist(milestone);
+            return milestone.getId();
+        });
+    }
+
+    private Integer task(Integer projectId, String assigneeEmail, long deadline) {
+        return tx.execute(s -> {
+            Task task = new Task();
+            task.setName("Viết tài liệu");
+            task.setProject(entityManager.find(Project.class, projectId));
+            task.setAssignedTo(account(assigneeEmail));
+            task.setDeadline(new Date(deadline));
+            entityManager.persist(task);
+            return task.getId();
+        });
+    }
+
+    private Account account(String email) {
+        Account account = new Account();
+        account.setEmail(email);
+        account.setName(email.substring(0, email.indexOf('@')));
+        account.setStatus(AccountStatus.ACTIVE);
+        entityManager.persist(account);
+        return account;
+    }
+}
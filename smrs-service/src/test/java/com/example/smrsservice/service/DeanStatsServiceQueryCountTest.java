@@ -0,0 +1,166 @@
+package com.example.smrsservice.service;
+
+import com.example.smrsservice.common.DecisionStatus;
+import com.example.smrsservice.common.ProjectStatus;
+import com.example.smrsservice.dto.stats.dean.CouncilPerformanceDto;
+import com.example.smrsservice.dto.stats.dean.DeanOverviewDto;
+import com.example.smrsservice.dto.stats.dean.LecturerActivityDto;
+import com.example.smrsservice.dto.stats.dean.TimelineChartDto;
+import com.example.smrsservice.entity.*;
+import com.example.smrsservice.support.TestFixtures;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Số query của các endpoint thống kê dean không được tăng theo số council / project / giảng viên.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(DeanStatsService.class)
+@ActiveProfiles("test")
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class DeanStatsServiceQueryCountTest {
+
+    @Autowired
+    private DeanStatsService deanStatsService;
+    @Autowired
+    private EntityManager entityManager;
+
+    private TestFixtures fixtures;
+    private Authentication authentication;
+    private CouncilManagerProfile deanProfile;
+    private final List<Account> lecturers = new ArrayList<>();
+    private int councilSeq;
+
+    @BeforeEach
+    void setUp() {
+        fixtures = new TestFixtures(entityManager);
+
+        Account dean = fixtures.account("dean@smrs.test");
+        deanProfile = fixtures.deanProfile(dean);
+
+        for (int i = 0; i < 6; i++) {
+            lecturers.add(fixtures.account("lecturer" + i + "@smrs.test"));
+        }
+        authentication = new UsernamePasswordAuthenticationToken(dean, null, List.of());
+    }
+
+    @Test
+    void getOverviewUsesConstantQueries() {
+        seedCouncils(2);
+        long small = fixtures.countQueries(() -> deanStatsService.getOverview(authentication));
+        seedCouncils(20);
+        long large = fixtures.countQueries(() -> deanStatsService.getOverview(authentication));
+
+        DeanOverviewDto overview = deanStatsService.getOverview(authentication);
+        assertEquals(22, overview.getTotalCouncils());
+        assertEquals(22, overview.getPendingProjects());
+        assertEquals(22, overview.getApprovedProjects());
+        assertEquals(6, overview.getTotalLecturers());
+        assertConstant(small, large);
+    }
+
+    @Test
+    void getProjectsByDecisionUsesConstantQueries() {
+        seedCouncils(2);
+        long small = fixtures.countQueries(() -> deanStatsService.getProjectsByDecision(authentication));
+        seedCouncils(20);
+        long large = fixtures.countQueries(() -> deanStatsService.getProjectsByDecision(authentication));
+
+        Map<String, Long> byDecision = deanStatsService.getProjectsByDecision(authentication);
+        assertEquals(Map.of("PENDING", 22L, "APPROVED", 22L, "REJECTED", 22L), byDecision);
+        assertConstant(small, large);
+    }
+
+    @Test
+    void getCouncilsPerformanceUsesConstantQueries() {
+        seedCouncils(2);
+        long small = fixtures.countQueries(() -> deanStatsService.getCouncilsPerformance(authentication));
+        seedCouncils(20);
+        long large = fixtures.countQueries(() -> deanStatsService.getCouncilsPerformance(authentication));
+
+        List<CouncilPerformanceDto> councils = deanStatsService.getCouncilsPerformance(authentication);
+        assertEquals(22, councils.size());
+        CouncilPerformanceDto first = councils.get(0);
+        assertEquals(3, first.getTotalProjects());
+        assertEquals(1, first.getCompletedProjects());
+        assertEquals(2, first.getActiveMembers());
+        // 2 project có điểm: TB (8, 6) = 7 và 9 => (7 + 9) / 2
+        assertEquals(8.0, first.getAverageScore(), 0.0001);
+        assertEquals("33.3%", first.getCompletionRate());
+        assertConstant(small, large);
+    }
+
+    @Test
+    void getDecisionTimelineUsesConstantQueries() {
+        seedCouncils(2);
+        long small = fixtures.countQueries(() -> deanStatsService.getDecisionTimeline(authentication, 2025, 6));
+        seedCouncils(20);
+        long large = fixtures.countQueries(() -> deanStatsService.getDecisionTimeline(authentication, 2025, 6));
+
+        TimelineChartDto timeline = deanStatsService.getDecisionTimeline(authentication, 2025, 6);
+        assertEquals(6, timeline.getLabels().size());
+        assertEquals(22L, timeline.getDataset1().get(5));
+        assertEquals(22L, timeline.getDataset2().get(5));
+        assertConstant(small, large);
+    }
+
+    @Test
+    void getLecturersActivityUsesConstantQueries() {
+        seedCouncils(2);
+        long small = fixtures.countQueries(() -> deanStatsService.getLecturersActivity(authentication));
+        seedCouncils(20);
+        long large = fixtures.countQueries(() -> deanStatsService.getLecturersActivity(authentication));
+
+        List<LecturerActivityDto> activity = deanStatsService.getLecturersActivity(authentication);
+        assertEquals(6, activity.size());
+        assertEquals(44, activity.stream().mapToInt(LecturerActivityDto::getCouncilsCount).sum());
+        assertEquals(66, activity.stream().mapToInt(LecturerActivityDto::getProjectsScored).sum());
+        assertConstant(small, large);
+    }
+
+    private void assertConstant(long small, long large) {
+        assertEquals(small, large, "query count grew with the number of councils");
+        assertTrue(large <= 5, "expected at most 5 queries but was " + large);
+    }
+
+    /**
+     * Mỗi council: 2 giảng viên, 3 project (PENDING / APPROVED / REJECTED, 1 project COMPLETED),
+     * project 1 có 2 điểm (8, 6), project 2 có 1 điểm (9), project 3 chưa có điểm.
+     */
+    private void seedCouncils(int count) {
+        for (int i = 0; i < count; i++) {
+            int seq = councilSeq++;
+            Council council = fixtures.council("C" + seq, deanProfile);
+
+            Account first = lecturers.get(seq % lecturers.size());
+            Account second = lecturers.get((seq + 1) % lecturers.size());
+            fixtures.councilMember(council, first);
+            fixtures.councilMember(council, second);
+
+            Project scoredTwice = fixtures.projectInCouncil(council, ProjectStatus.COMPLETED, DecisionStatus.APPROVED);
+            fixtures.score(scoredTwice, first, 8.0);
+            fixtures.score(scoredTwice, second, 6.0);
+            Project scoredOnce = fixtures.projectInCouncil(council, ProjectStatus.IN_REVIEW, DecisionStatus.REJECTED);
+            fixtures.score(scoredOnce, first, 9.0);
+            fixtures.projectInCouncil(council, ProjectStatus.IN_REVIEW, DecisionStatus.PENDING);
+        }
+        entityManager.flush();
+    }
+}
@@ -0,0 +1,159 @@
+package com.example.smrsservice.service;
+
+import com.example.smrsservice.common.ProjectStatus;
+import com.example.smrsservice.dto.account.PageResponse;
+import com.example.smrsservice.dto.task.TaskResponse;
+import com.example.smrsservice.entity.Project;
+import com.example.smrsservice.entity.Task;
+import com.example.smrsservice.repository.ProjectRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Cursor pagination: đi hết các trang cho đúng thứ tự (kể cả giá trị trùng và NULL), không chạy COUNT
+ * nếu không yêu cầu, và từ chối cursor tạo với kiểu sort khác.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({TaskService.class, ProgressRollupService.class})
+@ActiveProfiles("test")
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class KeysetCursorPaginationTest {
+
+    private static final long DAY = 24L * 3600 * 1000;
+
+    @Autowired
+    private TaskService taskService;
+    @Autowired
+    private ProjectRepository projectRepository;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private final List<Project> projects = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        // 11 project: dueDate lặp lại theo nhóm 3 ngày, cứ 4 project có 1 project không có dueDate
+        long base = new Date().getTime();
+        for (int i = 0; i < 11; i++) {
+            Project project = new Project();
+            project.setName("Project " + (char) ('a' + i % 5));
+            project.setStatus(ProjectStatus.IN_REVIEW);
+            project.setDueDate(i % 4 == 3 ? null : new Date(base + (i % 3) * DAY));
+            entityManager.persist(project);
+            projects.add(project);
+        }
+        for (int i = 0; i < 7; i++) {
+            Task task = new Task();
+            task.setName("Task " + i);
+            entityManager.persist(task);
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void walksAllPagesInSortOrderWithTiesAndNulls() {
+        Comparator<Project> byDueDateDesc = Comparator.comparing(Project::getDueDate,
+                        Comparator.nullsLast(Comparator.<Date>reverseOrder()))
+                .thenComparing(Project::getId, Comparator.reverseOrder());
+        assertEquals(ids(projects.stream().sorted(byDueDateDesc).toList()), walk("dueDate", Sort.Direction.DESC));
+
+        // NULL nhỏ nhất: lên đầu khi ASC
+        Comparator<Project> byDueDateAsc = Comparator.comparing(Project::getDueDate,
+                        Comparator.nullsFirst(Comparator.<Date>naturalOrder()))
+                .thenComparing(Project::getId);
+        assertEquals(ids(projects.stream().sorted(byDueDateAsc).toList()), walk("dueDate", Sort.Direction.ASC));
+
+        Comparator<Project> byNameAsc = Comparator.comparing(Project::getName).thenComparing(Project::getId);
+        assertEquals(ids(projects.stream().sorted(byNameAsc).toList()), walk("name", Sort.Direction.ASC));
+    }
+
+    @Test
+    void skipsCountUnlessRequested() {
+        PageResponse<TaskResponse> first = afterClear(() -> taskService.getTasksByCursor("", 3, false));
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(List.of("Task 0", "Task 1", "Task 2"), names(first));
+        assertTrue(first.getHasNext());
+        assertEquals(KeysetCursor.NOT_COUNTED, first.getTotalElements());
+
+        PageResponse<TaskResponse> last = afterClear(() -> taskService.getTasksByCursor(
+                taskService.getTasksByCursor(first.getNextCursor(), 3, false).getNextCursor(), 3, true));
+        assertEquals(List.of("Task 6"), names(last));
+        assertFalse(last.getHasNext());
+        assertNull(last.getNextCursor());
+        assertEquals(7, last.getTotalElements());
+        assertEquals(3, last.getTotalPages());
+    }
+
+    @Test
+    void rejectsCursorFromAnotherSort() {
+        Specification<Project> all = (root, query, cb) -> cb.conjunction();
+        String cursor = KeysetCursor.page(projectRepository, all, "name", Sort.Direction.ASC,
+                null, 2, false, rows -> rows).getNextCursor();
+
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.page(projectRepository, all,
+                "name", Sort.Direction.DESC, cursor, 2, false, rows -> rows));
+        assertThrows(IllegalArgumentException.class, () -> taskService.getTasksByCursor(cursor, 2, false));
+        assertThrows(IllegalArgumentException.class, () -> taskService.getTasksByCursor("not a cursor", 2, false));
+        assertThrows(IllegalArgumentException.class, () -> taskService.getTasksByCursor(
+                "a".repeat(KeysetCursor.MAX_CURSOR_LENGTH + 1), 2, false));
+    }
+
+    private List<Integer> walk(String sortField, Sort.Direction direction) {
+        Specification<Project> all = (root, query, cb) -> cb.conjunction();
+        List<Integer> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            PageResponse<Project> page = KeysetCursor.page(projectRepository, all, sortField, direction,
+                    cursor, 4, false, rows -> rows);
+            seen.addAll(ids(page.getData()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        return seen;
+    }
+
+    private <T> T afterClear(Supplier<T> call) {
+        entityManager.clear();
+        statistics.clear();
+        return call.get();
+    }
+
+    private static List<Integer> ids(List<Project> projects) {
+        return projects.stream().map(Project::getId).collect(Collectors.toList());
+    }
+
+    private static List<String> names(PageResponse<TaskResponse> page) {
+        return page.getData().stream().map(TaskResponse::getName).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.smrsservice.service;
+
+import com.example.smrsservice.common.ProjectStatus;
+import com.example.smrsservice.dto.stats.lecturer.LecturerDashboardDto;
+import com.example.smrsservice.dto.stats.lecturer.MentorProjectDto;
+import com.example.smrsservice.dto.stats.lecturer.ScoringActivityDto;
+import com.example.smrsservice.entity.*;
+import com.example.smrsservice.support.TestFixtures;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Dashboard giảng viên: số query không tăng theo số project hướng dẫn / điểm / council.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(LecturerStatsService.class)
+@ActiveProfiles("test")
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class LecturerStatsServiceQueryCountTest {
+
+    @Autowired
+    private LecturerStatsService lecturerStatsService;
+    @Autowired
+    private EntityManager entityManager;
+
+    private TestFixtures fixtures;
+    private Account lecturer;
+    private Account otherLecturer;
+    private Account student;
+    private CouncilManagerProfile deanProfile;
+    private Authentication authentication;
+    private int seq;
+
+    @BeforeEach
+    void setUp() {
+        fixtures = new TestFixtures(entityManager);
+        lecturer = fixtures.account("lecturer@smrs.test");
+        otherLecturer = fixtures.account("other@smrs.test");
+        student = fixtures.account("student@smrs.test");
+        deanProfile = fixtures.deanProfile(fixtures.account("dean@smrs.test"));
+        authentication = new UsernamePasswordAuthenticationToken(lecturer, null, List.of());
+    }
+
+    @Test
+    void getDashboardUsesConstantQueries() {
+        seed(2);
+        long small = fixtures.countQueries(() -> lecturerStatsService.getDashboard(authentication));
+        seed(20);
+        long large = fixtures.countQueries(() -> lecturerStatsService.getDashboard(authentication));
+
+        assertEquals(small, large, "query count grew with the number of projects");
+        assertTrue(large <= 5, "expected at most 5 queries but was " + large);
+
+        LecturerDashboardDto dashboard = lecturerStatsService.getDashboard(authentication);
+        assertEquals(22L, dashboard.getOverview().getProjectsAsMentor());
+        assertEquals(22L, dashboard.getOverview().getProjectsScored());
+        assertEquals(22L, dashboard.getOverview().getCouncilsJoined());
+        assertEquals(22L, dashboard.getMentorProjectsStatus().get(ProjectStatus.IN_REVIEW.name()));
+        assertEquals(22L, dashboard.getScoringProgress().get("scored"));
+        assertEquals(22, dashboard.getMyCouncilsStats().size());
+        assertEquals(10, dashboard.getRecentScores().size());
+
+        MentorProjectDto first = dashboard.getMentorProjectsPerformance().get(0);
+        assertEquals(1, first.getStudentsCount());
+        // 8 (giảng viên) và 6 (giảng viên khác)
+        assertEquals(7.0, first.getAverageScore(), 0.0001);
+    }
+
+    @Test
+    void endpointsMatchDashboard() {
+        seed(5);
+        entityManager.clear();
+
+        LecturerDashboardDto dashboard = lecturerStatsService.getDashboard(authentication);
+        assertEquals(dashboard.getOverview(), lecturerStatsService.getOverview(authentication));
+        assertEquals(dashboard.getMentorProjectsStatus(), lecturerStatsService.getMentorProjectsStatus(authentication));
+        assertEquals(dashboard.getScoringProgress(), lecturerStatsService.getScoringProgress(authentication));
+        assertEquals(dashboard.getMentorProjectsPerformance(),
+                lecturerStatsService.getMentorProjectsPerformance(authentication));
+        assertEquals(dashboard.getMyCouncilsStats(), lecturerStatsService.getMyCouncilsStats(authentication));
+        assertEquals(dashboard.getScoreDistribution(), lecturerStatsService.getScoreDistribution(authentication));
+
+        List<ScoringActivityDto> recent = lecturerStatsService.getRecentScores(authentication, 3);
+        assertEquals(3, recent.size());
+        assertEquals(dashboard.getRecentScores().subList(0, 3), recent);
+
+        Map<String, Long> distribution = dashboard.getScoreDistribution();
+        assertEquals(List.of("0-4", "4-5", "5-6", "6-7", "7-8", "8-9", "9-10"), List.copyOf(distribution.keySet()));
+        assertEquals(5L, distribution.get("8-9"));
+        assertEquals(0L, distribution.get("6-7"));
+    }
+
+    /**
+     * Mỗi project: giảng viên hướng dẫn (Approved), 1 sinh viên, điểm 8 của giảng viên và 6 của giảng viên khác,
+     * giảng viên thuộc 1 council.
+     */
+    private void seed(int count) {
+        for (int i = 0; i < count; i++) {
+            int n = seq++;
+            Project project = fixtures.project("Project " + n, ProjectStatus.IN_REVIEW, null);
+
+            fixtures.projectMember(project, lecturer, "LECTURER");
+            fixtures.projectMember(project, student, "STUDENT");
+            fixtures.score(project, lecturer, 8.0);
+            fixtures.score(project, otherLecturer, 6.0);
+
+            Council council = fixtures.council("C" + n, deanProfile);
+            fixtures.councilMember(council, lecturer);
+        }
+        entityManager.flush();
+    }
+}
@@ -0,0 +1,264 @@
+package com.example.smrsservice.service;
+
+import com.example.smrsservice.common.MailOutboxStatus;
+import com.example.smrsservice.entity.MailOutboxMessage;
+import com.example.smrsservice.repository.MailOutboxRepository;
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeMessage;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Outbox gửi qua SMTP thật (server SMTP giả trong test): cả lô đi trên 1 kết nối, người nhận bị từ chối
+ * thì chỉ mail đó được thử lại, mail đã gửi không còn giữ nội dung, mail cũ bị xoá sau retention.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({MailService.class, MailTemplateRenderer.class, MailOutboxDispatcher.class,
+        MailOutboxDispatcherTest.FakeSmtpConfig.class})
+@ActiveProfiles("test")
+class MailOutboxDispatcherTest {
+
+    private static FakeSmtpServer smtp;
+
+    @Autowired
+    private MailService mailService;
+    @Autowired
+    private MailOutboxDispatcher mailOutboxDispatcher;
+    @Autowired
+    private MailOutboxRepository mailOutboxRepository;
+    @Autowired
+    private EntityManager entityManager;
+
+    @BeforeAll
+    static void startSmtp() throws IOException {
+        smtp = new FakeSmtpServer();
+    }
+
+    @AfterAll
+    static void stopSmtp() throws IOException {
+        smtp.close();
+    }
+
+    @BeforeEach
+    void resetSmtp() {
+        smtp.reset();
+    }
+
+    @Test
+    void sendsBatchOverOneConnectionAndClearsBodies() throws Exception {
+        mailService.sendSimpleMail("student@smrs.test", "Deadline", "Milestone 1 is due tomorrow");
+        mailService.sendInvitationResult("owner@smrs.test", "Owner", "Smart Campus", true);
+
+        mailOutboxDispatcher.drain();
+
+        assertEquals(1, smtp.connections.get());
+        assertEquals(2, smtp.messages.size());
+        MimeMessage simple = smtp.message("student@smrs.test");
+        assertEquals("Deadline", simple.getSubject());
+        assertTrue(simple.getContent().toString().contains("Milestone 1 is due tomorrow"));
+        assertNotNull(smtp.message("owner@smrs.test"));
+
+        entityManager.flush();
+        entityManager.clear();
+        for (MailOutboxMessage sent : mailOutboxRepository.findAll()) {
+            assertEquals(MailOutboxStatus.SENT, sent.getStatus());
+            assertNotNull(sent.getSentAt());
+            assertNotNull(sent.getSubject());
+            assertNull(sent.getTextBody());
+            assertNull(sent.getHtmlBody());
+        }
+    }
+
+    @Test
+    void rejectedRecipientIsRetriedAndKeepsBody() {
+        smtp.rejected.add("bounce@smrs.test");
+        mailService.sendSimpleMail("bounce@smrs.test", "Deadline", "Milestone 1 is due tomorrow");
+        mailService.sendSimpleMail("student@smrs.test", "Deadline", "Milestone 1 is due tomorrow");
+
+        mailOutboxDispatcher.drain();
+
+        assertEquals(1, smtp.messages.size());
+        entityManager.flush();
+        entityManager.clear();
+        List<MailOutboxMessage> rows = mailOutboxRepository.findAll();
+        MailOutboxMessage bounced = rows.stream().filter(m -> m.getToEmail().equals("bounce@smrs.test")).findFirst().orElseThrow();
+        assertEquals(MailOutboxStatus.PENDING, bounced.getStatus());
+        assertEquals(1, bounced.getAttempts().intValue());
+        assertNotNull(bounced.getLastError());
+        assertTrue(bounced.getNextAttemptAt().isAfter(Instant.now()));
+        assertEquals("Milestone 1 is due tomorrow", bounced.getTextBody());
+        MailOutboxMessage sent = rows.stream().filter(m -> m.getToEmail().equals("student@smrs.test")).findFirst().orElseThrow();
+        assertEquals(MailOutboxStatus.SENT, sent.getStatus());
+        assertNull(sent.getTextBody());
+    }
+
+    @Test
+    void purgeDeletesFinishedMailOlderThanRetention() {
+        MailOutboxMessage oldSent = outbox("old-sent@smrs.test", MailOutboxStatus.SENT, Duration.ofDays(31));
+        MailOutboxMessage oldFailed = outbox("old-failed@smrs.test", MailOutboxStatus.FAILED, Duration.ofDays(31));
+        MailOutboxMessage oldPending = outbox("old-pending@smrs.test", MailOutboxStatus.PENDING, Duration.ofDays(31));
+        MailOutboxMessage recentSent = outbox("recent@smrs.test", MailOutboxStatus.SENT, Duration.ofDays(1));
+
+        mailOutboxDispatcher.purgeFinished();
+
+        entityManager.clear();
+        assertTrue(mailOutboxRepository.findById(oldSent.getId()).isEmpty());
+        assertTrue(mailOutboxRepository.findById(oldFailed.getId()).isEmpty());
+        assertTrue(mailOutboxRepository.findById(oldPending.getId()).isPresent());
+        assertTrue(mailOutboxRepository.findById(recentSent.getId()).isPresent());
+    }
+
+    private MailOutboxMessage outbox(String to, MailOutboxStatus status, Duration age) {
+        MailOutboxMessage message = new MailOutboxMessage();
+        message.setToEmail(to);
+        message.setSubject("Subject");
+        message.setStatus(status);
+        message.setNextAttemptAt(Instant.now());
+        entityManager.persist(message);
+        entityManager.flush();
+        // created_at do @CreationTimestamp đặt và không updatable
+        entityManager.createNativeQuery("UPDATE mail_outbox SET created_at = ? WHERE id = ?")
+                .setParameter(1, Timestamp.from(Instant.now().minus(age)))
+                .setParameter(2, message.getId())
+                .executeUpdate();
+        return message;
+    }
+
+    @TestConfiguration
+    static class FakeSmtpConfig {
+        @Bean
+        JavaMailSender javaMailSender() {
+            JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+            mailSender.setHost("127.0.0.1");
+            mailSender.setPort(smtp.getPort());
+            return mailSender;
+        }
+    }
+
+    /**
+     * Server SMTP tối giản: nhận lần lượt từng kết nối, lưu mail nhận được, trả 550 cho người nhận trong rejected
+     */
+    static final class FakeSmtpServer implements AutoCloseable {
+        private final ServerSocket serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        private final List<MimeMessage> messages = new CopyOnWriteArrayList<>();
+        private final Set<String> rejected = ConcurrentHashMap.newKeySet();
+        private final AtomicInteger connections = new AtomicInteger();
+        private final Session session = Session.getInstance(new Properties());
+
+        FakeSmtpServer() throws IOException {
+            Thread.ofPlatform().daemon().name("fake-smtp").start(this::acceptLoop);
+        }
+
+        int getPort() {
+            return serverSocket.getLocalPort();
+        }
+
+        void reset() {
+            messages.clear();
+            rejected.clear();
+            connections.set(0);
+        }
+
+        MimeMessage message(String to) throws Exception {
+            for (MimeMessage message : messages) {
+                if (message.getAllRecipients()[0].toString().equals(to)) {
+                    return message;
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public void close() throws IOException {
+            serverSocket.close();
+        }
+
+        private void acceptLoop() {
+            while (!serverSocket.isClosed()) {
+                try (Socket socket = serverSocket.accept()) {
+                    connections.incrementAndGet();
+                    converse(socket);
+                } catch (IOException e) {
+                    // server đã đóng hoặc client ngắt kết nối
+                }
+            }
+        }
+
+        private void converse(Socket socket) throws IOException {
+            BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            PrintWriter out = new PrintWriter(socket.getOutputStream(), true, StandardCharsets.UTF_8);
+            reply(out, "220 fake-smtp ready");
+            String line;
+            while ((line = in.readLine()) != null) {
+                String command = line.toUpperCase();
+                if (command.startsWith("EHLO") || command.startsWith("HELO")) {
+                    reply(out, "250 fake-smtp");
+                } else if (command.startsWith("RCPT TO:")) {
+                    String address = line.substring(line.indexOf('<') + 1, line.indexOf('>'));
+                    reply(out, rejected.contains(address) ? "550 mailbox unavailable" : "250 OK");
+                } else if (command.equals("DATA")) {
+                    reply(out, "354 end with <CRLF>.<CRLF>");
+                    StringBuilder data = new StringBuilder();
+                    while (!(line = in.readLine()).equals(".")) {
+                        data.append(line.startsWith("..") ? line.substring(1) : line).append("\r\n");
+                    }
+                    try {
+                        messages.add(new MimeMessage(session,
+                                new ByteArrayInputStream(data.toString().getBytes(StandardCharsets.UTF_8))));
+                        reply(out, "250 queued");
+                    } catch (Exception e) {
+                        reply(out, "554 " + e.getMessage());
+                    }
+                } else if (command.equals("QUIT")) {
+                    reply(out, "221 bye");
+                    return;
+                } else {
+                    // MAIL FROM, RSET, NOOP
+                    reply(out, "250 OK");
+                }
+            }
+        }
+
+        private static void reply(PrintWriter out, String response) {
+            out.print(response + "\r\n");
+            out.flush();
+        }
+    }
+}
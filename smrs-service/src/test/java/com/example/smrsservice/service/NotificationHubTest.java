@@ -0,0 +1,116 @@
+package com.example.smrsservice.service;
+
+import com.example.smrsservice.common.NotificationType;
+import com.example.smrsservice.controller.NotificationController;
+import com.example.smrsservice.dto.notification.NotificationEvent;
+import com.example.smrsservice.entity.Account;
+import com.example.smrsservice.security.StreamTicketStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+/**
+ * Stream SSE thông báo: chỉ nhận event của mình, kết nối lại với Last-Event-ID được phát lại event bị lỡ,
+ * lỡ quá buffer thì nhận RESYNC.
+ */
+@SpringBootTest(classes = NotificationHub.class, webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = "app.notifications.replay-buffer=3")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class NotificationHubTest {
+
+    @Autowired
+    private NotificationHub notificationHub;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(new NotificationController(notificationHub, new StreamTicketStore(Duration.ofSeconds(60), Duration.ofMinutes(30)))).build();
+    }
+
+    @Test
+    void liveEventsGoOnlyToRecipients() throws Exception {
+        MockHttpServletResponse student = open(1, null);
+        MockHttpServletResponse lecturer = open(2, null);
+        assertEquals(2, notificationHub.connectionCount());
+
+        publish(1, NotificationType.INVITATION_RECEIVED, "Hệ thống quản lý");
+        publish(2, NotificationType.COUNCIL_ASSIGNED, "Hệ thống điểm danh");
+
+        String studentStream = student.getContentAsString(StandardCharsets.UTF_8);
+        assertTrue(studentStream.startsWith(":connected"));
+        assertTrue(studentStream.contains("event:INVITATION_RECEIVED"));
+        assertTrue(studentStream.contains("Hệ thống quản lý"));
+        assertFalse(studentStream.contains("COUNCIL_ASSIGNED"));
+        assertTrue(lecturer.getContentAsString(StandardCharsets.UTF_8).contains("event:COUNCIL_ASSIGNED"));
+
+        notificationHub.heartbeat();
+        assertTrue(student.getContentAsString(StandardCharsets.UTF_8).endsWith(":ping\n\n"));
+    }
+
+    @Test
+    void reconnectReplaysMissedEventsOrResyncs() throws Exception {
+        NotificationEvent seen = publish(1, NotificationType.INVITATION_RECEIVED, "Dự án A");
+        publish(2, NotificationType.COUNCIL_ASSIGNED, "Dự án B");
+        publish(1, NotificationType.PROJECT_DECISION, "Dự án C");
+
+        String replay = open(1, seen.getId()).getContentAsString(StandardCharsets.UTF_8);
+        assertFalse(replay.contains("Dự án A"));
+        assertFalse(replay.contains("Dự án B"));
+        assertTrue(replay.contains("event:PROJECT_DECISION"));
+        assertFalse(replay.contains("RESYNC"));
+
+        // buffer chỉ giữ 3 event: event sau "seen" đã bị đẩy ra
+        NotificationEvent last = null;
+        for (int i = 0; i < 3; i++) {
+            last = publish(1, NotificationType.SCORE_CREATED, "Dự án " + i);
+        }
+        String resync = open(1, seen.getId()).getContentAsString(StandardCharsets.UTF_8);
+        assertTrue(resync.contains("event:RESYNC"));
+        assertTrue(resync.contains("id:" + last.getId()));
+
+        // id của lần chạy trước (server khởi động lại)
+        assertTrue(open(1, 1L).getContentAsString(StandardCharsets.UTF_8).contains("event:RESYNC"));
+        assertFalse(open(1, last.getId()).getContentAsString(StandardCharsets.UTF_8).contains("event:"));
+    }
+
+    private NotificationEvent publish(Integer accountId, NotificationType type, String projectName) {
+        NotificationEvent event = NotificationEvent.builder()
+                .type(type)
+                .title(type.name())
+                .projectName(projectName)
+                .build();
+        notificationHub.publish(Set.of(accountId), event);
+        return event;
+    }
+
+    private MockHttpServletResponse open(Integer accountId, Long lastEventId) throws Exception {
+        Account account = new Account();
+        account.setId(accountId);
+        MockHttpServletRequestBuilder request = get("/api/notifications/stream")
+                .principal(new UsernamePasswordAuthenticationToken(account, null, List.of()));
+        if (lastEventId != null) {
+            request.header("Last-Event-ID", lastEventId);
+        }
+        return mockMvc.perform(request)
+                .andExpect(request().asyncStarted())
+                .andReturn()
+                .getResponse();
+    }
+}
@@ -0,0 +1,207 @@
+package com.example.smrsservice.service;
+
+import com.example.smrsservice.common.Upstream;
+import com.example.smrsservice.config.CopyleaksClient;
+import com.example.smrsservice.config.HttpClientConfig;
+import com.example.smrsservice.dto.stats.admin.UpstreamStatsDto;
+import com.example.smrsservice.exeption.UpstreamUnavailableException;
+import com.sun.net.httpserver.HttpServer;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Bulkhead, circuit breaker và timeout của lời gọi ra ngoài, chạy với client thật (Copyleaks, storage node)
+ * gọi vào stub server local có thể trả chậm / trả 4xx, 5xx.
+ */
+@SpringBootTest(classes = {OutboundGateway.class, HttpClientConfig.class, CopyleaksClient.class},
+        webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = {
+                "app.outbound.copyleaks.max-concurrent=2",
+                "app.outbound.copyleaks.acquire-timeout=0s",
+                "app.outbound.copyleaks.failure-threshold=3",
+                "app.outbound.copyleaks.open-duration=300ms",
+                "app.outbound.storage.read-timeout=300ms"
+        })
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class OutboundGatewayTest {
+
+    private static HttpServer stub;
+    private static final AtomicInteger hits = new AtomicInteger();
+    private static volatile int status;
+    private static volatile long delayMillis;
+
+    @Autowired
+    private CopyleaksClient copyleaksClient;
+    @Autowired
+    private OkHttpClient uploadHttpClient;
+    @Autowired
+    private OutboundGateway outboundGateway;
+
+    @BeforeAll
+    static void startStub() throws IOException {
+        stub = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 100);
+        stub.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        stub.createContext("/", exchange -> {
+            hits.incrementAndGet();
+            try {
+                Thread.sleep(delayMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] body = "{\"access_token\":\"token\"}".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(status, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        stub.start();
+    }
+
+    @AfterAll
+    static void stopStub() {
+        stub.stop(0);
+    }
+
+    @DynamicPropertySource
+    static void stubUrls(DynamicPropertyRegistry registry) {
+        registry.add("copyleaks.login-url", () -> stubUrl() + "login");
+        registry.add("copyleaks.base-url", () -> stubUrl() + "v3");
+    }
+
+    @BeforeEach
+    void resetStub() {
+        hits.set(0);
+        status = 200;
+        delayMillis = 0;
+    }
+
+    @Test
+    void bulkheadRejectsCallsBeyondMaxConcurrent() throws Exception {
+        delayMillis = 500;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newVirtualThreadPerTaskExecutor();
+        List<Future<String>> futures = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            futures.add(pool.submit(() -> {
+                start.await();
+                return copyleaksClient.login("mail@smrs.test", "key").getAccess_token();
+            }));
+        }
+        start.countDown();
+
+        int succeeded = 0;
+        int rejected = 0;
+        for (Future<String> future : futures) {
+            try {
+                assertEquals("token", future.get());
+                succeeded++;
+            } catch (Exception e) {
+                assertEquals(UpstreamUnavailableException.class, e.getCause().getClass());
+                rejected++;
+            }
+        }
+        pool.shutdown();
+
+        assertEquals(2, succeeded);
+        assertEquals(3, rejected);
+        // lời gọi bị từ chối không tới upstream
+        assertEquals(2, hits.get());
+        UpstreamStatsDto stats = stats(Upstream.COPYLEAKS);
+        assertEquals(3L, stats.getRejected());
+        assertEquals(0, stats.getInFlight());
+    }
+
+    @Test
+    void circuitOpensAfterConsecutiveFailuresAndClosesAfterSuccessfulTrial() throws Exception {
+        status = 503;
+        for (int i = 0; i < 3; i++) {
+            assertThrows(HttpServerErrorException.class, () -> copyleaksClient.login("mail@smrs.test", "key"));
+        }
+        assertEquals("OPEN", stats(Upstream.COPYLEAKS).getCircuitState());
+
+        // mạch mở: từ chối ngay, không gọi upstream
+        assertThrows(UpstreamUnavailableException.class, () -> copyleaksClient.login("mail@smrs.test", "key"));
+        assertEquals(3, hits.get());
+        assertEquals(1L, stats(Upstream.COPYLEAKS).getShortCircuited());
+
+        // hết open-duration: lời gọi thử lỗi thì mở lại
+        Thread.sleep(350);
+        assertThrows(HttpServerErrorException.class, () -> copyleaksClient.login("mail@smrs.test", "key"));
+        assertEquals("OPEN", stats(Upstream.COPYLEAKS).getCircuitState());
+        assertThrows(UpstreamUnavailableException.class, () -> copyleaksClient.login("mail@smrs.test", "key"));
+
+        // upstream hồi phục: lời gọi thử thành công thì đóng mạch
+        Thread.sleep(350);
+        status = 200;
+        assertEquals("token", copyleaksClient.login("mail@smrs.test", "key").getAccess_token());
+        UpstreamStatsDto stats = stats(Upstream.COPYLEAKS);
+        assertEquals("CLOSED", stats.getCircuitState());
+        assertEquals(0, stats.getConsecutiveFailures());
+        assertEquals(5L, stats.getCalls());
+        assertEquals(4L, stats.getFailures());
+    }
+
+    @Test
+    void clientErrorsDoNotTripCircuitButTimeoutsCount() {
+        status = 404;
+        for (int i = 0; i < 5; i++) {
+            assertThrows(HttpClientErrorException.class, () -> copyleaksClient.startScan("token", "scan"));
+        }
+        UpstreamStatsDto copyleaks = stats(Upstream.COPYLEAKS);
+        assertEquals("CLOSED", copyleaks.getCircuitState());
+        assertEquals(0L, copyleaks.getFailures());
+
+        // storage node không trả lời trong read-timeout
+        status = 200;
+        delayMillis = 1_000;
+        Request request = new Request.Builder().url(stubUrl() + "upload").build();
+        assertThrows(SocketTimeoutException.class, () -> outboundGateway.call(Upstream.STORAGE_NODE, () -> {
+            try (Response response = uploadHttpClient.newCall(request).execute()) {
+                return response.code();
+            }
+        }));
+        UpstreamStatsDto storage = stats(Upstream.STORAGE_NODE);
+        assertEquals(1L, storage.getFailures());
+        assertEquals(1, storage.getConsecutiveFailures());
+    }
+
+    private UpstreamStatsDto stats(Upstream upstream) {
+        return outboundGateway.getStats().stream()
+                .filter(stats -> stats.getUpstream().equals(upstream.name()))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private static String stubUrl() {
+        return "http://127.0.0.1:" + stub.getAddress().getPort() + "/";
+    }
+}
@@ -0,0 +1,212 @@
+package com.example.smrsservice.service;
+
+import com.example.smrsservice.common.AccountStatus;
+import com.example.smrsservice.common.ProjectStatus;
+import com.example.smrsservice.dto.milestone.MilestoneCreateDto;
+import com.example.smrsservice.dto.milestone.MilestoneUpdateDto;
+import com.example.smrsservice.dto.task.CreateTaskRequest;
+import com.example.smrsservice.dto.task.UpdateTaskRequest;
+import com.example.smrsservice.entity.Account;
+import com.example.smrsservice.entity.Project;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Rollup tiến độ task -> milestone -> project: giá trị cộng dồn theo delta luôn bằng giá trị tính lại từ đầu,
+ * kể cả khi nhiều task của cùng milestone / project được cập nhật đồng thời.
+ * Không chạy trong transaction của test để mỗi lời gọi service commit riêng như thật.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({TaskService.class, MilestoneService.class, ProgressRollupService.class})
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ProgressRollupServiceTest {
+
+    @Autowired
+    private TaskService taskService;
+    @Autowired
+    private MilestoneService milestoneService;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate tx;
+    private Integer projectId;
+    private Integer creatorId;
+
+    @BeforeEach
+    void setUp() {
+        tx = new TransactionTemplate(transactionManager);
+        tx.executeWithoutResult(status -> {
+            Account creator = new Account();
+            creator.setEmail("creator" + System.nanoTime() + "@smrs.test");
+            creator.setName("Creator");
+            creator.setStatus(AccountStatus.ACTIVE);
+            entityManager.persist(creator);
+
+            Project project = new Project();
+            project.setName("Rollup project");
+            project.setStatus(ProjectStatus.APPROVED);
+            entityManager.persist(project);
+
+            creatorId = creator.getId();
+            projectId = project.getId();
+        });
+    }
+
+    @Test
+    void taskAndMilestoneChangesKeepStoredProgressEqualToRecount() {
+        Integer first = milestone("Phân tích");
+        Integer second = milestone("Triển khai");
+
+        Integer a = task(first);
+        Integer b = task(first);
+        Integer c = task(second);
+        updateTask(a, 40.0, null);
+        updateTask(b, 80.0, null);
+        updateTask(c, 30.0, null);
+
+        assertEquals(60.0, milestoneProgress(first));
+        assertEquals(30.0, milestoneProgress(second));
+        assertEquals(45.0, projectProgress());
+        assertConsistent();
+
+        // chuyển task sang milestone khác, xoá task, đổi tay progress / status của milestone
+        updateTask(b, 90.0, second);
+        assertEquals(40.0, milestoneProgress(first));
+        assertEquals(60.0, milestoneProgress(second));
+        taskService.deleteTask(c);
+        assertEquals(90.0, milestoneProgress(second));
+
+        MilestoneUpdateDto done = new MilestoneUpdateDto();
+        done.setStatus("Completed");
+        done.setProgressPercent(100.0);
+        milestoneService.updateMilestone(first, done);
+        assertEquals(95.0, projectProgress());
+        assertConsistent();
+
+        milestoneService.deleteMilestone(milestone("Dự phòng"));
+        assertConsistent();
+        Map<String, Object> project = projectRow();
+        assertEquals(2, ((Number) project.get("milestone_count")).intValue());
+        assertEquals(1, ((Number) project.get("completed_milestones")).intValue());
+    }
+
+    @Test
+    void concurrentTaskUpdatesDoNotLoseDeltas() throws Exception {
+        List<Integer> milestones = List.of(milestone("M1"), milestone("M2"));
+        List<Integer> tasks = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            tasks.add(task(milestones.get(i % 2)));
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int round = 1; round <= 5; round++) {
+                for (int i = 0; i < tasks.size(); i++) {
+                    Integer taskId = tasks.get(i);
+                    double progress = (round * 17 + i * 7) % 101;
+                    // mỗi vòng có vài task đổi milestone
+                    Integer moveTo = i % 5 == round % 5 ? milestones.get(round % 2) : null;
+                    futures.add(pool.submit(() -> updateTask(taskId, progress, moveTo)));
+                }
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        assertConsistent();
+    }
+
+    /**
+     * Cột tổng hợp phải bằng giá trị đếm lại từ bảng task / milestone
+     */
+    private void assertConsistent() {
+        List<Map<String, Object>> milestones = jdbcTemplate.queryForList(
+                "SELECT m.id, m.task_count, m.task_progress_sum, " +
+                        "(SELECT COUNT(*) FROM task t WHERE t.milestone_id = m.id) AS real_count, " +
+                        "(SELECT COALESCE(SUM(t.progress_percent), 0) FROM task t WHERE t.milestone_id = m.id) AS real_sum " +
+                        "FROM milestone m WHERE m.project_id = ?", projectId);
+        for (Map<String, Object> m : milestones) {
+            assertEquals(((Number) m.get("real_count")).intValue(), ((Number) m.get("task_count")).intValue());
+            assertEquals(((Number) m.get("real_sum")).doubleValue(), ((Number) m.get("task_progress_sum")).doubleValue(), 1e-6);
+        }
+
+        Map<String, Object> recount = jdbcTemplate.queryForMap(
+                "SELECT COUNT(*) AS total, COALESCE(SUM(progress_percent), 0) AS total_progress, " +
+                        "SUM(CASE WHEN LOWER(status) = 'completed' THEN 1 ELSE 0 END) AS completed " +
+                        "FROM milestone WHERE project_id = ?", projectId);
+        Map<String, Object> project = projectRow();
+        assertEquals(((Number) recount.get("total")).intValue(), ((Number) project.get("milestone_count")).intValue());
+        assertEquals(((Number) recount.get("total_progress")).doubleValue(),
+                ((Number) project.get("milestone_progress_sum")).doubleValue(), 1e-6);
+        Number completed = (Number) recount.get("completed");
+        assertEquals(completed == null ? 0 : completed.intValue(), ((Number) project.get("completed_milestones")).intValue());
+    }
+
+    private Map<String, Object> projectRow() {
+        return jdbcTemplate.queryForMap(
+                "SELECT milestone_count, milestone_progress_sum, completed_milestones FROM project WHERE id = ?", projectId);
+    }
+
+    private double projectProgress() {
+        Map<String, Object> project = projectRow();
+        return ProgressRollupService.percent(((Number) project.get("milestone_progress_sum")).doubleValue(),
+                ((Number) project.get("milestone_count")).intValue());
+    }
+
+    private double milestoneProgress(Integer milestoneId) {
+        return jdbcTemplate.queryForObject("SELECT progress_percent FROM milestone WHERE id = ?", Double.class, milestoneId);
+    }
+
+    private Integer milestone(String description) {
+        MilestoneCreateDto dto = new MilestoneCreateDto();
+        dto.setDescription(description);
+        dto.setProjectId(projectId);
+        dto.setCreateById(creatorId);
+        return milestoneService.createMilestone(dto).getId();
+    }
+
+    private Integer task(Integer milestoneId) {
+        return taskService.createTask(CreateTaskRequest.builder()
+                .name("Task")
+                .milestoneId(milestoneId)
+                .projectId(projectId)
+                .build()).getId();
+    }
+
+    private void updateTask(Integer taskId, Double progress, Integer milestoneId) {
+        taskService.updateTask(taskId, UpdateTaskRequest.builder()
+                .progressPercent(progress)
+                .milestoneId(milestoneId)
+                .build());
+    }
+}
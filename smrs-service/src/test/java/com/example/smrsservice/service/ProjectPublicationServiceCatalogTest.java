@@ -0,0 +1,192 @@
+package com.example.smrsservice.service;
+
+import com.example.smrsservice.common.ProjectStatus;
+import com.example.smrsservice.common.PublicationStatus;
+import com.example.smrsservice.common.PublicationType;
+import com.example.smrsservice.dto.common.ResponseDto;
+import com.example.smrsservice.dto.projectpublication.ProjectPublicationDto;
+import com.example.smrsservice.dto.projectpublication.PublicationCatalogDto;
+import com.example.smrsservice.entity.*;
+import com.example.smrsservice.support.TestFixtures;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Catalogue publication: keyset theo id giảm dần, filter trong DB, 1 query cho dữ liệu và bộ đếm type/status được giữ lại.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(ProjectPublicationService.class)
+@ActiveProfiles("test")
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class ProjectPublicationServiceCatalogTest {
+
+    @Autowired
+    private ProjectPublicationService publicationService;
+    @Autowired
+    private EntityManager entityManager;
+
+    private TestFixtures fixtures;
+    private Authentication admin;
+    private Account author;
+    private Major major;
+    private Project aiProject;
+    private Project webProject;
+
+    @BeforeEach
+    void setUp() {
+        fixtures = new TestFixtures(entityManager);
+
+        Account adminAccount = fixtures.account("admin@smrs.test", fixtures.role("ADMIN"));
+        admin = new UsernamePasswordAuthenticationToken(adminAccount, null, List.of());
+        author = fixtures.account("author@smrs.test", fixtures.role("STUDENT"));
+
+        major = new Major();
+        major.setName("Software Engineering");
+        major.setCode("SE");
+        entityManager.persist(major);
+
+        aiProject = project("AI", major);
+        webProject = project("Web", null);
+
+        // 3 journal (2 published) năm 2024 cho AI, 2 conference năm 2025 cho Web
+        publication(aiProject, PublicationType.JOURNAL, PublicationStatus.PUBLISHED, 2024);
+        publication(aiProject, PublicationType.JOURNAL, PublicationStatus.PUBLISHED, 2024);
+        publication(aiProject, PublicationType.JOURNAL, PublicationStatus.REGISTERED, 2024);
+        publication(webProject, PublicationType.CONFERENCE, PublicationStatus.REGISTERED, 2025);
+        publication(webProject, PublicationType.CONFERENCE, PublicationStatus.CANCELLED, 2025);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void pagesWithCursorNewestFirst() {
+        PublicationCatalogDto first = catalog(null, null, null, null, null, null, 2);
+        assertTrue(first.isHasNext());
+        assertEquals(2, first.getItems().size());
+
+        List<Integer> ids = new ArrayList<>(ids(first));
+        PublicationCatalogDto page = first;
+        while (page.isHasNext()) {
+            page = catalog(null, null, null, null, null, page.getNextCursor(), 2);
+            ids.addAll(ids(page));
+        }
+        assertNull(page.getNextCursor());
+        assertEquals(5, ids.size());
+        List<Integer> sorted = new ArrayList<>(ids);
+        sorted.sort((a, b) -> b - a);
+        assertEquals(sorted, ids);
+
+        ProjectPublicationDto newest = first.getItems().get(0);
+        assertEquals("Web", newest.getProject().getProjectName());
+        assertNull(newest.getProject().getMajorId());
+        assertEquals("author@smrs.test", newest.getAuthor().getAuthorEmail());
+        assertEquals("STUDENT", newest.getAuthor().getAuthorRole());
+    }
+
+    @Test
+    void filtersInDatabase() {
+        assertEquals(3, catalog("journal", null, null, null, null, null, 20).getItems().size());
+        assertEquals(2, catalog(null, "REGISTERED", null, null, null, null, 20).getItems().size());
+        assertEquals(2, catalog("JOURNAL", "published", null, null, null, null, 20).getItems().size());
+        assertEquals(2, catalog(null, null, webProject.getId(), null, null, null, 20).getItems().size());
+        assertEquals(2, catalog(null, null, null, null, 2025, null, 20).getItems().size());
+
+        PublicationCatalogDto byMajor = catalog(null, null, null, major.getId(), null, null, 20);
+        assertEquals(3, byMajor.getItems().size());
+        assertEquals("Software Engineering", byMajor.getItems().get(0).getProject().getMajorName());
+
+        assertFalse(publicationService.getCatalog(admin, "BOOK", null, null, null, null, null, 20).isSuccess());
+    }
+
+    @Test
+    void countsAreCachedUntilPublicationChanges() {
+        PublicationCatalogDto first = catalog(null, "CANCELLED", null, null, null, null, 20);
+        // Bộ đếm là toàn hệ thống, không phụ thuộc filter
+        assertEquals(3L, first.getTypeCounts().get("Journal"));
+        assertEquals(2L, first.getTypeCounts().get("Conference"));
+        assertEquals(2L, first.getStatusCounts().get("Published"));
+        assertEquals(2L, first.getStatusCounts().get("Registered"));
+        assertEquals(1L, first.getStatusCounts().get("Cancelled"));
+
+        // Đã có bộ đếm: chỉ còn 1 query lấy dữ liệu
+        long queries = fixtures.countQueries(() -> catalog(null, null, null, null, null, null, 20));
+        assertEquals(1, queries);
+
+        publication(webProject, PublicationType.JOURNAL, PublicationStatus.PUBLISHED, 2025);
+        entityManager.flush();
+        PublicationCatalogDto after = catalog(null, null, null, null, null, null, 20);
+        assertEquals(4L, after.getTypeCounts().get("Journal"));
+        assertEquals(3L, after.getStatusCounts().get("Published"));
+    }
+
+    @Test
+    void countsCachedBeforeCommitAreDroppedAfterCommit() {
+        catalog(null, null, null, null, null, null, 20);
+
+        publication(webProject, PublicationType.JOURNAL, PublicationStatus.PUBLISHED, 2025);
+        entityManager.flush();
+        // request khác đếm lại giữa lúc flush và lúc commit (ở đây cùng transaction nên thấy dữ liệu mới)
+        catalog(null, null, null, null, null, null, 20);
+        assertEquals(1, fixtures.countQueries(() -> catalog(null, null, null, null, null, null, 20)));
+
+        // commit: bộ đếm build trước đó không còn dùng được
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertEquals(2, fixtures.countQueries(() -> catalog(null, null, null, null, null, null, 20)));
+    }
+
+    @Test
+    void rejectsNonAdmin() {
+        Authentication student = new UsernamePasswordAuthenticationToken(author, null, List.of());
+        assertFalse(publicationService.getCatalog(student, null, null, null, null, null, null, 20).isSuccess());
+    }
+
+    private PublicationCatalogDto catalog(String type, String status, Integer projectId, Integer majorId,
+                                          Integer year, Integer cursor, Integer size) {
+        ResponseDto<PublicationCatalogDto> response = publicationService.getCatalog(
+                admin, type, status, projectId, majorId, year, cursor, size);
+        assertTrue(response.isSuccess(), response.getMessage());
+        return response.getData();
+    }
+
+    private static List<Integer> ids(PublicationCatalogDto page) {
+        return page.getItems().stream().map(ProjectPublicationDto::getId).collect(Collectors.toList());
+    }
+
+    private Project project(String name, Major major) {
+        Project project = fixtures.project(name, ProjectStatus.COMPLETED, author);
+        project.setMajor(major);
+        return project;
+    }
+
+    private void publication(Project project, PublicationType type, PublicationStatus status, int year) {
+        entityManager.persist(ProjectPublication.builder()
+                .project(entityManager.getReference(Project.class, project.getId()))
+                .author(entityManager.getReference(Account.class, author.getId()))
+                .publicationName(type + " " + status)
+                .publicationType(type)
+                .status(status)
+                .registeredDate(Date.from(LocalDate.of(year, 6, 1).atStartOfDay(ZoneId.systemDefault()).toInstant()))
+                .build());
+    }
+}
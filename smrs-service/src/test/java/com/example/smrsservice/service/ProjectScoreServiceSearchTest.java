@@ -0,0 +1,170 @@
+package com.example.smrsservice.service;
+
+import com.example.smrsservice.common.AccountStatus;
+import com.example.smrsservice.common.DecisionStatus;
+import com.example.smrsservice.common.ProjectStatus;
+import com.example.smrsservice.dto.account.PageResponse;
+import com.example.smrsservice.dto.common.ResponseDto;
+import com.example.smrsservice.dto.score.ProjectScoreResponseDto;
+import com.example.smrsservice.entity.*;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tìm kiếm điểm có phân trang: các filter được áp dụng trong DB, giữ nguyên ngữ nghĩa status của /search.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ProjectScoreService.class, NotificationHub.class})
+@ActiveProfiles("test")
+class ProjectScoreServiceSearchTest {
+
+    @Autowired
+    private ProjectScoreService projectScoreService;
+    @Autowired
+    private EntityManager entityManager;
+
+    private Account alice;
+    private Account bob;
+    private Council council;
+
+    @BeforeEach
+    void setUp() {
+        alice = account("alice@smrs.test", "Alice Nguyen");
+        bob = account("bob@smrs.test", "Bob Tran");
+
+        CouncilManagerProfile dean = new CouncilManagerProfile();
+        dean.setAccount(account("dean@smrs.test", "Dean"));
+        entityManager.persist(dean);
+        council = new Council();
+        council.setCouncilCode("C1");
+        council.setCouncilName("Council 1");
+        council.setDean(dean);
+        entityManager.persist(council);
+
+        Project robotics = project("Robotics Arm", true);
+        Project chatbot = project("Chatbot", false);
+
+        score(robotics, alice, 95, "xuất sắc", LocalDate.of(2025, 1, 10));
+        score(robotics, bob, 85, null, LocalDate.of(2025, 2, 10));
+        score(chatbot, alice, 75, "Good UI", LocalDate.of(2025, 3, 10));
+        score(chatbot, bob, 55, null, LocalDate.of(2025, 4, 10));
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void filtersByKeywordInProjectLecturerAndComment() {
+        assertEquals(List.of(85.0, 95.0), scores(search("robot", null, null, null, null, null, 1, 20, null, null)));
+        assertEquals(List.of(55.0, 85.0), scores(search("BOB", null, null, null, null, null, 1, 20, "finalScore", "asc")));
+        assertEquals(List.of(75.0), scores(search("good ui", null, null, null, null, null, 1, 20, null, null)));
+    }
+
+    @Test
+    void statusBandsMatchSearchEndpoint() {
+        assertEquals(List.of(95.0), scores(search(null, "EXCELLENT", null, null, null, null, 1, 20, null, null)));
+        assertEquals(List.of(85.0), scores(search(null, "good", null, null, null, null, 1, 20, null, null)));
+        assertEquals(List.of(75.0), scores(search(null, "AVERAGE", null, null, null, null, 1, 20, null, null)));
+        assertEquals(List.of(55.0), scores(search(null, "FAIL", null, null, null, null, 1, 20, null, null)));
+
+        List<ProjectScoreResponseDto> unpaged = projectScoreService.searchScores("alice", "EXCELLENT").getData();
+        assertEquals(List.of(95.0), unpaged.stream().map(ProjectScoreResponseDto::getFinalScore).collect(Collectors.toList()));
+    }
+
+    @Test
+    void filtersByLecturerCouncilAndDateRange() {
+        assertEquals(List.of(75.0, 95.0), scores(search(null, null, alice.getId(), null, null, null, 1, 20, null, null)));
+        assertEquals(List.of(85.0, 95.0), scores(search(null, null, null, council.getId(), null, null, 1, 20, null, null)));
+        // toDate tính cả ngày cuối
+        assertEquals(List.of(75.0, 85.0), scores(search(null, null, null, null,
+                LocalDate.of(2025, 2, 10), LocalDate.of(2025, 3, 10), 1, 20, null, null)));
+    }
+
+    @Test
+    void paginatesNewestFirstByDefault() {
+        PageResponse<ProjectScoreResponseDto> first = search(null, null, null, null, null, null, 1, 3, null, null);
+        assertEquals(List.of(55.0, 75.0, 85.0), scores(first));
+        assertEquals(4, first.getTotalElements());
+        assertEquals(2, first.getTotalPages());
+
+        PageResponse<ProjectScoreResponseDto> second = search(null, null, null, null, null, null, 2, 3, null, null);
+        assertEquals(List.of(95.0), scores(second));
+        assertEquals(2, second.getCurrentPages());
+        assertEquals("Robotics Arm", second.getData().get(0).getProjectName());
+        assertEquals("Alice Nguyen", second.getData().get(0).getLecturerName());
+        assertTrue(second.getData().get(0).getScoreDate().startsWith("2025-01-10"));
+
+        // sortBy không hợp lệ -> mặc định scoreDate
+        assertEquals(scores(first), scores(search(null, null, null, null, null, null, 1, 3, "password", null)));
+    }
+
+    private PageResponse<ProjectScoreResponseDto> search(String keyword, String status, Integer lecturerId,
+                                                         Integer councilId, LocalDate fromDate, LocalDate toDate,
+                                                         int page, int size, String sortBy, String sortDir) {
+        ResponseDto<PageResponse<ProjectScoreResponseDto>> response = projectScoreService.searchScoresPaged(
+                keyword, status, lecturerId, councilId, fromDate, toDate, page, size, sortBy, sortDir);
+        assertTrue(response.isSuccess(), response.getMessage());
+        return response.getData();
+    }
+
+    private static List<Double> scores(PageResponse<ProjectScoreResponseDto> page) {
+        return page.getData().stream().map(ProjectScoreResponseDto::getFinalScore).collect(Collectors.toList());
+    }
+
+    private Account account(String email, String name) {
+        Account account = new Account();
+        account.setEmail(email);
+        account.setName(name);
+        account.setStatus(AccountStatus.ACTIVE);
+        entityManager.persist(account);
+        return account;
+    }
+
+    private Project project(String name, boolean inCouncil) {
+        Project project = new Project();
+        project.setName(name);
+        project.setStatus(ProjectStatus.IN_REVIEW);
+        entityManager.persist(project);
+
+        if (inCouncil) {
+            ProjectCouncil projectCouncil = new ProjectCouncil();
+            projectCouncil.setProject(project);
+            projectCouncil.setCouncil(council);
+            projectCouncil.setDecision(DecisionStatus.PENDING);
+            entityManager.persist(projectCouncil);
+        }
+        return project;
+    }
+
+    private void score(Project project, Account lecturer, double finalScore, String comment, LocalDate scoreDate) {
+        ProjectScore score = new ProjectScore();
+        score.setProject(project);
+        score.setLecturer(lecturer);
+        // finalScore được tính lại từ các tiêu chí khi persist
+        score.setCriteria4Score(finalScore);
+        score.setComment(comment);
+        entityManager.persist(score);
+        entityManager.flush();
+
+        // scoreDate được gán = now khi persist
+        entityManager.createQuery("UPDATE ProjectScore ps SET ps.scoreDate = :scoreDate WHERE ps.id = :id")
+                .setParameter("scoreDate", Date.from(scoreDate.atTime(12, 0).atZone(ZoneId.systemDefault()).toInstant()))
+                .setParameter("id", score.getId())
+                .executeUpdate();
+    }
+}
@@ -0,0 +1,171 @@
+package com.example.smrsservice.service;
+
+import com.example.smrsservice.common.ProjectStatus;
+import com.example.smrsservice.entity.Major;
+import com.example.smrsservice.entity.Project;
+import com.example.smrsservice.repository.ProjectRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Index tìm kiếm project: bỏ dấu tiếng Việt, khớp tiền tố, xếp hạng theo cột, cập nhật khi project đổi.
+ * Benchmark so với LIKE trên 100k project chỉ chạy khi có -Dbenchmark=true.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(ProjectSearchIndex.class)
+@ActiveProfiles("test")
+class ProjectSearchIndexTest {
+
+    @Autowired
+    private ProjectSearchIndex projectSearchIndex;
+    @Autowired
+    private ProjectRepository projectRepository;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void foldsDiacriticsAndMatchesPrefixes() {
+        Major ai = major("Trí tuệ nhân tạo");
+        Project management = project("Hệ thống quản lý đồ án", "Quản lý tiến độ đồ án sinh viên", "Web", null);
+        Project robot = project("Robotics Arm", "Cánh tay robot điều khiển bằng giọng nói", "IoT", ai);
+        Project chatbot = project("Chatbot tư vấn", "Trợ lý ảo cho phòng đào tạo", "AI", ai);
+        build();
+
+        assertEquals(List.of(management.getId()), projectSearchIndex.search("he thong quan ly"));
+        assertEquals(List.of(management.getId()), projectSearchIndex.search("ĐỒ ÁN"));
+        assertEquals(List.of(management.getId()), projectSearchIndex.search("do an"));
+        // tiền tố, tên major và type cũng được index
+        assertEquals(List.of(robot.getId()), projectSearchIndex.search("robo giong"));
+        assertEquals(List.of(chatbot.getId(), robot.getId()), projectSearchIndex.search("tri tue"));
+        assertEquals(List.of(chatbot.getId()), projectSearchIndex.search("ai tro ly"));
+        // phải khớp tất cả các từ
+        assertEquals(List.of(), projectSearchIndex.search("robot web"));
+        // không có từ nào để tìm -> để caller dùng LIKE
+        assertNull(projectSearchIndex.search("  !! "));
+    }
+
+    @Test
+    void ranksNameAboveDescriptionAndExactAbovePrefix() {
+        Project inDescription = project("Ứng dụng di động", "Ứng dụng quản lý thư viện", null, null);
+        Project inName = project("Quản lý thư viện", "Ứng dụng web", null, null);
+        Project prefixOnly = project("Thư viện số", "Quản lý tài liệu", null, null);
+        Project exact = project("Thư viện", "Thư viện", null, null);
+        build();
+
+        // "Thư viện số" có 2 từ ở tên, 2 từ ở mô tả
+        assertEquals(List.of(inName.getId(), prefixOnly.getId(), inDescription.getId()),
+                projectSearchIndex.search("quan ly thu vien"));
+        assertEquals(exact.getId(), projectSearchIndex.search("thu").get(0));
+        assertTrue(projectSearchIndex.search("thu").contains(prefixOnly.getId()));
+    }
+
+    @Test
+    void reindexPicksUpChangesAndDeletes() {
+        assertNull(new ProjectSearchIndex(projectRepository).search("robot"), "index not built yet");
+
+        Project project = project("Robotics Arm", null, null, null);
+        Project other = project("Chatbot", null, null, null);
+        build();
+        assertEquals(List.of(project.getId()), projectSearchIndex.search("robot"));
+
+        entityManager.find(Project.class, project.getId()).setName("Drone giao hàng");
+        entityManager.remove(entityManager.find(Project.class, other.getId()));
+        entityManager.flush();
+        projectSearchIndex.reindex(List.of(project.getId(), other.getId()));
+
+        assertEquals(List.of(), projectSearchIndex.search("robot"));
+        assertEquals(List.of(project.getId()), projectSearchIndex.search("giao hang"));
+        assertEquals(List.of(), projectSearchIndex.search("chatbot"));
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void benchmarkAgainstLikeOn100kProjects() {
+        String[] words = {"hệ thống", "quản lý", "ứng dụng", "phân tích", "dữ liệu", "học máy", "web", "di động",
+                "sinh viên", "đồ án", "nhận diện", "khuôn mặt", "thư viện", "bán hàng", "IoT", "chatbot",
+                "blockchain", "thương mại", "điện tử", "giao thông", "y tế", "nông nghiệp", "robot", "drone"};
+        Random random = new Random(42);
+        List<Object[]> rows = new ArrayList<>();
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        for (int i = 0; i < 100_000; i++) {
+            StringBuilder description = new StringBuilder();
+            for (int w = 0; w < 30; w++) {
+                description.append(words[random.nextInt(words.length)]).append(' ');
+            }
+            String name = words[random.nextInt(words.length)] + " " + words[random.nextInt(words.length)] + " " + i;
+            rows.add(new Object[]{name, description.toString(), "Web", ProjectStatus.PENDING.name(), now});
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO project (name, description, type, status, create_date) VALUES (?, ?, ?, ?, ?)", rows);
+
+        long start = System.nanoTime();
+        build();
+        long buildMs = (System.nanoTime() - start) / 1_000_000;
+
+        String[] queries = {"robot", "khuôn mặt", "blockchain 4242", "giao"};
+        for (String query : queries) {
+            long likeNs = time(() -> projectRepository.findByNameContainingIgnoreCaseOrDescriptionContainingIgnoreCase(
+                    query, query, PageRequest.of(0, 10)).getContent());
+            long indexNs = time(() -> projectRepository.findAllById(
+                    projectSearchIndex.search(query).stream().limit(10).toList()));
+            System.out.printf("⭐ '%s': LIKE %d ms, index %d ms (%d matches)%n", query, likeNs / 1_000_000,
+                    indexNs / 1_000_000, projectSearchIndex.search(query).size());
+        }
+        System.out.println("⭐ Index build for 100k projects: " + buildMs + " ms");
+    }
+
+    private long time(Runnable search) {
+        // lần đầu để warm up
+        search.run();
+        long start = System.nanoTime();
+        for (int i = 0; i < 5; i++) {
+            entityManager.clear();
+            search.run();
+        }
+        return (System.nanoTime() - start) / 5;
+    }
+
+    private void build() {
+        entityManager.flush();
+        entityManager.clear();
+        projectSearchIndex.rebuild();
+    }
+
+    private Major major(String name) {
+        Major major = new Major();
+        major.setName(name);
+        entityManager.persist(major);
+        return major;
+    }
+
+    private Project project(String name, String description, String type, Major major) {
+        Project project = new Project();
+        project.setName(name);
+        project.setDescription(description);
+        project.setType(type);
+        project.setMajor(major);
+        project.setStatus(ProjectStatus.PENDING);
+        entityManager.persist(project);
+        return project;
+    }
+}
@@ -0,0 +1,178 @@
+package com.example.smrsservice.service;
+
+import com.example.smrsservice.common.DecisionStatus;
+import com.example.smrsservice.common.ProjectStatus;
+import com.example.smrsservice.dto.common.ResponseDto;
+import com.example.smrsservice.dto.project.ProjectResponse;
+import com.example.smrsservice.dto.project.ProjectReviewDto;
+import com.example.smrsservice.entity.*;
+import com.example.smrsservice.support.TestFixtures;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Danh sách project và inbox chấm điểm của giảng viên: số query không tăng theo số project trong page.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ProjectService.class, ProjectSearchIndex.class, MailService.class, MailTemplateRenderer.class})
+@ActiveProfiles("test")
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class ProjectServiceQueryCountTest {
+
+    @Autowired
+    private ProjectService projectService;
+    @Autowired
+    private EntityManager entityManager;
+    @MockBean
+    private MailOutboxDispatcher mailOutboxDispatcher;
+
+    private TestFixtures fixtures;
+    private Account owner;
+    private Account lecturer;
+    private Account otherLecturer;
+    private Account student;
+    private Major major;
+    private Council council;
+    private Authentication lecturerAuth;
+    private int seq;
+
+    @BeforeEach
+    void setUp() {
+        fixtures = new TestFixtures(entityManager);
+
+        Role lecturerRole = fixtures.role("LECTURER");
+        Role studentRole = fixtures.role("STUDENT");
+        owner = fixtures.account("owner@smrs.test", studentRole);
+        student = fixtures.account("student@smrs.test", studentRole);
+        lecturer = fixtures.account("lecturer@smrs.test", lecturerRole);
+        otherLecturer = fixtures.account("other@smrs.test", lecturerRole);
+        lecturerAuth = new UsernamePasswordAuthenticationToken(lecturer, null, List.of());
+
+        major = new Major();
+        major.setName("Software Engineering");
+        major.setCode("SE");
+        entityManager.persist(major);
+
+        council = fixtures.council("C1", fixtures.deanProfile(fixtures.account("dean@smrs.test")));
+        fixtures.councilMember(council, lecturer);
+        fixtures.councilMember(council, otherLecturer);
+    }
+
+    @Test
+    void getAllProjectsUsesConstantQueries() {
+        seedProjects(2);
+        // warm up: lần gọi đầu có thể thêm query nạp lazy một lần
+        allProjects();
+        long small = fixtures.countQueries(this::allProjects);
+        seedProjects(20);
+        long large = fixtures.countQueries(this::allProjects);
+
+        assertTrue(large <= small, "query count grew with the number of projects: " + small + " -> " + large);
+        assertTrue(large <= 10, "expected at most 10 queries but was " + large);
+
+        Page<ProjectResponse> page = allProjects();
+        assertEquals(22, page.getContent().size());
+        ProjectResponse first = page.getContent().get(0);
+        assertEquals("owner@smrs.test", first.getOwnerEmail());
+        assertEquals("STUDENT", first.getOwnerRole());
+        assertEquals("Software Engineering", first.getMajorName());
+        assertEquals("lecturer@smrs.test", first.getMentor().getEmail());
+        assertEquals(1, first.getStudents().size());
+        assertEquals(1, first.getFiles().size());
+        assertEquals(1, first.getImages().size());
+        assertTrue(first.getHasFinalReport());
+        assertEquals(ProjectStatus.SCORED, first.getStatus());
+    }
+
+    @Test
+    void getProjectsToReviewUsesConstantQueries() {
+        seedProjects(2);
+        projectService.getProjectsToReview(lecturerAuth);
+        long small = fixtures.countQueries(() -> projectService.getProjectsToReview(lecturerAuth));
+        seedProjects(20);
+        long large = fixtures.countQueries(() -> projectService.getProjectsToReview(lecturerAuth));
+
+        assertTrue(large <= small, "query count grew with the number of projects: " + small + " -> " + large);
+        assertTrue(large <= 10, "expected at most 10 queries but was " + large);
+
+        ResponseDto<List<ProjectReviewDto>> response = projectService.getProjectsToReview(lecturerAuth);
+        assertTrue(response.isSuccess(), response.getMessage());
+        assertEquals(22, response.getData().size());
+        ProjectReviewDto review = response.getData().get(0);
+        assertTrue(review.getHasScored());
+        assertEquals(2, review.getTotalScores().intValue());
+        assertEquals(7.0, review.getCurrentAverage(), 0.0001);
+        assertEquals(2, review.getTotalCouncilMembers().intValue());
+        assertEquals(2, review.getTotalMembers().intValue());
+        assertEquals(1, review.getTotalStudents().intValue());
+        assertTrue(review.getHasLecturer());
+        assertEquals("owner@smrs.test", review.getOwnerEmail());
+        assertEquals("student@smrs.test", review.getReportSubmittedBy());
+    }
+
+    private Page<ProjectResponse> allProjects() {
+        return projectService.getAllProjects(0, 50, "id", "asc", null, null, null, null, false, lecturerAuth);
+    }
+
+    /**
+     * Mỗi project: IN_REVIEW, có major, 1 giảng viên + 1 sinh viên, 1 file, 1 ảnh,
+     * final milestone đã nộp report, 2 điểm (8, 6) cho final milestone, được giao cho council của giảng viên.
+     */
+    private void seedProjects(int count) {
+        for (int i = 0; i < count; i++) {
+            int n = seq++;
+            Project project = fixtures.project("Project " + n, ProjectStatus.IN_REVIEW, owner);
+            project.setMajor(major);
+            fixtures.projectMember(project, lecturer, "LECTURER");
+            fixtures.projectMember(project, student, "STUDENT");
+
+            ProjectFile file = new ProjectFile();
+            file.setProject(project);
+            file.setFilePath("https://files.smrs.test/" + n + ".pdf");
+            file.setType("pdf");
+            entityManager.persist(file);
+
+            ProjectImage image = new ProjectImage();
+            image.setProject(project);
+            image.setUrl("https://images.smrs.test/" + n + ".png");
+            entityManager.persist(image);
+
+            Milestone milestone = new Milestone();
+            milestone.setProject(project);
+            milestone.setDescription("Final " + n);
+            milestone.setIsFinal(true);
+            milestone.setReportUrl("https://files.smrs.test/report-" + n + ".pdf");
+            milestone.setReportSubmittedAt(new Date());
+            milestone.setReportSubmittedBy(student);
+            entityManager.persist(milestone);
+
+            fixtures.score(project, lecturer, 8.0).setFinalMilestone(milestone);
+            fixtures.score(project, otherLecturer, 6.0).setFinalMilestone(milestone);
+
+            ProjectCouncil projectCouncil = new ProjectCouncil();
+            projectCouncil.setProject(project);
+            projectCouncil.setCouncil(council);
+            projectCouncil.setDecision(DecisionStatus.PENDING);
+            entityManager.persist(projectCouncil);
+        }
+        entityManager.flush();
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.smrsservice.service;
+
+import com.example.smrsservice.common.ProjectStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Filter theo từ khoá của danh sách project và searchProjects cho cùng kết quả (theo index tìm kiếm),
+ * kể cả khi từ khoá khớp hàng nghìn project.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ProjectService.class, ProjectSearchIndex.class, MailService.class, MailTemplateRenderer.class})
+@ActiveProfiles("test")
+class ProjectServiceSearchTest {
+
+    private static final int NAME_MATCHES = 2100;
+    private static final int DESCRIPTION_MATCHES = 50;
+    private static final int VIETNAMESE = 100;
+
+    @Autowired
+    private ProjectService projectService;
+    @Autowired
+    private ProjectSearchIndex projectSearchIndex;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @MockBean
+    private MailOutboxDispatcher mailOutboxDispatcher;
+
+    @BeforeEach
+    void setUp() {
+        List<Object[]> rows = new ArrayList<>();
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        for (int i = 0; i < NAME_MATCHES; i++) {
+            rows.add(new Object[]{"Robotics arm " + i, "Cánh tay máy", "IoT", ProjectStatus.PENDING.name(), now});
+        }
+        for (int i = 0; i < DESCRIPTION_MATCHES; i++) {
+            rows.add(new Object[]{"Drone " + i, "Điều khiển robot bằng giọng nói", "IoT", ProjectStatus.PENDING.name(), now});
+        }
+        for (int i = 0; i < VIETNAMESE; i++) {
+            rows.add(new Object[]{"Hệ thống quản lý " + i, "Quản lý đồ án", "Web", ProjectStatus.PENDING.name(), now});
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO project (name, description, type, status, create_date) VALUES (?, ?, ?, ?, ?)", rows);
+        projectSearchIndex.rebuild();
+    }
+
+    @Test
+    void largeMatchSetsUseIndexSemanticsEverywhere() {
+        long expected = NAME_MATCHES + DESCRIPTION_MATCHES;
+
+        assertEquals(expected, projectService.getAllProjects(
+                0, 10, "id", "asc", "robot", null, null, null, false, null).getTotalElements());
+        assertEquals(expected, projectService.getProjectsByCursor(
+                null, 10, true, "id", "asc", "robot", null, null, null, false, null).getTotalElements());
+        assertEquals(expected, projectService.searchProjects("robot", null, 0, 10, "id", "asc").getTotalElements());
+        assertEquals(expected, projectService.searchProjects("robot", null, 0, 10, null, null).getTotalElements());
+    }
+
+    @Test
+    void listFilterFoldsDiacriticsLikeSearch() {
+        assertEquals(VIETNAMESE, projectService.getAllProjects(
+                0, 10, "id", "asc", "he thong", null, null, null, false, null).getTotalElements());
+        assertEquals(VIETNAMESE, projectService.searchProjects("he thong", null, 0, 10, "name", "asc").getTotalElements());
+    }
+}
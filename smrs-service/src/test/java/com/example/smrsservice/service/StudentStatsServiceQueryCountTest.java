@@ -0,0 +1,145 @@
+package com.example.smrsservice.service;
+
+import com.example.smrsservice.common.ProjectStatus;
+import com.example.smrsservice.dto.stats.students.StudentDashboardDto;
+import com.example.smrsservice.entity.*;
+import com.example.smrsservice.support.TestFixtures;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Dashboard sinh viên: snapshot build với số query cố định, các endpoint sau đó không query,
+ * và snapshot bị xoá khi điểm / milestone / membership của sinh viên thay đổi.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(StudentStatsService.class)
+@ActiveProfiles("test")
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class StudentStatsServiceQueryCountTest {
+
+    @Autowired
+    private StudentStatsService studentStatsService;
+    @Autowired
+    private EntityManager entityManager;
+
+    private TestFixtures fixtures;
+    private Account student;
+    private Account lecturer;
+    private Authentication authentication;
+
+    @BeforeEach
+    void setUp() {
+        fixtures = new TestFixtures(entityManager);
+        student = fixtures.account("student@smrs.test");
+        lecturer = fixtures.account("lecturer@smrs.test");
+        authentication = new UsernamePasswordAuthenticationToken(student, null, List.of());
+    }
+
+    @Test
+    void snapshotUsesConstantQueriesAndIsShared() {
+        seedProjects(2);
+        long small = fixtures.countQueries(() -> studentStatsService.getDashboard(authentication));
+        seedProjects(20);
+        long large = fixtures.countQueries(() -> studentStatsService.getDashboard(authentication));
+
+        assertEquals(small, large, "query count grew with the number of projects");
+        assertTrue(large <= 5, "expected at most 5 queries but was " + large);
+
+        // Snapshot đã có: 8 endpoint cũ không query thêm
+        long cached = fixtures.countQueries(() -> {
+            studentStatsService.getOverview(authentication);
+            studentStatsService.getMyProjectsStatus(authentication);
+            studentStatsService.getMyRoles(authentication);
+            studentStatsService.getScoreTrend(authentication);
+            studentStatsService.getProjectsProgress(authentication);
+            studentStatsService.getRecentActivities(authentication, 0, 10);
+            studentStatsService.getScoreComparison(authentication);
+            return studentStatsService.getUpcomingDeadlines(authentication);
+        });
+        assertEquals(0, cached);
+
+        StudentDashboardDto dashboard = studentStatsService.getDashboard(authentication);
+        assertEquals(22L, dashboard.getOverview().getMyProjects());
+        assertEquals(11L, dashboard.getOverview().getProjectsAsOwner());
+        assertEquals(11L, dashboard.getRoles().get("MEMBER"));
+        assertEquals(22L, dashboard.getProjectsStatus().get(ProjectStatus.COMPLETED.name()));
+        assertEquals(7.0, dashboard.getOverview().getAverageScore(), 0.0001);
+        assertEquals(22, dashboard.getScoreTrend().get("myScores").size());
+        assertEquals(22, dashboard.getProjectsProgress().size());
+        assertEquals(15, dashboard.getRecentActivities().size());
+        assertEquals(22, dashboard.getUpcomingDeadlines().size());
+        assertEquals(44L, studentStatsService.getRecentActivities(authentication, 0, 10)
+                .getPagination().getTotalElements());
+    }
+
+    @Test
+    void changesInvalidateSnapshot() {
+        List<Project> projects = seedProjects(2);
+        studentStatsService.getDashboard(authentication);
+
+        // Điểm mới
+        fixtures.score(projects.get(0), lecturer, 10.0);
+        entityManager.flush();
+        assertTrue(fixtures.countQueries(() -> studentStatsService.getOverview(authentication)) > 0);
+        assertEquals(5L, studentStatsService.getRecentActivities(authentication, 0, 10)
+                .getPagination().getTotalElements());
+
+        // Milestone nộp báo cáo
+        Milestone milestone = entityManager.createQuery(
+                        "SELECT m FROM Milestone m WHERE m.project.id = :id", Milestone.class)
+                .setParameter("id", projects.get(1).getId())
+                .getSingleResult();
+        milestone.setReportSubmittedAt(new Date());
+        entityManager.flush();
+        assertEquals(1, studentStatsService.getUpcomingDeadlines(authentication).size());
+
+        // Membership mới
+        Project joined = fixtures.project("Project", ProjectStatus.IN_REVIEW, null);
+        fixtures.projectMember(joined, student, "STUDENT");
+        entityManager.flush();
+        assertEquals(3L, studentStatsService.getOverview(authentication).getMyProjects());
+    }
+
+    /**
+     * Mỗi project: COMPLETED, 2 điểm (8, 6), 1 milestone chưa nộp.
+     * Project chẵn do sinh viên sở hữu, project lẻ sinh viên là thành viên.
+     */
+    private List<Project> seedProjects(int count) {
+        List<Project> projects = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            boolean owned = i % 2 == 0;
+            Project project = fixtures.project("Project", ProjectStatus.COMPLETED, owned ? student : null);
+            if (!owned) {
+                fixtures.projectMember(project, student, "STUDENT");
+            }
+            fixtures.score(project, lecturer, 8.0);
+            fixtures.score(project, lecturer, 6.0);
+
+            Milestone milestone = new Milestone();
+            milestone.setProject(project);
+            milestone.setDescription("Milestone " + i);
+            milestone.setDueDate(new Date(System.currentTimeMillis() + 7L * 24 * 3600 * 1000));
+            entityManager.persist(milestone);
+            projects.add(project);
+        }
+        entityManager.flush();
+        return projects;
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.smrsservice.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Timing wheel của lịch hạn (không cần DB).
+ */
+class TimingWheelTest {
+
+    private static final long TICK = 60_000;
+
+    @Test
+    void firesEachItemOnceAtItsTickAcrossLevels() {
+        long start = 1_000 * TICK;
+        TimingWheel<Long> wheel = new TimingWheel<>(TICK, 4, start);
+
+        // rải từ vài phút tới vài tháng: đi qua cả tầng 0..3
+        Random random = new Random(7);
+        List<Long> expected = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            long fireAt = start + (long) (Math.pow(random.nextDouble(), 3) * 200_000) * TICK;
+            expected.add(fireAt / TICK);
+            wheel.add(fireAt, fireAt);
+        }
+        expected.sort(null);
+
+        List<Long> fired = new ArrayList<>();
+        long from = start;
+        while (fired.size() < expected.size()) {
+            long now = from + 36 * TICK;
+            long since = from;
+            wheel.advance(now, fireAt -> {
+                assertTrue(fireAt <= now, "fired early");
+                assertTrue(fireAt >= since, "fired late");
+                fired.add(fireAt / TICK);
+            });
+            from = now + TICK;
+        }
+
+        assertEquals(expected, fired);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void pastAndBeyondHorizonItemsAreKept() {
+        long start = 5 * TICK;
+        TimingWheel<String> wheel = new TimingWheel<>(TICK, 2, start);
+        // tầm của 2 tầng: 64^2 - 1 tick
+        wheel.add("past", 0);
+        wheel.add("far", start + 10_000 * TICK);
+
+        List<String> fired = new ArrayList<>();
+        wheel.advance(start, fired::add);
+        assertEquals(List.of("past"), fired);
+
+        wheel.advance(start + 9_999 * TICK, fired::add);
+        assertEquals(List.of("past"), fired);
+        wheel.advance(start + 10_000 * TICK, fired::add);
+        assertEquals(List.of("past", "far"), fired);
+    }
+
+    @Test
+    void itemReaddedForCurrentTickFiresInSameAdvance() {
+        TimingWheel<String> wheel = new TimingWheel<>(TICK, 4, 0);
+        wheel.add("reminder", 3 * TICK);
+
+        List<String> fired = new ArrayList<>();
+        wheel.advance(10 * TICK, item -> {
+            fired.add(item);
+            if (item.equals("reminder")) {
+                wheel.add("overdue", 0);
+            }
+        });
+
+        assertEquals(List.of("reminder", "overdue"), fired);
+        assertEquals(0, wheel.size());
+    }
+}
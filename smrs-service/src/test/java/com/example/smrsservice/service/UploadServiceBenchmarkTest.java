@@ -0,0 +1,233 @@
+package com.example.smrsservice.service;
+
+import com.cloudinary.Cloudinary;
+import com.cloudinary.utils.ObjectUtils;
+import com.example.smrsservice.config.CloudinaryConfig;
+import com.example.smrsservice.config.HttpClientConfig;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Load test upload: 20 file 50 MB upload cùng lúc lên storage node (MultipartFileRequestBody) và Cloudinary
+ * (uploadImage), heap giới hạn 512 MB. Buffer cả file trong heap thì cần ~1 GB và hết bộ nhớ;
+ * stream thì heap dùng gần như không đổi. Upstream là stub server local chỉ đọc và bỏ body.
+ * Chỉ chạy khi có -Dbenchmark=true (profile benchmark của pom đặt -Xmx512m).
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class UploadServiceBenchmarkTest {
+
+    private static final int UPLOADS = 20;
+    private static final long FILE_SIZE = 50L * 1024 * 1024;
+    private static final long MAX_HEAP = 512L * 1024 * 1024;
+
+    private final LongAdder bytesReceived = new LongAdder();
+    private HttpServer upstream;
+    private UploadService uploadService;
+
+    @TempDir
+    private Path tempDir;
+    private File source;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        upstream = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 100);
+        upstream.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        upstream.createContext("/", exchange -> {
+            byte[] buffer = new byte[64 * 1024];
+            try (InputStream in = exchange.getRequestBody()) {
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    bytesReceived.add(read);
+                }
+            }
+            String path = exchange.getRequestURI().getPath();
+            String json = path.endsWith("/image/upload")
+                    ? "{\"secure_url\":\"https://res.cloudinary.test/image.png\"}"
+                    : "{\"file\":{\"url\":\"https://files.smrs.test" + path + "\"}}";
+            byte[] body = json.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        upstream.start();
+        String upstreamUrl = "http://127.0.0.1:" + upstream.getAddress().getPort();
+
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("app.outbound.storage.max-concurrent", String.valueOf(UPLOADS))
+                .withProperty("app.outbound.cloudinary.max-concurrent", String.valueOf(UPLOADS))
+                .withProperty("app.outbound.storage.acquire-timeout", "60s")
+                .withProperty("app.outbound.cloudinary.acquire-timeout", "60s");
+        Cloudinary cloudinary = new Cloudinary(ObjectUtils.asMap(
+                "cloud_name", "smrs",
+                "api_key", "key",
+                "api_secret", "secret",
+                "upload_prefix", upstreamUrl,
+                "properties", Map.of("connectionManager",
+                        new CloudinaryConfig().cloudinaryConnectionManager(environment))));
+        uploadService = new UploadService(cloudinary, new HttpClientConfig().uploadHttpClient(environment),
+                new OutboundGateway(environment));
+        ReflectionTestUtils.setField(uploadService, "uploadNodeUrl", upstreamUrl + "/upload/");
+
+        // file thưa trên đĩa: 50 MB nhưng không tốn thời gian ghi
+        source = tempDir.resolve("report.pdf").toFile();
+        try (RandomAccessFile file = new RandomAccessFile(source, "rw")) {
+            file.setLength(FILE_SIZE);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        upstream.stop(0);
+    }
+
+    @Test
+    void concurrentLargeUploadsStreamWithinBoundedHeap() throws Exception {
+        assertTrue(Runtime.getRuntime().maxMemory() <= MAX_HEAP * 11 / 10,
+                "cần chạy với -Xmx512m (mvn test -Dbenchmark=true bật profile benchmark)");
+
+        long[] node = run(file -> uploadService.uploadFileToNode(file, "reports"), "application/pdf", ".pdf");
+        long[] image = run(uploadService::uploadImage, "image/png", ".png");
+
+        System.out.printf("⭐ Storage node: %d x 50 MB trong %d ms, heap cao nhất %d MB / %d MB%n",
+                UPLOADS, node[0], node[1], Runtime.getRuntime().maxMemory() / 1024 / 1024);
+        System.out.printf("⭐ Cloudinary: %d x 50 MB trong %d ms, heap cao nhất %d MB / %d MB%n",
+                UPLOADS, image[0], image[1], Runtime.getRuntime().maxMemory() / 1024 / 1024);
+        // 20 file nằm trong heap cần ~1000 MB; stream thì chỉ còn buffer của từng kết nối
+        assertTrue(node[1] < 256, "storage node upload dùng " + node[1] + " MB heap");
+        assertTrue(image[1] < 256, "Cloudinary upload dùng " + image[1] + " MB heap");
+    }
+
+    /**
+     * [thời gian (ms), heap dùng cao nhất (MB)]
+     */
+    private long[] run(Function<MultipartFile, String> upload, String contentType, String extension) throws Exception {
+        System.gc();
+        bytesReceived.reset();
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        AtomicLong peakHeap = new AtomicLong();
+        Thread sampler = Thread.ofPlatform().daemon().start(() -> {
+            while (!Thread.currentThread().isInterrupted()) {
+                peakHeap.accumulateAndGet(memory.getHeapMemoryUsage().getUsed(), Math::max);
+                try {
+                    Thread.sleep(10);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        });
+
+        long start = System.nanoTime();
+        CountDownLatch ready = new CountDownLatch(1);
+        List<Future<String>> results = new ArrayList<>();
+        try (ExecutorService pool = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < UPLOADS; i++) {
+                MultipartFile file = new DiskMultipartFile(source, "file-" + i + extension, contentType);
+                results.add(pool.submit(() -> {
+                    ready.await();
+                    return upload.apply(file);
+                }));
+            }
+            ready.countDown();
+            for (Future<String> result : results) {
+                assertTrue(result.get().startsWith("https://"));
+            }
+        }
+        long elapsed = (System.nanoTime() - start) / 1_000_000;
+        sampler.interrupt();
+
+        // mọi byte của 20 file tới được upstream (thêm header multipart)
+        assertTrue(bytesReceived.sum() >= UPLOADS * FILE_SIZE);
+        assertEquals(UPLOADS, results.size());
+        return new long[]{elapsed, peakHeap.get() / 1024 / 1024};
+    }
+
+    /**
+     * MultipartFile trên đĩa như part Tomcat đã ghi xuống file; getBytes() bị cấm để bắt code đọc cả file vào heap
+     */
+    private static final class DiskMultipartFile implements MultipartFile {
+        private final File file;
+        private final String filename;
+        private final String contentType;
+
+        private DiskMultipartFile(File file, String filename, String contentType) {
+            this.file = file;
+            this.filename = filename;
+            this.contentType = contentType;
+        }
+
+        @Override
+        public String getName() {
+            return "file";
+        }
+
+        @Override
+        public String getOriginalFilename() {
+            return filename;
+        }
+
+        @Override
+        public String getContentType() {
+            return contentType;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return file.length() == 0;
+        }
+
+        @Override
+        public long getSize() {
+            return file.length();
+        }
+
+        @Override
+        public byte[] getBytes() {
+            throw new UnsupportedOperationException("upload không được đọc cả file vào heap");
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return Files.newInputStream(file.toPath());
+        }
+
+        @Override
+        public void transferTo(File dest) throws IOException {
+            Files.copy(file.toPath(), dest.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.smrsservice.service;
+
+import com.example.smrsservice.common.Upstream;
+import com.example.smrsservice.exeption.UpstreamUnavailableException;
+import okhttp3.OkHttpClient;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Upload lên storage node khi circuit breaker đang mở: UpstreamUnavailableException tới được
+ * GlobalExceptionHandler (503), không bị bọc thành RuntimeException (400).
+ */
+class UploadServiceTest {
+
+    @Test
+    void uploadKeepsUpstreamUnavailableWhenStorageCircuitIsOpen() {
+        OutboundGateway outboundGateway = new OutboundGateway(new MockEnvironment()
+                .withProperty("app.outbound.storage.failure-threshold", "1")
+                .withProperty("app.outbound.storage.open-duration", "10m"));
+        assertThrows(IOException.class, () -> outboundGateway.call(Upstream.STORAGE_NODE, () -> {
+            throw new IOException("storage node down");
+        }));
+
+        UploadService uploadService = new UploadService(null, new OkHttpClient(), outboundGateway);
+        ReflectionTestUtils.setField(uploadService, "uploadNodeUrl", "http://127.0.0.1:9/upload/");
+        MockMultipartFile file = new MockMultipartFile("file", "report.pdf", "application/pdf", new byte[]{1, 2, 3});
+
+        assertThrows(UpstreamUnavailableException.class, () -> uploadService.uploadFileToNode(file, "SMSR"));
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.smrsservice.support;
+
+import com.example.smrsservice.common.AccountStatus;
+import com.example.smrsservice.common.DecisionStatus;
+import com.example.smrsservice.common.ProjectStatus;
+import com.example.smrsservice.entity.*;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.function.Supplier;
+
+/**
+ * Dữ liệu mẫu và đếm query dùng chung cho các test @DataJpaTest.
+ * Đếm query cần hibernate.generate_statistics=true (@TestPropertySource của test).
+ */
+public class TestFixtures {
+
+    private final EntityManager entityManager;
+    private final Statistics statistics;
+
+    public TestFixtures(EntityManager entityManager) {
+        this.entityManager = entityManager;
+        this.statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    }
+
+    /**
+     * Số câu SQL call chạy, bắt đầu từ persistence context rỗng (không tính dữ liệu đã nằm sẵn trong session)
+     */
+    public long countQueries(Supplier<?> call) {
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+        call.get();
+        return statistics.getPrepareStatementCount();
+    }
+
+    public Role role(String name) {
+        Role role = new Role();
+        role.setRoleName(name);
+        entityManager.persist(role);
+        return role;
+    }
+
+    public Account account(String email) {
+        return account(email, null);
+    }
+
+    public Account account(String email, Role role) {
+        Account account = new Account();
+        account.setEmail(email);
+        account.setName(email);
+        account.setRole(role);
+        account.setStatus(AccountStatus.ACTIVE);
+        entityManager.persist(account);
+        return account;
+    }
+
+    public CouncilManagerProfile deanProfile(Account dean) {
+        CouncilManagerProfile profile = new CouncilManagerProfile();
+        profile.setAccount(dean);
+        entityManager.persist(profile);
+        return profile;
+    }
+
+    public Project project(String name, ProjectStatus status, Account owner) {
+        Project project = new Project();
+        project.setName(name);
+        project.setStatus(status);
+        project.setOwner(owner);
+        project.setCreateDate(new Date());
+        entityManager.persist(project);
+        return project;
+    }
+
+    public ProjectMember projectMember(Project project, Account account, String memberRole) {
+        ProjectMember member = new ProjectMember();
+        member.setProject(project);
+        member.setAccount(account);
+        member.setMemberRole(memberRole);
+        member.setStatus("Approved");
+        entityManager.persist(member);
+        return member;
+    }
+
+    public ProjectScore score(Project project, Account lecturer, double finalScore) {
+        ProjectScore score = new ProjectScore();
+        score.setProject(project);
+        score.setLecturer(lecturer);
+        // finalScore được tính lại từ các tiêu chí khi persist
+        score.setCriteria1Score(finalScore);
+        entityManager.persist(score);
+        return score;
+    }
+
+    public Council council(String code, CouncilManagerProfile dean) {
+        Council council = new Council();
+        council.setCouncilCode(code);
+        council.setCouncilName("Council " + code);
+        council.setDean(dean);
+        entityManager.persist(council);
+        return council;
+    }
+
+    public CouncilMember councilMember(Council council, Account lecturer) {
+        CouncilMember member = new CouncilMember();
+        member.setCouncil(council);
+        member.setLecturer(lecturer);
+        member.setRole("MEMBER");
+        entityManager.persist(member);
+        return member;
+    }
+
+    /**
+     * Project gửi lên council với decision; đã có quyết định thì decisionDate = bây giờ
+     */
+    public Project projectInCouncil(Council council, ProjectStatus status, DecisionStatus decision) {
+        Project project = project("Project of " + council.getCouncilCode(), status, null);
+
+        ProjectCouncil projectCouncil = new ProjectCouncil();
+        projectCouncil.setProject(project);
+        projectCouncil.setCouncil(council);
+        projectCouncil.setDecision(decision);
+        if (decision != DecisionStatus.PENDING) {
+            projectCouncil.setDecisionDate(Instant.now());
+        }
+        entityManager.persist(projectCouncil);
+        return project;
+    }
+}